@@ -0,0 +1,126 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the internal rate of return solver in {@code CashFlow}.
+ * <p>
+ * Run with {@code gradle :jgnash-core:jmh}.
+ *
+ * @author Craig Cavanaugh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CashFlowBenchmark {
+
+    private static final int PORTFOLIO_COUNT = 64;
+
+    /**
+     * Number of monthly items in each cash flow.
+     */
+    @Param({"12", "120", "600"})
+    public int itemCount;
+
+    private final List<CashFlow> portfolios = new ArrayList<>();
+
+    private LocalDate[] dates;
+
+    private BigDecimal[] amounts;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+
+        dates = new LocalDate[itemCount];
+        amounts = new BigDecimal[itemCount];
+
+        final LocalDate start = LocalDate.of(2000, 1, 1);
+
+        // monthly investments followed by a single payout worth a little more than the total invested
+        BigDecimal invested = BigDecimal.ZERO;
+
+        for (int i = 0; i < itemCount - 1; i++) {
+            dates[i] = start.plusMonths(i);
+            amounts[i] = BigDecimal.valueOf(-(100 + random.nextInt(900)));
+            invested = invested.add(amounts[i]);
+        }
+
+        dates[itemCount - 1] = start.plusMonths(itemCount - 1);
+        amounts[itemCount - 1] = invested.negate().multiply(BigDecimal.valueOf(1.05 + random.nextDouble() / 10));
+
+        portfolios.clear();
+
+        for (int i = 0; i < PORTFOLIO_COUNT; i++) {
+            portfolios.add(buildCashFlow());
+        }
+    }
+
+    private CashFlow buildCashFlow() {
+        final CashFlow cashFlow = new CashFlow();
+
+        for (int i = 0; i < itemCount; i++) {
+            cashFlow.add(dates[i], amounts[i]);
+        }
+
+        return cashFlow;
+    }
+
+    /**
+     * Builds a new cash flow each time so the conversion to primitive arrays is included.
+     */
+    @Benchmark
+    public double internalRateOfReturn() {
+        return buildCashFlow().internalRateOfReturn();
+    }
+
+    /**
+     * Solves an existing cash flow whose primitive arrays are already cached.
+     */
+    @Benchmark
+    public double cachedInternalRateOfReturn() {
+        return portfolios.get(0).internalRateOfReturn();
+    }
+
+    @Benchmark
+    public double[] parallelInternalRateOfReturn() {
+        return CashFlow.internalRateOfReturn(portfolios);
+    }
+}
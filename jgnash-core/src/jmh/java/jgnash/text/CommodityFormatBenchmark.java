@@ -0,0 +1,105 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.text;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.DefaultCurrencies;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@code ScaledDecimalFormatter} against the {@code DecimalFormat} returned by {@code CommodityFormat}.
+ * <p>
+ * Run with {@code gradle :jgnash-core:jmh}.
+ *
+ * @author Craig Cavanaugh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommodityFormatBenchmark {
+
+    private static final int VALUE_COUNT = 1024;
+
+    private final BigDecimal[] values = new BigDecimal[VALUE_COUNT];
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private CurrencyNode node;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        node = DefaultCurrencies.buildNode(Locale.US);
+
+        final Random random = new Random(1);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = BigDecimal.valueOf(random.nextLong() % 100000000L, node.getScale());
+        }
+    }
+
+    private BigDecimal nextValue() {
+        index = (index + 1) & (VALUE_COUNT - 1);
+        return values[index];
+    }
+
+    @Benchmark
+    public String fullNumberFormat() {
+        return CommodityFormat.getFullNumberFormat(node).format(nextValue());
+    }
+
+    @Benchmark
+    public String shortNumberFormat() {
+        return CommodityFormat.getShortNumberFormat(node).format(nextValue());
+    }
+
+    @Benchmark
+    public String fullFormatter() {
+        return CommodityFormat.getFullFormatter(node).format(nextValue());
+    }
+
+    @Benchmark
+    public String shortFormatter() {
+        return CommodityFormat.getShortFormatter(node).format(nextValue());
+    }
+
+    @Benchmark
+    public int fullFormatterBuffer() {
+        buffer.setLength(0);
+        return CommodityFormat.getFullFormatter(node).format(nextValue(), buffer).length();
+    }
+}
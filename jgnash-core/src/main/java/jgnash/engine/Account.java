@@ -271,6 +271,25 @@ public class Account extends StoredObject implements Comparable<Account> {
         reconciledBalance = null;
     }
 
+    /**
+     * Updates the reconcile index after the reconciled state of a transaction has been changed in place.
+     *
+     * @param transaction transaction that has changed
+     */
+    void transactionReconciled(final Transaction transaction) {
+        transactionLock.writeLock().lock();
+
+        try {
+            if (proxy != null) {
+                proxy.transactionReconciled(transaction);
+            }
+
+            reconciledBalance = null;   // recalculated from the reconcile index
+        } finally {
+            transactionLock.writeLock().unlock();
+        }
+    }
+
     /**
      * Adds account transaction in chronological order.
      *
@@ -299,6 +318,10 @@ public class Account extends StoredObject implements Comparable<Account> {
                     Collections.sort(getCachedSortedTransactionList());
                 }
 
+                if (proxy != null) {
+                    proxy.transactionAdded(tran);
+                }
+
                 clearCachedBalances();
 
                 result = true;
@@ -331,6 +354,10 @@ public class Account extends StoredObject implements Comparable<Account> {
                 getCachedSortedTransactionList().remove(tran);
                 clearCachedBalances();
 
+                if (proxy != null) {
+                    proxy.transactionRemoved(tran);
+                }
+
                 result = true;
             } else {
                 Logger.getLogger(Account.class.toString()).log(Level.SEVERE, "Account: {0}({1}){2}Did not contain transaction ID: {3}", new Object[]{getName(), getUuid(), System.lineSeparator(), tran.getUuid()});
@@ -391,6 +418,23 @@ public class Account extends StoredObject implements Comparable<Account> {
         }
     }
 
+    /**
+     * Returns a copy of the sorted list of transactions for this account.  Unlike
+     * {@link #getSortedTransactionList()}, the copy may be iterated while transactions are added or removed.
+     *
+     * @return List of transactions
+     */
+    @NotNull
+    public List<Transaction> getSortedTransactionSnapshot() {
+        transactionLock.readLock().lock();
+
+        try {
+            return new ArrayList<>(getCachedSortedTransactionList());
+        } finally {
+            transactionLock.readLock().unlock();
+        }
+    }
+
     /**
      * Returns the transaction at the specified index.
      *
@@ -742,14 +786,7 @@ public class Account extends StoredObject implements Comparable<Account> {
         transactionLock.readLock().lock();
 
         try {
-            LocalDate date = null;
-
-            for (final Transaction transaction : getSortedTransactionList()) {
-                if (transaction.getReconciled(this) != ReconciledState.RECONCILED) {
-                    date = transaction.getLocalDate();
-                    break;
-                }
-            }
+            LocalDate date = getProxy().getFirstUnreconciledTransactionDate();
 
             if (date == null) {
                 date = getCachedSortedTransactionList().get(getTransactionCount() - 1).getLocalDate();
@@ -1339,6 +1376,16 @@ public class Account extends StoredObject implements Comparable<Account> {
         }
     }
 
+    /**
+     * Returns the investment transactions for a security in chronological order.
+     *
+     * @param node security to search for
+     * @return list of transactions
+     */
+    List<Transaction> getInvestmentTransactions(final SecurityNode node) {
+        return getProxy().getInvestmentTransactions(node);
+    }
+
     /**
      * Returns a set of used SecurityNodes.
      *
@@ -1524,6 +1571,11 @@ public class Account extends StoredObject implements Comparable<Account> {
 
         cachedSortedChildren = new ArrayList<>(children);
         Collections.sort(cachedSortedChildren); // JPA will be naturally sorted, but XML files will not
+
+        // also called after a refresh, derived transaction state must be rebuilt from the reloaded transactions
+        cachedSortedTransactionList = null;
+        proxy = null;
+        clearCachedBalances();
     }
 
     /**
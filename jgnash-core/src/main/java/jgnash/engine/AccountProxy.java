@@ -19,6 +19,7 @@ package jgnash.engine;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 
@@ -34,6 +35,11 @@ class AccountProxy {
 
     final Account account;
 
+    /**
+     * Reconciled state of the account's transactions, created when first needed.
+     */
+    private ReconcileIndex reconcileIndex;
+
     AccountProxy(final Account account) {
         this.account = account;
     }
@@ -135,6 +141,94 @@ class AccountProxy {
         }
     }
 
+    /**
+     * Called after a transaction has been added to the account.
+     *
+     * @param transaction the added {@code Transaction}
+     */
+    synchronized void transactionAdded(final Transaction transaction) {
+        if (reconcileIndex != null) {
+            reconcileIndex.add(transaction);
+        }
+    }
+
+    /**
+     * Called after a transaction has been removed from the account.
+     *
+     * @param transaction the removed {@code Transaction}
+     */
+    synchronized void transactionRemoved(final Transaction transaction) {
+        if (reconcileIndex != null) {
+            reconcileIndex.remove(transaction);
+        }
+    }
+
+    /**
+     * Called after the reconciled state of a transaction has changed.
+     *
+     * @param transaction the changed {@code Transaction}
+     */
+    synchronized void transactionReconciled(final Transaction transaction) {
+        if (reconcileIndex != null) {
+            reconcileIndex.reconciledStateChanged(transaction);
+        }
+    }
+
+    /**
+     * Returns the reconcile index for the account.  The caller must hold the account's transaction lock.
+     *
+     * @return reconcile index
+     */
+    private synchronized ReconcileIndex getReconcileIndex() {
+        if (reconcileIndex == null) {
+            reconcileIndex = new ReconcileIndex(account, account.getSortedTransactionList());
+        }
+
+        return reconcileIndex;
+    }
+
+    /**
+     * Returns the date of the first unreconciled transaction.
+     *
+     * @return date of the first unreconciled transaction or {@code null} if all transactions are reconciled
+     */
+    LocalDate getFirstUnreconciledTransactionDate() {
+        final Lock l = account.getTransactionLock().readLock();
+        l.lock();
+
+        try {
+            return getReconcileIndex().getFirstUnreconciledDate();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Returns the investment transactions for a security in chronological order.
+     *
+     * @param node security to search for
+     * @return list of transactions
+     */
+    List<Transaction> getInvestmentTransactions(final SecurityNode node) {
+        final Lock l = account.getTransactionLock().readLock();
+        l.lock();
+
+        try {
+            final List<Transaction> transactions = new ArrayList<>();
+
+            for (final Transaction transaction : account.getSortedTransactionList()) {
+                if (transaction instanceof InvestmentTransaction
+                        && node.equals(((InvestmentTransaction) transaction).getSecurityNode())) {
+                    transactions.add(transaction);
+                }
+            }
+
+            return transactions;
+        } finally {
+            l.unlock();
+        }
+    }
+
     /**
      * Returns the cash balance of this account.
      *
@@ -154,7 +248,7 @@ class AccountProxy {
     }
 
     /**
-     * Calculates the reconciled balance of the account.
+     * Returns the reconciled balance of the account.
      *
      * @return the reconciled balance of this account
      */
@@ -163,16 +257,7 @@ class AccountProxy {
         l.lock();
 
         try {
-            BigDecimal balance = BigDecimal.ZERO;
-
-            // Use the cached list to avoid ConcurrentModificationException with JPA
-            for (final Transaction t : account.getSortedTransactionList()) {
-                if (t.getReconciled(account) == ReconciledState.RECONCILED) {
-                    balance = balance.add(t.getAmount(account));
-                }
-            }
-
-            return balance;
+            return getReconcileIndex().getReconciledBalance();
         } finally {
             l.unlock();
         }
@@ -188,21 +273,11 @@ class AccountProxy {
         l.lock();
 
         try {
-            final LocalDate date = account.getFirstUnreconciledTransactionDate();
-
-            final List<Transaction> transactions = account.getSortedTransactionList();
-
-            BigDecimal balance = BigDecimal.ZERO;
-
-            for (int i = 0; i < transactions.size(); i++) {
-                if (transactions.get(i).getLocalDate().equals(date)) {
-                    if (i > 0) {
-                        balance = getBalanceAt(i - 1);
-                    }
-                    break;
-                }
+            if (account.getTransactionCount() == 0) {
+                return BigDecimal.ZERO;
             }
-            return balance;
+
+            return getReconcileIndex().getBalanceBefore(account.getFirstUnreconciledTransactionDate());
         } finally {
             l.unlock();
         }
@@ -0,0 +1,109 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of attachments to the transactions that reference them.
+ * <p>
+ * Content addressed attachments may be shared by several transactions.  The number of transactions referencing an
+ * attachment determines if the attachment file may be removed.
+ *
+ * @author Craig Cavanaugh
+ */
+class AttachmentIndex {
+
+    private final Map<String, Set<Transaction>> index = new HashMap<>();
+
+    /**
+     * Creates an index from a collection of transactions.
+     *
+     * @param transactions transactions, transactions without an attachment are ignored
+     */
+    AttachmentIndex(final Collection<Transaction> transactions) {
+        transactions.forEach(this::add);
+    }
+
+    synchronized void add(final Transaction transaction) {
+        final String attachment = transaction.getAttachment();
+
+        if (attachment != null && !attachment.isEmpty()) {
+            index.computeIfAbsent(attachment, k -> new LinkedHashSet<>()).add(transaction);
+        }
+    }
+
+    synchronized void remove(final Transaction transaction) {
+        final String attachment = transaction.getAttachment();
+
+        if (attachment != null) {
+            final Set<Transaction> transactions = index.get(attachment);
+
+            if (transactions != null) {
+                transactions.remove(transaction);
+
+                if (transactions.isEmpty()) {
+                    index.remove(attachment);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of transactions that reference an attachment.
+     *
+     * @param attachment attachment name
+     * @return number of transactions
+     */
+    synchronized int getReferenceCount(final String attachment) {
+        final Set<Transaction> transactions = index.get(attachment);
+
+        return transactions != null ? transactions.size() : 0;
+    }
+
+    /**
+     * Returns the transactions that reference an attachment.
+     *
+     * @param attachment attachment name
+     * @return list of transactions
+     */
+    synchronized List<Transaction> getTransactions(final String attachment) {
+        final Set<Transaction> transactions = index.get(attachment);
+
+        return transactions != null ? new ArrayList<>(transactions) : new ArrayList<>();
+    }
+
+    /**
+     * Returns all transactions that reference an attachment.
+     *
+     * @return list of transactions
+     */
+    synchronized List<Transaction> getTransactions() {
+        final List<Transaction> transactions = new ArrayList<>();
+
+        index.values().forEach(transactions::addAll);
+
+        return transactions;
+    }
+}
@@ -21,12 +21,18 @@ import jgnash.util.FileUtils;
 import jgnash.util.NotNull;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static javax.xml.bind.DatatypeConverter.printHexBinary;
+
 /**
  * Support methods for handling attachments.
  *
@@ -36,6 +42,10 @@ public class AttachmentUtils {
 
     private static final String ATTACHMENT_BASE = "attachments";
 
+    private static final String CONTENT_DIGEST = "SHA-256";
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Utility class.
      */
@@ -85,4 +95,37 @@ public class AttachmentUtils {
     public static Path getAttachmentPath() {
         return getAttachmentDirectory(Paths.get(EngineFactory.getActiveDatabase()));
     }
+
+    /**
+     * Returns the content addressed name for an attachment.  The name is the SHA-256 hash of the file content
+     * followed by the original file extension, so identical files always map to the same name.
+     *
+     * @param path file to generate a name for
+     * @return content addressed file name
+     * @throws IOException if the file cannot be read
+     */
+    public static String getContentName(@NotNull final Path path) throws IOException {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance(CONTENT_DIGEST);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        try (final InputStream inputStream = Files.newInputStream(path)) {
+            final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+            int bytesRead;
+
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+
+        final String extension = FileUtils.getFileExtension(path.getFileName().toString());
+        final String hash = printHexBinary(digest.digest()).toLowerCase(Locale.ROOT);
+
+        return extension.isEmpty() ? hash : hash + '.' + extension.toLowerCase(Locale.ROOT);
+    }
 }
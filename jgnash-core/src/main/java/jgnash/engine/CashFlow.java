@@ -28,8 +28,13 @@ import java.util.logging.Logger;
 
 /**
  * Stores a history of cash flow items and calculates their internal rate of
- * return. It assumes 365 days per year (Actual/365 Fixed day count convention)
- * and uses a simple iterative solver.
+ * return. It assumes 365 days per year (Actual/365 Fixed day count convention).
+ * <p>
+ * The items are converted to primitive arrays of times and amounts once, so
+ * each solver iteration is a tight loop over doubles. The rate is found with a
+ * Newton iteration that uses the analytic derivative of the net present value
+ * and falls back to bisection whenever a step would leave the bracket around
+ * the root.
  * 
  * @author t-pa
  */
@@ -37,6 +42,19 @@ public class CashFlow {
     
     private static final double DAYS_PER_YEAR = 365;
     private static final int MAX_ITERATIONS = 1000;
+
+    private static final double TOLERANCE = 1.e-10;
+
+    /**
+     * Lowest rate evaluated; the discount factor is undefined at -100%.
+     */
+    private static final double MIN_RATE = -0.999999;
+
+    /**
+     * Rates tested when searching for a bracket around the root, in ascending order.
+     */
+    private static final double[] BRACKET_RATES = {MIN_RATE, -0.99, -0.9, -0.75, -0.5, -0.25, -0.1, 0, 0.1, 0.25,
+            0.5, 1, 2, 5, 10, 100, 1000, 1.e6};
     
     private static final Logger logger = Logger.getLogger(CashFlow.class.getName());
     
@@ -54,8 +72,73 @@ public class CashFlow {
             return String.format("[%s, %f]", date.toString(), amount);
         }
     }
+
+    /**
+     * Cash flow items converted for the solver. Times are in years relative to the first item.
+     */
+    private static class FrozenCashFlow {
+        final double[] times;
+        final double[] amounts;
+
+        FrozenCashFlow(final List<CashFlowItem> items) {
+            times = new double[items.size()];
+            amounts = new double[items.size()];
+
+            // the reference date is arbitrary, but for better numerical accuracy,
+            // use one of the actual dates in the cash flow history
+            final LocalDate referenceDate = items.get(0).date;
+
+            for (int i = 0; i < times.length; i++) {
+                times[i] = referenceDate.until(items.get(i).date, DAYS) / DAYS_PER_YEAR;
+                amounts[i] = items.get(i).amount.doubleValue();
+            }
+        }
+
+        /**
+         * Calculate the net present value at the given rate.
+         *
+         * @param rate the discount rate
+         * @return the net present value
+         */
+        double netPresentValue(final double rate) {
+            final double logDiscount = Math.log1p(rate);
+
+            double npv = 0;
+
+            for (int i = 0; i < times.length; i++) {
+                npv += amounts[i] * Math.exp(-times[i] * logDiscount);
+            }
+
+            return npv;
+        }
+
+        /**
+         * Calculate the net present value and its derivative with respect to the rate.
+         *
+         * @param rate the discount rate
+         * @param result array of length 2 to receive the value and the derivative
+         */
+        void netPresentValue(final double rate, final double[] result) {
+            final double logDiscount = Math.log1p(rate);
+
+            double npv = 0;
+            double derivative = 0;
+
+            for (int i = 0; i < times.length; i++) {
+                final double value = amounts[i] * Math.exp(-times[i] * logDiscount);
+
+                npv += value;
+                derivative -= times[i] * value;
+            }
+
+            result[0] = npv;
+            result[1] = derivative / (1 + rate);
+        }
+    }
     
     private final List<CashFlowItem> cashFlows = new ArrayList<>();
+
+    private volatile FrozenCashFlow frozen;
     
     /**
      * Add an item to the history of cash flows.
@@ -65,6 +148,18 @@ public class CashFlow {
      */
     public void add(final LocalDate date, final BigDecimal amount) {
         cashFlows.add(new CashFlowItem(date, amount));
+        frozen = null;
+    }
+
+    /**
+     * Calculate the internal rate of return for several cash flows in parallel.
+     *
+     * @param cashFlows the cash flows to solve
+     * @return the internal rates of return in the same order as the cash flows
+     * @see #internalRateOfReturn()
+     */
+    public static double[] internalRateOfReturn(final List<CashFlow> cashFlows) {
+        return cashFlows.parallelStream().mapToDouble(CashFlow::internalRateOfReturn).toArray();
     }
     
     /**
@@ -77,58 +172,108 @@ public class CashFlow {
         if (cashFlows.isEmpty()) {
             return 0.0;
         }
-        
-        // the reference date is arbitrary, but for better numerical accuracy,
-        // use one of the actual dates in the cash flow history
-        LocalDate referenceDate = cashFlows.get(0).date;
-        
-        double lastRate = 0.0;
-        double lastNPV = netPresentValue(referenceDate, lastRate);
 
-        double rate = (lastNPV > 0) ? 0.05 : -0.05;
-        
-        // iteratively calculate the IRR with the secant method
-        int i = 0;
-        boolean hasConverged;
-        do {
-            double npv = netPresentValue(referenceDate, rate);
-            double newRate = rate - npv * (rate - lastRate) / (npv - lastNPV);
-            
-            lastRate = rate;
-            lastNPV = npv;
-            rate = newRate;
-            
-            i++;
-            if (rate != 0 || lastRate != 0) {
-                hasConverged = abs(rate-lastRate)/(abs(rate)+abs(lastRate)) < 1.e-5;
+        FrozenCashFlow flow = frozen;
+
+        if (flow == null) {
+            flow = new FrozenCashFlow(cashFlows);
+            frozen = flow;
+        }
+
+        final double[] bracket = findBracket(flow);
+
+        if (bracket == null) {
+            logger.log(Level.INFO, "IRR calculation did not converge. Data: {0}", cashFlows);
+            return Double.NaN;
+        }
+
+        double low = bracket[0];
+        double high = bracket[1];
+
+        if (flow.netPresentValue(low) == 0) {
+            return low;
+        } else if (flow.netPresentValue(high) == 0) {
+            return high;
+        }
+
+        // orient the bracket so that npv(low) < 0 < npv(high)
+        if (flow.netPresentValue(low) > 0) {
+            final double temp = low;
+            low = high;
+            high = temp;
+        }
+
+        final double[] npv = new double[2];
+
+        double rate = 0.5 * (low + high);
+        double lastStep = abs(high - low);
+        double step = lastStep;
+
+        flow.netPresentValue(rate, npv);
+
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+
+            // bisect if Newton would jump out of the bracket or is not converging fast enough
+            if (((rate - high) * npv[1] - npv[0]) * ((rate - low) * npv[1] - npv[0]) > 0
+                    || abs(2.0 * npv[0]) > abs(lastStep * npv[1])) {
+                lastStep = step;
+                step = 0.5 * (high - low);
+                rate = low + step;
             } else {
-                hasConverged = true;
+                lastStep = step;
+                step = npv[0] / npv[1];
+                rate -= step;
+            }
+
+            if (abs(step) < TOLERANCE * (1 + abs(rate))) {
+                return rate;
+            }
+
+            flow.netPresentValue(rate, npv);
+
+            if (npv[0] == 0) {
+                return rate;
+            } else if (npv[0] < 0) {
+                low = rate;
+            } else {
+                high = rate;
             }
-        } while (!hasConverged && i < MAX_ITERATIONS);
-        
-        if (!hasConverged) {
-            rate = Double.NaN;
-            logger.log(Level.INFO, "IRR calculation did not converge. Data: {0}", cashFlows);
         }
-        
-        return rate;
+
+        logger.log(Level.INFO, "IRR calculation did not converge. Data: {0}", cashFlows);
+
+        return Double.NaN;
     }
-    
+
     /**
-     * Calculate the net present value of the cash flow.
-     * 
-     * @param referenceDate  the NPV is relative to this date
-     * @param rate  the discount rate
-     * @return the net present value
+     * Searches for an interval of rates where the net present value changes sign. The interval closest to a
+     * zero rate is preferred when more than one exists.
+     *
+     * @param flow the frozen cash flow
+     * @return the bracketing rates or {@code null} if none were found
      */
-    private double netPresentValue(final LocalDate referenceDate, final double rate) {
-        double npv = 0;
-        
-        for (final CashFlowItem item : cashFlows) {
-            double timeDifference = referenceDate.until(item.date, DAYS) / DAYS_PER_YEAR;
-            npv += item.amount.doubleValue() / Math.pow(1+rate, timeDifference);
+    private static double[] findBracket(final FrozenCashFlow flow) {
+        final double[] values = new double[BRACKET_RATES.length];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = flow.netPresentValue(BRACKET_RATES[i]);
         }
-        
-        return npv;
+
+        double[] bracket = null;
+        double distance = Double.MAX_VALUE;
+
+        for (int i = 1; i < values.length; i++) {
+            if (Math.signum(values[i - 1]) != Math.signum(values[i]) && !Double.isNaN(values[i - 1])
+                    && !Double.isNaN(values[i])) {
+                final double d = Math.min(abs(BRACKET_RATES[i - 1]), abs(BRACKET_RATES[i]));
+
+                if (d < distance) {
+                    distance = d;
+                    bracket = new double[]{BRACKET_RATES[i - 1], BRACKET_RATES[i]};
+                }
+            }
+        }
+
+        return bracket;
     }
 }
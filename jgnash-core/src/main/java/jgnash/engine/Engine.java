@@ -25,52 +25,66 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jgnash.engine.attachment.AttachmentManager;
 import jgnash.engine.budget.Budget;
 import jgnash.engine.budget.BudgetGoal;
 import jgnash.engine.concurrent.LockManager;
+import jgnash.engine.concurrent.LockRequest;
 import jgnash.engine.dao.AccountDAO;
 import jgnash.engine.dao.BudgetDAO;
 import jgnash.engine.dao.CommodityDAO;
 import jgnash.engine.dao.ConfigDAO;
 import jgnash.engine.dao.EngineDAO;
 import jgnash.engine.dao.RecurringDAO;
+import jgnash.engine.dao.StaleObjectException;
 import jgnash.engine.dao.TransactionDAO;
 import jgnash.engine.dao.TrashDAO;
 import jgnash.engine.message.ChannelEvent;
 import jgnash.engine.message.Message;
 import jgnash.engine.message.MessageBus;
 import jgnash.engine.message.MessageChannel;
+import jgnash.engine.message.MessageListener;
 import jgnash.engine.message.MessageProperty;
 import jgnash.engine.recurring.MonthlyReminder;
 import jgnash.engine.recurring.PendingReminder;
 import jgnash.engine.recurring.RecurringIterator;
 import jgnash.engine.recurring.Reminder;
 import jgnash.net.currency.CurrencyUpdateFactory;
+import jgnash.net.security.QuoteUpdateScheduler;
 import jgnash.net.security.UpdateFactory;
 import jgnash.time.DateUtils;
 import jgnash.util.CollectionUtils;
@@ -106,15 +120,35 @@ public class Engine {
     private final static long MAXIMUM_TRASH_AGE = 2 * 60 * 1000; // 2 minutes
 
     /**
-     * The maximum number of network errors before scheduled tasks are stopped.
+     * Maximum number of trash objects removed at once.
      */
-    private static final short MAX_ERRORS = 2;
+    private static final int TRASH_BATCH_SIZE = 50;
+
+    /**
+     * Time in milliseconds a trash purge may run before yielding the background executor.
+     */
+    private static final long TRASH_TIME_SLICE = 200;
+
+    /**
+     * Delay in milliseconds before a purge that has yielded is resumed.
+     */
+    private static final long TRASH_RESUME_DELAY = 500;
+
+    /**
+     * The maximum number of attempts to store a transaction change that conflicts with another client.
+     */
+    private static final int MAX_CONFLICT_ATTEMPTS = 3;
 
     /**
      * Time in seconds to delay start of background updates.
      */
     private static final int SCHEDULED_DELAY = 30;
 
+    /**
+     * Time in minutes the background executor waits for a securities update before leaving it to finish on its own.
+     */
+    private static final int SECURITIES_UPDATE_TIMEOUT = 5;
+
     static {
         logger.setLevel(Level.ALL);
     }
@@ -122,11 +156,33 @@ public class Engine {
     private final ResourceBundle rb = ResourceUtils.getBundle();
 
     /**
-     * Primary lock for any operation that alters or reads data
+     * Primary lock for any operation that alters or reads data.
+     * <p>
+     * Structural changes hold the write lock.  Operations that only change a few accounts, commodities or budgets
+     * share the read lock and lock the objects they change instead, see {@link #lockScope(String...)}.
      */
     private final ReentrantReadWriteLock dataLock;
 
+    private final LockManager lockManager;
+
     private final AtomicInteger backGroundCounter = new AtomicInteger();
+
+    /**
+     * Set while trash is being purged so a scheduled purge does not overlap one that has yielded.
+     */
+    private final AtomicBoolean purgingTrash = new AtomicBoolean();
+
+    /**
+     * Trash purge statistics, see {@link #getPurgedTrashCount()}.
+     */
+    private final AtomicLong purgedTrashCount = new AtomicLong();
+
+    private final AtomicLong failedTrashCount = new AtomicLong();
+
+    private final AtomicLong trashPurgeTime = new AtomicLong();
+
+    private final AtomicLong longestTrashPause = new AtomicLong();
+
     /**
      * Named identifier for this engine instance.
      */
@@ -139,15 +195,57 @@ public class Engine {
     private final EngineDAO eDAO;
     private final AttachmentManager attachmentManager;
 
+    /**
+     * Index of attachments to the transactions referencing them.  Created when first needed and discarded when
+     * another client changes transactions.
+     */
+    private AttachmentIndex attachmentIndex;
+
+    private final Object attachmentIndexLock = new Object();
+
+    private final MessageListener remoteTransactionListener = message -> {
+        if (message.isRemote()) {
+            synchronized (attachmentIndexLock) {
+                attachmentIndex = null;
+            }
+        }
+    };
+
+    /**
+     * Schedule of reminders by next fire date.  Created when first needed and discarded when another client changes
+     * reminders.
+     */
+    private ReminderScheduler reminderScheduler;
+
+    private final Object reminderSchedulerLock = new Object();
+
+    private final MessageListener remoteReminderListener = message -> {
+        if (message.isRemote()) {
+            synchronized (reminderSchedulerLock) {
+                reminderScheduler = null;
+            }
+        }
+    };
+
     /**
      * Background executor service for trash management and currency / security updates
      */
     private final ScheduledThreadPoolExecutor backgroundExecutorService;
 
+    /**
+     * Parallel, rate limited security price downloads.
+     */
+    private final QuoteUpdateScheduler quoteUpdateScheduler = new QuoteUpdateScheduler();
+
     /**
      * All engine instances will share the same message bus.
      */
     private MessageBus messageBus;
+
+    /**
+     * Set once stored data has changed so a backup is only written when there is something new to save.
+     */
+    private volatile boolean dataChanged;
     /**
      * Cached for performance.
      */
@@ -171,9 +269,12 @@ public class Engine {
         this.name = name;
 
         // Generate lock
+        this.lockManager = lockManager;
         dataLock = lockManager.getLock(BIG_LOCK);
 
         messageBus = MessageBus.getInstance(name);
+        messageBus.registerListener(remoteTransactionListener, MessageChannel.TRANSACTION);
+        messageBus.registerListener(remoteReminderListener, MessageChannel.REMINDER);
 
         initialize();
 
@@ -358,21 +459,37 @@ public class Engine {
      * @param delay delay in seconds
      */
     public void startSecuritiesUpdate(final int delay) {
-        final List<ScheduledFuture<Boolean>> futures = new ArrayList<>();
+        final List<SecurityNode> nodes = getSecurities().stream()
+                .filter(securityNode -> securityNode.getQuoteSource() != QuoteSource.NONE) // failure will occur if source is not defined
+                .collect(Collectors.toList());
 
-        // Load of the scheduler with the tasks and save the futures
-        // failure will occur if source is not defined
-        getSecurities().stream().filter(securityNode ->
-                securityNode.getQuoteSource() != QuoteSource.NONE).forEach(securityNode -> { // failure will occur if source is not defined
-            futures.add(backgroundExecutorService.schedule(new BackgroundCallable<>(
-                    new UpdateFactory.UpdateSecurityNodeCallable(securityNode)), delay, TimeUnit.SECONDS));
+        backgroundExecutorService.schedule(new BackgroundCallable<>(() -> {
+            final LocalDate today = LocalDate.now();
 
-            futures.add(backgroundExecutorService.schedule(new BackgroundCallable<>(
-                    new UpdateFactory.UpdateSecurityNodeEventsCallable(securityNode)), delay, TimeUnit.SECONDS));
-        });
+            // prices are downloaded in parallel, history events share the same rate limits
+            final CompletableFuture<Integer> prices = quoteUpdateScheduler.updateSecurities(this, nodes,
+                    today.minusDays(1), today);
+
+            final List<CompletableFuture<Boolean>> events = new ArrayList<>();
 
-        // Cleanup thread that monitors for excess network connection failures
-        new SecuritiesUpdateThread(futures).start();
+            for (final SecurityNode node : nodes) {
+                events.add(quoteUpdateScheduler.submit(node, new UpdateFactory.UpdateSecurityNodeEventsCallable(node)));
+            }
+
+            events.add(0, prices.thenApply(updated -> true));
+
+            // bounded so the update cannot hold the background executor from trash purges or a shutdown
+            try {
+                CompletableFuture.allOf(events.toArray(new CompletableFuture<?>[0]))
+                        .get(SECURITIES_UPDATE_TIMEOUT, TimeUnit.MINUTES);
+            } catch (final ExecutionException | CancellationException e) {
+                logger.log(Level.WARNING, e.getLocalizedMessage(), e);
+            } catch (final TimeoutException e) {
+                logger.warning("Securities update is still running and will complete in the background");
+            }
+
+            return null;
+        }), delay, TimeUnit.SECONDS);
 
         // Save the last update
         config.setLastSecuritiesUpdateTimestamp(LocalDateTime.now());
@@ -417,7 +534,7 @@ public class Engine {
 
                 logInfo("Creating RootAccount");
 
-                if (!getAccountDAO().addRootAccount(root)) {
+                if (!dataStored(getAccountDAO().addRootAccount(root))) {
                     logSevere("Was not able to add the root account");
                     throw new RuntimeException("Was not able to add the root account");
                 }
@@ -446,6 +563,7 @@ public class Engine {
 
                 // Update transactions in chunks of 200
                 CollectionUtils.partition(getTransactions(), 200).forEach(eDAO::bulkUpdate);
+                dataChanged = true;
             }
 
             // update the file version if it is not current
@@ -455,6 +573,8 @@ public class Engine {
                 final Config localConfig = getConfig();
                 localConfig.updateFileVersion();
                 getConfigDAO().update(localConfig);
+
+                dataChanged = true;
             }
         } finally {
             dataLock.writeLock().unlock();
@@ -483,11 +603,36 @@ public class Engine {
     void stopBackgroundServices() {
         logInfo("Controlled engine shutdown initiated");
 
+        quoteUpdateScheduler.shutdown();
+
         shutDownAndWait(backgroundExecutorService);
 
         logInfo("Background services have been stopped");
     }
 
+    /**
+     * Returns {@code true} if stored data has been changed since the engine was started.
+     *
+     * @return {@code true} if data has changed
+     */
+    public boolean isDataChanged() {
+        return dataChanged;
+    }
+
+    /**
+     * Records the result of a write to the data store.  A successful write marks the data as changed.
+     *
+     * @param result {@code true} if the write succeeded
+     * @return the result of the write
+     */
+    private boolean dataStored(final boolean result) {
+        if (result) {
+            dataChanged = true;
+        }
+
+        return result;
+    }
+
     void shutdown() {
         eDAO.shutdown();
     }
@@ -532,23 +677,98 @@ public class Engine {
         return eDAO.getTrashDAO();
     }
 
+    /**
+     * Acquires the locks for an operation that only changes the objects with the supplied ids.
+     * <p>
+     * The read lock of the {@code dataLock} is shared so operations on unrelated objects run in parallel while
+     * structural changes holding the write lock still exclude them.  The read lock and the object locks are
+     * requested as a single group, which is one round trip to a lock server, and the object locks are acquired in
+     * lock id order to prevent deadlocks between overlapping scopes.  A scoped operation must acquire every object
+     * lock it requires up front and must never require the write lock.  Nested scopes may only request locks that
+     * are already held.
+     *
+     * @param lockIds ids of the objects that will be changed
+     * @return the acquired locks to be released with {@link #unlockScope(LockRequest[])}
+     */
+    private LockRequest[] lockScope(final String... lockIds) {
+        return lockScope(Arrays.stream(lockIds).map(LockRequest::write));
+    }
+
+    private LockRequest[] lockScope(final Stream<LockRequest> requests) {
+        // the data lock must stay the first request, it is always acquired before the object locks
+        final LockRequest[] scope = Stream.concat(Stream.of(LockRequest.read(BIG_LOCK)), requests)
+                .toArray(LockRequest[]::new);
+
+        lockManager.lock(scope);
+
+        return scope;
+    }
+
+    private void unlockScope(final LockRequest[] scope) {
+        lockManager.unlock(scope);
+    }
+
+    /**
+     * Acquires the locks for a change to transactions that is stored with
+     * {@link #storeTransactionChange(Collection, Runnable, Runnable, BooleanSupplier)}.
+     * <p>
+     * With optimistic locking the account locks only exclude the other threads of this engine.  Changes by other
+     * clients are detected by comparing object versions when the change is stored.  Exchange rates updated by the
+     * change keep their distributed locks.
+     *
+     * @param accountIds      ids of the accounts that will be changed
+     * @param exchangeRateIds ids of the exchange rates that may be updated
+     * @return the acquired locks to be released with {@link #unlockScope(LockRequest[])}
+     */
+    private LockRequest[] lockTransactionScope(final String[] accountIds, final String... exchangeRateIds) {
+        final Function<String, LockRequest> accountRequest = eDAO.isOptimistic() ? LockRequest::localWrite
+                : LockRequest::write;
+
+        return lockScope(Stream.concat(Arrays.stream(accountIds).map(accountRequest),
+                Arrays.stream(exchangeRateIds).map(LockRequest::write)));
+    }
+
+    private static String[] getLockIds(final Transaction transaction) {
+        return transaction.getAccounts().stream().map(StoredObject::getUuid).toArray(String[]::new);
+    }
+
+    private static String[] getLockIds(final Collection<Transaction> transactions) {
+        return transactions.stream().flatMap(transaction -> transaction.getAccounts().stream())
+                .map(StoredObject::getUuid).distinct().toArray(String[]::new);
+    }
+
+    /**
+     * Returns the ids of the exchange rates {@link #setDefaultExchangeRates(Transaction)} may update.
+     *
+     * @param transactions transactions to be added
+     * @return exchange rate ids
+     */
+    private static String[] getExchangeRateLockIds(final Collection<Transaction> transactions) {
+        return transactions.stream().flatMap(transaction -> transaction.getTransactionEntries().stream())
+                .filter(TransactionEntry::isMultiCurrency)
+                .map(entry -> buildExchangeRateId(entry.getCreditAccount().getCurrencyNode(),
+                        entry.getDebitAccount().getCurrencyNode()))
+                .distinct().toArray(String[]::new);
+    }
+
     private boolean moveObjectToTrash(final Object object) {
         boolean result = false;
 
-        dataLock.writeLock().lock();
+        dataLock.readLock().lock();   // the trash DAO is thread safe
 
         try {
             if (object instanceof StoredObject) {
                 getTrashDAO().add(new TrashObject((StoredObject) object));
-                result = true;
             } else {    // simple object with an annotated JPA entity id of type long is assumed
                 getTrashDAO().addEntityTrash(object);
-                result = true;
             }
+
+            dataChanged = true;
+            result = true;
         } catch (final Exception ex) {
             logger.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
         } finally {
-            dataLock.writeLock().unlock();
+            dataLock.readLock().unlock();
         }
 
         return result;
@@ -558,13 +778,13 @@ public class Engine {
      * Empty the trash if any objects are older than the defined time.
      */
     private void emptyTrash() {
-
-        if (backGroundCounter.incrementAndGet() == 1) {
-            messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STARTED,
-                    Engine.this));
+        if (!purgingTrash.compareAndSet(false, true)) {
+            return; // a purge is still in progress
         }
 
-        dataLock.writeLock().lock();
+        boolean purging = false;
+
+        dataLock.readLock().lock();   // the trash DAO is thread safe
 
         try {
             logger.info("Checking for trash");
@@ -576,14 +796,93 @@ public class Engine {
              * or objects are removed */
             Collections.sort(trash);
 
+            final LocalDateTime now = LocalDateTime.now();
+
+            trash.removeIf(o -> ChronoUnit.MILLIS.between(o.getDate(), now) < MAXIMUM_TRASH_AGE);
+
             if (trash.isEmpty()) {
                 logger.info("No trash was found");
+            } else {
+                purging = true;
+                backgroundExecutorService.execute(() -> purgeTrash(trash));
             }
+        } catch (final RejectedExecutionException e) {   // engine is shutting down
+            purging = false;
+        } finally {
+            dataLock.readLock().unlock();
+
+            if (!purging) {
+                purgingTrash.set(false);
+            }
+        }
+    }
+
+    /**
+     * Removes trash objects in small batches.  Each batch holds only the data read lock, so readers and scoped
+     * writers are never blocked, and the purge yields the background executor once its time slice is used.
+     *
+     * @param trash trash objects to remove, sorted by the time they were trashed
+     */
+    private void purgeTrash(final List<TrashObject> trash) {
+        if (backGroundCounter.incrementAndGet() == 1) {
+            messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STARTED,
+                    Engine.this));
+        }
+
+        final long start = System.nanoTime();
+
+        int purged = 0;
+        int index = 0;
+        long longestPause = 0;
+        boolean resumed = false;
+
+        try {
+            while (index < trash.size()
+                    && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < TRASH_TIME_SLICE) {
+
+                final List<TrashObject> batch = trash.subList(index, Math.min(index + TRASH_BATCH_SIZE, trash.size()));
+                final long batchStart = System.nanoTime();
 
-            trash.stream().filter(o -> ChronoUnit.MILLIS.between(o.getDate(), LocalDateTime.now()) >= MAXIMUM_TRASH_AGE)
-                    .forEach(o -> getTrashDAO().remove(o));
+                dataLock.readLock().lock();
+
+                try {
+                    if (dataStored(getTrashDAO().remove(batch))) {
+                        purged += batch.size();
+                    } else {    // retry one at a time so a single bad object does not keep the batch in the trash
+                        purged += removeTrashIndividually(batch);
+                    }
+                } finally {
+                    dataLock.readLock().unlock();
+                }
+
+                longestPause = Math.max(longestPause, System.nanoTime() - batchStart);
+                index += batch.size();
+            }
+
+            final long elapsed = System.nanoTime() - start;
+
+            purgedTrashCount.addAndGet(purged);
+            trashPurgeTime.addAndGet(elapsed);
+            longestTrashPause.accumulateAndGet(longestPause, Math::max);
+
+            logger.log(Level.INFO, "Purged {0} trash objects in {1} ms, longest batch {2} ms, {3} remaining",
+                    new Object[]{purged, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                            TimeUnit.NANOSECONDS.toMillis(longestPause), trash.size() - index});
+
+            if (index < trash.size()) {   // time slice is used, resume later with the remaining trash
+                final List<TrashObject> remaining = new ArrayList<>(trash.subList(index, trash.size()));
+
+                backgroundExecutorService.schedule(() -> purgeTrash(remaining), TRASH_RESUME_DELAY,
+                        TimeUnit.MILLISECONDS);
+
+                resumed = true;
+            }
+        } catch (final RejectedExecutionException e) {
+            logger.info("Trash purge stopped for shutdown");
         } finally {
-            dataLock.writeLock().unlock();
+            if (!resumed) {
+                purgingTrash.set(false);
+            }
 
             if (backGroundCounter.decrementAndGet() == 0) {
                 messageBus.fireEvent(new Message(MessageChannel.SYSTEM, ChannelEvent.BACKGROUND_PROCESS_STOPPED,
@@ -592,6 +891,65 @@ public class Engine {
         }
     }
 
+    /**
+     * Removes the objects of a batch that could not be removed as a whole one at a time.  Objects that still fail
+     * are logged and left in the trash.
+     *
+     * @param batch trash objects to remove
+     * @return the number of objects removed
+     */
+    private int removeTrashIndividually(final List<TrashObject> batch) {
+        int removed = 0;
+
+        for (final TrashObject trashObject : batch) {
+            if (dataStored(getTrashDAO().remove(Collections.singletonList(trashObject)))) {
+                removed++;
+            } else {
+                failedTrashCount.incrementAndGet();
+                logger.log(Level.WARNING, "Unable to remove trash object {0}, it was left in the trash",
+                        trashObject.getUuid());
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns the number of trash objects permanently removed since the engine was started.
+     *
+     * @return number of objects removed
+     */
+    public long getPurgedTrashCount() {
+        return purgedTrashCount.get();
+    }
+
+    /**
+     * Returns the number of times a trash object could not be removed and was left in the trash.
+     *
+     * @return number of failed removals
+     */
+    public long getFailedTrashCount() {
+        return failedTrashCount.get();
+    }
+
+    /**
+     * Returns the total time spent purging trash since the engine was started.
+     *
+     * @return purge time in milliseconds
+     */
+    public long getTrashPurgeTime() {
+        return TimeUnit.NANOSECONDS.toMillis(trashPurgeTime.get());
+    }
+
+    /**
+     * Returns the longest time a single batch of trash held the data lock.
+     *
+     * @return longest batch time in milliseconds
+     */
+    public long getLongestTrashPause() {
+        return TimeUnit.NANOSECONDS.toMillis(longestTrashPause.get());
+    }
+
     /**
      * Creates a default reminder given a transaction and the primary account.  The Reminder will need to persisted.
      *
@@ -617,10 +975,11 @@ public class Engine {
     public boolean addReminder(final Reminder reminder) {
         Objects.requireNonNull(reminder.getUuid());
 
-        boolean result = getReminderDAO().addReminder(reminder);
+        boolean result = dataStored(getReminderDAO().addReminder(reminder));
 
         Message message;
         if (result) {
+            updateReminderScheduler(reminder, true);
             message = new Message(MessageChannel.REMINDER, ChannelEvent.REMINDER_ADD, this);
         } else {
             message = new Message(MessageChannel.REMINDER, ChannelEvent.REMINDER_ADD_FAILED, this);
@@ -636,6 +995,7 @@ public class Engine {
         boolean result = false;
 
         if (moveObjectToTrash(reminder)) {
+            updateReminderScheduler(reminder, false);
 
             if (reminder.getTransaction() != null) {
                 moveObjectToTrash(reminder.getTransaction());
@@ -666,34 +1026,16 @@ public class Engine {
         return getReminderDAO().getReminderByUuid(uuid);
     }
 
+    /**
+     * Returns the reminders that are due.  A reminder that has fallen behind is returned once for each date it
+     * should have fired.
+     *
+     * @return list of pending reminders
+     */
     public List<PendingReminder> getPendingReminders() {
-        final ArrayList<PendingReminder> pendingList = new ArrayList<>();
-        final List<Reminder> list = getReminders();
-        final LocalDate now = LocalDate.now(); // today's date
-
-        for (final Reminder r : list) {
-            if (r.isEnabled()) {
-                final RecurringIterator ri = r.getIterator();
-                LocalDate next = ri.next();
-
-                while (next != null) {
-                    LocalDate date = next;
-
-                    if (r.isAutoCreate()) {
-                        date = date.minusDays(r.getDaysAdvance());
-                    }
-
-                    if (DateUtils.before(date, now)) { // need to fire this reminder
-                        pendingList.add(new PendingReminder(r, next));
-                        next = ri.next();
-                    } else {
-                        next = null;
-                    }
-                }
-            }
+        synchronized (reminderSchedulerLock) {
+            return getReminderScheduler().getPendingReminders(LocalDate.now());
         }
-
-        return pendingList;
     }
 
     public PendingReminder getPendingReminder(@NotNull Reminder reminder) {
@@ -707,7 +1049,14 @@ public class Engine {
         return null;
     }
 
+    /**
+     * Fires approved pending reminders.  The transactions of the reminders are added as a single batch.
+     *
+     * @param pendingReminders pending reminders
+     */
     public void processPendingReminders(final Collection<PendingReminder> pendingReminders) {
+        final List<Transaction> transactions = new ArrayList<>();
+
         pendingReminders.stream().filter(PendingReminder::isApproved).forEach(pending -> {
             final Reminder reminder = pending.getReminder();
 
@@ -716,7 +1065,7 @@ public class Engine {
 
                 // Update to the commit date (commit date can be modified)
                 t.setDate(pending.getCommitDate());
-                addTransaction(t);
+                transactions.add(t);
             }
             // update the last fired date... date returned from the iterator
             reminder.setLastDate(); // mark as complete
@@ -724,6 +1073,10 @@ public class Engine {
                 logSevere(rb.getString("Message.Error.ReminderUpdate"));
             }
         });
+
+        if (!transactions.isEmpty()) {
+            addTransactions(transactions);
+        }
     }
 
     public <T extends StoredObject> T getStoredObjectByUuid(final Class<T> tClass, final String uuid) {
@@ -818,7 +1171,7 @@ public class Engine {
             }
 
             if (status) {
-                status = getCommodityDAO().addCommodity(node);
+                status = dataStored(getCommodityDAO().addCommodity(node));
                 logger.log(Level.FINE, "Adding: {0}", node.toString());
             }
 
@@ -870,7 +1223,7 @@ public class Engine {
             }
 
             if (status) {
-                status = getCommodityDAO().addCommodity(node);
+                status = dataStored(getCommodityDAO().addCommodity(node));
                 logger.log(Level.FINE, "Adding: {0}", node.toString());
             }
 
@@ -899,7 +1252,7 @@ public class Engine {
      * @return <tt>true</tt> if successful
      */
     public boolean addSecurityHistory(@NotNull final SecurityNode node, @NotNull final SecurityHistoryNode hNode) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(node.getUuid());
 
         try {
             // Remove old history of the same date if it exists
@@ -913,7 +1266,7 @@ public class Engine {
             boolean status = node.addHistoryNode(hNode);
 
             if (status) {
-                status = getCommodityDAO().addSecurityHistory(node, hNode);
+                status = dataStored(getCommodityDAO().addSecurityHistory(node, hNode));
             }
 
             Message message;
@@ -930,7 +1283,56 @@ public class Engine {
 
             return status;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
+        }
+    }
+
+    /**
+     * Adds a collection of SecurityHistoryNodes to a SecurityNode.  Existing history for the same dates is replaced.
+     * <p>
+     * The history is merged and persisted as a single batch, cached account balances are cleared once, and a single
+     * message is fired.  Use this instead of adding history nodes one at a time when importing history.
+     *
+     * @param node   SecurityNode to add to
+     * @param hNodes SecurityHistoryNodes to add
+     * @return {@code true} if all of the history was added
+     */
+    public boolean addSecurityHistory(@NotNull final SecurityNode node,
+                                      @NotNull final Collection<SecurityHistoryNode> hNodes) {
+        // only the last node for a date is kept by the security, so only it may be persisted
+        final List<SecurityHistoryNode> historyNodes = new ArrayList<>(hNodes.stream().filter(Objects::nonNull)
+                .collect(Collectors.toMap(SecurityHistoryNode::getLocalDate, Function.identity(),
+                        (first, last) -> last, LinkedHashMap::new)).values());
+
+        if (historyNodes.isEmpty()) {
+            return true;
+        }
+
+        final LockRequest[] scope = lockScope(node.getUuid());
+
+        try {
+            // replaced history is trashed just as it would be by removeSecurityHistory
+            for (final SecurityHistoryNode hNode : node.addHistoryNodes(historyNodes)) {
+                moveObjectToTrash(hNode);
+            }
+
+            final boolean status = dataStored(getCommodityDAO().addSecurityHistory(node, historyNodes));
+
+            final Message message;
+
+            if (status) {
+                clearCachedAccountBalance(node);
+                message = new Message(MessageChannel.COMMODITY, ChannelEvent.SECURITY_HISTORY_ADD, this);
+            } else {
+                message = new Message(MessageChannel.COMMODITY, ChannelEvent.SECURITY_HISTORY_ADD_FAILED, this);
+            }
+
+            message.setObject(MessageProperty.COMMODITY, node);
+            messageBus.fireEvent(message);
+
+            return status;
+        } finally {
+            unlockScope(scope);
         }
     }
 
@@ -943,7 +1345,7 @@ public class Engine {
      * @return <tt>true</tt> if successful
      */
     public boolean addSecurityHistoryEvent(@NotNull final SecurityNode node, @NotNull final SecurityHistoryEvent historyEvent) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(node.getUuid());
 
         try {
 
@@ -955,7 +1357,7 @@ public class Engine {
             boolean status = node.addSecurityHistoryEvent(historyEvent);
 
             if (status) {
-                status = getCommodityDAO().addSecurityHistoryEvent(node, historyEvent);
+                status = dataStored(getCommodityDAO().addSecurityHistoryEvent(node, historyEvent));
             }
 
             Message message;
@@ -972,7 +1374,7 @@ public class Engine {
 
             return status;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -1004,17 +1406,17 @@ public class Engine {
      */
     private void clearCachedAccountBalance(final Account account) {
 
-        dataLock.writeLock().lock();
+        dataLock.readLock().lock();   // only clears cached values
 
         try {
             account.clearCachedBalances();
 
             // force a persistence update if working as a client / server
             if (eDAO.isRemote()) {
-                getAccountDAO().updateAccount(account);
+                dataStored(getAccountDAO().updateAccount(account));
             }
         } finally {
-            dataLock.writeLock().unlock();
+            dataLock.readLock().unlock();
         }
 
         if (account.getParent() != null && account.getParent().getAccountType() != AccountType.ROOT) {
@@ -1262,7 +1664,7 @@ public class Engine {
      * @return {@code true} if a {@code SecurityHistoryNode} was found and removed
      */
     public boolean removeSecurityHistory(@NotNull final SecurityNode node, @NotNull final LocalDate date) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(node.getUuid());
 
         boolean status = false;
 
@@ -1274,7 +1676,7 @@ public class Engine {
 
                 if (status) {   // removal was a success, make sure we cleanup properly
                     moveObjectToTrash(optional.get());
-                    status = getCommodityDAO().removeSecurityHistory(node, optional.get());
+                    status = dataStored(getCommodityDAO().removeSecurityHistory(node, optional.get()));
 
                     logInfo(ResourceUtils.getString("Message.RemovingSecurityHistory", date, node.getSymbol()));
                 }
@@ -1294,7 +1696,7 @@ public class Engine {
 
             return status;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -1306,7 +1708,7 @@ public class Engine {
      * @return {@code true} if the {@code SecurityHistoryEvent} was found and removed
      */
     public boolean removeSecurityHistoryEvent(@NotNull final SecurityNode node, @NotNull final SecurityHistoryEvent historyEvent) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(node.getUuid());
 
         boolean status;
 
@@ -1315,7 +1717,7 @@ public class Engine {
 
             if (status) {   // removal was a success, make sure we cleanup properly
                 moveObjectToTrash(historyEvent);
-                status = getCommodityDAO().removeSecurityHistoryEvent(node, historyEvent);
+                status = dataStored(getCommodityDAO().removeSecurityHistoryEvent(node, historyEvent));
             }
 
             Message message;
@@ -1332,7 +1734,7 @@ public class Engine {
 
             return status;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -1381,6 +1783,7 @@ public class Engine {
             final Config currencyConfig = getConfig();
             currencyConfig.setDefaultCurrency(defaultCurrency);
             getConfigDAO().update(currencyConfig);
+            dataChanged = true;
 
             logInfo("Setting default currency: " + defaultCurrency);
 
@@ -1392,7 +1795,7 @@ public class Engine {
 
             // The root account holds a reference to the default currency
             root.setCurrencyNode(defaultCurrency);
-            getAccountDAO().updateAccount(root);
+            dataStored(getAccountDAO().updateAccount(root));
 
             message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
             message.setObject(MessageProperty.ACCOUNT, root);
@@ -1417,22 +1820,26 @@ public class Engine {
             return;
         }
 
-        // find the correct ExchangeRate and create if needed
-        ExchangeRate exchangeRate = getExchangeRate(baseCurrency, exchangeCurrency);
+        final String exchangeRateId = buildExchangeRateId(baseCurrency, exchangeCurrency);
 
-        if (exchangeRate == null) {
-            exchangeRate = new ExchangeRate(buildExchangeRateId(baseCurrency, exchangeCurrency));
-            getCommodityDAO().addExchangeRate(exchangeRate);
-        }
+        // the rate id is used for the lock so the creation of a new ExchangeRate is also protected
+        final LockRequest[] scope = lockScope(exchangeRateId);
 
-        // Remove old history of the same date if it exists
-        if (exchangeRate.contains(localDate)) {
-            removeExchangeRateHistory(exchangeRate, exchangeRate.getHistory(localDate));
-        }
+        try {
+            // find the correct ExchangeRate and create if needed
+            ExchangeRate exchangeRate = getExchangeRate(baseCurrency, exchangeCurrency);
 
-        dataLock.writeLock().lock();
+            if (exchangeRate == null) {
+                exchangeRate = new ExchangeRate(exchangeRateId);
+                getCommodityDAO().addExchangeRate(exchangeRate);
+                dataChanged = true;
+            }
+
+            // Remove old history of the same date if it exists
+            if (exchangeRate.contains(localDate)) {
+                removeExchangeRateHistory(exchangeRate, exchangeRate.getHistory(localDate));
+            }
 
-        try {
             // create the new history node
             ExchangeRateHistoryNode historyNode;
 
@@ -1447,7 +1854,7 @@ public class Engine {
             boolean result = false;
 
             if (exchangeRate.addHistoryNode(historyNode)) {
-                result = getCommodityDAO().addExchangeRateHistory(exchangeRate);
+                result = dataStored(getCommodityDAO().addExchangeRateHistory(exchangeRate));
             }
 
             if (result) {
@@ -1460,13 +1867,13 @@ public class Engine {
 
             messageBus.fireEvent(message);
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
     public void removeExchangeRateHistory(final ExchangeRate exchangeRate, final ExchangeRateHistoryNode history) {
 
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(exchangeRate.getRateId());
 
         try {
             final Message message;
@@ -1476,7 +1883,7 @@ public class Engine {
             if (exchangeRate.contains(history)) {
                 if (exchangeRate.removeHistoryNode(history)) {
                     moveObjectToTrash(history);
-                    result = getCommodityDAO().removeExchangeRateHistory(exchangeRate);
+                    result = dataStored(getCommodityDAO().removeExchangeRateHistory(exchangeRate));
                 }
             }
 
@@ -1489,7 +1896,7 @@ public class Engine {
             message.setObject(MessageProperty.EXCHANGE_RATE, exchangeRate);
             messageBus.fireEvent(message);
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -1528,7 +1935,7 @@ public class Engine {
                     ((SecurityNode) oldNode).setISIN(((SecurityNode) templateNode).getISIN());
                 }
 
-                status = getCommodityDAO().updateCommodityNode(oldNode);
+                status = dataStored(getCommodityDAO().updateCommodityNode(oldNode));
             } else {
                 status = false;
                 logger.warning("Template object class did not match old object class");
@@ -1562,11 +1969,12 @@ public class Engine {
     }
 
     private boolean updateReminder(final Reminder reminder) {
-        final boolean result = getReminderDAO().updateReminder(reminder);
+        final boolean result = dataStored(getReminderDAO().updateReminder(reminder));
 
         final Message message;
 
         if (result) {
+            updateReminderScheduler(reminder, true);
             message = new Message(MessageChannel.REMINDER, ChannelEvent.REMINDER_UPDATE, this);
         } else {
             message = new Message(MessageChannel.REMINDER, ChannelEvent.REMINDER_UPDATE_FAILED, this);
@@ -1605,6 +2013,7 @@ public class Engine {
             localConfig.setAccountSeparator(separator);
 
             getConfigDAO().update(localConfig);
+            dataChanged = true;
 
             Message message = new Message(MessageChannel.CONFIG, ChannelEvent.CONFIG_MODIFY, this);
             message.setObject(MessageProperty.CONFIG, localConfig);
@@ -1685,6 +2094,10 @@ public class Engine {
 
     public void refresh(final StoredObject object) {
         eDAO.refresh(object);
+
+        if (object instanceof Account) {    // cached balances may be out of date
+            ((Account) object).clearCachedBalances();
+        }
     }
 
     /**
@@ -1711,7 +2124,7 @@ public class Engine {
             result = parent.addChild(child);
 
             if (result) {
-                result = getAccountDAO().addAccount(parent, child);
+                result = dataStored(getAccountDAO().addAccount(parent, child));
             }
 
             if (result) {
@@ -1783,8 +2196,8 @@ public class Engine {
 
                 oldParent.removeChild(account);
 
-                getAccountDAO().updateAccount(account);
-                getAccountDAO().updateAccount(oldParent);
+                dataStored(getAccountDAO().updateAccount(account));
+                dataStored(getAccountDAO().updateAccount(oldParent));
 
                 Message message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
                 message.setObject(MessageProperty.ACCOUNT, oldParent);
@@ -1794,8 +2207,8 @@ public class Engine {
 
             newParent.addChild(account);
 
-            getAccountDAO().updateAccount(account);
-            getAccountDAO().updateAccount(newParent);
+            dataStored(getAccountDAO().updateAccount(account));
+            dataStored(getAccountDAO().updateAccount(newParent));
 
             Message message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
             message.setObject(MessageProperty.ACCOUNT, newParent);
@@ -1820,7 +2233,7 @@ public class Engine {
     public boolean setAccountCode(final Account account, final int code) {
         account.setAccountCode(code);
 
-        boolean result = getAccountDAO().updateAccount(account);
+        boolean result = dataStored(getAccountDAO().updateAccount(account));
 
         if (result) {
             final Message message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
@@ -1873,7 +2286,7 @@ public class Engine {
                 account.setCurrencyNode(template.getCurrencyNode());
             }
 
-            result = getAccountDAO().updateAccount(account);
+            result = dataStored(getAccountDAO().updateAccount(account));
 
             if (result) {
                 message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
@@ -1933,7 +2346,7 @@ public class Engine {
 
         try {
             account.setAccountNumber(number);
-            getAccountDAO().updateAccount(account);
+            dataStored(getAccountDAO().updateAccount(account));
 
             Message message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_MODIFY, this);
             message.setObject(MessageProperty.ACCOUNT, account);
@@ -1968,7 +2381,7 @@ public class Engine {
 
         try {
             account.setAttribute(key, value);
-            getAccountDAO().updateAccount(account);
+            dataStored(getAccountDAO().updateAccount(account));
 
             Message message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_ATTRIBUTE_MODIFY, this);
             message.setObject(MessageProperty.ACCOUNT, account);
@@ -2011,7 +2424,7 @@ public class Engine {
                     result = parent.removeChild(account);
 
                     if (result) {
-                        getAccountDAO().updateAccount(parent);
+                        dataStored(getAccountDAO().updateAccount(parent));
 
                         // clear budget history
                         purgeBudgetGoal(account);
@@ -2057,10 +2470,105 @@ public class Engine {
         return result;
     }
 
+    /**
+     * Adds a file to the content addressed attachment store.  Files with identical content are stored once and
+     * shared by the transactions that reference them.
+     *
+     * @param path Path to the attachment to add
+     * @param copy true if only copying the file
+     * @return the attachment name to assign to a transaction, {@code null} if not successful
+     */
+    public String storeAttachment(final Path path, final boolean copy) {
+        try {
+            return attachmentManager.storeAttachment(path, copy, name -> getAttachmentReferenceCount(name) > 0);
+        } catch (final IOException e) {
+            logSevere(e.getLocalizedMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes an attachment file.  The file is kept if other transactions still reference the attachment.
+     *
+     * @param attachment attachment to remove
+     * @return {@code true} if the file was removed or is still in use
+     */
     public boolean removeAttachment(final String attachment) {
+        if (getAttachmentReferenceCount(attachment) > 0) {
+            logInfo("Attachment is still referenced by other transactions: " + attachment);
+            return true;
+        }
+
         return attachmentManager.removeAttachment(attachment);
     }
 
+    /**
+     * Returns the number of transactions that reference an attachment.
+     *
+     * @param attachment attachment name
+     * @return number of transactions
+     */
+    public int getAttachmentReferenceCount(final String attachment) {
+        synchronized (attachmentIndexLock) {
+            return getAttachmentIndex().getReferenceCount(attachment);
+        }
+    }
+
+    /**
+     * Returns the transactions that reference an attachment.
+     *
+     * @param attachment attachment name
+     * @return List of transactions that may be altered without concern of side effects
+     */
+    public List<Transaction> getTransactionsWithAttachment(final String attachment) {
+        synchronized (attachmentIndexLock) {
+            return getAttachmentIndex().getTransactions(attachment);
+        }
+    }
+
+    private AttachmentIndex getAttachmentIndex() {
+        if (attachmentIndex == null) {
+            attachmentIndex = new AttachmentIndex(getTransactionDAO().getTransactionsWithAttachments());
+        }
+
+        return attachmentIndex;
+    }
+
+    private ReminderScheduler getReminderScheduler() {
+        if (reminderScheduler == null) {
+            reminderScheduler = new ReminderScheduler(getReminders());
+        }
+
+        return reminderScheduler;
+    }
+
+    private void updateReminderScheduler(final Reminder reminder, final boolean schedule) {
+        synchronized (reminderSchedulerLock) {
+            if (reminderScheduler != null) {    // otherwise the schedule is built from the DAO when needed
+                if (schedule) {
+                    reminderScheduler.schedule(reminder);
+                } else {
+                    reminderScheduler.remove(reminder);
+                }
+            }
+        }
+    }
+
+    private void updateAttachmentIndex(final Transaction transaction, final boolean add) {
+        if (transaction.getAttachment() != null) {
+            synchronized (attachmentIndexLock) {
+                if (attachmentIndex != null) {  // otherwise the index is built from the DAO when needed
+                    if (add) {
+                        attachmentIndex.add(transaction);
+                    } else {
+                        attachmentIndex.remove(transaction);
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Sets the amortize object of an account.
      *
@@ -2077,7 +2585,7 @@ public class Engine {
 
                 account.setAmortizeObject(amortizeObject);
 
-                if (!getAccountDAO().updateAccount(account)) {
+                if (!dataStored(getAccountDAO().updateAccount(account))) {
                     logSevere("Was not able to save the amortize object");
                 }
 
@@ -2103,7 +2611,7 @@ public class Engine {
 
             account.setVisible(!account.isVisible());
 
-            if (getAccountDAO().toggleAccountVisibility(account)) {
+            if (dataStored(getAccountDAO().toggleAccountVisibility(account))) {
                 message = new Message(MessageChannel.ACCOUNT, ChannelEvent.ACCOUNT_VISIBILITY_CHANGE, this);
                 message.setObject(MessageProperty.ACCOUNT, account);
                 messageBus.fireEvent(message);
@@ -2134,7 +2642,7 @@ public class Engine {
             boolean result = account.addSecurity(node);
 
             if (result) {
-                result = getAccountDAO().addAccountSecurity(account, node);
+                result = dataStored(getAccountDAO().addAccountSecurity(account, node));
             }
 
             if (result) {
@@ -2171,7 +2679,7 @@ public class Engine {
             boolean result = account.removeSecurity(node);
 
             if (result) {
-                getAccountDAO().updateAccount(account);
+                dataStored(getAccountDAO().updateAccount(account));
             }
 
             if (result) {
@@ -2245,7 +2753,7 @@ public class Engine {
         try {
             Message message;
 
-            result = getBudgetDAO().add(budget);
+            result = dataStored(getBudgetDAO().add(budget));
 
             if (result) {
                 message = new Message(MessageChannel.BUDGET, ChannelEvent.BUDGET_ADD, this);
@@ -2288,7 +2796,7 @@ public class Engine {
     }
 
     public void updateBudgetGoals(final Budget budget, final Account account, final BudgetGoal newGoals) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(budget.getUuid());
 
         try {
             BudgetGoal oldGoals = budget.getBudgetGoal(account);
@@ -2299,17 +2807,17 @@ public class Engine {
 
             updateBudgetGoals(budget, account);
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
     private void updateBudgetGoals(final Budget budget, final Account account) {
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockScope(budget.getUuid());
 
         try {
             Message message;
 
-            boolean result = getBudgetDAO().update(budget);
+            boolean result = dataStored(getBudgetDAO().update(budget));
 
             if (result) {
                 message = new Message(MessageChannel.BUDGET, ChannelEvent.BUDGET_GOAL_UPDATE, this);
@@ -2324,7 +2832,7 @@ public class Engine {
 
             logger.log(Level.FINE, "Budget goal updated for {0}", account.getPathName());
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -2337,7 +2845,7 @@ public class Engine {
         try {
             Message message;
 
-            result = getBudgetDAO().update(budget);
+            result = dataStored(getBudgetDAO().update(budget));
 
             if (result) {
                 message = new Message(MessageChannel.BUDGET, ChannelEvent.BUDGET_UPDATE, this);
@@ -2461,37 +2969,23 @@ public class Engine {
 
     public boolean addTransaction(final Transaction transaction) {
 
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockTransactionScope(getLockIds(transaction),
+                getExchangeRateLockIds(Collections.singleton(transaction)));
 
         try {
             boolean result = isTransactionValid(transaction);
 
             if (result) {
                 /* Add the transaction to each account */
-                transaction.getAccounts().stream()
-                        .filter(account -> !account.addTransaction(transaction))
-                        .forEach(account -> logSevere("Failed to add the Transaction"));
-                result = getTransactionDAO().addTransaction(transaction);
+                result = storeTransactionChange(transaction.getAccounts(), () -> addToAccounts(transaction),
+                        () -> transaction.getAccounts().forEach(account -> account.removeTransaction(transaction)),
+                        () -> dataStored(getTransactionDAO().addTransaction(transaction)));
 
                 logInfo(rb.getString("Message.TransactionAdd"));
 
-                /* If successful, extract and enter a default exchange rate for the transaction date if a rate has not been set */
                 if (result) {
-                    // no rate for the date has been set
-                    transaction.getTransactionEntries().stream()
-                            .filter(TransactionEntry::isMultiCurrency)
-                            .forEach(entry -> {
-                                final ExchangeRate rate = getExchangeRate(entry.getDebitAccount().getCurrencyNode(),
-                                        entry.getCreditAccount().getCurrencyNode());
-
-                                if (rate.getRate(transaction.getLocalDate()).equals(BigDecimal.ZERO)) { // no rate for the date has been set
-                                    final BigDecimal exchangeRate = entry.getDebitAmount().abs()
-                                            .divide(entry.getCreditAmount().abs(), MathConstants.mathContext);
-
-                                    setExchangeRate(entry.getCreditAccount().getCurrencyNode(), entry.getDebitAccount()
-                                            .getCurrencyNode(), exchangeRate, transaction.getLocalDate());
-                                }
-                            });
+                    updateAttachmentIndex(transaction, true);
+                    setDefaultExchangeRates(transaction);
                 }
             }
 
@@ -2499,13 +2993,92 @@ public class Engine {
 
             return result;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
+    /**
+     * Adds a collection of transactions as a single batch.  The accounts of all the transactions are locked once and
+     * the transactions are stored together.  Invalid transactions are not added.
+     *
+     * @param transactions transactions to add
+     * @return {@code true} if all of the transactions were added
+     */
+    public boolean addTransactions(final Collection<Transaction> transactions) {
+
+        final LockRequest[] scope = lockTransactionScope(getLockIds(transactions),
+                getExchangeRateLockIds(transactions));
+
+        try {
+            final List<Transaction> validTransactions = new ArrayList<>();
+            final List<Transaction> invalidTransactions = new ArrayList<>();
+
+            for (final Transaction transaction : transactions) {
+                if (isTransactionValid(transaction)) {
+                    validTransactions.add(transaction);
+                } else {
+                    invalidTransactions.add(transaction);
+                }
+            }
+
+            final Set<Account> accounts = validTransactions.stream()
+                    .flatMap(transaction -> transaction.getAccounts().stream()).collect(Collectors.toSet());
+
+            final boolean result = validTransactions.isEmpty() || storeTransactionChange(accounts,
+                    () -> validTransactions.forEach(Engine::addToAccounts),
+                    () -> validTransactions.forEach(transaction -> transaction.getAccounts()
+                            .forEach(account -> account.removeTransaction(transaction))),
+                    () -> dataStored(getTransactionDAO().addTransactions(validTransactions)));
+
+            logInfo(rb.getString("Message.TransactionAdd"));
+
+            for (final Transaction transaction : validTransactions) {
+                if (result) {
+                    updateAttachmentIndex(transaction, true);
+                    setDefaultExchangeRates(transaction);
+                }
+
+                postTransactionAdd(transaction, result);
+            }
+
+            invalidTransactions.forEach(transaction -> postTransactionAdd(transaction, false));
+
+            return result && invalidTransactions.isEmpty();
+        } finally {
+            unlockScope(scope);
+        }
+    }
+
+    private static void addToAccounts(final Transaction transaction) {
+        transaction.getAccounts().stream().filter(account -> !account.addTransaction(transaction))
+                .forEach(account -> logSevere("Failed to add the Transaction"));
+    }
+
+    /**
+     * Extracts and enters a default exchange rate for the transaction date if a rate has not been set.
+     *
+     * @param transaction transaction that was added
+     */
+    private void setDefaultExchangeRates(final Transaction transaction) {
+        transaction.getTransactionEntries().stream()
+                .filter(TransactionEntry::isMultiCurrency)
+                .forEach(entry -> {
+                    final ExchangeRate rate = getExchangeRate(entry.getDebitAccount().getCurrencyNode(),
+                            entry.getCreditAccount().getCurrencyNode());
+
+                    if (rate.getRate(transaction.getLocalDate()).equals(BigDecimal.ZERO)) { // no rate for the date has been set
+                        final BigDecimal exchangeRate = entry.getDebitAmount().abs()
+                                .divide(entry.getCreditAmount().abs(), MathConstants.mathContext);
+
+                        setExchangeRate(entry.getCreditAccount().getCurrencyNode(), entry.getDebitAccount()
+                                .getCurrencyNode(), exchangeRate, transaction.getLocalDate());
+                    }
+                });
+    }
+
     public boolean removeTransaction(final Transaction transaction) {
 
-        dataLock.writeLock().lock();
+        final LockRequest[] scope = lockTransactionScope(getLockIds(transaction));
 
         try {
             for (final Account account : transaction.getAccounts()) {
@@ -2516,16 +3089,17 @@ public class Engine {
             }
 
             /* Remove the transaction from each account */
-            transaction.getAccounts().stream()
-                    .filter(account -> !account.removeTransaction(transaction))
-                    .forEach(account -> logSevere("Failed to remove the Transaction"));
+            boolean result = storeTransactionChange(transaction.getAccounts(), () -> transaction.getAccounts().stream()
+                            .filter(account -> !account.removeTransaction(transaction))
+                            .forEach(account -> logSevere("Failed to remove the Transaction")),
+                    () -> transaction.getAccounts().forEach(account -> account.addTransaction(transaction)),
+                    () -> dataStored(getTransactionDAO().removeTransaction(transaction)));
 
             logInfo(rb.getString("Message.TransactionRemove"));
 
-            boolean result = getTransactionDAO().removeTransaction(transaction);
-
             // move transactions into the trash
             if (result) {
+                updateAttachmentIndex(transaction, false);
                 moveObjectToTrash(transaction);
             }
 
@@ -2533,7 +3107,42 @@ public class Engine {
 
             return result;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
+        }
+    }
+
+    /**
+     * Applies a transaction change to the accounts and stores it.
+     * <p>
+     * With optimistic locking, another client may have changed one of the accounts since it was loaded.  The
+     * change is then undone, the accounts are reloaded and the change is attempted again.  The DAO reports the
+     * conflict before anything is written, so the accounts are still managed and can be refreshed.
+     *
+     * @param accounts accounts being changed
+     * @param change   applies the change to the accounts
+     * @param undo     reverses the change
+     * @param store    stores the change
+     * @return {@code true} if the change was stored
+     */
+    private boolean storeTransactionChange(final Collection<Account> accounts, final Runnable change,
+                                           final Runnable undo, final BooleanSupplier store) {
+        for (int attempt = 1; ; attempt++) {
+            change.run();
+
+            try {
+                return store.getAsBoolean();
+            } catch (final StaleObjectException e) {
+                undo.run();
+
+                if (attempt == MAX_CONFLICT_ATTEMPTS) {
+                    logger.log(Level.WARNING, e.getLocalizedMessage(), e);
+                    return false;
+                }
+
+                logInfo("Reloading accounts changed by another client");
+
+                accounts.forEach(this::refresh);
+            }
         }
     }
 
@@ -2543,22 +3152,107 @@ public class Engine {
      * @param transaction transaction to change
      * @param account     account to change state for
      * @param state       new reconciled state
+     * @see #setTransactionsReconciled(Account, Map)
      */
     public void setTransactionReconciled(final Transaction transaction, final Account account, final ReconciledState state) {
-        dataLock.writeLock().lock(); // hold a write lock to ensure nothing slips in between the remove and add
+        setTransactionsReconciled(account, Collections.singletonMap(transaction, state));
+    }
+
+    /**
+     * Changes the reconciled state of a collection of transactions.
+     * <p>
+     * The states are changed in place instead of replacing each transaction, the changes are stored as a single
+     * batch and cached reconciled balances are adjusted incrementally.  A single message is fired for each account
+     * with a changed reconciled state.  Transactions with a locked account are not changed.  If the changes could not
+     * be stored, the previous reconciled states are restored.
+     *
+     * @param account account to change state for
+     * @param states  new reconciled state of each transaction
+     * @return {@code true} if the changes were stored
+     */
+    public boolean setTransactionsReconciled(final Account account, final Map<Transaction, ReconciledState> states) {
+        final LockRequest[] scope = lockScope(getLockIds(states.keySet()));
 
         try {
-            final Transaction newTransaction = (Transaction) transaction.clone();
+            final List<Transaction> transactions = new ArrayList<>();
+            final Set<Account> changedAccounts = new HashSet<>();
+            final List<Runnable> undo = new ArrayList<>();
+
+            for (final Map.Entry<Transaction, ReconciledState> entry : states.entrySet()) {
+                final Transaction transaction = entry.getKey();
+                final Set<Account> accounts = transaction.getAccounts();
+
+                if (accounts.stream().anyMatch(Account::isLocked)) {
+                    logWarning(rb.getString("Message.TransactionAccountLocked"));
+                    continue;
+                }
+
+                final Map<Account, ReconciledState> oldStates = new HashMap<>();
 
-            ReconcileManager.reconcileTransaction(account, newTransaction, state);
+                for (final Account a : accounts) {
+                    oldStates.put(a, transaction.getReconciled(a));
+                }
+
+                for (final TransactionEntry transactionEntry : transaction.getTransactionEntries()) {
+                    final ReconciledState creditState = transactionEntry.getCreditReconciled();
+                    final ReconciledState debitState = transactionEntry.getDebitReconciled();
+
+                    undo.add(() -> {
+                        transactionEntry.setCreditReconciled(creditState);
+                        transactionEntry.setDebitReconciled(debitState);
+                    });
+                }
 
-            if (removeTransaction(transaction)) {
-                addTransaction(newTransaction);
+                ReconcileManager.reconcileTransaction(account, transaction, entry.getValue());
+
+                oldStates.forEach((a, oldState) -> {
+                    final ReconciledState newState = transaction.getReconciled(a);
+
+                    if (newState != oldState) {
+                        if (newState == ReconciledState.RECONCILED || oldState == ReconciledState.RECONCILED) {
+                            a.transactionReconciled(transaction);
+                            undo.add(() -> a.transactionReconciled(transaction));
+                        }
+                        changedAccounts.add(a);
+                    }
+                });
+
+                transactions.add(transaction);
             }
-        } catch (final CloneNotSupportedException e) {
-            logger.log(Level.SEVERE, "Failed to reconcile the Transaction", e);
+
+            if (transactions.isEmpty()) {
+                return true;
+            }
+
+            boolean result;
+
+            try {
+                result = dataStored(getTransactionDAO().updateTransactions(transactions));
+            } catch (final StaleObjectException e) {  // another client has changed one of the transactions
+                logger.log(Level.WARNING, e.getLocalizedMessage(), e);
+                result = false;
+            }
+
+            if (!result) {  // entry states are restored before the reconcile indexes are updated
+                undo.forEach(Runnable::run);
+            }
+
+            for (final Account a : changedAccounts) {
+                final Message message;
+
+                if (result) {
+                    message = new Message(MessageChannel.TRANSACTION, ChannelEvent.TRANSACTION_RECONCILE, this);
+                } else {
+                    message = new Message(MessageChannel.TRANSACTION, ChannelEvent.TRANSACTION_RECONCILE_FAILED, this);
+                }
+
+                message.setObject(MessageProperty.ACCOUNT, a);
+                messageBus.fireEvent(message);
+            }
+
+            return result;
         } finally {
-            dataLock.writeLock().unlock();
+            unlockScope(scope);
         }
     }
 
@@ -2580,6 +3274,7 @@ public class Engine {
 
             transactionConfig.setTransactionNumberList(list);
             getConfigDAO().update(transactionConfig);
+            dataChanged = true;
 
             Message message = new Message(MessageChannel.CONFIG, ChannelEvent.CONFIG_MODIFY, this);
             message.setObject(MessageProperty.CONFIG, transactionConfig);
@@ -2605,7 +3300,9 @@ public class Engine {
      * @return List of transactions that may be altered without concern of side effects
      */
     public List<Transaction> getTransactionsWithAttachments() {
-        return getTransactionDAO().getTransactionsWithAttachments();
+        synchronized (attachmentIndexLock) {
+            return getAttachmentIndex().getTransactions();
+        }
     }
 
     public Transaction getTransactionByUuid(final String uuid) {
@@ -2661,6 +3358,7 @@ public class Engine {
         try {
             getConfig().setPreference(key, value);
             getConfigDAO().update(getConfig());
+            dataChanged = true;
 
             config = null;  // clear stale cached reference
 
@@ -2711,6 +3409,7 @@ public class Engine {
 
             backupConfig.setCreateBackups(createBackups);
             getConfigDAO().update(backupConfig);
+            dataChanged = true;
 
             config = null;  // clear stale cached reference
 
@@ -2734,6 +3433,7 @@ public class Engine {
 
             backupConfig.setRetainedBackupLimit(retainedBackupLimit);
             getConfigDAO().update(backupConfig);
+            dataChanged = true;
 
             config = null;  // clear stale cached reference
 
@@ -2757,6 +3457,7 @@ public class Engine {
 
             backupConfig.setRemoveOldBackups(removeOldBackups);
             getConfigDAO().update(backupConfig);
+            dataChanged = true;
 
             config = null;  // clear stale cached reference
 
@@ -2803,45 +3504,6 @@ public class Engine {
     /**
      * Handles background update of securities.
      */
-    private static class SecuritiesUpdateThread extends Thread {
-
-        private final List<ScheduledFuture<Boolean>> futures;
-
-        SecuritiesUpdateThread(List<ScheduledFuture<Boolean>> futures) {
-            this.futures = futures;
-        }
-
-        @Override
-        public void run() {
-            short errorCount = 0;
-
-            // Wait for completion of each task and if too many errors occur, cancel all of them
-            for (final ScheduledFuture<Boolean> future : futures) {
-                try {
-                    if (!future.get(1, TimeUnit.MINUTES)) {
-                        errorCount++;
-                    }
-                } catch (final InterruptedException | ExecutionException | TimeoutException e) {
-                    logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-                    errorCount++;
-                } catch (final CancellationException e) {
-                    errorCount = Short.MAX_VALUE;   // force a failure
-                    break; // futures are being canceled externally, exit the thread
-                }
-
-                if (errorCount > MAX_ERRORS) {
-                    break;
-                }
-            }
-
-            if (errorCount > MAX_ERRORS) {
-                for (final ScheduledFuture<Boolean> future : futures) {
-                    future.cancel(false);
-                }
-            }
-        }
-    }
-
     /**
      * Decorates a Callable to indicate background engine activity is occurring.
      *
@@ -75,6 +75,8 @@ public class EngineFactory {
 
     private static final String OPEN_LAST = "OpenLast";
 
+    private static final String OPTIMISTIC_LOCKING = "OptimisticLocking";
+
     /**
      * Default directory for jGnash data. To be located in the default user
      * directory
@@ -139,34 +141,44 @@ public class EngineFactory {
         exportCompressedXML(oldDataStore.getFileName(), oldEngine.getStoredObjects());
     }
 
+    /**
+     * Writes a compressed XML backup of a collection of objects.  The backup is named after the file with a time
+     * stamp appended.
+     *
+     * @param fileName file name of the data being backed up
+     * @param objects  objects to write
+     */
     public static void exportCompressedXML(final String fileName, final Collection<StoredObject> objects) {
         final DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyyMMdd-HHmm");
 
-        final DataStore xmlDataStore = new XMLDataStore();
-
-        Path xmlFile = Paths.get(FileUtils.stripFileExtension(fileName) + "-" + dateTimeFormatter.format(LocalDateTime.now())
-                + xmlDataStore.getFileExt());
-
-        // push the intermediary file to the temporary directory
-        xmlFile = Paths.get(System.getProperty("java.io.tmpdir") + xmlFile.getFileSystem().getSeparator()
-                + xmlFile.getFileName().toString());
+        final Path zipFile = Paths.get(FileUtils.stripFileExtension(fileName) + "-"
+                + dateTimeFormatter.format(LocalDateTime.now()) + ".zip");
 
-        xmlDataStore.saveAs(xmlFile, objects);
-
-        Path zipFile = Paths.get(FileUtils.stripFileExtension(fileName) + "-" + dateTimeFormatter.format(LocalDateTime.now())
-                + ".zip");
+        // the XML is compressed as it is written
+        new XMLDataStore().saveAsCompressed(zipFile, objects);
+    }
 
-        FileUtils.compressFile(xmlFile, zipFile);
+    public static void removeOldCompressedXML(final String fileName, final int limit) {
+        final List<Path> fileList = getCompressedXMLFiles(fileName);
 
-        try {
-            Files.delete(xmlFile);
-        } catch (final IOException e) {
-            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-            logger.log(Level.WARNING, "Was not able to delete the temporary file: {0}", xmlFile.toString());
+        if (fileList.size() > limit) {
+            for (int i = 0; i < fileList.size() - limit; i++) {
+                try {
+                    Files.delete(fileList.get(i));
+                } catch (final Exception e) {
+                    logger.log(Level.WARNING, "Unable to delete the file: {0}", fileList.get(i).toString());
+                }
+            }
         }
     }
 
-    public static void removeOldCompressedXML(final String fileName, final int limit) {
+    /**
+     * Returns the compressed XML backups of a file, oldest first.
+     *
+     * @param fileName file name of the data that was backed up
+     * @return list of backup files
+     */
+    static List<Path> getCompressedXMLFiles(final String fileName) {
         final Path path = Paths.get(fileName);
 
         String baseFile = FileUtils.stripFileExtension(path.toString());
@@ -177,17 +189,7 @@ public class EngineFactory {
         }
 
         // old files use the base file name plus a '-' and a 8 digit date plus a '-' and a 4 digit time stamp
-        final List<Path> fileList = FileUtils.getDirectoryListing(path.getParent(), baseFile + "-\\d{8}-\\d{4}.zip");
-
-        if (fileList.size() > limit) {
-            for (int i = 0; i < fileList.size() - limit; i++) {
-                try {
-                    Files.delete(fileList.get(i));
-                } catch (final Exception e) {
-                    logger.log(Level.WARNING, "Unable to delete the file: {0}", fileList.get(i).toString());
-                }
-            }
-        }
+        return FileUtils.getDirectoryListing(path.getParent(), baseFile + "-\\d{8}-\\d{4}.zip");
     }
 
     public static synchronized void closeEngine(final String engineName) {
@@ -203,8 +205,9 @@ public class EngineFactory {
             Message message = new Message(MessageChannel.SYSTEM, ChannelEvent.FILE_CLOSING, oldEngine);
             MessageBus.getInstance(engineName).fireEvent(message);
 
-            // Dump an XML backup
-            if (oldEngine.createBackups() && !oldDataStore.isRemote()) {
+            // Dump an XML backup if the data has changed or a backup does not exist yet
+            if (oldEngine.createBackups() && !oldDataStore.isRemote() && (oldEngine.isDataChanged()
+                    || getCompressedXMLFiles(oldDataStore.getFileName()).isEmpty())) {
                 exportCompressedXML(engineName);
             }
 
@@ -491,6 +494,26 @@ public class EngineFactory {
         return pref.getBoolean(OPEN_LAST, true);
     }
 
+    /**
+     * Sets the locking mode used by client engines.  When enabled, client engines do not acquire the distributed
+     * lock before adding or removing transactions.  These changes are instead validated against object versions
+     * before they are stored and only the clients that conflict must retry.  All other changes still use the
+     * distributed lock.
+     *
+     * @param optimistic {@code true} to use optimistic locking
+     */
+    public static synchronized void setOptimisticLocking(final boolean optimistic) {
+        final Preferences pref = Preferences.userNodeForPackage(EngineFactory.class);
+
+        pref.putBoolean(OPTIMISTIC_LOCKING, optimistic);
+    }
+
+    public static synchronized boolean useOptimisticLocking() {
+        final Preferences pref = Preferences.userNodeForPackage(EngineFactory.class);
+
+        return pref.getBoolean(OPTIMISTIC_LOCKING, false);
+    }
+
     /**
      * Saves the active database as a new file/format
      *
@@ -30,10 +30,58 @@ import java.util.concurrent.locks.Lock;
  */
 class InvestmentAccountProxy extends AccountProxy {
 
+    /**
+     * Share positions, built on first use and then kept current as transactions are added and removed.
+     */
+    private PositionLedger positionLedger;
+
     public InvestmentAccountProxy(final Account account) {
         super(account);
     }
 
+    /**
+     * Returns the position ledger for the account.  The caller must hold the account's transaction lock.
+     *
+     * @return position ledger
+     */
+    private synchronized PositionLedger getPositionLedger() {
+        if (positionLedger == null) {
+            positionLedger = new PositionLedger(account.getSortedTransactionList());
+        }
+
+        return positionLedger;
+    }
+
+    @Override
+    synchronized void transactionAdded(final Transaction transaction) {
+        super.transactionAdded(transaction);
+
+        if (positionLedger != null) {
+            positionLedger.add(transaction);
+        }
+    }
+
+    @Override
+    synchronized void transactionRemoved(final Transaction transaction) {
+        super.transactionRemoved(transaction);
+
+        if (positionLedger != null) {
+            positionLedger.remove(transaction);
+        }
+    }
+
+    @Override
+    List<Transaction> getInvestmentTransactions(final SecurityNode node) {
+        final Lock l = account.getTransactionLock().readLock();
+        l.lock();
+
+        try {
+            return getPositionLedger().getTransactions(node);
+        } finally {
+            l.unlock();
+        }
+    }
+
     @Override
     public BigDecimal getBalance(final LocalDate start, final LocalDate end) {
         return getCashBalance(start, end).add(getMarketValue(start, end));
@@ -66,16 +114,6 @@ class InvestmentAccountProxy extends AccountProxy {
         return super.getBalance();
     }
 
-    /**
-     * Get the account's cash balance up to a specified index.
-     *
-     * @param index the balance of the account at the specified index.
-     * @return the balance of the account at the specified index.
-     */
-    private BigDecimal getCashBalanceAt(final int index) {
-        return super.getBalanceAt(index);
-    }
-
     /**
      * Returns the balance of the transactions inclusive of the start and end dates.
      * <p>
@@ -120,7 +158,9 @@ class InvestmentAccountProxy extends AccountProxy {
         account.getTransactionLock().readLock().lock();
 
         try {
-            return Engine.getMarketPrice(account.getSortedTransactionList(), node, account.getCurrencyNode(), date);
+            // only transactions for the security are considered when searching for a price
+            return Engine.getMarketPrice(getPositionLedger().getTransactions(node), node, account.getCurrencyNode(),
+                    date);
         } finally {
             account.getTransactionLock().readLock().unlock();
         }
@@ -203,23 +243,16 @@ class InvestmentAccountProxy extends AccountProxy {
         l.lock();
 
         try {
-            final HashMap<SecurityNode, BigDecimal> priceMap = new HashMap<>();
-
-            // build lookup map for market prices
-            for (final SecurityNode node : account.getSecurities()) {
-                priceMap.put(node, getMarketPrice(node, end));
-            }
+            final PositionLedger ledger = getPositionLedger();
 
             BigDecimal balance = BigDecimal.ZERO;
 
-            // Get a defensive copy, JPA lazy updates can have side effects
-            List<Transaction> transactions = account.getSortedTransactionList();
+            // the change in shares for each security is a lookup, only a price search is needed
+            for (final SecurityNode node : ledger.getSecurities()) {
+                final BigDecimal shares = ledger.getShares(node, start, end);
 
-            for (final Transaction t : transactions) {
-                if (t.getLocalDate().compareTo(start) >= 0 && t.getLocalDate().compareTo(end) <= 0) {
-                    if (t instanceof InvestmentTransaction) {
-                        balance = balance.add(((InvestmentTransaction) t).getMarketValue(priceMap.get(((InvestmentTransaction) t).getSecurityNode())));
-                    }
+                if (shares.signum() != 0) {
+                    balance = balance.add(shares.multiply(getMarketPrice(node, end)));
                 }
             }
 
@@ -316,21 +349,35 @@ class InvestmentAccountProxy extends AccountProxy {
         l.lock();
 
         try {
-            final LocalDate date = account.getFirstUnreconciledTransactionDate();
+            final int count = account.getTransactionCount();
 
-            BigDecimal balance = BigDecimal.ZERO;
+            if (count == 0) {
+                return BigDecimal.ZERO;
+            }
 
+            final LocalDate date = account.getFirstUnreconciledTransactionDate();
             final List<Transaction> transactions = account.getSortedTransactionList();
 
-            for (int i = 0; i < transactions.size(); i++) {
-                if (transactions.get(i).getLocalDate().equals(date)) {
-                    if (i > 0) {
-                        balance = getCashBalanceAt(i - 1).add(getMarketValueAt(i - 1));
-                    }
-                    break;
+            // binary search for the first transaction on the date
+            int low = 0;
+            int high = count;
+
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+
+                if (transactions.get(mid).getLocalDate().isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
                 }
             }
 
+            BigDecimal balance = super.getOpeningBalanceForReconcile();
+
+            if (low > 0) {
+                balance = balance.add(getMarketValueAt(low - 1));
+            }
+
             return round(balance);
         } finally {
             l.unlock();
@@ -29,6 +29,8 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.TreeMap;
 
+import jgnash.time.DateUtils;
+
 /**
  * Investment Performance Summary Class.
  * 
@@ -43,8 +45,8 @@ public class InvestmentPerformanceSummary {
     private LocalDate endDate;
 
     private final Map<SecurityNode, SecurityPerformanceData> performanceData = new TreeMap<>();
-    
-    private List<Transaction> transactions;
+
+    private boolean recursive;
 
     private CurrencyNode baseCurrency;
 
@@ -72,23 +74,48 @@ public class InvestmentPerformanceSummary {
             setEndDate(endDate);
         }
 
-        transactions = account.getTransactions(getStartDate(), getEndDate());
+        this.recursive = recursive;
+
+        runCalculations();
+    }
+
+    /**
+     * Returns the transactions for a security within the date range of the summary.  The per security transaction
+     * lists maintained by each account are used so other securities do not need to be searched.
+     *
+     * @param node security
+     * @return chronologically sorted list of transactions
+     */
+    private List<Transaction> getTransactions(final SecurityNode node) {
+        final List<Transaction> transactions = new ArrayList<>();
+
+        collectTransactions(account, node, transactions);
 
         if (recursive && account.getChildCount() > 0) {
-            collectSubAccountTransactions(account, transactions);
+            collectSubAccountTransactions(account, node, transactions);
+            Collections.sort(transactions);
         }
 
-        Collections.sort(transactions);
+        return transactions;
+    }
 
-        runCalculations(recursive);
+    private void collectTransactions(final Account account, final SecurityNode node,
+                                     final List<Transaction> transactions) {
+        for (final Transaction transaction : account.getInvestmentTransactions(node)) {
+            if (DateUtils.after(transaction.getLocalDate(), getStartDate())
+                    && DateUtils.before(transaction.getLocalDate(), getEndDate())) {
+                transactions.add(transaction);
+            }
+        }
     }
 
-    private void collectSubAccountTransactions(final Account account, final List<Transaction> transactions) {
+    private void collectSubAccountTransactions(final Account account, final SecurityNode node,
+                                               final List<Transaction> transactions) {
         for (final Account child : account.getChildren(Comparators.getAccountByCode())) {
-            transactions.addAll(child.getTransactions(getStartDate(), getEndDate()));
+            collectTransactions(child, node, transactions);
 
             if (child.getChildCount() > 0) {
-                collectSubAccountTransactions(child, transactions);
+                collectSubAccountTransactions(child, node, transactions);
             }
         }
     }
@@ -112,99 +139,92 @@ public class InvestmentPerformanceSummary {
     }
 
     /**
-     * Calculates the cost basis of a given security which is the average cost including fees.
-     * 
+     * Calculates the shares held, cost basis, realized gains and internal rate of return of a given security with a
+     * single pass over its transactions.  The cost basis is the average cost including fees.
+     *
      * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to calculate cost basis against
+     * @param transactions chronologically sorted transactions for the security
+     * @return the cash flow for calculating the internal rate of return
      */
-    private void calculateCostBasis(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        BigDecimal totalShares = BigDecimal.ZERO;
-        BigDecimal totalCost = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case BUYSHARE:
-                        case REINVESTDIV:
-                            totalShares = totalShares.add(quantity);
-                            totalCost = totalCost.add(price.multiply(quantity).add(fees));
-                            break;
-                        case SPLITSHARE:
-                            totalShares = totalShares.add(quantity);
-                            break;
-                        case MERGESHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            break;
-                        case DIVIDEND:
-                            // do nothing, no fees, no shares added.
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
+    private CashFlow calculatePosition(final SecurityPerformanceData data, final List<Transaction> transactions) {
+        final CashFlow cashFlow = new CashFlow();
 
-        if (totalShares.compareTo(BigDecimal.ZERO) != 0) {
-            data.setCostBasisShares(totalShares);
-            data.setCostBasisPerShare(totalCost.divide(totalShares, MathConstants.mathContext));
-        }
-    }
+        BigDecimal sharesHeld = BigDecimal.ZERO;
 
-    /**
-     * Calculates the realized gains of a given Security.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to calculate the realized gains
-     */
-    private void calculateRealizedGains(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
+        BigDecimal costBasisShares = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
 
         BigDecimal totalSharesSold = BigDecimal.ZERO;
         BigDecimal totalSales = BigDecimal.ZERO;
 
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case SELLSHARE:
-                            totalSharesSold = totalSharesSold.add(quantity);
-                            totalSales = totalSales.add(price.multiply(quantity).subtract(fees));
-                            break;
-                        case DIVIDEND:
-                            totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        case REINVESTDIV:
-                            totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate)).subtract(fees);
-                            break;
-                        default:
-                            break;
-                    }
-                }
+        for (final Transaction transaction : transactions) {
+            final InvestmentTransaction t = (InvestmentTransaction) transaction;
+
+            final BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
+
+            final BigDecimal fees = t.getFees().multiply(rate);
+            final BigDecimal quantity = t.getQuantity();
+            final BigDecimal price = t.getPrice().multiply(rate);
+
+            switch (t.getTransactionType()) {
+                case ADDSHARE:
+                    sharesHeld = sharesHeld.add(quantity);
+                    break;
+                case BUYSHARE:
+                    sharesHeld = sharesHeld.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    totalCost = totalCost.add(price.multiply(quantity).add(fees));
+                    cashFlow.add(t.getLocalDate(), price.multiply(quantity).add(fees).negate());
+                    break;
+                case REINVESTDIV:
+                    sharesHeld = sharesHeld.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    totalCost = totalCost.add(price.multiply(quantity).add(fees));
+                    totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount())
+                            .multiply(rate)).subtract(fees);
+                    cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount())
+                            .multiply(rate));
+                    break;
+                case SPLITSHARE:
+                    sharesHeld = sharesHeld.add(quantity);
+                    costBasisShares = costBasisShares.add(quantity);
+                    break;
+                case MERGESHARE:
+                    sharesHeld = sharesHeld.subtract(quantity);
+                    costBasisShares = costBasisShares.subtract(quantity);
+                    break;
+                case REMOVESHARE:
+                    sharesHeld = sharesHeld.subtract(quantity);
+                    break;
+                case SELLSHARE:
+                    sharesHeld = sharesHeld.subtract(quantity);
+                    totalSharesSold = totalSharesSold.add(quantity);
+                    totalSales = totalSales.add(price.multiply(quantity).subtract(fees));
+                    cashFlow.add(t.getLocalDate(), price.multiply(quantity).subtract(fees));
+                    break;
+                case DIVIDEND:
+                    totalSales = totalSales.add(t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
+                    cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount())
+                            .multiply(rate));
+                    break;
+                case RETURNOFCAPITAL:
+                    cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount())
+                            .multiply(rate));
+                    break;
+                default:
+                    break;
             }
         }
 
+        data.setSharesHeld(data.getSharesHeld().add(sharesHeld));
+
+        // cost basis
+        if (costBasisShares.compareTo(BigDecimal.ZERO) != 0) {
+            data.setCostBasisShares(costBasisShares);
+            data.setCostBasisPerShare(totalCost.divide(costBasisShares, MathConstants.mathContext));
+        }
+
+        // realized gains
         if (totalSharesSold.compareTo(BigDecimal.ZERO) != 0) {
             data.setAvgSalePrice(totalSales.divide(totalSharesSold, MathConstants.mathContext));
             data.setRealizedGains(data.getAvgSalePrice().subtract(data.getCostBasisPerShare()).multiply(totalSharesSold));
@@ -212,6 +232,11 @@ public class InvestmentPerformanceSummary {
         } else if (totalSales.compareTo(BigDecimal.ZERO) != 0) { // pure dividends and no share purchased or sold
             data.setRealizedGains(totalSales);
         }
+
+        // unrealized gains
+        cashFlow.add(getEndDate(), sharesHeld.multiply(data.getPrice()));
+
+        return cashFlow;
     }
 
     private static void calculateUnrealizedGains(final SecurityPerformanceData data) {
@@ -228,44 +253,6 @@ public class InvestmentPerformanceSummary {
         }
     }
 
-    /**
-     * Sums the number of given security shares.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to count shares against
-     */
-    private static void calculateShares(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        BigDecimal shares = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-                    switch (t.getTransactionType()) {
-                        case ADDSHARE:
-                        case BUYSHARE:
-                        case REINVESTDIV:
-                        case SPLITSHARE:
-                            shares = shares.add(t.getQuantity());
-                            break;
-                        case REMOVESHARE:
-                        case SELLSHARE:
-                        case MERGESHARE:
-                            shares = shares.subtract(t.getQuantity());
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
-
-        data.setSharesHeld(data.getSharesHeld().add(shares));
-    }
-
     private void calculatePercentPortfolio() {
         BigDecimal marketValue = BigDecimal.ZERO;
 
@@ -282,70 +269,7 @@ public class InvestmentPerformanceSummary {
         }
     }
 
-    /**
-     * Calculates the internal rate of return of a given security.
-     * 
-     * @param data SecurityPerformanceData object to save the result in
-     * @param transactions transactions to obtain the cash flow
-     */
-    private void calculateInternalRateOfReturn(final SecurityPerformanceData data, final List<Transaction> transactions) {
-        SecurityNode node = data.getNode();
-
-        CashFlow cashFlow = new CashFlow();
-        
-        BigDecimal totalShares = BigDecimal.ZERO;
-
-        for (Transaction transaction : transactions) {
-            if (transaction instanceof InvestmentTransaction) {
-                InvestmentTransaction t = (InvestmentTransaction) transaction;
-
-                if (t.getSecurityNode().equals(node)) {
-
-                    BigDecimal rate = baseCurrency.getExchangeRate(t.getInvestmentAccount().getCurrencyNode());
-
-                    BigDecimal fees = t.getFees().multiply(rate);
-                    BigDecimal quantity = t.getQuantity();
-                    BigDecimal price = t.getPrice().multiply(rate);
-
-                    switch (t.getTransactionType()) {
-                        case BUYSHARE:
-                            totalShares = totalShares.add(quantity);
-                            cashFlow.add(t.getLocalDate(), price.multiply(quantity).add(fees).negate());
-                            break;
-                        case SELLSHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            cashFlow.add(t.getLocalDate(), price.multiply(quantity).subtract(fees));
-                            break;
-                        case SPLITSHARE:
-                        case ADDSHARE:
-                            totalShares = totalShares.add(quantity);
-                            break;
-                        case MERGESHARE:
-                        case REMOVESHARE:
-                            totalShares = totalShares.subtract(quantity);
-                            break;
-                        case DIVIDEND:
-                        case RETURNOFCAPITAL:
-                            cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        case REINVESTDIV:
-                            totalShares = totalShares.add(quantity);
-                            cashFlow.add(t.getLocalDate(), t.getTotalWithoutCashTransfer(t.getInvestmentAccount()).multiply(rate));
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            }
-        }
-
-        // unrealized gains
-        cashFlow.add(getEndDate(), totalShares.multiply(getMarketPrice(node, getEndDate())));
-        
-        data.setInternalRateOfReturn(cashFlow.internalRateOfReturn());
-    }
-
-    private void runCalculations(final boolean recursive) {
+    private void runCalculations() {
 
         Set<SecurityNode> nodes = account.getSecurities();
 
@@ -353,29 +277,33 @@ public class InvestmentPerformanceSummary {
             collectSubAccountSecurities(account, nodes);
         }
 
+        final List<SecurityPerformanceData> dataList = new ArrayList<>();
+        final List<CashFlow> cashFlows = new ArrayList<>();
+
         for (final SecurityNode node : nodes) {
+            final List<Transaction> transactions = getTransactions(node);
+
             SecurityPerformanceData data = new SecurityPerformanceData(node);
 
-            data.setPrice(getMarketPrice(node, getEndDate()));
+            data.setPrice(Engine.getMarketPrice(transactions, node, baseCurrency, getEndDate()));
 
             performanceData.put(node, data);
+            dataList.add(data);
 
-            calculateShares(data, transactions);
-            calculateCostBasis(data, transactions);
-
-            calculateRealizedGains(data, transactions);
+            cashFlows.add(calculatePosition(data, transactions));
             calculateUnrealizedGains(data);
 
             calculateTotalGains(data);
-            
-            calculateInternalRateOfReturn(data, transactions);
         }
 
-        calculatePercentPortfolio();
-    }
+        // solve the internal rate of return for all securities at once
+        final double[] rates = CashFlow.internalRateOfReturn(cashFlows);
 
-    private BigDecimal getMarketPrice(final SecurityNode node, final LocalDate date) {
-        return Engine.getMarketPrice(transactions, node, baseCurrency, date);
+        for (int i = 0; i < rates.length; i++) {
+            dataList.get(i).setInternalRateOfReturn(rates[i]);
+        }
+
+        calculatePercentPortfolio();
     }
 
     @Override
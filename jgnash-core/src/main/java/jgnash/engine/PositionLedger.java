@@ -0,0 +1,229 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Share positions of an investment account, tracked per security.
+ * <p>
+ * Each position keeps the security's investment transactions in chronological order along with the cumulative
+ * number of shares held after each transaction.  Adding or removing a transaction only invalidates the cumulative
+ * values after the affected position, so share counts for a date range are a binary search and a subtraction.
+ * <p>
+ * Values that depend on exchange rates or prices are not stored as they may change without a transaction change.
+ *
+ * @author Craig Cavanaugh
+ */
+class PositionLedger {
+
+    private final Map<SecurityNode, Position> positions = new HashMap<>();
+
+    /**
+     * Creates a ledger from a chronologically sorted list of transactions.
+     *
+     * @param transactions sorted transactions, non-investment transactions are ignored
+     */
+    PositionLedger(final Collection<Transaction> transactions) {
+        for (final Transaction transaction : transactions) {
+            if (transaction instanceof InvestmentTransaction) {
+                getPosition(((InvestmentTransaction) transaction).getSecurityNode())
+                        .transactions.add((InvestmentTransaction) transaction);
+            }
+        }
+    }
+
+    synchronized void add(final Transaction transaction) {
+        if (transaction instanceof InvestmentTransaction) {
+            getPosition(((InvestmentTransaction) transaction).getSecurityNode())
+                    .add((InvestmentTransaction) transaction);
+        }
+    }
+
+    synchronized void remove(final Transaction transaction) {
+        if (transaction instanceof InvestmentTransaction) {
+            final SecurityNode node = ((InvestmentTransaction) transaction).getSecurityNode();
+            final Position position = positions.get(node);
+
+            if (position != null) {
+                position.remove((InvestmentTransaction) transaction);
+
+                if (position.transactions.isEmpty()) {
+                    positions.remove(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the securities that have transactions in the ledger.
+     *
+     * @return set of securities
+     */
+    synchronized Set<SecurityNode> getSecurities() {
+        return new HashSet<>(positions.keySet());
+    }
+
+    /**
+     * Returns the investment transactions for a security in chronological order.
+     *
+     * @param node security
+     * @return list of transactions, empty if the security has not been used
+     */
+    synchronized List<Transaction> getTransactions(final SecurityNode node) {
+        final Position position = positions.get(node);
+
+        if (position == null) {
+            return Collections.emptyList();
+        }
+
+        return new ArrayList<>(position.transactions);
+    }
+
+    /**
+     * Returns the change in shares held for transactions dated within the inclusive date range.
+     *
+     * @param node  security
+     * @param start inclusive start date
+     * @param end   inclusive end date
+     * @return change in the number of shares held
+     */
+    synchronized BigDecimal getShares(final SecurityNode node, final LocalDate start, final LocalDate end) {
+        final Position position = positions.get(node);
+
+        if (position == null || start.isAfter(end)) {
+            return BigDecimal.ZERO;
+        }
+
+        return position.getSharesBefore(end.plusDays(1)).subtract(position.getSharesBefore(start));
+    }
+
+    private Position getPosition(final SecurityNode node) {
+        return positions.computeIfAbsent(node, k -> new Position());
+    }
+
+    private static class Position {
+
+        final List<InvestmentTransaction> transactions = new ArrayList<>();
+
+        /**
+         * Cumulative shares held after each transaction.  Only the first {@code validCount} entries are current.
+         */
+        final List<BigDecimal> cumulativeShares = new ArrayList<>();
+
+        int validCount;
+
+        void add(final InvestmentTransaction transaction) {
+            int index = Collections.binarySearch(transactions, transaction);
+
+            if (index < 0) {
+                index = -index - 1;
+            }
+
+            transactions.add(index, transaction);
+            invalidate(index);
+        }
+
+        void remove(final InvestmentTransaction transaction) {
+            final int index = transactions.indexOf(transaction);
+
+            if (index >= 0) {
+                transactions.remove(index);
+                invalidate(index);
+            }
+        }
+
+        private void invalidate(final int index) {
+            validCount = Math.min(validCount, index);
+        }
+
+        /**
+         * Returns the number of shares held before the supplied date.
+         *
+         * @param date exclusive date
+         * @return shares held
+         */
+        BigDecimal getSharesBefore(final LocalDate date) {
+            final int count = countBefore(date);
+
+            if (count == 0) {
+                return BigDecimal.ZERO;
+            }
+
+            update(count);
+
+            return cumulativeShares.get(count - 1);
+        }
+
+        /**
+         * Brings the cumulative share counts up to date for the first {@code count} transactions.
+         *
+         * @param count number of transactions that must be current
+         */
+        private void update(final int count) {
+            while (cumulativeShares.size() > transactions.size()) {
+                cumulativeShares.remove(cumulativeShares.size() - 1);
+            }
+
+            for (int i = validCount; i < count; i++) {
+                final BigDecimal previous = i > 0 ? cumulativeShares.get(i - 1) : BigDecimal.ZERO;
+                final BigDecimal shares = previous.add(transactions.get(i).getSignedQuantity());
+
+                if (i < cumulativeShares.size()) {
+                    cumulativeShares.set(i, shares);
+                } else {
+                    cumulativeShares.add(shares);
+                }
+            }
+
+            validCount = Math.max(validCount, count);
+        }
+
+        /**
+         * Returns the number of transactions dated before the supplied date.
+         *
+         * @param date exclusive date
+         * @return number of transactions
+         */
+        private int countBefore(final LocalDate date) {
+            int low = 0;
+            int high = transactions.size();
+
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+
+                if (transactions.get(mid).getLocalDate().isBefore(date)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+    }
+}
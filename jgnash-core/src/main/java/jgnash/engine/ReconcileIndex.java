@@ -0,0 +1,134 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Tracks the reconciled state of an account's transactions.
+ * <p>
+ * The reconciled balance and the unreconciled transactions are maintained as transactions are added, removed and
+ * reconciled, so the values needed to start a reconcile do not require a pass over the account history.
+ *
+ * @author Craig Cavanaugh
+ */
+class ReconcileIndex {
+
+    private final Account account;
+
+    /**
+     * Unreconciled transactions in chronological order.
+     */
+    private final NavigableSet<Transaction> unreconciled = new TreeSet<>();
+
+    /**
+     * Sum of the reconciled transaction amounts for each date.
+     */
+    private final TreeMap<LocalDate, BigDecimal> reconciledAmounts = new TreeMap<>();
+
+    private BigDecimal reconciledBalance = BigDecimal.ZERO;
+
+    /**
+     * Creates an index for an account.
+     *
+     * @param account      account to index
+     * @param transactions the account's transactions
+     */
+    ReconcileIndex(final Account account, final Collection<Transaction> transactions) {
+        this.account = account;
+
+        transactions.forEach(this::add);
+    }
+
+    synchronized void add(final Transaction transaction) {
+        if (transaction.getReconciled(account) == ReconciledState.RECONCILED) {
+            addReconciledAmount(transaction, transaction.getAmount(account));
+        } else {
+            unreconciled.add(transaction);
+        }
+    }
+
+    synchronized void remove(final Transaction transaction) {
+        if (!unreconciled.remove(transaction)) {
+            addReconciledAmount(transaction, transaction.getAmount(account).negate());
+        }
+    }
+
+    /**
+     * Updates the index after the reconciled state of a transaction has changed.
+     *
+     * @param transaction transaction that has changed
+     */
+    synchronized void reconciledStateChanged(final Transaction transaction) {
+        final boolean reconciled = transaction.getReconciled(account) == ReconciledState.RECONCILED;
+
+        if (reconciled && unreconciled.remove(transaction)) {
+            addReconciledAmount(transaction, transaction.getAmount(account));
+        } else if (!reconciled && unreconciled.add(transaction)) {
+            addReconciledAmount(transaction, transaction.getAmount(account).negate());
+        }
+    }
+
+    synchronized BigDecimal getReconciledBalance() {
+        return reconciledBalance;
+    }
+
+    /**
+     * Returns the date of the first unreconciled transaction.
+     *
+     * @return date of the first unreconciled transaction or {@code null} if all transactions are reconciled
+     */
+    synchronized LocalDate getFirstUnreconciledDate() {
+        return unreconciled.isEmpty() ? null : unreconciled.first().getLocalDate();
+    }
+
+    /**
+     * Returns the balance of the transactions dated before the first unreconciled transaction.
+     * <p>
+     * Every transaction dated before the first unreconciled transaction is reconciled, so the balance is the
+     * reconciled balance less the reconciled transactions dated on or after it.  Only the reconciled transactions
+     * that have been cleared out of order need to be summed.
+     *
+     * @param date date of the first unreconciled transaction
+     * @return balance of the transactions dated before {@code date}
+     */
+    synchronized BigDecimal getBalanceBefore(final LocalDate date) {
+        BigDecimal balance = reconciledBalance;
+
+        for (final BigDecimal amount : reconciledAmounts.tailMap(date, true).values()) {
+            balance = balance.subtract(amount);
+        }
+
+        return balance;
+    }
+
+    private void addReconciledAmount(final Transaction transaction, final BigDecimal amount) {
+        reconciledBalance = reconciledBalance.add(amount);
+
+        final BigDecimal dateAmount = reconciledAmounts.merge(transaction.getLocalDate(), amount, BigDecimal::add);
+
+        if (dateAmount.signum() == 0) {
+            reconciledAmounts.remove(transaction.getLocalDate());
+        }
+    }
+}
@@ -20,7 +20,9 @@ package jgnash.engine;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -169,17 +171,23 @@ public class ReconcileManager {
         // create a copy of the list to prevent concurrent modification errors
         final List<RecTransaction> transactions = new ArrayList<>(list);
 
+        final Map<Transaction, ReconciledState> states = new HashMap<>();
+
         // Set to the requested reconcile state, ignore if no change is detected
-        transactions.parallelStream().filter(transaction -> transaction.getReconciledState()
+        transactions.stream().filter(transaction -> transaction.getReconciledState()
                 != transaction.getTransaction().getReconciled(account)).forEach(recTransaction -> {
 
             // Set to the requested reconcile state
             if (recTransaction.getReconciledState() != ReconciledState.NOT_RECONCILED) {
-                engine.setTransactionReconciled(recTransaction.getTransaction(), account, reconciledState);
+                states.put(recTransaction.getTransaction(), reconciledState);
             } else { // must have been reconciled or cleared
-                engine.setTransactionReconciled(recTransaction.getTransaction(), account, recTransaction.getReconciledState());
+                states.put(recTransaction.getTransaction(), recTransaction.getReconciledState());
             }
         });
+
+        if (!states.isEmpty()) {
+            engine.setTransactionsReconciled(account, states);
+        }
     }
 
     /**
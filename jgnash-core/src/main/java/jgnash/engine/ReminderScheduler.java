@@ -0,0 +1,176 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import jgnash.engine.recurring.PendingReminder;
+import jgnash.engine.recurring.RecurringIterator;
+import jgnash.engine.recurring.Reminder;
+import jgnash.time.DateUtils;
+
+/**
+ * Schedules reminders by the date they next fire.
+ * <p>
+ * Reminders are kept in a min-heap ordered by their next fire date, so the reminders that are due can be found
+ * without iterating the recurrence of every reminder.  A removed or rescheduled reminder leaves a stale entry in
+ * the heap that is discarded when it reaches the top.
+ *
+ * @author Craig Cavanaugh
+ */
+class ReminderScheduler {
+
+    private final PriorityQueue<ScheduledReminder> queue = new PriorityQueue<>();
+
+    /**
+     * Current entry for each scheduled reminder, keyed by uuid.
+     */
+    private final Map<String, ScheduledReminder> scheduled = new HashMap<>();
+
+    /**
+     * Creates a scheduler from a collection of reminders.
+     *
+     * @param reminders reminders, disabled and expired reminders are ignored
+     */
+    ReminderScheduler(final Collection<Reminder> reminders) {
+        reminders.forEach(this::schedule);
+    }
+
+    /**
+     * Schedules a new reminder or reschedules a reminder that has changed or fired.
+     *
+     * @param reminder reminder to schedule
+     */
+    synchronized void schedule(final Reminder reminder) {
+        scheduled.remove(reminder.getUuid());
+
+        final LocalDate fireDate = getFireDate(reminder);
+
+        if (fireDate != null) {
+            final ScheduledReminder entry = new ScheduledReminder(reminder, fireDate);
+
+            scheduled.put(reminder.getUuid(), entry);
+            queue.add(entry);
+        }
+
+        purgeStaleEntries();
+    }
+
+    synchronized void remove(final Reminder reminder) {
+        scheduled.remove(reminder.getUuid());
+
+        purgeStaleEntries();
+    }
+
+    /**
+     * Returns the reminders that are due.  A reminder that has fallen behind is returned once for each date it
+     * should have fired.
+     *
+     * @param date the current date
+     * @return list of pending reminders
+     */
+    synchronized List<PendingReminder> getPendingReminders(final LocalDate date) {
+        final List<PendingReminder> pendingList = new ArrayList<>();
+        final List<ScheduledReminder> due = new ArrayList<>();
+
+        while (!queue.isEmpty() && DateUtils.before(queue.peek().fireDate, date)) {
+            final ScheduledReminder entry = queue.poll();
+
+            if (scheduled.get(entry.reminder.getUuid()) == entry) {   // skip stale entries
+                due.add(entry);
+                addPendingReminders(entry.reminder, date, pendingList);
+            }
+        }
+
+        queue.addAll(due);  // due reminders remain scheduled until they are fired
+
+        return pendingList;
+    }
+
+    /**
+     * Returns the date a reminder next fires.  Auto created reminders fire in advance of the event date.
+     *
+     * @param reminder reminder
+     * @return the next fire date or {@code null} if the reminder is disabled or has expired
+     */
+    private static LocalDate getFireDate(final Reminder reminder) {
+        if (reminder.isEnabled()) {
+            final LocalDate next = reminder.getIterator().next();
+
+            if (next != null) {
+                return reminder.isAutoCreate() ? next.minusDays(reminder.getDaysAdvance()) : next;
+            }
+        }
+
+        return null;
+    }
+
+    private static void addPendingReminders(final Reminder reminder, final LocalDate now,
+                                            final List<PendingReminder> pendingList) {
+        final RecurringIterator ri = reminder.getIterator();
+        LocalDate next = ri.next();
+
+        while (next != null) {
+            LocalDate date = next;
+
+            if (reminder.isAutoCreate()) {
+                date = date.minusDays(reminder.getDaysAdvance());
+            }
+
+            if (DateUtils.before(date, now)) { // need to fire this reminder
+                pendingList.add(new PendingReminder(reminder, next));
+                next = ri.next();
+            } else {
+                next = null;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the heap once stale entries outnumber the scheduled reminders.
+     */
+    private void purgeStaleEntries() {
+        if (queue.size() > scheduled.size() * 2) {
+            queue.clear();
+            queue.addAll(scheduled.values());
+        }
+    }
+
+    private static class ScheduledReminder implements Comparable<ScheduledReminder> {
+
+        final Reminder reminder;
+
+        final LocalDate fireDate;
+
+        ScheduledReminder(final Reminder reminder, final LocalDate fireDate) {
+            this.reminder = reminder;
+            this.fireDate = fireDate;
+        }
+
+        @Override
+        public int compareTo(final ScheduledReminder o) {
+            return fireDate.compareTo(o.fireDate);
+        }
+    }
+}
@@ -20,10 +20,13 @@ package jgnash.engine;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -171,6 +174,44 @@ public class SecurityNode extends CommodityNode {
         }
     }
 
+    /**
+     * Merges a collection of history nodes.  Existing history for the same dates is replaced and the sorted cache is
+     * rebuilt once.  If the collection contains more than one node for a date, the last one is kept.
+     *
+     * @param nodes history nodes to add
+     * @return the history nodes that were replaced
+     */
+    List<SecurityHistoryNode> addHistoryNodes(final Collection<SecurityHistoryNode> nodes) {
+        final Map<LocalDate, SecurityHistoryNode> nodeMap = new HashMap<>();
+
+        for (final SecurityHistoryNode node : nodes) {
+            nodeMap.put(node.getLocalDate(), node);
+        }
+
+        final List<SecurityHistoryNode> replaced = new ArrayList<>();
+
+        lock.writeLock().lock();
+
+        try {
+            historyNodes.removeIf(node -> {
+                if (nodeMap.containsKey(node.getLocalDate())) {
+                    replaced.add(node);
+                    return true;
+                }
+                return false;
+            });
+
+            historyNodes.addAll(nodeMap.values());
+
+            sortedHistoryNodeCache = new ArrayList<>(historyNodes);
+            Collections.sort(sortedHistoryNodeCache);
+
+            return replaced;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
     boolean removeHistoryNode(final LocalDate date) {
         lock.writeLock().lock();
 
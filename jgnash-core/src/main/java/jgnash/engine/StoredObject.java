@@ -42,7 +42,6 @@ public abstract class StoredObject implements Cloneable, Serializable {
      * Version field for persistence purposes.
      */
     @Version
-    @SuppressWarnings("unused")
     private int version;
 
     /**
@@ -76,6 +75,15 @@ public abstract class StoredObject implements Cloneable, Serializable {
         this.uuid = uuid;
     }
 
+    /**
+     * Returns the persisted version of the object.  Used to detect changes by other clients.
+     *
+     * @return version of the object when it was loaded or last stored
+     */
+    public final int getVersion() {
+        return version;
+    }
+
     void setMarkedForRemoval() {
         this.markedForRemoval = true;
     }
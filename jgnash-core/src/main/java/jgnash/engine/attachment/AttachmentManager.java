@@ -20,6 +20,7 @@ package jgnash.engine.attachment;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 /**
  * Interface for handling attachments.
@@ -29,6 +30,18 @@ import java.util.concurrent.Future;
 public interface AttachmentManager {
     boolean addAttachment(Path path, boolean copy) throws IOException;
 
+    /**
+     * Adds a file attachment under a content addressed name.  A file with identical content that is already stored
+     * is reused instead of being copied or transferred again.
+     *
+     * @param path       Path to the attachment to add
+     * @param copy       true if only copying the file
+     * @param referenced tests if an attachment name is still referenced, a referenced attachment is never removed
+     * @return the name the attachment was stored under, {@code null} if not successful
+     * @throws IOException thrown if a filesystem or network error occurs
+     */
+    String storeAttachment(Path path, boolean copy, Predicate<String> referenced) throws IOException;
+
     boolean removeAttachment(String attachment);
 
     Future<Path> getAttachment(String attachment);
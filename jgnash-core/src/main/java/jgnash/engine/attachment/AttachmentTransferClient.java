@@ -21,7 +21,7 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.DelimiterBasedFrameDecoder;
@@ -30,6 +30,7 @@ import io.netty.handler.codec.base64.Base64Decoder;
 import io.netty.handler.codec.base64.Base64Encoder;
 import io.netty.handler.codec.string.StringDecoder;
 import io.netty.handler.codec.string.StringEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.CharsetUtil;
 
 import java.nio.file.Path;
@@ -38,6 +39,7 @@ import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jgnash.net.ClientEventLoopGroup;
 import jgnash.net.ConnectionFactory;
 import jgnash.util.EncryptionManager;
 
@@ -53,7 +55,7 @@ class AttachmentTransferClient {
 
     private final Path tempDirectory;
 
-    private NioEventLoopGroup eventLoopGroup;
+    private EventLoopGroup eventLoopGroup;
 
     private Channel channel;
 
@@ -83,7 +85,7 @@ class AttachmentTransferClient {
 
         final Bootstrap bootstrap = new Bootstrap();
 
-        eventLoopGroup = new NioEventLoopGroup();
+        eventLoopGroup = ClientEventLoopGroup.acquire();
 
         transferHandler = new NettyTransferHandler(tempDirectory, encryptionManager);
 
@@ -114,11 +116,34 @@ class AttachmentTransferClient {
         return message;
     }
 
-    void requestFile(final Path file) {
-        try {
-            channel.writeAndFlush(encrypt(FILE_REQUEST + file) + EOL_DELIMITER).sync();
-        } catch (final InterruptedException e) {
-            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+    /**
+     * Requests a file from the server.  The file is placed in the temporary directory.
+     *
+     * @param file the file to request
+     * @return future for the transfer, completes with {@code null} if the transfer failed
+     */
+    TransferFuture requestFile(final Path file) {
+        if (transferHandler != null && channel != null) {
+            return transferHandler.requestFile(channel, file);
+        }
+
+        final TransferFuture transfer = new TransferFuture();
+        transfer.complete(null);
+
+        return transfer;
+    }
+
+    /**
+     * Abandons a stalled request for a file.  The partial file is kept so the next request resumes it.
+     *
+     * @param file     the requested file
+     * @param transfer the transfer returned by {@link #requestFile(Path)}
+     */
+    void abandonTransfer(final Path file, final TransferFuture transfer) {
+        if (transferHandler != null) {
+            transferHandler.abandonTransfer(file.getFileName().toString(), transfer);
+        } else {
+            transfer.complete(null);
         }
     }
 
@@ -132,7 +157,22 @@ class AttachmentTransferClient {
 
     Future<Void> sendFile(final Path file) {
         if (transferHandler != null) {
-            return transferHandler.sendFile(channel, file.toString());
+            return transferHandler.sendFile(channel, file.toString(), 0);
+        }
+
+        return null;
+    }
+
+    /**
+     * Sends a file to the server to be stored under the supplied name.
+     *
+     * @param file the file to send
+     * @param name the name the server stores the file as
+     * @return the future of the send, {@code null} if the file could not be sent
+     */
+    Future<Void> sendFile(final Path file, final String name) {
+        if (transferHandler != null) {
+            return transferHandler.sendFile(channel, file, name, 0);
         }
 
         return null;
@@ -149,7 +189,9 @@ class AttachmentTransferClient {
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
         }
 
-        eventLoopGroup.shutdownGracefully();
+        if (eventLoopGroup != null) {
+            ClientEventLoopGroup.release();
+        }
 
         eventLoopGroup = null;
         channel = null;
@@ -163,8 +205,7 @@ class AttachmentTransferClient {
         public void initChannel(final SocketChannel ch) throws Exception {
 
             ch.pipeline().addLast(
-                    new DelimiterBasedFrameDecoder(((TRANSFER_BUFFER_SIZE + 2) / 3) * 4 + PATH_MAX,
-                            true, Delimiters.lineDelimiter()),
+                    new DelimiterBasedFrameDecoder(MAX_FRAME_LENGTH, true, Delimiters.lineDelimiter()),
 
                     new StringEncoder(CharsetUtil.UTF_8),
                     new StringDecoder(CharsetUtil.UTF_8),
@@ -172,6 +213,8 @@ class AttachmentTransferClient {
                     new Base64Encoder(),
                     new Base64Decoder(),
 
+                    new ChunkedWriteHandler(),
+
                     transferHandler);
         }
     }
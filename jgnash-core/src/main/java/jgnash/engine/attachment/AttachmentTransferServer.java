@@ -34,6 +34,7 @@ import io.netty.handler.codec.base64.Base64Decoder;
 import io.netty.handler.codec.base64.Base64Encoder;
 import io.netty.handler.codec.string.StringDecoder;
 import io.netty.handler.codec.string.StringEncoder;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.CharsetUtil;
 import io.netty.util.concurrent.GlobalEventExecutor;
 
@@ -43,8 +44,7 @@ import java.util.logging.Logger;
 
 import jgnash.util.EncryptionManager;
 
-import static jgnash.engine.attachment.NettyTransferHandler.PATH_MAX;
-import static jgnash.engine.attachment.NettyTransferHandler.TRANSFER_BUFFER_SIZE;
+import static jgnash.engine.attachment.NettyTransferHandler.MAX_FRAME_LENGTH;
 
 /**
  * File server for attachments.
@@ -90,8 +90,7 @@ public class AttachmentTransferServer {
                         public void initChannel(final SocketChannel ch) throws Exception {
 
                             ch.pipeline().addLast(
-                                    new DelimiterBasedFrameDecoder(((TRANSFER_BUFFER_SIZE + 2) / 3) * 4 + PATH_MAX,
-                                            true, Delimiters.lineDelimiter()),
+                                    new DelimiterBasedFrameDecoder(MAX_FRAME_LENGTH, true, Delimiters.lineDelimiter()),
 
                                     new StringEncoder(CharsetUtil.UTF_8),
                                     new StringDecoder(CharsetUtil.UTF_8),
@@ -99,6 +98,8 @@ public class AttachmentTransferServer {
                                     new Base64Encoder(),
                                     new Base64Decoder(),
 
+                                    new ChunkedWriteHandler(),
+
                                     new ServerTransferHandler());
                         }
                     });
@@ -26,17 +26,20 @@ import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
-import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jgnash.engine.AttachmentUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.FileUtils;
 import jgnash.util.OS;
 
@@ -49,9 +52,13 @@ public class DistributedAttachmentManager implements AttachmentManager {
 
     private static final String TEMP_ATTACHMENT_PATH = "jGnashTemp-";
 
+    /**
+     * A transfer that makes no progress within this many milliseconds is abandoned.
+     */
     private static final int TRANSFER_TIMEOUT = 5000;
 
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final ScheduledExecutorService scheduledExecutor =
+            Executors.newSingleThreadScheduledExecutor(new DefaultDaemonThreadFactory());
 
     private final String host;
 
@@ -129,36 +136,110 @@ public class DistributedAttachmentManager implements AttachmentManager {
         return result;
     }
 
+    /**
+     * Add a file attachment under a content addressed name.  The transfer is only skipped if the local cache holds
+     * the content and the attachment is still referenced.  An unreferenced attachment may have been removed from
+     * the server by another client after it was cached, so it is always sent again.
+     *
+     * @param path       Path to the attachment to add
+     * @param copy       true if only copying the file
+     * @param referenced tests if an attachment name is still referenced
+     * @return the name the attachment was stored under, {@code null} if not successful
+     * @throws IOException thrown if a network error occurs
+     */
+    @Override
+    public String storeAttachment(final Path path, final boolean copy, final Predicate<String> referenced)
+            throws IOException {
+        final String name = AttachmentUtils.getContentName(path);
+
+        // Determine the cache location the file needs to go to so it does not have to be requested
+        final Path newPath = Paths.get(tempAttachmentPath + FileUtils.separator + name);
+
+        if (Files.notExists(newPath) || !referenced.test(name)) {
+            final Future<Void> future = fileClient.sendFile(path, name);
+
+            if (future == null) {   // if null, path was not valid
+                return null;
+            }
+
+            try {
+                future.get();  // wait for the transfer to complete
+            } catch (final InterruptedException | ExecutionException e) {
+                Logger.getLogger(DistributedAttachmentManager.class.getName()).log(Level.SEVERE, e.getLocalizedMessage(), e);
+                return null;
+            }
+
+            Files.copy(path, newPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        if (!copy) {
+            Files.delete(path);
+        }
+
+        return name;
+    }
+
     @Override
     public boolean removeAttachment(final String attachment) {
         fileClient.deleteFile(attachment);
+
+        // the cached copy no longer reflects the server
+        try {
+            Files.deleteIfExists(Paths.get(tempAttachmentPath + FileUtils.separator
+                    + Paths.get(attachment).getFileName()));
+        } catch (final IOException e) {
+            Logger.getLogger(DistributedAttachmentManager.class.getName()).log(Level.WARNING, e.getLocalizedMessage(), e);
+        }
+
         return true;
     }
 
+    /**
+     * Returns a cached attachment or requests it from the server.  The returned future for a requested attachment is
+     * a {@code TransferFuture} so progress may be monitored.
+     *
+     * @param attachment attachment to get
+     * @return future for the attachment, completes with {@code null} if the attachment could not be retrieved
+     */
     @Override
     public Future<Path> getAttachment(final String attachment) {
+        final Path path = Paths.get(tempAttachmentPath + FileUtils.separator + Paths.get(attachment).getFileName());
+
+        if (Files.exists(path)) {
+            return CompletableFuture.completedFuture(path);
+        }
 
-        return executorService.submit(() -> {
-            Path path = Paths.get(tempAttachmentPath + FileUtils.separator + Paths.get(attachment).getFileName());
+        // Request the file and place in a temp location
+        final TransferFuture transfer = fileClient.requestFile(Paths.get(attachment));
 
-            if (Files.notExists(path)) {
-                fileClient.requestFile(Paths.get(attachment));  // Request the file and place in a a temp location
+        watchTransfer(Paths.get(attachment), transfer, -1);
 
-                final LocalDateTime start = LocalDateTime.now();
+        return transfer;
+    }
 
-                while (Duration.between(start, LocalDateTime.now()).toMillis() < TRANSFER_TIMEOUT) {
-                    if (Files.exists(path)) {
-                        break;
-                    }
-                }
-            }
+    /**
+     * Abandons a transfer if it has stalled.  Large files are allowed to take as long as they need to as long as
+     * progress is being made.
+     *
+     * @param file      the requested file
+     * @param transfer  the transfer to watch
+     * @param lastCount bytes transferred when last checked
+     */
+    private void watchTransfer(final Path file, final TransferFuture transfer, final long lastCount) {
+        if (transfer.isDone()) {
+            return;
+        }
 
-            if (Files.notExists(path)) {
-                path = null;
-            }
+        final long count = transfer.getBytesTransferred();
 
-            return path;
-        });
+        if (count == lastCount) {
+            Logger.getLogger(DistributedAttachmentManager.class.getName()).warning("Attachment transfer timed out");
+            fileClient.abandonTransfer(file, transfer);
+            return;
+        }
+
+        scheduledExecutor.schedule(() -> watchTransfer(file, transfer, count), TRANSFER_TIMEOUT,
+                TimeUnit.MILLISECONDS);
     }
 
     public boolean connectToServer(final char[] password) {
@@ -166,6 +247,8 @@ public class DistributedAttachmentManager implements AttachmentManager {
     }
 
     public void disconnectFromServer() {
+        scheduledExecutor.shutdownNow();
+
         fileClient.disconnectFromServer();
 
         // Cleanup before exit
@@ -0,0 +1,139 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.attachment;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.UnaryOperator;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.stream.ChunkedInput;
+
+import static javax.xml.bind.DatatypeConverter.printBase64Binary;
+import static jgnash.engine.attachment.NettyTransferHandler.EOL_DELIMITER;
+import static jgnash.engine.attachment.NettyTransferHandler.FILE_CHUNK;
+import static jgnash.engine.attachment.NettyTransferHandler.FILE_ENDS;
+import static jgnash.engine.attachment.NettyTransferHandler.TRANSFER_BUFFER_SIZE;
+
+/**
+ * Reads a file as a sequence of chunk messages.
+ * <p>
+ * Chunks are only read from disk when the channel is ready to write them, so a large file is never held in memory
+ * and the event loop is not blocked while the file is sent.
+ *
+ * @author Craig Cavanaugh
+ */
+class FileChunkInput implements ChunkedInput<String> {
+
+    private final FileChannel fileChannel;
+
+    private final String fileName;
+
+    private final UnaryOperator<String> encoder;
+
+    private final long fileLength;
+
+    private final long startOffset;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+
+    private long offset;
+
+    private boolean endOfInput;
+
+    /**
+     * Creates a chunked input for a file.
+     *
+     * @param path        file to send
+     * @param fileName    name the file is sent as
+     * @param startOffset offset to start at if resuming an interrupted transfer
+     * @param encoder     encodes each message before it is written
+     * @throws IOException if the file cannot be opened
+     */
+    FileChunkInput(final Path path, final String fileName, final long startOffset,
+                   final UnaryOperator<String> encoder) throws IOException {
+        this.fileName = fileName;
+        this.encoder = encoder;
+
+        fileChannel = FileChannel.open(path, StandardOpenOption.READ);
+        fileLength = fileChannel.size();
+
+        this.startOffset = Math.min(Math.max(0, startOffset), fileLength);
+        offset = this.startOffset;
+    }
+
+    long getFileLength() {
+        return fileLength;
+    }
+
+    long getStartOffset() {
+        return startOffset;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return endOfInput;
+    }
+
+    @Override
+    public void close() throws Exception {
+        fileChannel.close();
+    }
+
+    @Deprecated
+    @Override
+    public String readChunk(final ChannelHandlerContext ctx) throws Exception {
+        return readChunk(ctx.alloc());
+    }
+
+    @Override
+    public String readChunk(final ByteBufAllocator allocator) throws Exception {
+        if (endOfInput) {
+            return null;
+        }
+
+        buffer.clear();
+
+        final int bytesRead = offset < fileLength ? fileChannel.read(buffer, offset) : -1;
+
+        if (bytesRead <= 0) {
+            endOfInput = true;
+            return encoder.apply(FILE_ENDS + fileName) + EOL_DELIMITER;
+        }
+
+        offset += bytesRead;
+
+        return encoder.apply(FILE_CHUNK + fileName + ':'
+                + printBase64Binary(Arrays.copyOf(buffer.array(), bytesRead))) + EOL_DELIMITER;
+    }
+
+    @Override
+    public long length() {
+        return fileLength - startOffset;
+    }
+
+    @Override
+    public long progress() {
+        return offset - startOffset;
+    }
+}
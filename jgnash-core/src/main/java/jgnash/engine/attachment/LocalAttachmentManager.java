@@ -24,6 +24,7 @@ import java.nio.file.Paths;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.function.Predicate;
 
 import jgnash.engine.AttachmentUtils;
 import jgnash.engine.EngineFactory;
@@ -78,6 +79,34 @@ public class LocalAttachmentManager implements AttachmentManager {
         return result;
     }
 
+    @Override
+    public String storeAttachment(final Path path, final boolean copy, final Predicate<String> referenced)
+            throws IOException {
+        final Path baseFile = Paths.get(EngineFactory.getActiveDatabase());
+
+        if (!AttachmentUtils.createAttachmentDirectory(baseFile)) {  // create if needed
+            return null;
+        }
+
+        final String name = AttachmentUtils.getContentName(path);
+        final Path newPath = Paths.get(AttachmentUtils.getAttachmentPath() + FileUtils.separator + name);
+
+        try {
+            if (Files.notExists(newPath)) {   // identical content is only stored once
+                Files.copy(path, newPath);
+            }
+
+            if (!copy && !Files.isSameFile(path, newPath)) {
+                Files.delete(path);
+            }
+        } catch (final IOException e) {
+            logSevere(LocalAttachmentManager.class, e);
+            throw new IOException(e);
+        }
+
+        return name;
+    }
+
     @Override
     public boolean removeAttachment(final String attachment) {
         boolean result = false;
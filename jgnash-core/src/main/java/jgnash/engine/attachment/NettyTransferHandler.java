@@ -18,12 +18,13 @@
 package jgnash.engine.attachment;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,10 +43,13 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 
 import static javax.xml.bind.DatatypeConverter.parseBase64Binary;
-import static javax.xml.bind.DatatypeConverter.printBase64Binary;
 
 /**
  * Handles the details of bi-directional transfer of files between a client and server.
+ * <p>
+ * Files are written lazily in chunks as the channel becomes writable and are received into a partial file that is
+ * moved into place once complete.  If a transfer is interrupted, the partial file is kept and the transfer may be
+ * resumed from its current length.
  *
  * @author Craig Cavanaugh
  */
@@ -54,26 +58,59 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
 
     static final String FILE_REQUEST = "<FILE_REQUEST>";
 
+    /**
+     * Requests the remainder of a file.  The message is formatted as {@code offset:fileName}.
+     */
+    static final String FILE_RESUME = "<FILE_RESUME>";
+
     static final String DELETE = "<DELETE>";
 
     static final String EOL_DELIMITER = "\r\n";
 
+    /**
+     * Starts a file.  The message is formatted as {@code fileName:fileSize:offset}.
+     */
     private static final String FILE_STARTS = "<FILE_STARTS>";
 
-    private static final String FILE_ENDS = "<FILE_ENDS>";
+    static final String FILE_ENDS = "<FILE_ENDS>";
 
-    private static final String FILE_CHUNK = "<FILE_CHUNK>";
+    static final String FILE_CHUNK = "<FILE_CHUNK>";
 
+    /**
+     * Reports a failed request.  The message is formatted as {@code fileName:message}.
+     */
     private static final String ERROR = "<ERROR>";
 
     private static final Logger logger = Logger.getLogger(NettyTransferHandler.class.getName());
 
-    static final int TRANSFER_BUFFER_SIZE = 1024; // too large can break netty... bug?
+    static final int TRANSFER_BUFFER_SIZE = 16 * 1024;
 
     static final int PATH_MAX = 4096;
 
+    /**
+     * Maximum length of a framed message.  Chunks are Base64 encoded and the complete message is Base64 encoded again
+     * when encrypted.  Extra room is left for the message tag and encryption padding.
+     */
+    static final int MAX_FRAME_LENGTH = base64Length(base64Length(TRANSFER_BUFFER_SIZE) + PATH_MAX + 64);
+
+    /**
+     * Extension of a file that is being received.
+     */
+    static final String PART_EXTENSION = ".part";
+
     private final Map<String, Attachment> fileMap = new ConcurrentHashMap<>();
 
+    /**
+     * Pending requests for files keyed by file name.
+     */
+    private final Map<String, TransferFuture> transferMap = new ConcurrentHashMap<>();
+
+    /**
+     * Number of responses to abandoned requests still expected for each file.  The responses arrive in request
+     * order, so they are discarded until each has ended and cannot write into the partial file of a later request.
+     */
+    private final Map<String, Integer> abandonedMap = new ConcurrentHashMap<>();
+
     private final Path attachmentPath;
 
     private final EncryptionManager encryptionManager;
@@ -91,6 +128,10 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
         this.encryptionManager = encryptionManager;
     }
 
+    private static int base64Length(final int length) {
+        return ((length + 2) / 3) * 4;
+    }
+
     @Override
     public void channelRead0(final ChannelHandlerContext ctx, final String msg) {
 
@@ -103,15 +144,20 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
         }
 
         if (plainMessage.startsWith(FILE_REQUEST)) {
-            sendFile(ctx, attachmentPath + FileUtils.separator + plainMessage.substring(FILE_REQUEST.length()));
+            sendFile(ctx.channel(), attachmentPath + FileUtils.separator + plainMessage.substring(FILE_REQUEST.length()),
+                    0);
+        } else if (plainMessage.startsWith(FILE_RESUME)) {
+            resumeFile(ctx.channel(), plainMessage.substring(FILE_RESUME.length()));
         } else if (plainMessage.startsWith(FILE_STARTS)) {
             openOutputStream(plainMessage.substring(FILE_STARTS.length()));
         } else if (plainMessage.startsWith(FILE_CHUNK)) {
             writeOutputStream(plainMessage.substring(FILE_CHUNK.length()));
         } else if (plainMessage.startsWith(FILE_ENDS)) {
             closeOutputStream(plainMessage.substring(FILE_ENDS.length()));
+        } else if (plainMessage.startsWith(ERROR)) {
+            failTransfer(plainMessage.substring(ERROR.length()));
         } else if (plainMessage.startsWith(DELETE)) {
-            deleteFile(plainMessage.substring(FILE_ENDS.length()));
+            deleteFile(plainMessage.substring(DELETE.length()));
         }
     }
 
@@ -129,14 +175,20 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
 
     @Override
     public void channelInactive(final ChannelHandlerContext ctx) throws Exception {
-        for (Attachment object : fileMap.values()) {
-            try {
-                object.outputStream.close();
-            } catch (IOException e) {
-                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-            }
+        // partial files are left in place so the transfer may be resumed
+        for (final Attachment attachment : fileMap.values()) {
+            attachment.close();
+        }
+
+        fileMap.clear();
+
+        for (final TransferFuture transfer : transferMap.values()) {
+            transfer.complete(null);
         }
 
+        transferMap.clear();
+        abandonedMap.clear();
+
         ctx.fireChannelInactive();    // forward to the next handler in the pipeline
     }
 
@@ -155,91 +207,228 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
     }
 
     /**
-     * Sends a file across the channel. The Fu
-     * @param channel  Channel to send file through
-     * @param fileName the file name
-     * @return the future of the potentially asynchronous send is returned. A null value is returned if fileName is a path.
+     * Requests a file from the remote side.  If a partial file remains from an interrupted transfer, only the
+     * remainder of the file is requested.  Concurrent requests for the same file share a single transfer.
+     *
+     * @param channel Channel to request the file through
+     * @param file    the file to request
+     * @return the transfer future
      */
-    Future<Void> sendFile(final Channel channel, final String fileName) {
-        Future<Void> future = null;
+    synchronized TransferFuture requestFile(final Channel channel, final Path file) {
+        final String fileName = file.getFileName().toString();
 
-        Path path = Paths.get(fileName);
+        TransferFuture transfer = transferMap.get(fileName);
 
-        if (Files.exists(path)) {
-
-            if (Files.isDirectory(path)) {
-                channel.writeAndFlush(encrypt(ERROR + "Not a file: " + path) + EOL_DELIMITER);
-                return null;
+        if (transfer == null || transfer.isDone()) {
+            if (transfer != null) {     // completed by the caller without being abandoned
+                abandonTransfer(fileName, transfer);
             }
 
-            try (final InputStream inputStream = Files.newInputStream(path)) {
-                channel.writeAndFlush(encrypt(FILE_STARTS + path.getFileName() + ":" + Files.size(path)) + EOL_DELIMITER);
+            transfer = new TransferFuture();
+            transferMap.put(fileName, transfer);
 
-                byte[] bytes = new byte[TRANSFER_BUFFER_SIZE];  // leave room for base 64 expansion
+            final long offset = getPartialLength(getPartPath(fileName));
 
-                int bytesRead;
+            if (offset > 0) {
+                channel.writeAndFlush(encrypt(FILE_RESUME + offset + ':' + file) + EOL_DELIMITER);
+            } else {
+                channel.writeAndFlush(encrypt(FILE_REQUEST + file) + EOL_DELIMITER);
+            }
+        }
 
-                while ((bytesRead = inputStream.read(bytes)) != -1) {
-                    if (bytesRead > 0) {
-                        channel.write(encrypt(FILE_CHUNK + path.getFileName() + ':' +
-                                printBase64Binary(Arrays.copyOfRange(bytes, 0, bytesRead))) + EOL_DELIMITER);
-                    }
-                }
-                future = channel.writeAndFlush(encrypt(FILE_ENDS + path.getFileName()) + EOL_DELIMITER).sync();
+        return transfer;
+    }
 
-            } catch (IOException | InterruptedException e) {
-                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-            }
-        } else {
-            try {
-                future = channel.writeAndFlush(encrypt(ERROR + "File not found: " + path) + EOL_DELIMITER).sync();
-            } catch (final InterruptedException e) {
-                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+    /**
+     * Abandons a stalled transfer.  The partial file is closed and kept so a later request resumes from its current
+     * length, and any further response to the abandoned request is discarded.
+     *
+     * @param fileName name of the requested file
+     * @param transfer the transfer to abandon
+     */
+    synchronized void abandonTransfer(final String fileName, final TransferFuture transfer) {
+        if (transferMap.remove(fileName, transfer)) {
+            final Attachment attachment = fileMap.remove(fileName);
+
+            if (attachment != null) {
+                attachment.close();
             }
-            logger.log(Level.WARNING, "File not found: {0}", path);
+
+            abandonedMap.merge(fileName, 1, Integer::sum);
+        }
+
+        transfer.complete(null);
+    }
+
+    /**
+     * Determines if a response belongs to an abandoned request.  The end of the response is consumed.
+     *
+     * @param fileName name of the file in the response
+     * @param end      {@code true} if the message ends the response
+     * @return {@code true} if the message must be discarded
+     */
+    private boolean isAbandoned(final String fileName, final boolean end) {
+        if (!abandonedMap.containsKey(fileName)) {
+            return false;
+        }
+
+        if (end) {
+            abandonedMap.computeIfPresent(fileName, (k, count) -> count > 1 ? count - 1 : null);
         }
 
-        return future;
+        return true;
     }
 
-    private void sendFile(final ChannelHandlerContext ctx, final String msg) {
-        sendFile(ctx.channel(), msg);
+    /**
+     * Sends a file across the channel.  The file is read and written in chunks as the channel becomes writable.
+     *
+     * @param channel  Channel to send file through
+     * @param fileName the file name
+     * @param offset   offset to start at when resuming an interrupted transfer
+     * @return the future of the asynchronous send is returned. A null value is returned if fileName is a path.
+     */
+    Future<Void> sendFile(final Channel channel, final String fileName, final long offset) {
+        final Path path = Paths.get(fileName);
+
+        return sendFile(channel, path, path.getFileName().toString(), offset);
     }
 
-    private void closeOutputStream(final String msg) {
-        Attachment attachment = fileMap.get(msg);
+    /**
+     * Sends a file across the channel under a different name.
+     *
+     * @param channel Channel to send file through
+     * @param path    the file to send
+     * @param name    the name the remote side stores the file as
+     * @param offset  offset to start at when resuming an interrupted transfer
+     * @return the future of the asynchronous send is returned. A null value is returned if path is a directory.
+     */
+    Future<Void> sendFile(final Channel channel, final Path path, final String name, final long offset) {
+        if (Files.notExists(path)) {
+            logger.log(Level.WARNING, "File not found: {0}", path);
+            return channel.writeAndFlush(encrypt(ERROR + name + ":File not found") + EOL_DELIMITER);
+        }
+
+        if (Files.isDirectory(path)) {
+            channel.writeAndFlush(encrypt(ERROR + name + ":Not a file") + EOL_DELIMITER);
+            return null;
+        }
 
         try {
-            attachment.outputStream.close();
-            fileMap.remove(msg);
+            final FileChunkInput input = new FileChunkInput(path, name, offset, this::encrypt);
+
+            channel.write(encrypt(FILE_STARTS + name + ':' + input.getFileLength() + ':' + input.getStartOffset())
+                    + EOL_DELIMITER);
+
+            return channel.writeAndFlush(input);
         } catch (final IOException e) {
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            channel.writeAndFlush(encrypt(ERROR + name + ':' + e.getLocalizedMessage()) + EOL_DELIMITER);
         }
 
-        if (attachment.path.toFile().length() != attachment.fileSize) {
-            logger.severe("Invalid file length");
+        return null;
+    }
+
+    private void resumeFile(final Channel channel, final String msg) {
+        final int index = msg.indexOf(':');
+
+        try {
+            sendFile(channel, attachmentPath + FileUtils.separator + msg.substring(index + 1),
+                    Long.parseLong(msg.substring(0, index)));
+        } catch (final NumberFormatException | IndexOutOfBoundsException e) {
+            logger.log(Level.WARNING, "Invalid resume request: {0}", msg);
         }
     }
 
-    private void writeOutputStream(final String msg) {
-        String[] msgParts = msg.split(":");
+    private synchronized void failTransfer(final String msg) {
+        final int index = msg.indexOf(':');
+        final String fileName = index >= 0 ? msg.substring(0, index) : msg;
 
-        Attachment attachment = fileMap.get(msgParts[0]);
+        logger.log(Level.WARNING, "File transfer failed: {0}", msg);
+
+        if (isAbandoned(fileName, true)) {
+            return;
+        }
+
+        final Attachment attachment = fileMap.remove(fileName);
 
         if (attachment != null) {
+            attachment.close();
+        }
+
+        final TransferFuture transfer = transferMap.remove(fileName);
+
+        if (transfer != null) {
+            transfer.complete(null);
+        }
+    }
+
+    private synchronized void closeOutputStream(final String fileName) {
+        if (isAbandoned(fileName, true)) {
+            return;
+        }
+
+        final Attachment attachment = fileMap.remove(fileName);
+        final TransferFuture transfer = transferMap.remove(fileName);
+
+        Path result = null;
+
+        if (attachment != null && attachment.close()) {
             try {
-                attachment.outputStream.write(parseBase64Binary(msgParts[1]));
+                if (Files.size(attachment.partPath) == attachment.fileSize) {
+                    Files.move(attachment.partPath, attachment.path, StandardCopyOption.REPLACE_EXISTING);
+                    result = attachment.path;
+                } else {
+                    logger.severe("Invalid file length");
+                }
             } catch (final IOException e) {
                 logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
             }
         }
+
+        if (transfer != null) {
+            transfer.complete(result);
+        }
     }
 
-    private void openOutputStream(final String msg) {
-        String[] msgParts = msg.split(":");
+    private synchronized void writeOutputStream(final String msg) {
+        final int index = msg.indexOf(':');
+        final String fileName = msg.substring(0, Math.max(index, 0));
+
+        if (isAbandoned(fileName, false)) {
+            return;
+        }
+
+        final Attachment attachment = fileMap.get(fileName);
+
+        if (attachment != null) {
+            final byte[] bytes = parseBase64Binary(msg.substring(index + 1));
+
+            try {
+                final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+                while (buffer.hasRemaining()) {
+                    attachment.fileChannel.write(buffer);
+                }
+
+                if (attachment.transfer != null) {
+                    attachment.transfer.addBytes(bytes.length);
+                }
+            } catch (final IOException e) {
+                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            }
+        }
+    }
+
+    private synchronized void openOutputStream(final String msg) {
+        final String[] msgParts = msg.split(":");
 
         final String fileName = msgParts[0];
         final long fileLength = Long.parseLong(msgParts[1]);
+        final long offset = msgParts.length > 2 ? Long.parseLong(msgParts[2]) : 0;
+
+        if (isAbandoned(fileName, false)) {
+            return;
+        }
 
         final Path filePath = Paths.get(attachmentPath + FileUtils.separator + fileName);
 
@@ -249,25 +438,78 @@ class NettyTransferHandler extends SimpleChannelInboundHandler<String> {
             return;
         }
 
+        final TransferFuture transfer = transferMap.get(fileName);
+
         try {
-            fileMap.put(fileName, new Attachment(filePath, fileLength));
-        } catch (IOException e) {
+            fileMap.put(fileName, new Attachment(filePath, getPartPath(fileName), fileLength, offset, transfer));
+
+            if (transfer != null) {
+                transfer.start(fileLength, offset);
+            }
+        } catch (final IOException e) {
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
         }
     }
 
+    private Path getPartPath(final String fileName) {
+        return Paths.get(attachmentPath + FileUtils.separator + fileName + PART_EXTENSION);
+    }
+
+    private static long getPartialLength(final Path partPath) {
+        try {
+            if (Files.exists(partPath)) {
+                return Files.size(partPath);
+            }
+        } catch (final IOException e) {
+            logger.log(Level.WARNING, e.getLocalizedMessage(), e);
+        }
+
+        return 0;
+    }
+
     private static class Attachment {
         final Path path;
 
-        final OutputStream outputStream;
+        final Path partPath;
+
+        final FileChannel fileChannel;
 
         final long fileSize;
 
-        private Attachment(final Path path, long fileSize) throws IOException {
-            this.path = path;
-            outputStream = Files.newOutputStream(path);
+        final TransferFuture transfer;
 
+        private Attachment(final Path path, final Path partPath, final long fileSize, final long offset,
+                           final TransferFuture transfer) throws IOException {
+            this.path = path;
+            this.partPath = partPath;
             this.fileSize = fileSize;
+            this.transfer = transfer;
+
+            fileChannel = FileChannel.open(partPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+            try {
+                if (offset == 0) {
+                    fileChannel.truncate(0);
+                } else if (fileChannel.size() < offset) {
+                    throw new IOException("Partial file is shorter than the resume offset: " + partPath);
+                } else {
+                    fileChannel.truncate(offset);
+                    fileChannel.position(offset);
+                }
+            } catch (final IOException e) {
+                fileChannel.close();
+                throw e;
+            }
+        }
+
+        boolean close() {
+            try {
+                fileChannel.close();
+                return true;
+            } catch (final IOException e) {
+                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+                return false;
+            }
         }
     }
 }
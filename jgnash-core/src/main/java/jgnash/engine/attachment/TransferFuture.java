@@ -0,0 +1,79 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.attachment;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Future for a file being received from a remote server.
+ * <p>
+ * The future completes with the path of the received file, or {@code null} if the transfer failed.  Progress of
+ * the transfer may be polled while it is in flight.
+ *
+ * @author Craig Cavanaugh
+ */
+public class TransferFuture extends CompletableFuture<Path> {
+
+    private final AtomicLong bytesTransferred = new AtomicLong();
+
+    private volatile long size = -1;
+
+    /**
+     * Returns the number of bytes received so far, including bytes received by an earlier interrupted transfer.
+     *
+     * @return number of bytes received
+     */
+    public long getBytesTransferred() {
+        return bytesTransferred.get();
+    }
+
+    /**
+     * Returns the size of the file being received.
+     *
+     * @return size of the file, or -1 if the transfer has not started
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the progress of the transfer.
+     *
+     * @return progress of the transfer from 0 to 1
+     */
+    public double getProgress() {
+        final long length = size;
+
+        if (length <= 0) {
+            return isDone() ? 1 : 0;
+        }
+
+        return Math.min(1, (double) bytesTransferred.get() / length);
+    }
+
+    void start(final long size, final long offset) {
+        this.size = size;
+        bytesTransferred.set(offset);
+    }
+
+    void addBytes(final long count) {
+        bytesTransferred.addAndGet(count);
+    }
+}
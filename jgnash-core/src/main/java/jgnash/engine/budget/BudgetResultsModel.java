@@ -18,16 +18,17 @@
 package jgnash.engine.budget;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.EnumMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
@@ -50,6 +51,12 @@ import jgnash.engine.message.MessageProxy;
 
 /**
  * Model for budget results.
+ * <p>
+ * Results are cached in concurrent maps and computed per key, so independent cells may be computed in parallel.
+ * Computing a cell only reads cells of the same or an earlier period from other maps, and account cells never read
+ * group cells, so nested per key computations cannot deadlock.  Cells are computed while holding the read lock of the
+ * cache and invalidated while holding its write lock, so a cell computed from old data cannot be cached after its
+ * invalidation.
  *
  * @author Craig Cavanaugh
  */
@@ -67,7 +74,7 @@ public class BudgetResultsModel implements MessageListener {
 
     private final ReentrantReadWriteLock accountLock = new ReentrantReadWriteLock();
 
-    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final ReentrantReadWriteLock cacheLock = new ReentrantReadWriteLock();
 
     private final Map<Account, BudgetPeriodResults> accountResultsCache;
 
@@ -77,6 +84,12 @@ public class BudgetResultsModel implements MessageListener {
 
     private final Map<BudgetPeriodDescriptor, Map<AccountGroup, BudgetPeriodResults>> descriptorAccountGroupResultsCache;
 
+    /**
+     * Transaction sums of an account bucketed by descriptor index.  Each entry is built with a single pass over the
+     * account's transactions instead of a full walk per descriptor.
+     */
+    private final Map<Account, BigDecimal[]> periodChangeCache;
+
     private boolean useRunningTotals;
 
     /**
@@ -90,10 +103,11 @@ public class BudgetResultsModel implements MessageListener {
         this.baseCurrency = baseCurrency;
         this.useRunningTotals = useRunningTotals;
 
-        accountResultsCache = new HashMap<>();
-        accountGroupResultsCache = new EnumMap<>(AccountGroup.class);
-        descriptorAccountResultsCache = new HashMap<>();
-        descriptorAccountGroupResultsCache = new HashMap<>();
+        accountResultsCache = new ConcurrentHashMap<>();
+        accountGroupResultsCache = new ConcurrentHashMap<>();
+        descriptorAccountResultsCache = new ConcurrentHashMap<>();
+        descriptorAccountGroupResultsCache = new ConcurrentHashMap<>();
+        periodChangeCache = new ConcurrentHashMap<>();
 
         loadAccounts();
         loadAccountGroups();
@@ -269,59 +283,35 @@ public class BudgetResultsModel implements MessageListener {
     }
 
     private void clear(final BudgetPeriodDescriptor descriptor, final Account account) {
-        cacheLock.lock();
+        final Map<Account, BudgetPeriodResults> resultsMap = descriptorAccountResultsCache.get(descriptor);
 
-        try {
-            final Map<Account, BudgetPeriodResults> resultsMap = descriptorAccountResultsCache.get(descriptor);
-
-            if (resultsMap != null) {
-                resultsMap.remove(account);
-            }
-        } finally {
-            cacheLock.unlock();
+        if (resultsMap != null) {
+            resultsMap.remove(account);
         }
     }
 
     private void clear(final BudgetPeriodDescriptor descriptor, final AccountGroup group) {
-        cacheLock.lock();
+        final Map<AccountGroup, BudgetPeriodResults> resultsMap = descriptorAccountGroupResultsCache.get(descriptor);
 
-        try {
-            final Map<AccountGroup, BudgetPeriodResults> resultsMap = descriptorAccountGroupResultsCache.get(descriptor);
-
-            if (resultsMap != null) {
-                resultsMap.remove(group);
-            }
-        } finally {
-            cacheLock.unlock();
+        if (resultsMap != null) {
+            resultsMap.remove(group);
         }
     }
 
     private void clear(final Account account) {
-        cacheLock.lock();
-
-        try {
-            accountResultsCache.remove(account);
-        } finally {
-            cacheLock.unlock();
-        }
+        accountResultsCache.remove(account);
     }
 
     private void clear(final AccountGroup accountGroup) {
-        cacheLock.lock();
-
-        try {
-            final BudgetPeriodResults results = accountGroupResultsCache.get(accountGroup);
+        final BudgetPeriodResults results = accountGroupResultsCache.get(accountGroup);
 
-            if (results != null) {
-                accountGroupResultsCache.remove(accountGroup);
-            }
-        } finally {
-            cacheLock.unlock();
+        if (results != null) {
+            accountGroupResultsCache.remove(accountGroup);
         }
     }
 
     private void clearCached() {
-        cacheLock.lock();
+        cacheLock.writeLock().lock();
 
         try {
             accountResultsCache.clear();
@@ -329,10 +319,127 @@ public class BudgetResultsModel implements MessageListener {
             descriptorAccountResultsCache.clear();
             descriptorAccountGroupResultsCache.clear();
         } finally {
-            cacheLock.unlock();
+            cacheLock.writeLock().unlock();
+        }
+    }
+
+    private void clearPeriodChanges() {
+        cacheLock.writeLock().lock();
+
+        try {
+            periodChangeCache.clear();
+        } finally {
+            cacheLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Returns the index of the first descriptor that includes the supplied date.
+     *
+     * @param date date to search for
+     * @return the descriptor index, or -1 if the date is outside of the budget periods
+     */
+    private int indexOfDescriptor(final LocalDate date) {
+        int low = 0;
+        int high = descriptorList.size() - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final BudgetPeriodDescriptor descriptor = descriptorList.get(mid);
+
+            if (date.isBefore(descriptor.getStartDate())) {
+                high = mid - 1;
+            } else if (date.isAfter(descriptor.getEndDate())) {
+                low = mid + 1;
+            } else {
+                int index = mid;
+
+                // descriptors are sorted by start date, step back in case of overlapping periods
+                while (index > 0 && descriptorList.get(index - 1).isBetween(date)) {
+                    index--;
+                }
+
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Sums the account's transactions into descriptor buckets with a single pass over the transactions.
+     *
+     * @param account Account to sum
+     * @return array of sums indexed by descriptor
+     */
+    private BigDecimal[] buildPeriodChanges(final Account account) {
+        final BigDecimal[] changes = new BigDecimal[descriptorList.size()];
+        Arrays.fill(changes, BigDecimal.ZERO);
+
+        final LocalDate lastDate = descriptorList.get(descriptorList.size() - 1).getEndDate();
+
+        // a copy, the account may be changed while results are computed in the background
+        for (final Transaction transaction : account.getSortedTransactionSnapshot()) {
+            final LocalDate date = transaction.getLocalDate();
+
+            if (date.isAfter(lastDate)) {
+                break;  // transactions are sorted by date
+            }
+
+            final int index = indexOfDescriptor(date);
+
+            if (index >= 0) {
+                final BigDecimal amount = transaction.getAmount(account);
+
+                for (int i = index; i < changes.length && descriptorList.get(i).isBetween(date); i++) {
+                    changes[i] = changes[i].add(amount);
+                }
+            }
+        }
+
+        return changes;
+    }
+
+    /**
+     * Returns the balance change of an account for a descriptor.
+     *
+     * @param descriptor BudgetPeriodDescriptor descriptor
+     * @param account    Account
+     * @return the sum of the account's transactions within the descriptor's period
+     */
+    private BigDecimal getPeriodChange(final BudgetPeriodDescriptor descriptor, final Account account) {
+        final int index = Collections.binarySearch(descriptorList, descriptor);
+
+        // the market value of an investment account does not sum by transaction
+        if (index < 0 || account.memberOf(AccountGroup.INVEST)) {
+            return account.getBalance(descriptor.getStartDate(), descriptor.getEndDate());
+        }
+
+        return periodChangeCache.computeIfAbsent(account, this::buildPeriodChanges)[index];
+    }
+
+    /**
+     * Computes and caches all results of the model.  The accounts are independent of each other and are computed in
+     * parallel, followed by the account group summaries.
+     */
+    public void precompute() {
+        getAccounts().parallelStream().forEach(account -> {
+            for (final BudgetPeriodDescriptor descriptor : descriptorList) {
+                getResults(descriptor, account);
+            }
+
+            getResults(account);
+        });
+
+        getAccountGroupList().parallelStream().forEach(group -> {
+            for (final BudgetPeriodDescriptor descriptor : descriptorList) {
+                getResults(descriptor, group);
+            }
+
+            getResults(group);
+        });
+    }
+
     /**
      * Gets results by descriptor and account (per account results).
      *
@@ -341,15 +448,15 @@ public class BudgetResultsModel implements MessageListener {
      * @return cached or newly created BudgetPeriodResults
      */
     public BudgetPeriodResults getResults(final BudgetPeriodDescriptor descriptor, final Account account) {
-        cacheLock.lock();
+        cacheLock.readLock().lock();
 
         try {
             final Map<Account, BudgetPeriodResults> resultsMap
-                    = descriptorAccountResultsCache.computeIfAbsent(descriptor, k -> new HashMap<>());
+                    = descriptorAccountResultsCache.computeIfAbsent(descriptor, k -> new ConcurrentHashMap<>());
 
             return resultsMap.computeIfAbsent(account, k -> buildAccountResults(descriptor, account, true));
         } finally {
-            cacheLock.unlock();
+            cacheLock.readLock().unlock();
         }
     }
 
@@ -362,15 +469,15 @@ public class BudgetResultsModel implements MessageListener {
      * @return summary results
      */
     public BudgetPeriodResults getResults(final BudgetPeriodDescriptor descriptor, final AccountGroup group) {
-        cacheLock.lock();
+        cacheLock.readLock().lock();
 
         try {
             final Map<AccountGroup, BudgetPeriodResults> resultsMap = descriptorAccountGroupResultsCache
-                    .computeIfAbsent(descriptor, k -> new EnumMap<>(AccountGroup.class));
+                    .computeIfAbsent(descriptor, k -> new ConcurrentHashMap<>());
 
             return resultsMap.computeIfAbsent(group, k -> buildResults(descriptor, group));
         } finally {
-            cacheLock.unlock();
+            cacheLock.readLock().unlock();
         }
     }
 
@@ -381,12 +488,12 @@ public class BudgetResultsModel implements MessageListener {
      * @return summary results
      */
     public BudgetPeriodResults getResults(final Account account) {
-        cacheLock.lock();
+        cacheLock.readLock().lock();
 
         try {
             return accountResultsCache.computeIfAbsent(account, k -> buildResults(account));
         } finally {
-            cacheLock.unlock();
+            cacheLock.readLock().unlock();
         }
     }
 
@@ -397,12 +504,12 @@ public class BudgetResultsModel implements MessageListener {
      * @return summary results
      */
     public BudgetPeriodResults getResults(final AccountGroup accountGroup) {
-        cacheLock.lock();
+        cacheLock.readLock().lock();
 
         try {
             return accountGroupResultsCache.computeIfAbsent(accountGroup, k -> buildResults(accountGroup));
         } finally {
-            cacheLock.unlock();
+            cacheLock.readLock().unlock();
         }
     }
 
@@ -422,10 +529,10 @@ public class BudgetResultsModel implements MessageListener {
 
                 // calculate the change and remaining amount for the budget
                 if (account.getAccountType() == AccountType.INCOME) {
-                    results.setChange(account.getBalance(descriptor.getStartDate(), descriptor.getEndDate()).negate());
+                    results.setChange(getPeriodChange(descriptor, account).negate());
                     results.setRemaining(results.getChange().subtract(results.getBudgeted()));
                 } else {
-                    results.setChange(account.getBalance(descriptor.getStartDate(), descriptor.getEndDate()));
+                    results.setChange(getPeriodChange(descriptor, account));
                     results.setRemaining(results.getBudgeted().subtract(results.getChange()));
                 }
 
@@ -596,27 +703,23 @@ public class BudgetResultsModel implements MessageListener {
     }
 
     private void clearCached(final Account account) {
+        cacheLock.writeLock().lock();
         accountLock.readLock().lock();
 
         try {
-            cacheLock.lock();
-
-            try {
-                // clear cached results
-                // could be mixed group tree
-                account.getAncestors().stream().filter(accounts::contains).forEach(ancestor -> {
-                    for (BudgetPeriodDescriptor descriptor : descriptorList) {
-                        clear(ancestor);
-                        clear(descriptor, ancestor);
-                        clear(ancestor.getAccountType().getAccountGroup()); // could be mixed group tree
-                        clear(descriptor, ancestor.getAccountType().getAccountGroup());
-                    }
-                });
-            } finally {
-                cacheLock.unlock();
-            }
+            // clear cached results
+            // could be mixed group tree
+            account.getAncestors().stream().filter(accounts::contains).forEach(ancestor -> {
+                for (BudgetPeriodDescriptor descriptor : descriptorList) {
+                    clear(ancestor);
+                    clear(descriptor, ancestor);
+                    clear(ancestor.getAccountType().getAccountGroup()); // could be mixed group tree
+                    clear(descriptor, ancestor.getAccountType().getAccountGroup());
+                }
+            });
         } finally {
             accountLock.readLock().unlock();
+            cacheLock.writeLock().unlock();
         }
     }
 
@@ -658,25 +761,66 @@ public class BudgetResultsModel implements MessageListener {
                 case BUDGET_REMOVE:
                     unregisterListeners();
                     clearCached();
+                    clearPeriodChanges();
                     break;
                 default:
             }
         }
     }
 
+    /**
+     * Only the cells for the periods the transaction falls into and the accounts it touches, plus their ancestors and
+     * account groups, are invalidated.  When running totals are used, every later period is affected as well.
+     *
+     * @param message transaction message
+     */
     private void processTransactionEvent(final Message message) {
         final Transaction transaction = message.getObject(MessageProperty.TRANSACTION);
+        final LocalDate date = transaction.getLocalDate();
+
+        final int index = indexOfDescriptor(date);
+
+        if (index < 0) {
+            return;    // outside of the budget periods
+        }
+
+        final List<BudgetPeriodDescriptor> descriptors = new ArrayList<>();
+
+        for (int i = index; i < descriptorList.size(); i++) {
+            if (useRunningTotals || descriptorList.get(i).isBetween(date)) {
+                descriptors.add(descriptorList.get(i));
+            } else {
+                break;
+            }
+        }
+
+        final Set<Account> accountSet = new HashSet<>();
+
+        for (final Account account : transaction.getAccounts()) {
+            accountSet.addAll(account.getAncestors());
+        }
+
+        cacheLock.writeLock().lock();
+
+        try {
+            for (final Account account : transaction.getAccounts()) {
+                periodChangeCache.remove(account);
+            }
 
-        descriptorList.stream().filter(descriptor -> descriptor.isBetween(transaction.getLocalDate()))
-                .forEach(descriptor -> {
-                    final Set<Account> accountSet = new HashSet<>();
+            for (final Account account : accountSet) {
+                final AccountGroup group = account.getAccountType().getAccountGroup();
 
-                    for (Account account : transaction.getAccounts()) {
-                        accountSet.addAll(account.getAncestors());
-                    }
+                for (final BudgetPeriodDescriptor descriptor : descriptors) {
+                    clear(descriptor, account);
+                    clear(descriptor, group);
+                }
 
-                    accountSet.forEach(this::clearCached);
-                });
+                clear(account);
+                clear(group);
+            }
+        } finally {
+            cacheLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -699,6 +843,7 @@ public class BudgetResultsModel implements MessageListener {
             case FILE_CLOSING:
                 unregisterListeners();
                 clearCached();
+                clearPeriodChanges();
                 break;
             default:
         }
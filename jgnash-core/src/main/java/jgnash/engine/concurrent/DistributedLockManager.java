@@ -25,7 +25,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.DelimiterBasedFrameDecoder;
@@ -35,7 +35,6 @@ import io.netty.handler.codec.string.StringEncoder;
 import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 
-import java.text.MessageFormat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -50,6 +49,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import jgnash.net.ClientEventLoopGroup;
 import jgnash.net.ConnectionFactory;
 import jgnash.util.EncryptionManager;
 import jgnash.util.NotNull;
@@ -69,14 +69,9 @@ public class DistributedLockManager implements LockManager {
 
     private final Lock latchLock = new ReentrantLock();
 
-    /**
-     * lock_action, lock_id, thread_id, lock_type.
-     */
-    private static final String PATTERN = "{0},{1},{2},{3}";
-
     static final String UUID_PREFIX = "UUID:";
 
-    private NioEventLoopGroup eventLoopGroup;
+    private EventLoopGroup eventLoopGroup;
 
     private final int port;
 
@@ -127,7 +122,7 @@ public class DistributedLockManager implements LockManager {
 
         final Bootstrap bootstrap = new Bootstrap();
 
-        eventLoopGroup = new NioEventLoopGroup();
+        eventLoopGroup = ClientEventLoopGroup.acquire();
 
         bootstrap.group(eventLoopGroup)
                 .channel(NioSocketChannel.class)
@@ -163,7 +158,10 @@ public class DistributedLockManager implements LockManager {
         }
 
         executorService.shutdown();
-        eventLoopGroup.shutdownGracefully();
+
+        if (eventLoopGroup != null) {
+            ClientEventLoopGroup.release();
+        }
 
         eventLoopGroup = null;
         channel = null;
@@ -173,7 +171,11 @@ public class DistributedLockManager implements LockManager {
 
     @Override
     public synchronized ReentrantReadWriteLock getLock(final String lockId) {
-        return lockMap.computeIfAbsent(lockId, k -> new DistributedReadWriteLock(lockId));
+        return lockMap.compute(lockId, (k, lock) -> {
+            final DistributedReadWriteLock result = lock != null ? lock : new DistributedReadWriteLock(lockId);
+            result.pinned = true;   // the caller may hold on to the reference, never discard it
+            return result;
+        });
     }
 
     private CountDownLatch getLatch(final String lockMessage) {
@@ -186,6 +188,126 @@ public class DistributedLockManager implements LockManager {
         }
     }
 
+    /**
+     * Acquires a group of locks with a single request to the lock server.  The server grants the locks in sorted
+     * order before responding, and the local locks are then acquired in the same order.  Requests for local locks
+     * are not sent to the server.
+     *
+     * @param requests the locks to acquire
+     */
+    @Override
+    public void lock(final LockRequest... requests) {
+        final LockRequest[] sorted = LockRequest.sorted(requests);
+
+        final LocalLock[] localLocks = new LocalLock[sorted.length];
+
+        for (int i = 0; i < sorted.length; i++) {
+            localLocks[i] = acquireLocalLock(sorted[i]);
+        }
+
+        sendRequests(DistributedLockServer.LOCK, sorted);
+
+        for (final LocalLock localLock : localLocks) {
+            localLock.lockLocal();
+        }
+    }
+
+    /**
+     * Releases a group of locks with a single request to the lock server.
+     *
+     * @param requests the locks to release
+     */
+    @Override
+    public void unlock(final LockRequest... requests) {
+        final LockRequest[] sorted = LockRequest.sorted(requests);
+
+        // release in the reverse order of acquisition
+        final LockRequest[] reversed = new LockRequest[sorted.length];
+
+        for (int i = 0; i < sorted.length; i++) {
+            reversed[i] = sorted[sorted.length - 1 - i];
+        }
+
+        sendRequests(DistributedLockServer.UNLOCK, reversed);
+
+        for (final LockRequest request : reversed) {
+            releaseLocalLock(request);
+        }
+    }
+
+    /**
+     * Returns the local lock for a request and registers a user of the lock so it stays in the lock table until
+     * the matching {@link #releaseLocalLock(LockRequest)}.
+     *
+     * @param request lock request
+     * @return the local lock
+     */
+    private LocalLock acquireLocalLock(final LockRequest request) {
+        final DistributedReadWriteLock lock = lockMap.compute(request.getLockId(), (k, l) -> {
+            final DistributedReadWriteLock result = l != null ? l : new DistributedReadWriteLock(k);
+            result.users++;
+            return result;
+        });
+
+        return (LocalLock) (request.isWrite() ? lock.writeLock() : lock.readLock());
+    }
+
+    /**
+     * Releases the local lock for a request, unregisters the user of the lock and removes it from the lock table
+     * once no request is using it.  Locks handed out by {@link #getLock(String)} are retained.
+     *
+     * @param request lock request
+     */
+    private void releaseLocalLock(final LockRequest request) {
+        final DistributedReadWriteLock lock = lockMap.get(request.getLockId());
+
+        ((LocalLock) (request.isWrite() ? lock.writeLock() : lock.readLock())).unlockLocal();
+
+        lockMap.computeIfPresent(lock.lockId, (k, l) -> --l.users == 0 && !l.pinned ? null : l);
+    }
+
+    /**
+     * Returns the number of locks held in the local lock table.
+     *
+     * @return number of locks
+     */
+    public int getLockTableSize() {
+        return lockMap.size();
+    }
+
+    private static String getThreadId() {
+        return uuid + '-' + Thread.currentThread().getId();
+    }
+
+    private void sendRequests(final String lockState, final LockRequest[] requests) {
+        final String message = encodeRequests(lockState, requests);
+
+        if (!message.isEmpty()) {
+            sendMessage(message);
+        }
+    }
+
+    private static String encodeRequests(final String lockState, final LockRequest[] requests) {
+        final String threadId = getThreadId();
+        final StringBuilder builder = new StringBuilder();
+
+        for (final LockRequest request : requests) {
+            if (request.isLocal()) {
+                continue;
+            }
+
+            if (builder.length() > 0) {
+                builder.append(DistributedLockServer.OPERATION_SEPARATOR);
+            }
+
+            builder.append(DistributedLockServer.encodeOperation(lockState, request.isWrite()
+                    ? DistributedLockServer.LOCK_TYPE_WRITE : DistributedLockServer.LOCK_TYPE_READ,
+                    request.getLockId(), threadId));
+        }
+
+        return builder.toString();
+    }
+
     private void lock(final String lockId, final String type) {
         changeLockState(lockId, type, DistributedLockServer.LOCK);
     }
@@ -195,9 +317,15 @@ public class DistributedLockManager implements LockManager {
     }
 
     private void changeLockState(final String lockId, final String type, final String lockState) {
-        final String threadId = uuid + '-' + Thread.currentThread().getId();
-        final String lockMessage = MessageFormat.format(PATTERN, lockState, lockId, threadId, type);
+        sendMessage(DistributedLockServer.encodeOperation(lockState, type, lockId, getThreadId()));
+    }
 
+    /**
+     * Sends a message to the lock server and blocks until the server acknowledges it.
+     *
+     * @param lockMessage message to send
+     */
+    private void sendMessage(final String lockMessage) {
         final CountDownLatch responseLatch = getLatch(lockMessage);
 
         //noinspection SynchronizationOnLocalVariableOrMethodParameter
@@ -214,20 +342,20 @@ public class DistributedLockManager implements LockManager {
                     result = responseLatch.await(45L, TimeUnit.SECONDS);
 
                     if (!result) {
-                        logger.log(Level.WARNING, "Excessive wait for release of the lock latch for: {0}", lockId);
+                        logger.log(Level.WARNING, "Excessive wait for release of the lock latch for: {0}", lockMessage);
                     } else {
                         break;
                     }
                 }
 
                 if (!result) {  // check for a failed release or deadlock
-                    logger.log(Level.SEVERE, "Failed to release the lock latch for: {0}", lockId);
+                    logger.log(Level.SEVERE, "Failed to release the lock latch for: {0}", lockMessage);
 
                     latchLock.lock();
 
                     try {
                         responseLatch.countDown();  // force a countdown to occur
-                        latchMap.remove(lockId);    // force removal
+                        latchMap.remove(lockMessage);    // force removal
                     } finally {
                         latchLock.unlock();
                     }
@@ -250,9 +378,9 @@ public class DistributedLockManager implements LockManager {
 
         //logger.info(plainMessage);
 
-        /* lock_action, lock_id, thread_id, lock_type */
-        // unlock,account,3456384756384563,read
-        // lock,account,3456384756384563,write
+        /* action and lock_type, lock_id, thread_id; ... */
+        // UR,account,uuid-3456384756384563
+        // LW,account,uuid-3456384756384563;LR,transaction,uuid-3456384756384563
 
         latchLock.lock();
 
@@ -305,6 +433,16 @@ public class DistributedLockManager implements LockManager {
         }
     }
 
+    /**
+     * Access to the local half of a distributed lock.
+     */
+    private interface LocalLock {
+
+        void lockLocal();
+
+        void unlockLocal();
+    }
+
     private class DistributedReadWriteLock extends ReentrantReadWriteLock {
 
         private final String lockId;
@@ -313,6 +451,16 @@ public class DistributedLockManager implements LockManager {
 
         private final DistributedReadWriteLock.WriteLock writeLock;
 
+        /**
+         * Number of batch requests using the lock.  Only accessed while computing the lock table entry.
+         */
+        private int users;
+
+        /**
+         * True if the lock was handed out by {@link #getLock(String)}.
+         */
+        private boolean pinned;
+
         DistributedReadWriteLock(final String lockId) {
             super();
 
@@ -334,7 +482,7 @@ public class DistributedLockManager implements LockManager {
             return writeLock;
         }
 
-        class ReadLock extends ReentrantReadWriteLock.ReadLock {
+        class ReadLock extends ReentrantReadWriteLock.ReadLock implements LocalLock {
 
             ReadLock(final ReentrantReadWriteLock lock) {
                 super(lock);
@@ -351,9 +499,19 @@ public class DistributedLockManager implements LockManager {
                 DistributedLockManager.this.unlock(lockId, DistributedLockServer.LOCK_TYPE_READ);
                 super.unlock();
             }
+
+            @Override
+            public void lockLocal() {
+                super.lock();
+            }
+
+            @Override
+            public void unlockLocal() {
+                super.unlock();
+            }
         }
 
-        class WriteLock extends ReentrantReadWriteLock.WriteLock {
+        class WriteLock extends ReentrantReadWriteLock.WriteLock implements LocalLock {
 
             WriteLock(final ReentrantReadWriteLock lock) {
                 super(lock);
@@ -370,6 +528,16 @@ public class DistributedLockManager implements LockManager {
                 DistributedLockManager.this.unlock(lockId, DistributedLockServer.LOCK_TYPE_WRITE);
                 super.unlock();
             }
+
+            @Override
+            public void lockLocal() {
+                super.lock();
+            }
+
+            @Override
+            public void unlockLocal() {
+                super.unlock();
+            }
         }
     }
 }
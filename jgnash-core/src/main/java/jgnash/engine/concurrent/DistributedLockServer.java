@@ -38,19 +38,25 @@ import io.netty.util.CharsetUtil;
 import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.GlobalEventExecutor;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import jgnash.util.EncodeDecode;
 import jgnash.util.EncryptionManager;
 
 /**
  * Distributed Lock Server.
+ * <p>
+ * A message contains one or more lock operations separated by {@code ;}.  Each operation is encoded as
+ * {@code <action><type>,<lock id>,<remote thread>}, for example {@code LW,account,uuid-12}.  The operations of a
+ * message are performed in order and the message is returned once as the acknowledgment, so a group of locks can be
+ * acquired with a single round trip.
  *
  * @author Craig Cavanaugh
  */
@@ -66,17 +72,26 @@ public class DistributedLockServer {
 
     private final int port;
 
-    private final Map<String, ReadWriteLock> lockMap = new HashMap<>();
+    /**
+     * Messages are processed concurrently, the concurrent map stripes access to the lock table.
+     */
+    private final Map<String, ReadWriteLock> lockMap = new ConcurrentHashMap<>();
+
+    private final Map<ChannelHandlerContext, String> handlerContextMap = new ConcurrentHashMap<>();
+
+    private final LockMetrics metrics = new LockMetrics();
 
-    private final Map<ChannelHandlerContext, String> handlerContextMap = new HashMap<>();
+    static final String LOCK = "L";
 
-    static final String LOCK = "lock";
+    static final String UNLOCK = "U";
 
-    static final String UNLOCK = "unlock";
+    static final String LOCK_TYPE_READ = "R";
 
-    static final String LOCK_TYPE_READ = "READ";
+    static final String LOCK_TYPE_WRITE = "W";
 
-    static final String LOCK_TYPE_WRITE = "WRITE";
+    static final String OPERATION_SEPARATOR = ";";
+
+    private static final String FIELD_SEPARATOR = ",";
 
     private static final String EOL_DELIMITER = "\r\n";
 
@@ -109,25 +124,43 @@ public class DistributedLockServer {
             return;
         }
 
-        /* lock_action, lock_id, thread_id, lock_type */
-        // unlock,account,1194917570,read
-        // lock,account,1194917570,write
+        try {
 
-        // decode the message into it's parts
-        final String[] strings = EncodeDecode.decodeStringCollection(message).toArray(new String[4]);
+            // request each lock or unlock in order.  This may block
+            for (final String operation : message.split(OPERATION_SEPARATOR)) {
+                processOperation(operation);
+            }
 
-        final String action = strings[0];
-        final String lockId = strings[1];
-        final String remoteThread = strings[2];
-        final String lockType = strings[3];
+            // return the message as an acknowledgment lock state has changed
+            if (ctx.channel().isOpen()) {
+                ctx.writeAndFlush(encrypt(message) + EOL_DELIMITER).sync();
+            }
+        } catch (final Exception e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+    }
 
-        final ReadWriteLock lock = getLock(lockId);
+    private void processOperation(final String operation) throws InterruptedException {
 
-        try {
+        /* action and lock_type, lock_id, thread_id */
+        // UR,account,uuid-1194917570
+        // LW,account,uuid-1194917570
+
+        final int first = operation.indexOf(FIELD_SEPARATOR);
+        final int second = operation.indexOf(FIELD_SEPARATOR, first + 1);
+
+        final String action = operation.substring(0, 1);
+        final String lockType = operation.substring(1, first);
+        final String lockId = operation.substring(first + 1, second);
+        final String remoteThread = operation.substring(second + 1);
 
-            // request a lock or unlock.  This may block
+        final ReadWriteLock lock = acquireLock(lockId);
+
+        try {
             switch (action) {
                 case LOCK:
+                    final long start = System.nanoTime();
+
                     switch (lockType) {
                         case LOCK_TYPE_READ:
                             lock.lockForRead(remoteThread);
@@ -138,6 +171,8 @@ public class DistributedLockServer {
                         default:
                             break;
                     }
+
+                    metrics.recordWait(System.nanoTime() - start);
                     break;
                 case UNLOCK:
                     switch (lockType) {
@@ -151,19 +186,98 @@ public class DistributedLockServer {
                             break;
                     }
                     break;
+                default:
+                    break;
             }
-
-            // return the message as an acknowledgment lock state has changed
-            if (ctx.channel().isOpen()) {
-                ctx.writeAndFlush(encrypt(message) + EOL_DELIMITER).sync();
-            }
-        } catch (final Exception e) {
-            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        } finally {
+            releaseLock(lock);
         }
     }
 
-    private ReadWriteLock getLock(final String lockId) {
-        return lockMap.computeIfAbsent(lockId, k -> new ReadWriteLock(lockId));
+    /**
+     * Encodes a single lock operation.
+     *
+     * @param action       {@link #LOCK} or {@link #UNLOCK}
+     * @param lockType     {@link #LOCK_TYPE_READ} or {@link #LOCK_TYPE_WRITE}
+     * @param lockId       id of the lock
+     * @param remoteThread id of the remote thread
+     * @return encoded operation
+     */
+    static String encodeOperation(final String action, final String lockType, final String lockId,
+                                  final String remoteThread) {
+        return action + lockType + FIELD_SEPARATOR + lockId + FIELD_SEPARATOR + remoteThread;
+    }
+
+    /**
+     * Returns the number of locks that have been granted.
+     *
+     * @return lock count
+     */
+    public long getLockCount() {
+        return metrics.locks.sum();
+    }
+
+    /**
+     * Returns the average time a lock request waited before it was granted.
+     *
+     * @return average wait in milliseconds
+     */
+    public double getAverageWaitMillis() {
+        return metrics.average(metrics.waitNanos, metrics.locks);
+    }
+
+    /**
+     * Returns the longest time a lock request waited before it was granted.
+     *
+     * @return maximum wait in milliseconds
+     */
+    public double getMaxWaitMillis() {
+        return metrics.maxWaitNanos.get() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns the average time a lock was held before it was fully released.
+     *
+     * @return average hold time in milliseconds
+     */
+    public double getAverageHoldMillis() {
+        return metrics.average(metrics.holdNanos, metrics.releases);
+    }
+
+    /**
+     * Returns the lock for an id and registers the caller as a user so the entry is not removed while an operation
+     * is waiting on it or in progress.
+     *
+     * @param lockId id of the lock
+     * @return the lock
+     */
+    private ReadWriteLock acquireLock(final String lockId) {
+        return lockMap.compute(lockId, (k, lock) -> {
+            final ReadWriteLock result = lock != null ? lock : new ReadWriteLock(lockId, metrics);
+            result.addUser();
+            return result;
+        });
+    }
+
+    /**
+     * Unregisters a user of the lock and removes the entry once it is unheld and nothing is waiting on it.
+     *
+     * @param lock the lock returned by {@link #acquireLock(String)}
+     */
+    private void releaseLock(final ReadWriteLock lock) {
+        lockMap.computeIfPresent(lock.id, (k, l) -> {
+            l.removeUser();
+            return l.isIdle() ? null : l;
+        });
+    }
+
+    /**
+     * Returns the number of lock entries currently tracked by the server.
+     *
+     * @return number of lock entries
+     */
+    public int getLockTableSize() {
+        return lockMap.size();
     }
 
     public boolean startServer(final char[] password) {
@@ -209,6 +323,10 @@ public class DistributedLockServer {
 
             eventLoopGroup = null;
 
+            logger.log(Level.INFO, "Lock statistics: {0} locks, {1} ms average wait, {2} ms max wait, "
+                    + "{3} ms average hold", new Object[]{getLockCount(), getAverageWaitMillis(), getMaxWaitMillis(),
+                    getAverageHoldMillis()});
+
             logger.info("Distributed Lock Server Stopped");
         } catch (final InterruptedException e) {
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
@@ -245,6 +363,9 @@ public class DistributedLockServer {
                         readWriteLock.cleanupStaleWriteThread();
                     }
                 }
+
+                // drop the entries that were only held by the closed connection
+                lockMap.keySet().forEach(lockId -> lockMap.computeIfPresent(lockId, (k, l) -> l.isIdle() ? null : l));
             }
 
             handlerContextMap.remove(ctx);
@@ -294,6 +415,15 @@ public class DistributedLockServer {
 
         private final String id;
 
+        private final LockMetrics metrics;
+
+        /**
+         * Time each remote thread first acquired the read lock.
+         */
+        private final Map<String, Long> readGrantTimes = new ConcurrentHashMap<>();
+
+        private long writeGrantTime;
+
         /**
          * The key is the uuid of the manager plus the remote thread id.
          * <p>
@@ -305,8 +435,31 @@ public class DistributedLockServer {
         private int writeRequests = 0;
         private String writingThread = null;
 
-        private ReadWriteLock(final String id) {
+        /**
+         * Number of operations currently using this lock, including those waiting for access.
+         */
+        private int users = 0;
+
+        private ReadWriteLock(final String id, final LockMetrics metrics) {
             this.id = id;
+            this.metrics = metrics;
+        }
+
+        synchronized void addUser() {
+            users++;
+        }
+
+        synchronized void removeUser() {
+            users--;
+        }
+
+        /**
+         * Returns true if the lock is not held, not requested and not in use by an operation.
+         *
+         * @return true if the lock may be discarded
+         */
+        synchronized boolean isIdle() {
+            return users == 0 && writeRequests == 0 && writingThread == null && readingThreads.isEmpty();
         }
 
         synchronized boolean hasWriteThread(final String id) {
@@ -349,7 +502,13 @@ public class DistributedLockServer {
                 wait();
             }
 
-            readingThreads.put(remoteThread, (getReadHoldCount(remoteThread) + 1));
+            final int holdCount = getReadHoldCount(remoteThread);
+
+            if (holdCount == 0) {
+                readGrantTimes.put(remoteThread, System.nanoTime());
+            }
+
+            readingThreads.put(remoteThread, (holdCount + 1));
         }
 
         synchronized void lockForWrite(final String remoteThread) throws InterruptedException {
@@ -361,6 +520,11 @@ public class DistributedLockServer {
 
             writeRequests--;
             writeAccesses++;   // bump, if greater than 1, then the lock is reentrant
+
+            if (writeAccesses == 1) {
+                writeGrantTime = System.nanoTime();
+            }
+
             writingThread = remoteThread;
         }
 
@@ -374,6 +538,12 @@ public class DistributedLockServer {
 
             if (holdCount == 1) {
                 readingThreads.remove(remoteThread);
+
+                final Long grantTime = readGrantTimes.remove(remoteThread);
+
+                if (grantTime != null) {
+                    metrics.recordHold(System.nanoTime() - grantTime);
+                }
             } else {
                 readingThreads.put(remoteThread, (holdCount - 1));
             }
@@ -391,6 +561,7 @@ public class DistributedLockServer {
 
             if (writeAccesses == 0) {
                 writingThread = null;
+                metrics.recordHold(System.nanoTime() - writeGrantTime);
             }
 
             notifyAll();
@@ -444,4 +615,41 @@ public class DistributedLockServer {
             return false;
         }
     }
+
+    /**
+     * Lock wait and hold time statistics.  Adders are used so concurrent updates do not contend.
+     */
+    private static class LockMetrics {
+
+        final LongAdder locks = new LongAdder();
+
+        final LongAdder waitNanos = new LongAdder();
+
+        final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0);
+
+        final LongAdder releases = new LongAdder();
+
+        final LongAdder holdNanos = new LongAdder();
+
+        void recordWait(final long nanos) {
+            locks.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulate(nanos);
+        }
+
+        void recordHold(final long nanos) {
+            releases.increment();
+            holdNanos.add(nanos);
+        }
+
+        double average(final LongAdder nanos, final LongAdder count) {
+            final long n = count.sum();
+
+            if (n == 0) {
+                return 0;
+            }
+
+            return nanos.sum() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
 }
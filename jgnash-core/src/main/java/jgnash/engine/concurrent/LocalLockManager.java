@@ -27,10 +27,76 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * @author Craig Cavanaugh
  */
 public class LocalLockManager implements LockManager {
-    private final Map<String, ReentrantReadWriteLock> lockMap = new ConcurrentHashMap<>();
+    private final Map<String, LocalReadWriteLock> lockMap = new ConcurrentHashMap<>();
 
     @Override
     public ReentrantReadWriteLock getLock(final String lockId) {
-        return lockMap.computeIfAbsent(lockId, k -> new ReentrantReadWriteLock());
+        return lockMap.compute(lockId, (k, lock) -> {
+            final LocalReadWriteLock result = lock != null ? lock : new LocalReadWriteLock();
+            result.pinned = true;   // the caller may hold on to the reference, never discard it
+            return result;
+        });
+    }
+
+    /**
+     * Acquires a group of locks.  Locks used only through this method are removed from the lock table once they
+     * have been released by every request.
+     *
+     * @param requests the locks to acquire
+     */
+    @Override
+    public void lock(final LockRequest... requests) {
+        for (final LockRequest request : LockRequest.sorted(requests)) {
+            final LocalReadWriteLock lock = lockMap.compute(request.getLockId(), (k, l) -> {
+                final LocalReadWriteLock result = l != null ? l : new LocalReadWriteLock();
+                result.users++;
+                return result;
+            });
+
+            if (request.isWrite()) {
+                lock.writeLock().lock();
+            } else {
+                lock.readLock().lock();
+            }
+        }
+    }
+
+    @Override
+    public void unlock(final LockRequest... requests) {
+        final LockRequest[] sorted = LockRequest.sorted(requests);
+
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            final LocalReadWriteLock lock = lockMap.get(sorted[i].getLockId());
+
+            if (sorted[i].isWrite()) {
+                lock.writeLock().unlock();
+            } else {
+                lock.readLock().unlock();
+            }
+
+            lockMap.computeIfPresent(sorted[i].getLockId(), (k, l) -> --l.users == 0 && !l.pinned ? null : l);
+        }
+    }
+
+    /**
+     * Returns the number of locks held in the lock table.
+     *
+     * @return number of locks
+     */
+    public int getLockTableSize() {
+        return lockMap.size();
+    }
+
+    private static class LocalReadWriteLock extends ReentrantReadWriteLock {
+
+        /**
+         * Number of batch requests using the lock.  Only accessed while computing the lock table entry.
+         */
+        private int users;
+
+        /**
+         * True if the lock was handed out by {@link #getLock(String)}.
+         */
+        private boolean pinned;
     }
 }
@@ -38,4 +38,37 @@ public interface LockManager {
      */
     ReentrantReadWriteLock getLock(final String lockId);
 
+    /**
+     * Acquires a group of locks.  The first request is acquired first and the others in lock id order to prevent
+     * deadlocks, see {@link LockRequest#sorted(LockRequest...)}.
+     *
+     * @param requests the locks to acquire
+     */
+    default void lock(final LockRequest... requests) {
+        for (final LockRequest request : LockRequest.sorted(requests)) {
+            if (request.isWrite()) {
+                getLock(request.getLockId()).writeLock().lock();
+            } else {
+                getLock(request.getLockId()).readLock().lock();
+            }
+        }
+    }
+
+    /**
+     * Releases a group of locks acquired with {@link #lock(LockRequest...)}.
+     *
+     * @param requests the locks to release
+     */
+    default void unlock(final LockRequest... requests) {
+        final LockRequest[] sorted = LockRequest.sorted(requests);
+
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            if (sorted[i].isWrite()) {
+                getLock(sorted[i].getLockId()).writeLock().unlock();
+            } else {
+                getLock(sorted[i].getLockId()).readLock().unlock();
+            }
+        }
+    }
+
 }
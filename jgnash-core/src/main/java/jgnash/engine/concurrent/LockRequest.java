@@ -0,0 +1,157 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.concurrent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import jgnash.util.NotNull;
+
+/**
+ * Describes a read or write lock to be acquired as part of a group of locks.
+ *
+ * @author Craig Cavanaugh
+ */
+public class LockRequest implements Comparable<LockRequest> {
+
+    private final String lockId;
+
+    private final boolean write;
+
+    private final boolean local;
+
+    private LockRequest(final String lockId, final boolean write, final boolean local) {
+        this.lockId = Objects.requireNonNull(lockId);
+        this.write = write;
+        this.local = local;
+    }
+
+    /**
+     * Creates a read lock request.
+     *
+     * @param lockId id of the lock
+     * @return lock request
+     */
+    public static LockRequest read(final String lockId) {
+        return new LockRequest(lockId, false, false);
+    }
+
+    /**
+     * Creates a write lock request.
+     *
+     * @param lockId id of the lock
+     * @return lock request
+     */
+    public static LockRequest write(final String lockId) {
+        return new LockRequest(lockId, true, false);
+    }
+
+    /**
+     * Creates a write lock request that only excludes the threads of this instance.  A distributed lock manager
+     * does not send the request to the lock server, the caller must detect conflicting changes by other clients.
+     *
+     * @param lockId id of the lock
+     * @return lock request
+     */
+    public static LockRequest localWrite(final String lockId) {
+        return new LockRequest(lockId, true, true);
+    }
+
+    public String getLockId() {
+        return lockId;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    public boolean isLocal() {
+        return local;
+    }
+
+    /**
+     * Returns the requests in acquisition order.  The first request is the scope lock shared by every group, such
+     * as the engine's data lock, and is always acquired first.  The remaining requests are sorted by lock id only,
+     * so overlapping groups acquire their common locks in the same global order and cannot deadlock.  Requests for
+     * the same lock id are merged into a single request, a write if any of them is a write, because acquiring a
+     * read and a write lock for the same id within one group would deadlock the requesting thread.
+     *
+     * @param requests lock requests
+     * @return merged and sorted copy
+     */
+    static LockRequest[] sorted(final LockRequest... requests) {
+        if (requests.length == 0) {
+            return requests.clone();
+        }
+
+        final Map<String, LockRequest> merged = new TreeMap<>();
+
+        for (int i = 1; i < requests.length; i++) {
+            merged.merge(requests[i].lockId, requests[i], LockRequest::merge);
+        }
+
+        final LockRequest first = merged.containsKey(requests[0].lockId)
+                ? merge(requests[0], merged.remove(requests[0].lockId)) : requests[0];
+
+        final LockRequest[] sorted = new LockRequest[merged.size() + 1];
+        sorted[0] = first;
+
+        int i = 1;
+
+        for (final LockRequest request : merged.values()) {
+            sorted[i++] = request;
+        }
+
+        return sorted;
+    }
+
+    /**
+     * Merges two requests for the same lock id.  The result is local only if both requests are local.
+     */
+    private static LockRequest merge(final LockRequest a, final LockRequest b) {
+        return new LockRequest(a.lockId, a.write || b.write, a.local && b.local);
+    }
+
+    @Override
+    public int compareTo(@NotNull final LockRequest other) {
+        int result = lockId.compareTo(other.lockId);
+
+        if (result == 0) {
+            result = Boolean.compare(other.write, write);
+        }
+
+        return result != 0 ? result : Boolean.compare(local, other.local);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof LockRequest && lockId.equals(((LockRequest) o).lockId)
+                && write == ((LockRequest) o).write && local == ((LockRequest) o).local;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lockId, write, local);
+    }
+
+    @Override
+    public String toString() {
+        return (local ? "local " : "") + (write ? "write:" : "read:") + lockId;
+    }
+}
@@ -69,4 +69,14 @@ public interface EngineDAO extends DAO {
     default boolean isRemote() {
         return false;
     }
+
+    /**
+     * Determines if changes are validated against object versions when committed instead of relying on a
+     * distributed lock.  Conflicting changes result in a {@link StaleObjectException}.
+     *
+     * @return {@code true} if optimistic locking is used
+     */
+    default boolean isOptimistic() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.dao;
+
+/**
+ * Thrown by a DAO using optimistic locking when a change could not be committed because another client modified
+ * the same objects first.  Nothing has been stored and the change may be attempted again after the objects are
+ * refreshed.
+ *
+ * @author Craig Cavanaugh
+ */
+public class StaleObjectException extends RuntimeException {
+
+    /**
+     * Constructs a {@code StaleObjectException} with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public StaleObjectException(final String message) {
+        super(message);
+    }
+}
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import jgnash.engine.Transaction;
@@ -35,10 +36,42 @@ public interface TransactionDAO {
      */
     List<Transaction> getTransactions();
 
+    /**
+     * Stores a new transaction and the accounts it has been added to.
+     *
+     * @param transaction transaction to add
+     * @return {@code true} if successful
+     * @throws StaleObjectException if optimistic locking is used and an account was changed by another client
+     */
     boolean addTransaction(Transaction transaction);
 
+    /**
+     * Stores a collection of new transactions and the accounts they have been added to as a single batch.
+     *
+     * @param transactions transactions to add
+     * @return {@code true} if successful
+     * @throws StaleObjectException if optimistic locking is used and an account was changed by another client
+     */
+    boolean addTransactions(Collection<Transaction> transactions);
+
     Transaction getTransactionByUuid(final String uuid);
 
+    /**
+     * Stores changes made in place to a collection of existing transactions as a single batch.
+     *
+     * @param transactions transactions that have changed
+     * @return {@code true} if successful
+     * @throws StaleObjectException if optimistic locking is used and a transaction was changed by another client
+     */
+    boolean updateTransactions(Collection<Transaction> transactions);
+
+    /**
+     * Stores the accounts a transaction has been removed from.
+     *
+     * @param transaction transaction to remove
+     * @return {@code true} if successful
+     * @throws StaleObjectException if optimistic locking is used and an account was changed by another client
+     */
     boolean removeTransaction(Transaction transaction);
 
     /**
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.dao;
 
+import java.util.Collection;
 import java.util.List;
 
 import jgnash.engine.TrashObject;
@@ -34,5 +35,14 @@ public interface TrashDAO {
 
     void remove(TrashObject trashObject);
 
+    /**
+     * Permanently removes a batch of trash objects and the objects they hold.  The batch is removed in order so
+     * objects that depend on each other should be sorted by the time they were trashed.
+     *
+     * @param trashObjects trash objects to remove
+     * @return {@code true} if successful
+     */
+    boolean remove(Collection<TrashObject> trashObjects);
+
     void addEntityTrash(Object entity);
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import java.util.logging.Logger;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.OptimisticLockException;
 
 import jgnash.engine.StoredObject;
 import jgnash.engine.concurrent.PriorityThreadPoolExecutor;
@@ -71,6 +72,32 @@ abstract class AbstractJpaDAO extends AbstractDAO implements DAO {
         em = entityManager;
     }
 
+    /**
+     * Determines if an exception was caused by a version conflict detected when a transaction was committed.
+     *
+     * @param throwable exception to check
+     * @return {@code true} if an {@link OptimisticLockException} is in the cause chain
+     */
+    static boolean isOptimisticLockFailure(final Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OptimisticLockException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Rolls back the active entity transaction after a failed commit.  Must be called while holding the
+     * {@link #emLock}.
+     */
+    void rollbackActiveTransaction() {
+        if (em.getTransaction().isActive()) {
+            em.getTransaction().rollback();
+        }
+    }
+
     static void shutDownExecutor() {
         // Stop the shared executor server, wait for all tasks to complete
 
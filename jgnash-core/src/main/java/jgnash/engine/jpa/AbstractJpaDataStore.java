@@ -121,8 +121,9 @@ abstract class AbstractJpaDataStore implements DataStore {
                     boolean attachmentManagerResult = distributedAttachmentManager.connectToServer(password);
 
                     if (attachmentManagerResult && lockManagerResult) {
-                        engine = new Engine(new JpaEngineDAO(em, true), distributedLockManager,
-                                distributedAttachmentManager, EngineFactory.DEFAULT);
+                        // with optimistic locking only transaction changes skip the distributed lock
+                        engine = new Engine(new JpaEngineDAO(em, true, EngineFactory.useOptimisticLocking()),
+                                distributedLockManager, distributedAttachmentManager, EngineFactory.DEFAULT);
 
                         logger.info("Created local JPA container and engine");
                         fileName = null;
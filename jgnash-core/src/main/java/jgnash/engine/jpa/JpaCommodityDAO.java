@@ -18,6 +18,7 @@
 package jgnash.engine.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -70,6 +71,14 @@ class JpaCommodityDAO extends AbstractJpaDAO implements CommodityDAO {
         return persist(historyNode, node);
     }
 
+    @Override
+    public boolean addSecurityHistory(final SecurityNode node, final Collection<SecurityHistoryNode> historyNodes) {
+        final List<Object> objects = new ArrayList<>(historyNodes);
+        objects.add(node);
+
+        return persist(objects.toArray());
+    }
+
     @Override
     public boolean addSecurityHistoryEvent(final SecurityNode node, final SecurityHistoryEvent historyEvent) {
         return persist(historyEvent, node);
@@ -62,8 +62,18 @@ class JpaEngineDAO extends AbstractJpaDAO implements EngineDAO {
 
     private TrashDAO trashDAO;
 
+    /**
+     * Validate changes with object versions instead of a distributed lock if {@code true}.
+     */
+    private final boolean optimistic;
+
     JpaEngineDAO(final EntityManager entityManager, final boolean isRemote) {
+        this(entityManager, isRemote, false);
+    }
+
+    JpaEngineDAO(final EntityManager entityManager, final boolean isRemote, final boolean optimistic) {
         super(entityManager, isRemote);
+        this.optimistic = optimistic;
     }
 
     @Override
@@ -119,7 +129,7 @@ class JpaEngineDAO extends AbstractJpaDAO implements EngineDAO {
     @Override
     public synchronized TransactionDAO getTransactionDAO() {
         if (transactionDAO == null) {
-            transactionDAO = new JpaTransactionDAO(em, isRemote);
+            transactionDAO = new JpaTransactionDAO(em, isRemote, optimistic);
         }
         return transactionDAO;
     }
@@ -242,4 +252,9 @@ class JpaEngineDAO extends AbstractJpaDAO implements EngineDAO {
     public boolean isRemote() {
         return isRemote;
     }
+
+    @Override
+    public boolean isOptimistic() {
+        return optimistic;
+    }
 }
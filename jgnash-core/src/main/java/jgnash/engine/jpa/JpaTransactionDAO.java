@@ -18,17 +18,26 @@
 package jgnash.engine.jpa;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.persistence.EntityManager;
+import javax.persistence.FlushModeType;
 import javax.persistence.TypedQuery;
 
+import jgnash.engine.Account;
+import jgnash.engine.StoredObject;
 import jgnash.engine.Transaction;
+import jgnash.engine.dao.StaleObjectException;
 import jgnash.engine.dao.TransactionDAO;
 
 /**
@@ -40,8 +49,14 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
 
     private static final Logger logger = Logger.getLogger(JpaTransactionDAO.class.getName());
 
-    JpaTransactionDAO(final EntityManager entityManager, final boolean isRemote) {
+    /**
+     * Report version conflicts to the caller instead of logging them if {@code true}.
+     */
+    private final boolean optimistic;
+
+    JpaTransactionDAO(final EntityManager entityManager, final boolean isRemote, final boolean optimistic) {
         super(entityManager, isRemote);
+        this.optimistic = optimistic;
         logger.setLevel(Level.ALL);
     }
 
@@ -87,6 +102,8 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
                 emLock.lock();
 
                 try {
+                    checkVersions(transaction.getAccounts());
+
                     em.getTransaction().begin();
 
                     em.persist(transaction);
@@ -95,6 +112,55 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
                     em.getTransaction().commit();
 
                     return true;
+                } catch (final RuntimeException e) {
+                    if (optimistic && isOptimisticLockFailure(e)) {
+                        rollbackActiveTransaction();
+                    }
+                    throw e;
+                } finally {
+                    emLock.unlock();
+                }
+            });
+
+            result = future.get();  // block and return
+        } catch (final InterruptedException | ExecutionException e) {
+            checkForConflict(e);
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        return result;
+    }
+
+    @Override
+    public synchronized boolean addTransactions(final Collection<Transaction> transactions) {
+        boolean result = false;
+
+        try {
+            final Future<Boolean> future = executorService.submit(() -> {
+                emLock.lock();
+
+                try {
+                    final Set<Account> accounts = new HashSet<>();
+
+                    for (final Transaction transaction : transactions) {
+                        accounts.addAll(transaction.getAccounts());
+                    }
+
+                    checkVersions(accounts);
+
+                    em.getTransaction().begin();
+
+                    transactions.forEach(em::persist);
+                    accounts.forEach(em::persist);
+
+                    em.getTransaction().commit();
+
+                    return true;
+                } catch (final RuntimeException e) {
+                    if (optimistic && isOptimisticLockFailure(e)) {
+                        rollbackActiveTransaction();
+                    }
+                    throw e;
                 } finally {
                     emLock.unlock();
                 }
@@ -102,6 +168,7 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
 
             result = future.get();  // block and return
         } catch (final InterruptedException | ExecutionException e) {
+            checkForConflict(e);
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
         }
 
@@ -113,6 +180,43 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
         return getObjectByUuid(Transaction.class, uuid);
     }
 
+    @Override
+    public synchronized boolean updateTransactions(final Collection<Transaction> transactions) {
+        boolean result = false;
+
+        try {
+            final Future<Boolean> future = executorService.submit(() -> {
+                emLock.lock();
+
+                try {
+                    checkVersions(transactions);
+
+                    em.getTransaction().begin();
+
+                    transactions.forEach(em::merge);
+
+                    em.getTransaction().commit();
+
+                    return true;
+                } catch (final RuntimeException e) {
+                    if (optimistic && isOptimisticLockFailure(e)) {
+                        rollbackActiveTransaction();
+                    }
+                    throw e;
+                } finally {
+                    emLock.unlock();
+                }
+            });
+
+            result = future.get();  // block and return
+        } catch (final InterruptedException | ExecutionException e) {
+            checkForConflict(e);
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        return result;
+    }
+
     /*
      * @see jgnash.engine.TransactionDAO#removeTransaction(jgnash.engine.Transaction)
      */
@@ -125,6 +229,11 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
                 emLock.lock();
 
                 try {
+                    final Set<StoredObject> objects = new HashSet<>(transaction.getAccounts());
+                    objects.add(transaction);
+
+                    checkVersions(objects);
+
                     em.getTransaction().begin();
 
                     // look at accounts this transaction impacted and update the accounts
@@ -134,6 +243,11 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
                     em.getTransaction().commit();
 
                     return true;
+                } catch (final RuntimeException e) {
+                    if (optimistic && isOptimisticLockFailure(e)) {
+                        rollbackActiveTransaction();
+                    }
+                    throw e;
                 } finally {
                     emLock.unlock();
                 }
@@ -141,12 +255,63 @@ class JpaTransactionDAO extends AbstractJpaDAO implements TransactionDAO {
 
             result = future.get();  // block and return
         } catch (final InterruptedException | ExecutionException e) {
+            checkForConflict(e);
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
         }
 
         return result;
     }
 
+    /**
+     * Verifies that objects have not been changed by another client since they were loaded.
+     * <p>
+     * The check is made before the entity transaction is started.  A conflict then leaves the persistence context
+     * intact so the objects can be refreshed and the change attempted again, whereas a commit that fails the
+     * version check is rolled back and detaches every managed object.  Must be called while holding the
+     * {@link #emLock}.
+     *
+     * @param objects objects that will be stored
+     * @throws StaleObjectException if an object is out of date
+     */
+    private void checkVersions(final Collection<? extends StoredObject> objects) {
+        if (!optimistic || objects.isEmpty()) {
+            return;
+        }
+
+        final Map<String, StoredObject> objectMap = new HashMap<>();
+
+        for (final StoredObject object : objects) {
+            objectMap.put(object.getUuid(), object);
+        }
+
+        final TypedQuery<Object[]> q = em.createQuery("SELECT o.uuid, o.version FROM StoredObject o "
+                + "WHERE o.uuid IN :uuids", Object[].class);
+
+        q.setParameter("uuids", objectMap.keySet());
+        q.setFlushMode(FlushModeType.COMMIT);   // pending changes must not be written by the query
+
+        for (final Object[] row : q.getResultList()) {
+            final StoredObject object = objectMap.get(row[0].toString());
+
+            if (object.getVersion() != ((Number) row[1]).intValue()) {
+                throw new StaleObjectException(object.getClass().getSimpleName() + " " + object.getUuid()
+                        + " was modified by another client");
+            }
+        }
+    }
+
+    /**
+     * Rethrows a conflict found by {@link #checkVersions(Collection)}.  A conflict detected by the commit itself is
+     * not reported as stale because the rollback has detached the objects and they cannot be refreshed.
+     *
+     * @param e exception thrown by the executor
+     */
+    private static void checkForConflict(final Exception e) {
+        if (e.getCause() instanceof StaleObjectException) {
+            throw (StaleObjectException) e.getCause();
+        }
+    }
+
     @Override
     public List<Transaction> getTransactionsWithAttachments() {
         List<Transaction> transactionList = Collections.emptyList();
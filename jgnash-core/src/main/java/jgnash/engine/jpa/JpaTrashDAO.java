@@ -20,6 +20,7 @@ package jgnash.engine.jpa;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
@@ -169,6 +170,41 @@ class JpaTrashDAO extends AbstractJpaDAO implements TrashDAO {
         }
     }
 
+    @Override
+    public boolean remove(final Collection<TrashObject> trashObjects) {
+        boolean result = false;
+
+        try {
+            final Future<Boolean> future = executorService.submit(() -> {
+                emLock.lock();
+
+                try {
+                    em.getTransaction().begin();
+
+                    for (final TrashObject trashObject : trashObjects) {
+                        em.remove(trashObject.getObject());
+                        em.remove(trashObject);
+                    }
+
+                    em.getTransaction().commit();
+
+                    return true;
+                } catch (final RuntimeException e) {
+                    rollbackActiveTransaction();
+                    throw e;
+                } finally {
+                    emLock.unlock();
+                }
+            }, Priority.BACKGROUND);
+
+            result = future.get(); // block
+        } catch (final InterruptedException | ExecutionException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        return result;
+    }
+
     @Override
     public void addEntityTrash(final Object entity) {
         try {
@@ -80,6 +80,8 @@ public enum ChannelEvent {
     TRANSACTION_ADD_FAILED,
     TRANSACTION_REMOVE,
     TRANSACTION_REMOVE_FAILED,
+    TRANSACTION_RECONCILE,
+    TRANSACTION_RECONCILE_FAILED,
     FILE_CLOSING,
     FILE_NOT_FOUND,
     FILE_IO_ERROR,
@@ -18,8 +18,6 @@
 package jgnash.engine.message;
 
 import java.lang.ref.WeakReference;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +26,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -142,6 +141,7 @@ public class MessageBus {
 
         if (client.connectToServer(password)) {
             client.sendRemoteShutdownRequest();
+            client.disconnectFromServer();
         }
     }
 
@@ -155,17 +155,12 @@ public class MessageBus {
         boolean result = messageBusClient.connectToServer(password);
 
         if (result) {
-            final LocalDateTime start = LocalDateTime.now();
-
             // wait for the server response to the remote database path for a max delay before timing out
             // this is the handshake that a good connection was made
-            while (getRemoteDataBasePath() == null || getRemoteDataStoreType() == null) {
-                if (ChronoUnit.MILLIS.between(start, LocalDateTime.now()) > MAX_LATENCY) {
-                    disconnectFromServer();
-                    logger.warning("Did not receive a valid response from the server");
-                    result = false;
-                    break;
-                }
+            if (!messageBusClient.awaitHandshake(MAX_LATENCY, TimeUnit.MILLISECONDS)) {
+                disconnectFromServer();
+                logger.warning("Did not receive a valid response from the server");
+                result = false;
             }
         } else {
             messageBusClient = null; //make sure bad client connections are dumped
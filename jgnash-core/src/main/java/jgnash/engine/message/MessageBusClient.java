@@ -25,7 +25,7 @@ import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.DelimiterBasedFrameDecoder;
@@ -37,8 +37,13 @@ import io.netty.util.ReferenceCountUtil;
 
 import java.io.CharArrayWriter;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -54,6 +59,7 @@ import jgnash.engine.Transaction;
 import jgnash.engine.budget.Budget;
 import jgnash.engine.jpa.JpaNetworkServer;
 import jgnash.engine.recurring.Reminder;
+import jgnash.net.ClientEventLoopGroup;
 import jgnash.net.ConnectionFactory;
 import jgnash.util.EncryptionManager;
 
@@ -74,13 +80,18 @@ class MessageBusClient {
 
     private final XStream xstream;
 
-    private String dataBasePath;
+    private volatile String dataBasePath;
 
-    private DataStoreType dataBaseType;
+    private volatile DataStoreType dataBaseType;
+
+    /**
+     * Completed once the server has sent the database path and type.
+     */
+    private final CompletableFuture<Void> handshake = new CompletableFuture<>();
 
     private EncryptionManager encryptionManager = null;
 
-    private NioEventLoopGroup eventLoopGroup;
+    private EventLoopGroup eventLoopGroup;
 
     private Channel channel;
 
@@ -108,6 +119,32 @@ class MessageBusClient {
         return dataBaseType;
     }
 
+    /**
+     * Waits for the server to send the database path and type after the connection is made.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    time unit of the timeout
+     * @return {@code true} if the handshake completed
+     */
+    boolean awaitHandshake(final long timeout, final TimeUnit unit) {
+        try {
+            handshake.get(timeout, unit);
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final CancellationException | ExecutionException | TimeoutException e) {
+            logger.log(Level.FINE, e.getLocalizedMessage(), e);
+        }
+
+        return false;
+    }
+
+    private void checkHandshake() {
+        if (dataBasePath != null && dataBaseType != null) {
+            handshake.complete(null);
+        }
+    }
+
     private static int getConnectionTimeout() {
         return ConnectionFactory.getConnectionTimeout();
     }
@@ -120,7 +157,7 @@ class MessageBusClient {
             encryptionManager = new EncryptionManager(password);
         }
 
-        eventLoopGroup = new NioEventLoopGroup();
+        eventLoopGroup = ClientEventLoopGroup.acquire();
 
         final Bootstrap bootstrap = new Bootstrap();
 
@@ -207,9 +244,11 @@ class MessageBusClient {
                 } else if (plainMessage.startsWith(MessageBusServer.PATH_PREFIX)) {
                     dataBasePath = plainMessage.substring(MessageBusServer.PATH_PREFIX.length());
                     logger.log(Level.FINE, "Remote data path is: {0}", dataBasePath);
+                    checkHandshake();
                 } else if (plainMessage.startsWith(MessageBusServer.DATA_STORE_TYPE_PREFIX)) {
                     dataBaseType = DataStoreType.valueOf(plainMessage.substring(MessageBusServer.DATA_STORE_TYPE_PREFIX.length()));
                     logger.log(Level.FINE, "Remote dataBaseType type is: {0}", dataBaseType.name());
+                    checkHandshake();
                 } else if (plainMessage.startsWith(EncryptionManager.DECRYPTION_ERROR_TAG)) {    // decryption has failed, shut down the engine
                     logger.log(Level.SEVERE, "Unable to decrypt the remote message");
                 } else if (plainMessage.startsWith(JpaNetworkServer.STOP_SERVER_MESSAGE)) {
@@ -245,7 +284,12 @@ class MessageBusClient {
             channelLock.unlock();
         }
 
-        eventLoopGroup.shutdownGracefully();
+        if (eventLoopGroup != null) {
+            ClientEventLoopGroup.release();
+        }
+
+        // release any thread still waiting for the handshake
+        handshake.cancel(false);
 
         channel = null;
         eventLoopGroup = null;
@@ -399,6 +443,12 @@ class MessageBusClient {
                     engine.refresh(account);
                     message.setObject(MessageProperty.ACCOUNT, engine.getAccountByUuid(account.getUuid()));
                     break;
+                case TRANSACTION_RECONCILE:
+                    // refreshing the account refreshes the reconciled state of its transactions
+                    final Account reconciledAccount = message.getObject(MessageProperty.ACCOUNT);
+                    engine.refresh(reconciledAccount);
+                    message.setObject(MessageProperty.ACCOUNT, engine.getAccountByUuid(reconciledAccount.getUuid()));
+                    break;
                 default:
                     break;
             }
@@ -17,20 +17,28 @@
  */
 package jgnash.engine.xstream;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import jgnash.engine.CommodityNode;
 import jgnash.engine.Config;
@@ -54,6 +62,11 @@ import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
  */
 class XMLContainer extends AbstractXStreamContainer {
 
+    /**
+     * Extension of a compressed file while it is being written.
+     */
+    private static final String PART_EXTENSION = ".part";
+
     XMLContainer(final Path path) {
         super(path);
     }
@@ -80,6 +93,81 @@ class XMLContainer extends AbstractXStreamContainer {
 
         createBackup(path);
 
+        logger.info("Writing XML file");
+
+        try (final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeXML(objects, writer);
+        } catch (final IOException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        }
+
+        logger.info("Writing XML file complete");
+    }
+
+    /**
+     * Writes a zip file containing a single XML file given a collection of StoredObjects. The XML is compressed as
+     * it is written so an intermediate XML file is not needed. The zip file is written under a temporary name and
+     * moved into place once complete, so a failed write never leaves a truncated zip file behind. If the zip file
+     * already exists, it will be overwritten.
+     *
+     * @param objects   Collection of StoredObjects to write
+     * @param path      zip file to write
+     * @param entryName name of the XML file within the zip file
+     */
+    static synchronized void writeCompressedXML(final Collection<StoredObject> objects, final Path path,
+                                                final String entryName) {
+        Logger logger = Logger.getLogger(XMLContainer.class.getName());
+
+        if (!Files.exists(path.getParent())) {
+            try {
+                Files.createDirectories(path.getParent());
+                logger.info("Created missing directories");
+            } catch (final IOException e) {
+                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            }
+        }
+
+        logger.info("Writing compressed XML file");
+
+        final Path tempPath = path.resolveSibling(path.getFileName() + PART_EXTENSION);
+
+        try {
+            try (final ZipOutputStream zipOut
+                         = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                zipOut.setLevel(Deflater.BEST_COMPRESSION);
+                zipOut.putNextEntry(new ZipEntry(entryName));
+
+                // closing the writer finishes the zip file
+                writeXML(objects, new BufferedWriter(new OutputStreamWriter(zipOut, StandardCharsets.UTF_8)));
+            }
+
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            logger.info("Writing compressed XML file complete");
+        } catch (final IOException e) {
+            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (final IOException ex) {
+                logger.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the XML for a collection of StoredObjects. TrashObjects and objects marked for removal are not
+     * written.  The writer is closed when complete.
+     *
+     * @param objects Collection of StoredObjects to write
+     * @param writer  destination
+     * @throws IOException if the XML could not be written
+     */
+    private static void writeXML(final Collection<StoredObject> objects, final Writer writer) throws IOException {
         List<StoredObject> list = new ArrayList<>();
 
         list.addAll(query(objects, Budget.class));
@@ -95,25 +183,17 @@ class XMLContainer extends AbstractXStreamContainer {
         // sort the list
         list.sort(new StoredObjectComparator());
 
-        logger.info("Writing XML file");
-
-        try (final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-            writer.write("<?fileFormat " + Engine.CURRENT_MAJOR_VERSION + "." + Engine.CURRENT_MINOR_VERSION + "?>\n");
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<?fileFormat " + Engine.CURRENT_MAJOR_VERSION + "." + Engine.CURRENT_MINOR_VERSION + "?>\n");
 
-            final XStream xstream = configureXStream(new XStreamOut(new PureJavaReflectionProvider(), new KXml2Driver()));
+        final XStream xstream = configureXStream(new XStreamOut(new PureJavaReflectionProvider(), new KXml2Driver()));
 
-            try (final ObjectOutputStream out = xstream.createObjectOutputStream(new PrettyPrintWriter(writer))) {
-                out.writeObject(list);
-                out.flush();     // forcibly flush before letting go of the resources to help older windows systems write correctly
-            } catch (final Exception e) {
-                logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
-            }
-        } catch (final IOException e) {
-            logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+        try (final ObjectOutputStream out = xstream.createObjectOutputStream(new PrettyPrintWriter(writer))) {
+            out.writeObject(list);
+            out.flush();     // forcibly flush before letting go of the resources to help older windows systems write correctly
+        } catch (final RuntimeException e) {
+            throw new IOException(e);   // report a failed serialization so an incomplete file is not kept
         }
-
-        logger.info("Writing XML file complete");
     }
 
     @Override
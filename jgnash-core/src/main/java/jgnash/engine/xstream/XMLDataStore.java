@@ -31,6 +31,7 @@ import jgnash.engine.Engine;
 import jgnash.engine.StoredObject;
 import jgnash.engine.attachment.LocalAttachmentManager;
 import jgnash.engine.concurrent.LocalLockManager;
+import jgnash.util.FileUtils;
 import jgnash.util.NotNull;
 import jgnash.util.ResourceUtils;
 
@@ -148,6 +149,18 @@ public class XMLDataStore implements DataStore {
         XMLContainer.writeXML(objects, path);
     }
 
+    /**
+     * Saves a collection of objects as an XML file compressed within a zip file.  The XML file is named after the
+     * zip file.
+     *
+     * @param path    zip file to write
+     * @param objects objects to save
+     */
+    public void saveAsCompressed(final Path path, final Collection<StoredObject> objects) {
+        XMLContainer.writeCompressedXML(objects, path,
+                FileUtils.stripFileExtension(path.getFileName().toString()) + FILE_EXT);
+    }
+
     /**
      * Opens the file in readonly mode and reads the version of the file format.
      *
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.xstream;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -62,6 +63,12 @@ class XStreamCommodityDAO extends AbstractXStreamDAO implements CommodityDAO {
         return true;
     }
 
+    @Override
+    public boolean addSecurityHistory(final SecurityNode node, final Collection<SecurityHistoryNode> historyNodes) {
+        commit();
+        return true;
+    }
+
     @Override
     public boolean addSecurityHistoryEvent(final SecurityNode node, final SecurityHistoryEvent historyEvent) {
         commit();
@@ -17,6 +17,7 @@
  */
 package jgnash.engine.xstream;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -47,11 +48,26 @@ class XStreamTransactionDAO extends AbstractXStreamDAO implements TransactionDAO
         return true;
     }
 
+    @Override
+    public boolean addTransactions(final Collection<Transaction> transactions) {
+        transactions.forEach(container::set);
+        commit();
+
+        return true;
+    }
+
     @Override
     public Transaction getTransactionByUuid(final String uuid) {
         return getObjectByUuid(Transaction.class, uuid);
     }
 
+    @Override
+    public boolean updateTransactions(final Collection<Transaction> transactions) {
+        commit();
+
+        return true;
+    }
+
     @Override
     public boolean removeTransaction(final Transaction transaction) {
         commit();
@@ -20,6 +20,7 @@ package jgnash.engine.xstream;
 import jgnash.engine.TrashObject;
 import jgnash.engine.dao.TrashDAO;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Logger;
 
@@ -57,6 +58,18 @@ class XStreamTrashDAO extends AbstractXStreamDAO implements TrashDAO {
         logger.info("Removed TrashObject");
     }
 
+    @Override
+    public boolean remove(final Collection<TrashObject> trashObjects) {
+        for (final TrashObject trashObject : trashObjects) {
+            container.delete(trashObject.getObject());
+            container.delete(trashObject);
+        }
+
+        commit();
+
+        return true;
+    }
+
     @Override
     public void addEntityTrash(Object entity) {
         // XStream does not need to do anything with entity trash
@@ -0,0 +1,67 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.net;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+/**
+ * Shares a single Netty event loop group between client connections.
+ * <p>
+ * The message bus, distributed lock manager and attachment transfer clients each hold a reference to the group while
+ * connected instead of creating their own.  The group is shut down when the last reference is released.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ClientEventLoopGroup {
+
+    private static EventLoopGroup eventLoopGroup;
+
+    private static int references;
+
+    private ClientEventLoopGroup() {
+        // utility class
+    }
+
+    /**
+     * Returns the shared event loop group, creating it if needed.  Each call must be paired with a call to
+     * {@link #release()}.
+     *
+     * @return shared event loop group
+     */
+    public static synchronized EventLoopGroup acquire() {
+        if (eventLoopGroup == null) {
+            eventLoopGroup = new NioEventLoopGroup();
+        }
+
+        references++;
+
+        return eventLoopGroup;
+    }
+
+    /**
+     * Releases a reference to the shared event loop group.  The group is shut down gracefully once it is no longer
+     * referenced.
+     */
+    public static synchronized void release() {
+        if (references > 0 && --references == 0) {
+            eventLoopGroup.shutdownGracefully();
+            eventLoopGroup = null;
+        }
+    }
+}
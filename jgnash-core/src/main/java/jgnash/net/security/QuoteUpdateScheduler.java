@@ -0,0 +1,313 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.net.security;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jgnash.engine.Engine;
+import jgnash.engine.QuoteSource;
+import jgnash.engine.SecurityHistoryNode;
+import jgnash.engine.SecurityNode;
+import jgnash.util.DefaultDaemonThreadFactory;
+import jgnash.util.NotNull;
+import jgnash.util.ResourceUtils;
+
+/**
+ * Schedules security price downloads.
+ * <p>
+ * Downloads for several securities run in parallel, but requests to the same quote source are spaced apart so the
+ * source is not flooded.  A failed request is retried with an increasing delay.  Retries and rate limiting are
+ * scheduled rather than slept, so a waiting request never holds a thread.  The prices downloaded for a security are
+ * stored with a single bulk call.
+ * <p>
+ * If too many securities fail after all retries, the network or quote source is assumed to be down and the
+ * remaining downloads are abandoned.  Downloads still pending when the scheduler is shut down are cancelled.
+ *
+ * @author Craig Cavanaugh
+ */
+public class QuoteUpdateScheduler {
+
+    /**
+     * Retrieves prices for a security.
+     */
+    @FunctionalInterface
+    public interface QuoteFetcher {
+
+        /**
+         * Retrieves prices for a security.
+         *
+         * @param securityNode security to retrieve prices for
+         * @param startDate    start date
+         * @param endDate      end date
+         * @return list of prices
+         * @throws IOException if the request failed and may be retried
+         */
+        List<SecurityHistoryNode> fetch(SecurityNode securityNode, LocalDate startDate, LocalDate endDate)
+                throws IOException;
+    }
+
+    /**
+     * Default number of downloads that may run at once.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * Default minimum time in milliseconds between requests to the same quote source.
+     */
+    public static final long DEFAULT_REQUEST_INTERVAL = 250;
+
+    /**
+     * Default number of attempts for each security.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    /**
+     * Default delay in milliseconds before the first retry.  The delay doubles with each retry.
+     */
+    public static final long DEFAULT_RETRY_DELAY = 2000;
+
+    /**
+     * Number of securities that may fail before the remaining downloads are abandoned.
+     */
+    private static final int MAX_FAILURES = 2;
+
+    // log through the UpdateFactory logger so registered handlers report progress
+    private static final Logger logger = Logger.getLogger(UpdateFactory.class.getName());
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final QuoteFetcher fetcher;
+
+    private final long requestInterval;
+
+    private final int maxAttempts;
+
+    private final long retryDelay;
+
+    private final Map<QuoteSource, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    /**
+     * Futures that have not completed yet.
+     */
+    private final Set<CompletableFuture<?>> pendingFutures = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a scheduler that downloads prices from Yahoo with the default limits.
+     */
+    public QuoteUpdateScheduler() {
+        this(YahooEventParser::fetchHistoricalPrice, DEFAULT_PARALLELISM, DEFAULT_REQUEST_INTERVAL,
+                DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param fetcher         retrieves the prices
+     * @param parallelism     number of downloads that may run at once
+     * @param requestInterval minimum time in milliseconds between requests to the same quote source
+     * @param maxAttempts     number of attempts for each security
+     * @param retryDelay      delay in milliseconds before the first retry
+     */
+    public QuoteUpdateScheduler(@NotNull final QuoteFetcher fetcher, final int parallelism,
+                                final long requestInterval, final int maxAttempts, final long retryDelay) {
+        if (parallelism < 1 || maxAttempts < 1 || requestInterval < 0 || retryDelay < 0) {
+            throw new IllegalArgumentException("Invalid scheduler limits");
+        }
+
+        this.fetcher = fetcher;
+        this.requestInterval = requestInterval;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+
+        executor = new ScheduledThreadPoolExecutor(parallelism, new DefaultDaemonThreadFactory());
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Downloads and stores prices for a collection of securities.  Securities without a quote source are skipped.
+     *
+     * @param engine    engine to store the prices with
+     * @param nodes     securities to update
+     * @param startDate start date
+     * @param endDate   end date
+     * @return future for the number of securities that were updated
+     */
+    public CompletableFuture<Integer> updateSecurities(@NotNull final Engine engine,
+                                                      @NotNull final Collection<SecurityNode> nodes,
+                                                      @NotNull final LocalDate startDate,
+                                                      @NotNull final LocalDate endDate) {
+
+        final AtomicInteger failures = new AtomicInteger();
+        final AtomicInteger updated = new AtomicInteger();
+
+        final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        for (final SecurityNode node : nodes) {
+            if (node.getQuoteSource() == QuoteSource.NONE) {
+                continue;
+            }
+
+            final CompletableFuture<List<SecurityHistoryNode>> future = track(new CompletableFuture<>());
+
+            attempt(node, startDate, endDate, 1, 0, failures, future);
+
+            futures.add(future.thenAccept(historyNodes -> {
+                if (!historyNodes.isEmpty() && engine.addSecurityHistory(node, historyNodes)) {
+                    updated.incrementAndGet();
+                    logger.info(ResourceUtils.getString("Message.UpdatedPrice", node.getSymbol()));
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).handle((ignored, throwable) -> {
+            if (throwable != null) {
+                logger.log(Level.WARNING, throwable.getLocalizedMessage(), throwable);
+            }
+            return updated.get();
+        });
+    }
+
+    /**
+     * Runs a task for a security once its quote source permits another request.
+     *
+     * @param node security the task is for
+     * @param task task to run
+     * @return future for the result of the task
+     */
+    public CompletableFuture<Boolean> submit(@NotNull final SecurityNode node, @NotNull final Callable<Boolean> task) {
+        final CompletableFuture<Boolean> future = track(new CompletableFuture<>());
+
+        try {
+            executor.schedule(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (final Exception e) {
+                    future.completeExceptionally(e);
+                }
+            }, getRateLimiter(node.getQuoteSource()).reserve(0), TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            future.cancel(false);
+        }
+
+        return future;
+    }
+
+    /**
+     * Stops the scheduler.  Pending downloads are abandoned and their futures are cancelled.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+
+        // dropped tasks will never complete their futures
+        for (final CompletableFuture<?> future : pendingFutures) {
+            future.completeExceptionally(new CancellationException("Quote updates have been stopped"));
+        }
+    }
+
+    private <T> CompletableFuture<T> track(final CompletableFuture<T> future) {
+        pendingFutures.add(future);
+        future.whenComplete((result, throwable) -> pendingFutures.remove(future));
+
+        return future;
+    }
+
+    private void attempt(final SecurityNode node, final LocalDate startDate, final LocalDate endDate,
+                         final int attempt, final long delay, final AtomicInteger failures,
+                         final CompletableFuture<List<SecurityHistoryNode>> future) {
+
+        final long wait = getRateLimiter(node.getQuoteSource()).reserve(TimeUnit.MILLISECONDS.toNanos(delay));
+
+        try {
+            executor.schedule(() -> {
+                if (failures.get() > MAX_FAILURES) {    // the quote source or network is down, give up
+                    future.complete(new ArrayList<>());
+                    return;
+                }
+
+                try {
+                    future.complete(fetcher.fetch(node, startDate, endDate));
+                } catch (final IOException e) {
+                    if (attempt < maxAttempts) {
+                        logger.log(Level.FINE, "Retrying price download for {0}", node.getSymbol());
+                        attempt(node, startDate, endDate, attempt + 1, retryDelay << (attempt - 1), failures,
+                                future);
+                    } else {
+                        logger.log(Level.WARNING, e.getLocalizedMessage(), e);
+                        failures.incrementAndGet();
+                        future.complete(new ArrayList<>());
+                    }
+                } catch (final RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }, wait, TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {  // the scheduler has been shut down
+            future.complete(new ArrayList<>());
+        }
+    }
+
+    private RateLimiter getRateLimiter(final QuoteSource quoteSource) {
+        return rateLimiters.computeIfAbsent(quoteSource,
+                source -> new RateLimiter(TimeUnit.MILLISECONDS.toNanos(requestInterval)));
+    }
+
+    /**
+     * Spaces requests to a quote source by a fixed interval.
+     */
+    private static class RateLimiter {
+
+        private final long interval;
+
+        private long nextRequest = System.nanoTime();
+
+        RateLimiter(final long interval) {
+            this.interval = interval;
+        }
+
+        /**
+         * Reserves the next request slot.
+         *
+         * @param delay minimum delay in nanoseconds before the request
+         * @return delay in nanoseconds until the reserved slot
+         */
+        synchronized long reserve(final long delay) {
+            final long now = System.nanoTime();
+            final long start = Math.max(now + delay, nextRequest);
+
+            nextRequest = start + interval;
+
+            return start - now;
+        }
+    }
+}
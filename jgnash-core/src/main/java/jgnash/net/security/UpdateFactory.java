@@ -45,6 +45,7 @@ import jgnash.engine.SecurityHistoryEvent;
 import jgnash.engine.SecurityHistoryNode;
 import jgnash.engine.SecurityNode;
 import jgnash.time.DateUtils;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.NotNull;
 import jgnash.util.ResourceUtils;
 
@@ -62,6 +63,11 @@ public class UpdateFactory {
 
     private static final int TIMEOUT = 1;   // default timeout in minutes
 
+    /**
+     * Shared by on demand updates so a thread is not created for each request.
+     */
+    private static final ExecutorService executorService = Executors.newCachedThreadPool(new DefaultDaemonThreadFactory());
+
     /**
      * Registers a {@code Handler} with the class logger.
      *
@@ -159,16 +165,15 @@ public class UpdateFactory {
     private static boolean waitForCallable(final Callable<Boolean> callable) {
         boolean result = false;
 
-        final ExecutorService service = Executors.newSingleThreadExecutor();
-        final Future<Boolean> future = service.submit(callable);
+        final Future<Boolean> future = executorService.submit(callable);
 
         try {
             result = future.get(TIMEOUT, TimeUnit.MINUTES);
-            service.shutdown();
         } catch (final InterruptedException | ExecutionException e) { // intentionally interrupted
             logger.log(Level.FINEST, e.getLocalizedMessage(), e);
         } catch (final TimeoutException e) {
             logger.log(Level.SEVERE, e.getLocalizedMessage(), e);
+            future.cancel(true);
         }
 
 
@@ -217,11 +222,7 @@ public class UpdateFactory {
                 final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
                 Objects.requireNonNull(engine);
 
-                final List<SecurityHistoryNode> newSecurityNodes = downloadHistory(securityNode, startDate, endDate);
-
-                for (final SecurityHistoryNode historyNode : newSecurityNodes) {
-                    engine.addSecurityHistory(securityNode, historyNode);
-                }
+                result = engine.addSecurityHistory(securityNode, downloadHistory(securityNode, startDate, endDate));
             } catch (NullPointerException | NumberFormatException ex) {
                 logger.log(Level.SEVERE, null, ex);
                 result = false;
@@ -255,13 +256,11 @@ public class UpdateFactory {
                     final List<SecurityHistoryNode> nodes = YahooEventParser.retrieveHistoricalPrice(securityNode,
                             LocalDate.now().minusDays(1), LocalDate.now());
 
-                    for (final SecurityHistoryNode node : nodes) {
-                        if (!Thread.currentThread().isInterrupted()) { // check for thread interruption
-                            result = e.addSecurityHistory(securityNode, node);
+                    if (!nodes.isEmpty() && !Thread.currentThread().isInterrupted()) { // check for thread interruption
+                        result = e.addSecurityHistory(securityNode, nodes);
 
-                            if (result) {
-                                logger.info(ResourceUtils.getString("Message.UpdatedPrice", securityNode.getSymbol()));
-                            }
+                        if (result) {
+                            logger.info(ResourceUtils.getString("Message.UpdatedPrice", securityNode.getSymbol()));
                         }
                     }
                 }
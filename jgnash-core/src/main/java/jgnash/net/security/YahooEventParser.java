@@ -64,6 +64,8 @@ public class YahooEventParser {
 
     private static final String HISTORY_RESPONSE_HEADER = "Date,Open,High,Low,Close,Adj Close,Volume";
 
+    private static final String DOWNLOAD_URL = "https://query1.finance.yahoo.com/v7/finance/download/";
+
     private YahooEventParser() {
         // Utility class
     }
@@ -128,6 +130,27 @@ public class YahooEventParser {
 
     public static List<SecurityHistoryNode> retrieveHistoricalPrice(@NotNull final SecurityNode securityNode,
                                                                     final LocalDate startDate, final LocalDate endDate) {
+        try {
+            return fetchHistoricalPrice(securityNode, startDate, endDate);
+        } catch (final IOException ex) {
+            LogUtil.logSevere(YahooEventParser.class, ex);
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Retrieves historical prices and reports network failures so the request may be retried.
+     *
+     * @param securityNode security to retrieve prices for
+     * @param startDate    start date
+     * @param endDate      end date
+     * @return list of prices in chronological order
+     * @throws IOException if the quote source could not be reached or refused the request
+     */
+    public static List<SecurityHistoryNode> fetchHistoricalPrice(@NotNull final SecurityNode securityNode,
+                                                                 final LocalDate startDate, final LocalDate endDate)
+            throws IOException {
 
         /*
          Date,Open,High,Low,Close,Adj Close,Volume
@@ -136,7 +159,30 @@ public class YahooEventParser {
          2016-01-06,127.189331,128.325134,126.469986,135.169998,127.937050,4310900
          */
 
-        final List<SecurityHistoryNode> events = parseStream(securityNode, startDate, endDate,
+        // Ensure we have a valid cookie and crumb
+        if (!YahooCrumbManager.authorize(securityNode.getSymbol())) {
+            throw new IOException("Unable to authorize with the quote source");
+        }
+
+        return fetchHistoricalPrice(securityNode, startDate, endDate, DOWNLOAD_URL);
+    }
+
+    /**
+     * Retrieves historical prices from a download service using the cookie and crumb of the last authorization.
+     *
+     * @param securityNode security to retrieve prices for
+     * @param startDate    start date
+     * @param endDate      end date
+     * @param downloadUrl  base url of the download service
+     * @return list of prices in chronological order
+     * @throws IOException if the quote source could not be reached or refused the request
+     */
+    public static List<SecurityHistoryNode> fetchHistoricalPrice(@NotNull final SecurityNode securityNode,
+                                                                 final LocalDate startDate, final LocalDate endDate,
+                                                                 @NotNull final String downloadUrl)
+            throws IOException {
+
+        final List<SecurityHistoryNode> events = readStream(securityNode, startDate, endDate, downloadUrl,
                 SecurityHistoryEventType.PRICE, HISTORY_RESPONSE_HEADER::equals,
                 line -> {
                     final String[] fields = COMMA_DELIMITER_PATTERN.split(line);
@@ -206,14 +252,30 @@ public class YahooEventParser {
                                            final Function<String, Boolean> acceptHeaderFunction,
                                            final Function<String, T> processLineFunction) {
 
-        final List<T> events = new ArrayList<>();
-
         // Ensure we have a valid cookie and crumb
         if (!YahooCrumbManager.authorize(securityNode.getSymbol())) {
-            return events;
+            return new ArrayList<>();
         }
 
-        final String url = buildYahooQuery(securityNode, startDate, endDate, type);
+        try {
+            return readStream(securityNode, startDate, endDate, DOWNLOAD_URL, type, acceptHeaderFunction,
+                    processLineFunction);
+        } catch (final IOException ex) {
+            LogUtil.logSevere(YahooEventParser.class, ex);
+        }
+
+        return new ArrayList<>();
+    }
+
+    private static <T> List<T> readStream(@NotNull final SecurityNode securityNode, final LocalDate startDate,
+                                          final LocalDate endDate, final String downloadUrl,
+                                          final SecurityHistoryEventType type,
+                                          final Function<String, Boolean> acceptHeaderFunction,
+                                          final Function<String, T> processLineFunction) throws IOException {
+
+        final List<T> events = new ArrayList<>();
+
+        final String url = buildYahooQuery(securityNode, startDate, endDate, downloadUrl, type);
 
         URLConnection connection = null;
 
@@ -227,8 +289,11 @@ public class YahooEventParser {
 
                 int responseCode = ((HttpURLConnection)connection).getResponseCode();
 
-                if (responseCode == 401) {  // TODO: rerun query
+                if (responseCode == 401) {  // authorization will be renewed on the next request
                     YahooCrumbManager.clearAuthorization();
+                    throw new IOException("Quote source authorization expired");
+                } else if (responseCode == 429 || responseCode >= 500) {
+                    throw new IOException("Quote source is unavailable: " + responseCode);
                 } else {
                     try (final BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(),
                             StandardCharsets.UTF_8))) {
@@ -251,9 +316,12 @@ public class YahooEventParser {
                     }
                 }
             }
-        } catch (final NullPointerException | IOException ex) {
-            LogUtil.logSevere(YahooEventParser.class, ex);
+        } catch (final NullPointerException ex) {
+            YahooCrumbManager.clearAuthorization();
+            throw new IOException(ex);
+        } catch (final IOException ex) {
             YahooCrumbManager.clearAuthorization();
+            throw ex;
         } finally {
             if (connection != null) {
                 if (connection instanceof HttpURLConnection) {
@@ -273,7 +341,8 @@ public class YahooEventParser {
 
 
     private static String buildYahooQuery(final SecurityNode securityNode, final LocalDate startDate,
-                                          final LocalDate endDate, final SecurityHistoryEventType event) {
+                                          final LocalDate endDate, final String downloadUrl,
+                                          final SecurityHistoryEventType event) {
         // dividend 1/1/1962 to 8/22/2015
         // https://query1.finance.yahoo.com/v7/finance/download/IBM?period1=-252442800&period2=1440216000&interval=1d&events=div&crumb=oTulTvLJSBg
 
@@ -289,7 +358,7 @@ public class YahooEventParser {
         long period2 = ChronoUnit.SECONDS.between(epoch, LocalDateTime.of(endDate, LocalTime.MAX));
 
 
-        final StringBuilder builder = new StringBuilder("https://query1.finance.yahoo.com/v7/finance/download/");
+        final StringBuilder builder = new StringBuilder(downloadUrl);
         builder.append(securityNode.getSymbol())
                 .append("?period1=").append(period1)
                 .append("&period2=").append(period2)
@@ -29,6 +29,7 @@ import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.logging.Level;
@@ -133,23 +134,22 @@ public class BalanceByMonthCSVReport {
     }
 
     private void buildLists(final Account account, final LocalDate[] dates) {
-        for (final Account child : account.getChildren(Comparators.getAccountByCode())) {
-            if (child.getTransactionCount() > 0) {
-                accountList.add(child); // add the account
-                final BigDecimal[] bigDecimals = new BigDecimal[dates.length];
-                for (int i = 0; i < dates.length; i++) {
-                    if (baseCommodity != null) {
-                        bigDecimals[i] = balanceConverter.apply(child.getAccountType(), child.getBalance(dates[i],
-                                baseCommodity));
-                    } else {
-                        bigDecimals[i] = balanceConverter.apply(child.getAccountType(), child.getBalance(dates[i]));
-                    }
-                }
-                balanceList.add(bigDecimals);
-            }
-            if (child.isParent()) {
-                buildLists(child, dates);
+
+        // account subtrees are processed in parallel, balances for all months are calculated in a single pass
+        final Map<Account, BigDecimal[]> balances = ParallelAccountCollector.collect(account,
+                Comparators.getAccountByCode(), child -> child.getTransactionCount() > 0,
+                child -> ReportPeriodBalances.getBalancesAt(child, dates, baseCommodity));
+
+        for (final Map.Entry<Account, BigDecimal[]> entry : balances.entrySet()) {
+            final AccountType accountType = entry.getKey().getAccountType();
+            final BigDecimal[] bigDecimals = entry.getValue();
+
+            for (int i = 0; i < dates.length; i++) {
+                bigDecimals[i] = balanceConverter.apply(accountType, bigDecimals[i]);
             }
+
+            accountList.add(entry.getKey());
+            balanceList.add(bigDecimals);
         }
     }
 
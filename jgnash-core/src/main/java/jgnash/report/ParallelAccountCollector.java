@@ -0,0 +1,227 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jgnash.engine.Account;
+import jgnash.util.NotNull;
+
+/**
+ * Collects report data for accounts in parallel.
+ * <p>
+ * Each account subtree is processed as a separate task on the common {@code ForkJoinPool} so large account trees
+ * make use of all available cores.  Results are always returned in the same order a serial walk would produce them.
+ * <p>
+ * Report data collection may be cancelled by supplying a {@code BooleanSupplier} that returns {@code true} once the
+ * results are no longer needed.  Pending tasks then stop and a {@code CancellationException} is thrown to the caller.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ParallelAccountCollector {
+
+    /**
+     * Number of accounts in a list that will be processed by a single task.
+     */
+    private static final int LIST_THRESHOLD = 4;
+
+    private static final BooleanSupplier NEVER_CANCELLED = () -> false;
+
+    private ParallelAccountCollector() {
+        // utility class
+    }
+
+    /**
+     * Walks the descendants of an account and applies a function to each account that matches the filter.
+     *
+     * @param root       the account to start at, the root itself is not included
+     * @param comparator sort order for the children of each account
+     * @param filter     accounts that should be included
+     * @param function   function to apply to each included account, must be thread safe
+     * @param <R>        the type of the result
+     * @return results ordered depth first with each account preceding its children
+     */
+    public static <R> Map<Account, R> collect(@NotNull final Account root,
+                                              @NotNull final Comparator<? super Account> comparator,
+                                              @NotNull final Predicate<Account> filter,
+                                              @NotNull final Function<Account, R> function) {
+        return collect(root, comparator, filter, function, NEVER_CANCELLED);
+    }
+
+    /**
+     * Walks the descendants of an account and applies a function to each account that matches the filter.
+     *
+     * @param root       the account to start at, the root itself is not included
+     * @param comparator sort order for the children of each account
+     * @param filter     accounts that should be included
+     * @param function   function to apply to each included account, must be thread safe
+     * @param cancelled  returns {@code true} if the collection should be abandoned
+     * @param <R>        the type of the result
+     * @return results ordered depth first with each account preceding its children
+     * @throws CancellationException if cancelled before all results were collected
+     */
+    public static <R> Map<Account, R> collect(@NotNull final Account root,
+                                              @NotNull final Comparator<? super Account> comparator,
+                                              @NotNull final Predicate<Account> filter,
+                                              @NotNull final Function<Account, R> function,
+                                              @NotNull final BooleanSupplier cancelled) {
+
+        final Map<Account, R> results = new LinkedHashMap<>();
+
+        final List<Map.Entry<Account, R>> entries = ForkJoinPool.commonPool().invoke(new SubtreeTask<>(root,
+                comparator, account -> account != root && filter.test(account), function, cancelled));
+
+        for (final Map.Entry<Account, R> entry : entries) {
+            results.put(entry.getKey(), entry.getValue());
+        }
+
+        return results;
+    }
+
+    /**
+     * Applies a function to each account in a list.
+     *
+     * @param accounts  accounts to process
+     * @param function  function to apply to each account, must be thread safe
+     * @param cancelled returns {@code true} if the collection should be abandoned
+     * @param <R>       the type of the result
+     * @return results in the same order as the supplied accounts
+     * @throws CancellationException if cancelled before all results were collected
+     */
+    public static <R> List<R> map(@NotNull final List<Account> accounts, @NotNull final Function<Account, R> function,
+                                  @NotNull final BooleanSupplier cancelled) {
+        return ForkJoinPool.commonPool().invoke(new ListTask<>(accounts, 0, accounts.size(), function, cancelled));
+    }
+
+    private static void checkCancelled(final BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
+    private static class SubtreeTask<R> extends RecursiveTask<List<Map.Entry<Account, R>>> {
+
+        private final Account account;
+
+        private final Comparator<? super Account> comparator;
+
+        private final Predicate<Account> filter;
+
+        private final Function<Account, R> function;
+
+        private final BooleanSupplier cancelled;
+
+        SubtreeTask(final Account account, final Comparator<? super Account> comparator,
+                    final Predicate<Account> filter, final Function<Account, R> function,
+                    final BooleanSupplier cancelled) {
+            this.account = account;
+            this.comparator = comparator;
+            this.filter = filter;
+            this.function = function;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected List<Map.Entry<Account, R>> compute() {
+            checkCancelled(cancelled);
+
+            final List<SubtreeTask<R>> tasks = new ArrayList<>();
+
+            for (final Account child : account.getChildren(comparator)) {
+                tasks.add(new SubtreeTask<>(child, comparator, filter, function, cancelled));
+            }
+
+            // fork the children first so they run while this account is processed
+            for (final SubtreeTask<R> task : tasks) {
+                task.fork();
+            }
+
+            final List<Map.Entry<Account, R>> results = new ArrayList<>();
+
+            if (filter.test(account)) {
+                results.add(new AbstractMap.SimpleImmutableEntry<>(account, function.apply(account)));
+            }
+
+            // join in order to preserve the serial ordering
+            for (final SubtreeTask<R> task : tasks) {
+                results.addAll(task.join());
+            }
+
+            return results;
+        }
+    }
+
+    private static class ListTask<R> extends RecursiveTask<List<R>> {
+
+        private final List<Account> accounts;
+
+        private final int start;
+
+        private final int end;
+
+        private final Function<Account, R> function;
+
+        private final BooleanSupplier cancelled;
+
+        ListTask(final List<Account> accounts, final int start, final int end, final Function<Account, R> function,
+                 final BooleanSupplier cancelled) {
+            this.accounts = accounts;
+            this.start = start;
+            this.end = end;
+            this.function = function;
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        protected List<R> compute() {
+            if (end - start <= LIST_THRESHOLD) {
+                final List<R> results = new ArrayList<>(end - start);
+
+                for (int i = start; i < end; i++) {
+                    checkCancelled(cancelled);
+                    results.add(function.apply(accounts.get(i)));
+                }
+
+                return results;
+            }
+
+            final int middle = (start + end) >>> 1;
+
+            final ListTask<R> left = new ListTask<>(accounts, start, middle, function, cancelled);
+            final ListTask<R> right = new ListTask<>(accounts, middle, end, function, cancelled);
+
+            right.fork();
+
+            final List<R> results = new ArrayList<>(left.compute());
+            results.addAll(right.join());
+
+            return results;
+        }
+    }
+}
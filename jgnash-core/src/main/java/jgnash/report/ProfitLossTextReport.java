@@ -28,6 +28,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.function.BiFunction;
@@ -175,23 +176,21 @@ public class ProfitLossTextReport {
 
     private List<BigDecimal> getBalances(final Account a, final AccountType type) {
 
-        final List<BigDecimal> balances = new ArrayList<>();
+        // account subtrees are processed in parallel, results are returned in the order of a serial walk
+        final Map<Account, BigDecimal> balanceMap = ParallelAccountCollector.collect(a,
+                Comparators.getAccountByCode(),
+                child -> child.getTransactionCount() > 0 && type == child.getAccountType(),
+                child -> child.getBalance(startDate, endDate, baseCommodity));
 
-        for (final Account child : a.getChildren(Comparators.getAccountByCode())) {
-            if ((child.getTransactionCount() > 0) && type == child.getAccountType()) {
+        final List<BigDecimal> balances = new ArrayList<>();
 
-                final BigDecimal acctBal = balanceConverter.apply(child.getAccountType(),
-                        child.getBalance(startDate, endDate, baseCommodity));
+        for (final Map.Entry<Account, BigDecimal> entry : balanceMap.entrySet()) {
+            final BigDecimal acctBal = balanceConverter.apply(entry.getKey().getAccountType(), entry.getValue());
 
-                // output account name and balance
-                reportText.add(formatAccountName(child.getName()) + " " + formatDecimal(acctBal));
+            // output account name and balance
+            reportText.add(formatAccountName(entry.getKey().getName()) + " " + formatDecimal(acctBal));
 
-                balances.add(acctBal);
-            }
-
-            if (child.isParent()) {
-                balances.addAll(getBalances(child, type));
-            }
+            balances.add(acctBal);
         }
 
         return balances;
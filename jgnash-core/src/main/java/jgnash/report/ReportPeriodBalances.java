@@ -0,0 +1,289 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountGroup;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.Transaction;
+import jgnash.util.NotNull;
+import jgnash.util.Nullable;
+
+/**
+ * Calculates account balances for many report periods at once.
+ * <p>
+ * Calling {@code Account.getBalance(start, end)} for every period walks the account's full transaction list each
+ * time.  These methods walk the sorted transaction list of each account once and bucket every transaction into the
+ * periods it belongs to.  The results are returned as a dense {@code [account][period]} matrix.
+ * <p>
+ * Periods must be supplied in chronological order.  Investment accounts are valued at market and are not a simple sum
+ * of transactions, so their balances fall back to the per period {@code Account} methods.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ReportPeriodBalances {
+
+    private ReportPeriodBalances() {
+        // utility class
+    }
+
+    /**
+     * Returns the balance of each account for each descriptor. The results are identical to calling
+     * {@code Account.getBalance(startDate, endDate, node)} for each descriptor.
+     *
+     * @param accounts    accounts to calculate
+     * @param descriptors periods in chronological order
+     * @param node        the commodity to convert balances to, {@code null} to use the account's commodity
+     * @return balance matrix indexed by account and descriptor
+     */
+    public static BigDecimal[][] getPeriodBalances(@NotNull final List<Account> accounts,
+                                                   @NotNull final List<ReportPeriodUtils.Descriptor> descriptors,
+                                                   @Nullable final CurrencyNode node) {
+        final LocalDate[] startDates = new LocalDate[descriptors.size()];
+        final LocalDate[] endDates = new LocalDate[descriptors.size()];
+
+        for (int i = 0; i < descriptors.size(); i++) {
+            startDates[i] = descriptors.get(i).getStartDate();
+            endDates[i] = descriptors.get(i).getEndDate();
+        }
+
+        return getPeriodBalances(accounts, startDates, endDates, node);
+    }
+
+    /**
+     * Returns the balance of each account for each period. The results are identical to calling
+     * {@code Account.getBalance(startDate, endDate, node)} for each period.
+     *
+     * @param accounts   accounts to calculate
+     * @param startDates inclusive start dates in chronological order
+     * @param endDates   inclusive end dates in chronological order
+     * @param node       the commodity to convert balances to, {@code null} to use the account's commodity
+     * @return balance matrix indexed by account and period
+     */
+    public static BigDecimal[][] getPeriodBalances(@NotNull final List<Account> accounts,
+                                                   @NotNull final LocalDate[] startDates,
+                                                   @NotNull final LocalDate[] endDates,
+                                                   @Nullable final CurrencyNode node) {
+        if (startDates.length != endDates.length) {
+            throw new IllegalArgumentException("The number of start and end dates must match");
+        }
+
+        final BigDecimal[][] balances = new BigDecimal[accounts.size()][];
+
+        for (int i = 0; i < accounts.size(); i++) {
+            balances[i] = getPeriodBalances(accounts.get(i), startDates, endDates, node);
+        }
+
+        return balances;
+    }
+
+    /**
+     * Returns the balance of each account at each date. The results are identical to calling
+     * {@code Account.getBalance(date, node)} for each date.
+     *
+     * @param accounts accounts to calculate
+     * @param dates    inclusive end dates in chronological order
+     * @param node     the commodity to convert balances to, {@code null} to use the account's commodity
+     * @return balance matrix indexed by account and date
+     */
+    public static BigDecimal[][] getBalancesAt(@NotNull final List<Account> accounts, @NotNull final LocalDate[] dates,
+                                               @Nullable final CurrencyNode node) {
+        final BigDecimal[][] balances = new BigDecimal[accounts.size()][];
+
+        for (int i = 0; i < accounts.size(); i++) {
+            balances[i] = getBalancesAt(accounts.get(i), dates, node);
+        }
+
+        return balances;
+    }
+
+    /**
+     * Sums a row of the balance matrix.
+     *
+     * @param balances row of balances
+     * @return the sum of the row
+     */
+    public static BigDecimal sum(@NotNull final BigDecimal[] balances) {
+        BigDecimal sum = BigDecimal.ZERO;
+
+        for (final BigDecimal balance : balances) {
+            sum = sum.add(balance);
+        }
+
+        return sum;
+    }
+
+    /**
+     * Determines if every balance in a row of the balance matrix is zero.
+     *
+     * @param balances row of balances
+     * @return {@code true} if all balances are zero
+     */
+    public static boolean isZero(@NotNull final BigDecimal[] balances) {
+        for (final BigDecimal balance : balances) {
+            if (balance.signum() != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the balance of an account for each period.
+     *
+     * @param account    account to calculate
+     * @param startDates inclusive start dates in chronological order
+     * @param endDates   inclusive end dates in chronological order
+     * @param node       the commodity to convert balances to, {@code null} to use the account's commodity
+     * @return balances indexed by period
+     */
+    public static BigDecimal[] getPeriodBalances(@NotNull final Account account, @NotNull final LocalDate[] startDates,
+                                                 @NotNull final LocalDate[] endDates,
+                                                 @Nullable final CurrencyNode node) {
+        final BigDecimal[] balances = new BigDecimal[startDates.length];
+
+        if (account.memberOf(AccountGroup.INVEST)) {
+            for (int i = 0; i < balances.length; i++) {
+                balances[i] = node != null ? account.getBalance(startDates[i], endDates[i], node)
+                        : account.getBalance(startDates[i], endDates[i]);
+            }
+
+            return balances;
+        }
+
+        Arrays.fill(balances, BigDecimal.ZERO);
+
+        if (balances.length == 0) {
+            return balances;
+        }
+
+        final LocalDate lastDate = endDates[endDates.length - 1];
+
+        // a copy, reports may be run while the account is changed
+        for (final Transaction transaction : account.getSortedTransactionSnapshot()) {
+            final LocalDate date = transaction.getLocalDate();
+
+            if (date.isAfter(lastDate)) {
+                break;  // the transaction list is sorted by date
+            }
+
+            final BigDecimal amount = transaction.getAmount(account);
+
+            for (int i = firstEndingOnOrAfter(endDates, date); i < balances.length && !startDates[i].isAfter(date); i++) {
+                if (!date.isAfter(endDates[i])) {
+                    balances[i] = balances[i].add(amount);
+                }
+            }
+        }
+
+        return adjustForExchangeRate(account, balances, node);
+    }
+
+    /**
+     * Returns the balance of an account at each date.
+     *
+     * @param account account to calculate
+     * @param dates   inclusive end dates in chronological order
+     * @param node    the commodity to convert balances to, {@code null} to use the account's commodity
+     * @return balances indexed by date
+     */
+    public static BigDecimal[] getBalancesAt(@NotNull final Account account, @NotNull final LocalDate[] dates,
+                                             @Nullable final CurrencyNode node) {
+        final BigDecimal[] balances = new BigDecimal[dates.length];
+
+        if (account.memberOf(AccountGroup.INVEST)) {
+            for (int i = 0; i < balances.length; i++) {
+                balances[i] = node != null ? account.getBalance(dates[i], node) : account.getBalance(dates[i]);
+            }
+
+            return balances;
+        }
+
+        Arrays.fill(balances, BigDecimal.ZERO);
+
+        if (balances.length == 0) {
+            return balances;
+        }
+
+        final LocalDate lastDate = dates[dates.length - 1];
+
+        // sum the transactions that fall between each date and the prior date, a copy is safe to iterate
+        for (final Transaction transaction : account.getSortedTransactionSnapshot()) {
+            final LocalDate date = transaction.getLocalDate();
+
+            if (date.isAfter(lastDate)) {
+                break;  // the transaction list is sorted by date
+            }
+
+            final int index = firstEndingOnOrAfter(dates, date);
+
+            balances[index] = balances[index].add(transaction.getAmount(account));
+        }
+
+        // convert to running balances
+        for (int i = 1; i < balances.length; i++) {
+            balances[i] = balances[i].add(balances[i - 1]);
+        }
+
+        return adjustForExchangeRate(account, balances, node);
+    }
+
+    /**
+     * Returns the index of the first date that is on or after the supplied date.
+     *
+     * @param dates sorted array of dates
+     * @param date  date to search for
+     * @return index of the first date that is not before {@code date}, or {@code dates.length} if none
+     */
+    private static int firstEndingOnOrAfter(final LocalDate[] dates, final LocalDate date) {
+        int low = 0;
+        int high = dates.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (dates[mid].isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static BigDecimal[] adjustForExchangeRate(final Account account, final BigDecimal[] balances,
+                                                      final CurrencyNode node) {
+        // match Account#adjustForExchangeRate, the last known exchange rate is used
+        if (node != null && !node.equals(account.getCurrencyNode())) {
+            final BigDecimal rate = account.getCurrencyNode().getExchangeRate(node);
+
+            for (int i = 0; i < balances.length; i++) {
+                balances[i] = balances[i].multiply(rate);
+            }
+        }
+
+        return balances;
+    }
+}
@@ -20,9 +20,8 @@ package jgnash.text;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jgnash.engine.CommodityNode;
 import jgnash.engine.message.Message;
@@ -40,16 +39,15 @@ public class CommodityFormat {
 
     private static final CommodityListener listener;
 
-    private static final Map<CommodityNode, ThreadLocal<DecimalFormat>> fullInstanceMap = new HashMap<>();
+    private static final Map<CommodityNode, ThreadLocal<DecimalFormat>> fullInstanceMap = new ConcurrentHashMap<>();
 
-    private static final Map<Integer, ThreadLocal<DecimalFormat>> simpleInstanceMap = new HashMap<>();
+    private static final Map<Integer, ThreadLocal<DecimalFormat>> simpleInstanceMap = new ConcurrentHashMap<>();
 
-    private static final String[] ESCAPE_CHARS = new String[]{",", ".", "0", "#", "-", ";", "%"};
+    private static final Map<CommodityNode, ScaledDecimalFormatter> fullFormatterMap = new ConcurrentHashMap<>();
 
-    /**
-     * Pre-compiled currency sign pattern.
-     */
-    private static final Pattern CURRENCY_SIGN_PATTERN = Pattern.compile("¤");
+    private static final Map<Integer, ScaledDecimalFormatter> simpleFormatterMap = new ConcurrentHashMap<>();
+
+    private static final String[] ESCAPE_CHARS = new String[]{",", ".", "0", "#", "-", ";", "%"};
 
     static {
         /*
@@ -65,7 +63,7 @@ public class CommodityFormat {
         DecimalFormat format = (DecimalFormat) getShortNumberFormat(node);
         String pattern = format.toPattern();
 
-        return CURRENCY_SIGN_PATTERN.matcher(pattern).replaceAll("");
+        return pattern.replace("\u00A4", "");
     }
 
     public static String getFullNumberPattern(final CommodityNode node) {
@@ -114,38 +112,8 @@ public class CommodityFormat {
      * @return thread safe {@code NumberFormat}
      */
     public static NumberFormat getShortNumberFormat(final int scale) {
-        final ThreadLocal<DecimalFormat> o = simpleInstanceMap.get(scale);
-
-        if (o != null) {
-            return o.get();
-        }
-
-        final ThreadLocal<DecimalFormat> threadLocal = ThreadLocal.withInitial(() -> {
-            final DecimalFormat df = (DecimalFormat) NumberFormat.getCurrencyInstance();
-            final DecimalFormatSymbols dfs = df.getDecimalFormatSymbols();
-            dfs.setCurrencySymbol("");
-            df.setDecimalFormatSymbols(dfs);
-            df.setMaximumFractionDigits(scale);
-
-            // required for some locale
-            df.setMinimumFractionDigits(df.getMaximumFractionDigits());
-
-            // for positive suffix padding for fraction alignment
-            int negSufLen = df.getNegativeSuffix().length();
-            if (negSufLen > 0) {
-                char[] pad = new char[negSufLen];
-                for (int i = 0; i < negSufLen; i++) {
-                    pad[i] = ' ';
-                }
-                df.setPositiveSuffix(new String(pad));
-            }
-
-            return df;
-        });
-
-        simpleInstanceMap.put(scale, threadLocal);
-
-        return threadLocal.get();
+        return simpleInstanceMap.computeIfAbsent(scale,
+                key -> ThreadLocal.withInitial(() -> createShortNumberFormat(scale))).get();
     }
 
     /**
@@ -155,54 +123,102 @@ public class CommodityFormat {
      * @return thread safe {@code NumberFormat}
      */
     public static NumberFormat getFullNumberFormat(@NotNull final CommodityNode node) {
-        final ThreadLocal<DecimalFormat> o = fullInstanceMap.get(node);
-
-        if (o != null) {
-            return o.get();
-        }
+        return fullInstanceMap.computeIfAbsent(node,
+                key -> ThreadLocal.withInitial(() -> createFullNumberFormat(node))).get();
+    }
 
-        final ThreadLocal<DecimalFormat> threadLocal = ThreadLocal.withInitial(() -> {
-            final DecimalFormat df = (DecimalFormat) NumberFormat.getCurrencyInstance();
+    /**
+     * Returns a shared simplified formatter for a given {@code CommodityNode}.  The output matches
+     * {@link #getShortNumberFormat(CommodityNode)}.
+     *
+     * @param node CommodityNode to format to
+     * @return thread safe formatter
+     */
+    public static ScaledDecimalFormatter getShortFormatter(@NotNull final CommodityNode node) {
+        return getShortFormatter(node.getScale());
+    }
 
-            final DecimalFormatSymbols dfs = df.getDecimalFormatSymbols();
-            dfs.setCurrencySymbol(node.getPrefix());
-            df.setDecimalFormatSymbols(dfs);
-            df.setMaximumFractionDigits(node.getScale());
+    /**
+     * Returns a shared simplified formatter.  The output matches {@link #getShortNumberFormat(int)}.
+     *
+     * @param scale scale of the simple number
+     * @return thread safe formatter
+     */
+    public static ScaledDecimalFormatter getShortFormatter(final int scale) {
+        return simpleFormatterMap.computeIfAbsent(scale,
+                key -> ScaledDecimalFormatter.of(createShortNumberFormat(scale)));
+    }
 
-            // required for some locale
-            df.setMinimumFractionDigits(df.getMaximumFractionDigits());
+    /**
+     * Returns a shared formatter for a given {@code CommodityNode}.  The output matches
+     * {@link #getFullNumberFormat(CommodityNode)}.
+     *
+     * @param node CommodityNode to format to
+     * @return thread safe formatter
+     */
+    public static ScaledDecimalFormatter getFullFormatter(@NotNull final CommodityNode node) {
+        return fullFormatterMap.computeIfAbsent(node, key -> ScaledDecimalFormatter.of(createFullNumberFormat(node)));
+    }
 
-            if (node.getSuffix() != null && !node.getSuffix().isEmpty()) {
-                df.setPositiveSuffix(node.getSuffix() + df.getPositiveSuffix());
-                df.setNegativeSuffix(node.getSuffix() + df.getNegativeSuffix());
+    private static DecimalFormat createShortNumberFormat(final int scale) {
+        final DecimalFormat df = (DecimalFormat) NumberFormat.getCurrencyInstance();
+        final DecimalFormatSymbols dfs = df.getDecimalFormatSymbols();
+        dfs.setCurrencySymbol("");
+        df.setDecimalFormatSymbols(dfs);
+        df.setMaximumFractionDigits(scale);
+
+        // required for some locale
+        df.setMinimumFractionDigits(df.getMaximumFractionDigits());
+
+        // for positive suffix padding for fraction alignment
+        int negSufLen = df.getNegativeSuffix().length();
+        if (negSufLen > 0) {
+            char[] pad = new char[negSufLen];
+            for (int i = 0; i < negSufLen; i++) {
+                pad[i] = ' ';
             }
+            df.setPositiveSuffix(new String(pad));
+        }
+
+        return df;
+    }
 
-            // for positive suffix padding for fraction alignment
-            final int negSufLen = df.getNegativeSuffix().length();
-            final int posSufLen = df.getPositiveSuffix().length();
+    private static DecimalFormat createFullNumberFormat(final CommodityNode node) {
+        final DecimalFormat df = (DecimalFormat) NumberFormat.getCurrencyInstance();
 
-            if (negSufLen > posSufLen) {
-                StringBuilder buf = new StringBuilder(df.getPositiveSuffix());
-                for (int i = negSufLen - posSufLen; i <= negSufLen; i++) {
-                    buf.append(' ');
-                }
-                df.setPositiveSuffix(buf.toString());
-            } else if (posSufLen > negSufLen) {
-                StringBuilder buf = new StringBuilder(df.getNegativeSuffix());
-                for (int i = posSufLen - negSufLen; i <= posSufLen; i++) {
-                    buf.append(' ');
-                }
-                df.setNegativeSuffix(buf.toString());
-            }
+        final DecimalFormatSymbols dfs = df.getDecimalFormatSymbols();
+        dfs.setCurrencySymbol(node.getPrefix());
+        df.setDecimalFormatSymbols(dfs);
+        df.setMaximumFractionDigits(node.getScale());
 
-            return df;
-        });
+        // required for some locale
+        df.setMinimumFractionDigits(df.getMaximumFractionDigits());
 
-        fullInstanceMap.put(node, threadLocal);
+        if (node.getSuffix() != null && !node.getSuffix().isEmpty()) {
+            df.setPositiveSuffix(node.getSuffix() + df.getPositiveSuffix());
+            df.setNegativeSuffix(node.getSuffix() + df.getNegativeSuffix());
+        }
 
-        return threadLocal.get();
-    }
+        // for positive suffix padding for fraction alignment
+        final int negSufLen = df.getNegativeSuffix().length();
+        final int posSufLen = df.getPositiveSuffix().length();
 
+        if (negSufLen > posSufLen) {
+            StringBuilder buf = new StringBuilder(df.getPositiveSuffix());
+            for (int i = negSufLen - posSufLen; i <= negSufLen; i++) {
+                buf.append(' ');
+            }
+            df.setPositiveSuffix(buf.toString());
+        } else if (posSufLen > negSufLen) {
+            StringBuilder buf = new StringBuilder(df.getNegativeSuffix());
+            for (int i = posSufLen - negSufLen; i <= posSufLen; i++) {
+                buf.append(' ');
+            }
+            df.setNegativeSuffix(buf.toString());
+        }
+
+        return df;
+    }
 
     private static String getConversion(final String cur1, final String cur2) {
         return cur1 + " > " + cur2;
@@ -221,6 +237,8 @@ public class CommodityFormat {
                 case CURRENCY_MODIFY:
                     simpleInstanceMap.clear();
                     fullInstanceMap.clear();
+                    simpleFormatterMap.clear();
+                    fullFormatterMap.clear();
                     break;
                 default:
                     break;
@@ -0,0 +1,187 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.text;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+import jgnash.util.NotNull;
+
+/**
+ * Formats decimal values to a fixed scale.
+ * <p>
+ * The affixes, separators and scale are taken from a configured {@code DecimalFormat} when the formatter is
+ * created, so the output matches the {@code DecimalFormat} without its per call allocation.  Digits are written
+ * directly to the supplied {@code StringBuilder}.  Instances are immutable and may be shared between threads.
+ *
+ * @author Craig Cavanaugh
+ */
+public final class ScaledDecimalFormatter {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    /**
+     * Reusable buffer for each thread.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int scale;
+
+    private final int minimumIntegerDigits;
+
+    private final int groupingSize;
+
+    private final RoundingMode roundingMode;
+
+    private final char zeroDigit;
+
+    private final char groupingSeparator;
+
+    private final char decimalSeparator;
+
+    private final String positivePrefix;
+
+    private final String positiveSuffix;
+
+    private final String negativePrefix;
+
+    private final String negativeSuffix;
+
+    private ScaledDecimalFormatter(final DecimalFormat format) {
+        final DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+
+        scale = format.getMaximumFractionDigits();
+        minimumIntegerDigits = Math.max(1, format.getMinimumIntegerDigits());
+        groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : 0;
+        roundingMode = format.getRoundingMode();
+
+        zeroDigit = symbols.getZeroDigit();
+        groupingSeparator = symbols.getGroupingSeparator();
+
+        // currency patterns use the monetary separator
+        decimalSeparator = format.toPattern().indexOf('\u00A4') >= 0 ? symbols.getMonetaryDecimalSeparator()
+                : symbols.getDecimalSeparator();
+
+        positivePrefix = format.getPositivePrefix();
+        positiveSuffix = format.getPositiveSuffix();
+        negativePrefix = format.getNegativePrefix();
+        negativeSuffix = format.getNegativeSuffix();
+    }
+
+    /**
+     * Creates a formatter that matches a {@code DecimalFormat}.  Values are always formatted with the maximum
+     * number of fraction digits and at least one integer digit.
+     *
+     * @param format configured {@code DecimalFormat}
+     * @return a new formatter
+     */
+    public static ScaledDecimalFormatter of(@NotNull final DecimalFormat format) {
+        return new ScaledDecimalFormatter(format);
+    }
+
+    /**
+     * Formats a value.
+     *
+     * @param value value to format
+     * @return the formatted value
+     */
+    public String format(@NotNull final BigDecimal value) {
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+
+        return format(value, buffer).toString();
+    }
+
+    /**
+     * Formats a value and appends it to a buffer.
+     *
+     * @param value  value to format
+     * @param buffer buffer to append to
+     * @return the buffer
+     */
+    public StringBuilder format(@NotNull final BigDecimal value, @NotNull final StringBuilder buffer) {
+        final BigDecimal rounded = value.setScale(scale, roundingMode);
+        final boolean negative = value.signum() < 0;   // values that round to zero keep their sign, as DecimalFormat does
+
+        buffer.append(negative ? negativePrefix : positivePrefix);
+
+        if (rounded.precision() < POWERS_OF_TEN.length) {
+            appendDigits(Math.abs(rounded.unscaledValue().longValue()), buffer);
+        } else {
+            appendDigits(rounded.unscaledValue().abs().toString(), buffer);
+        }
+
+        return buffer.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    private void appendDigits(final long unscaled, final StringBuilder buffer) {
+        int digits = 1;
+
+        while (digits < POWERS_OF_TEN.length && unscaled >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+
+        for (int position = getLeadingPosition(digits); position >= 0; position--) {
+            final int digit = position < digits ? (int) (unscaled / POWERS_OF_TEN[position] % 10) : 0;
+
+            appendDigit(digit, position, buffer);
+        }
+    }
+
+    private void appendDigits(final String unscaled, final StringBuilder buffer) {
+        final int digits = unscaled.length();
+
+        for (int position = getLeadingPosition(digits); position >= 0; position--) {
+            final int digit = position < digits ? unscaled.charAt(digits - 1 - position) - '0' : 0;
+
+            appendDigit(digit, position, buffer);
+        }
+    }
+
+    /**
+     * Returns the position of the most significant digit to write, counted from the least significant digit.
+     *
+     * @param digits number of digits in the unscaled value
+     * @return position of the leading digit
+     */
+    private int getLeadingPosition(final int digits) {
+        return Math.max(digits - scale, minimumIntegerDigits) + scale - 1;
+    }
+
+    private void appendDigit(final int digit, final int position, final StringBuilder buffer) {
+        buffer.append((char) (zeroDigit + digit));
+
+        final int integerPosition = position - scale;
+
+        if (integerPosition == 0 && scale > 0) {
+            buffer.append(decimalSeparator);
+        } else if (integerPosition > 0 && groupingSize > 0 && integerPosition % groupingSize == 0) {
+            buffer.append(groupingSeparator);
+        }
+    }
+}
@@ -48,6 +48,26 @@ public class SearchUtils {
         return p;
     }
 
+    /**
+     * Determines if a string contains a search string, ignoring case.  The strings are compared in place rather
+     * than converted to lower case, so repeated filtering does not create garbage.
+     *
+     * @param text   string to search
+     * @param search string to search for
+     * @return true if {@code text} contains {@code search}
+     */
+    public static boolean containsIgnoreCase(final String text, final String search) {
+        final int length = search.length();
+
+        for (int i = 0, last = text.length() - length; i <= last; i++) {
+            if (text.regionMatches(true, i, search, 0, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private static String wildcardSearchToRegex(final String wildcard) {
         StringBuilder buffer = new StringBuilder(wildcard.length() + 2);
         buffer.append('^');
@@ -17,11 +17,9 @@
  */
 package jgnash.util.function;
 
-import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import jgnash.engine.Transaction;
 import jgnash.util.SearchUtils;
@@ -35,25 +33,29 @@ public class MemoPredicate implements Predicate<Transaction> {
 
     private final String filter;
 
-    private final Pattern pattern;
+    /**
+     * Matcher for the regular expression, reused for each transaction.
+     */
+    private final Matcher matcher;
 
     public MemoPredicate(final String filter, final boolean useRegex) {
         if (useRegex && !filter.isEmpty()) {
-            pattern = SearchUtils.createSearchPattern(Objects.requireNonNull(filter), false);
+            matcher = SearchUtils.createSearchPattern(Objects.requireNonNull(filter), false).matcher("");
             this.filter = null;
         } else {
-            pattern = null;
-            this.filter = filter.toLowerCase(Locale.getDefault());
+            matcher = null;
+            this.filter = filter;
         }
     }
 
     @Override
     public boolean test(final Transaction transaction) {
-        if (pattern != null) {
-            final Matcher matcher = pattern.matcher(transaction.getMemo());
-            return matcher.matches();
+        if (matcher != null) {
+            synchronized (matcher) {
+                return matcher.reset(transaction.getMemo()).matches();
+            }
         } else if (filter != null && !filter.isEmpty()) {
-            return transaction.getMemo().toLowerCase(Locale.getDefault()).contains(filter);
+            return SearchUtils.containsIgnoreCase(transaction.getMemo(), filter);
         }
 
         return true;
@@ -17,11 +17,9 @@
  */
 package jgnash.util.function;
 
-import java.util.Locale;
 import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import jgnash.engine.Transaction;
 import jgnash.util.NotNull;
@@ -36,25 +34,29 @@ public class PayeePredicate implements Predicate<Transaction> {
 
     private final String filter;
 
-    private final Pattern pattern;
+    /**
+     * Matcher for the regular expression, reused for each transaction.
+     */
+    private final Matcher matcher;
 
     public PayeePredicate(@NotNull final String filter, final boolean useRegex) {
         if (useRegex && !filter.isEmpty()) {
-            pattern = SearchUtils.createSearchPattern(Objects.requireNonNull(filter), false);
+            matcher = SearchUtils.createSearchPattern(Objects.requireNonNull(filter), false).matcher("");
             this.filter = null;
         } else {
-            pattern = null;
-            this.filter = filter.toLowerCase(Locale.getDefault());
+            matcher = null;
+            this.filter = filter;
         }
     }
 
     @Override
     public boolean test(final Transaction transaction) {
-        if (pattern != null) {
-            final Matcher matcher = pattern.matcher(transaction.getPayee());
-            return matcher.matches();
+        if (matcher != null) {
+            synchronized (matcher) {
+                return matcher.reset(transaction.getPayee()).matches();
+            }
         } else if (filter != null && !filter.isEmpty()) {
-            return transaction.getPayee().toLowerCase(Locale.getDefault()).contains(filter);
+            return SearchUtils.containsIgnoreCase(transaction.getPayee(), filter);
         }
 
         return true;
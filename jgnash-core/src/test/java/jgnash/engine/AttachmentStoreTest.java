@@ -0,0 +1,127 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import jgnash.util.FileUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * JUnit test for the content addressed attachment store.
+ *
+ * @author Craig Cavanaugh
+ */
+public class AttachmentStoreTest {
+
+    private String file;
+
+    private Engine e;
+
+    private Account bank;
+
+    private Account expense;
+
+    @Before
+    public void setUp() throws Exception {
+        final Path directory = Files.createTempDirectory("attachments-");
+
+        file = directory + FileUtils.separator + "attachments" + DataStoreType.XML.getDataStore().getFileExt();
+
+        e = EngineFactory.bootLocalEngine(file, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+        e.setCreateBackups(false);
+
+        bank = new Account(AccountType.BANK, e.getDefaultCurrency());
+        bank.setName("Bank");
+        e.addAccount(e.getRootAccount(), bank);
+
+        expense = new Account(AccountType.EXPENSE, e.getDefaultCurrency());
+        expense.setName("Expense");
+        e.addAccount(e.getRootAccount(), expense);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+
+        FileUtils.deletePathAndContents(Paths.get(file).getParent());
+    }
+
+    @Test
+    public void testDeduplication() throws Exception {
+        final Path first = Files.createTempFile("receipt-", ".txt");
+        final Path second = Files.createTempFile("receipt-", ".txt");
+
+        Files.write(first, "receipt".getBytes(StandardCharsets.UTF_8));
+        Files.write(second, "receipt".getBytes(StandardCharsets.UTF_8));
+
+        final String firstName = e.storeAttachment(first, false);
+        final String secondName = e.storeAttachment(second, false);
+
+        assertNotNull(firstName);
+        assertEquals(firstName, secondName);
+        assertTrue(firstName.endsWith(".txt"));
+
+        assertFalse(Files.exists(first));
+        assertFalse(Files.exists(second));
+
+        final Path stored = e.getAttachment(firstName).get();
+        assertTrue(Files.exists(stored));
+
+        final Transaction t1 = createTransaction(firstName);
+        final Transaction t2 = createTransaction(secondName);
+
+        assertEquals(2, e.getAttachmentReferenceCount(firstName));
+        assertEquals(2, e.getTransactionsWithAttachment(firstName).size());
+        assertEquals(2, e.getTransactionsWithAttachments().size());
+
+        // still referenced by the second transaction
+        assertTrue(e.removeTransaction(t1));
+        assertTrue(e.removeAttachment(firstName));
+        assertTrue(Files.exists(stored));
+
+        assertTrue(e.removeTransaction(t2));
+        assertEquals(0, e.getAttachmentReferenceCount(firstName));
+        assertTrue(e.removeAttachment(firstName));
+        assertFalse(Files.exists(stored));
+    }
+
+    private Transaction createTransaction(final String attachment) {
+        final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(expense, bank,
+                BigDecimal.TEN, LocalDate.now(), "memo", "payee", "");
+        transaction.setAttachment(attachment);
+
+        assertTrue(e.addTransaction(transaction));
+
+        return transaction;
+    }
+}
@@ -20,6 +20,8 @@ package jgnash.engine;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Ignore;
@@ -55,6 +57,44 @@ public class CashFlowTest {
         Assert.assertEquals(-0.03, irr,1.e-5);
     }
 
+    @Test
+    public void testMultipleItems() {
+        CashFlow cashFlow = new CashFlow();
+
+        LocalDate today = LocalDate.now();
+        cashFlow.add(today, BigDecimal.valueOf(-1000));
+        cashFlow.add(today.plusDays(100), BigDecimal.valueOf(50));
+        cashFlow.add(today.plusDays(400), BigDecimal.valueOf(1200));
+
+        double irr = cashFlow.internalRateOfReturn();
+
+        // the net present value at the solved rate must be zero
+        double npv = -1000 + 50 / Math.pow(1 + irr, 100 / 365.0) + 1200 / Math.pow(1 + irr, 400 / 365.0);
+        Assert.assertEquals(0, npv, 1.e-6);
+    }
+
+    @Test
+    public void testBatchIRR() {
+        List<CashFlow> cashFlows = new ArrayList<>();
+
+        LocalDate today = LocalDate.now();
+
+        for (int i = 0; i < 10; i++) {
+            CashFlow cashFlow = new CashFlow();
+            cashFlow.add(today, BigDecimal.valueOf(-100));
+            cashFlow.add(today.plusDays(365), BigDecimal.valueOf(100 + i));
+            cashFlows.add(cashFlow);
+        }
+
+        double[] irr = CashFlow.internalRateOfReturn(cashFlows);
+
+        Assert.assertEquals(cashFlows.size(), irr.length);
+
+        for (int i = 0; i < irr.length; i++) {
+            Assert.assertEquals(i / 100.0, irr[i], 1.e-5);
+        }
+    }
+
     @Test
     @Ignore
     public void testUglyData() {
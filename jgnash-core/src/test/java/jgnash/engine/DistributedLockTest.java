@@ -19,6 +19,7 @@ package jgnash.engine;
 
 import jgnash.engine.concurrent.DistributedLockManager;
 import jgnash.engine.concurrent.DistributedLockServer;
+import jgnash.engine.concurrent.LockRequest;
 
 import io.netty.util.ResourceLeakDetector;
 import org.junit.After;
@@ -26,11 +27,13 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -94,6 +97,108 @@ public class DistributedLockTest {
         assertTrue(true);
     }
 
+    @Test
+    public void batchLock() {
+
+        final LockRequest[] requests = {LockRequest.write("transaction"), LockRequest.read("account")};
+
+        manager.lock(requests);
+
+        try {
+            assertTrue(manager.getLock("account").getReadHoldCount() > 0);
+            assertTrue(manager.getLock("transaction").isWriteLockedByCurrentThread());
+        } finally {
+            manager.unlock(requests);
+        }
+
+        assertEquals(0, manager.getLock("account").getReadHoldCount());
+        assertFalse(manager.getLock("transaction").isWriteLocked());
+        assertTrue(server.getLockCount() >= 2);
+    }
+
+    @Test
+    public void readAndWriteOfSameLockAreMerged() {
+
+        final LockRequest[] requests = {LockRequest.read("scope"), LockRequest.read("account"),
+                LockRequest.write("account")};
+
+        manager.lock(requests);
+
+        try {
+            assertTrue(manager.getLock("scope").getReadHoldCount() > 0);
+            assertTrue(manager.getLock("account").isWriteLockedByCurrentThread());
+            assertEquals(0, manager.getLock("account").getReadHoldCount());
+            assertEquals(2, server.getLockTableSize());
+        } finally {
+            manager.unlock(requests);
+        }
+
+        assertFalse(manager.getLock("account").isWriteLocked());
+        assertEquals(0, manager.getLock("scope").getReadHoldCount());
+    }
+
+    @Test
+    public void localLocksSkipServer() throws InterruptedException {
+
+        final LockRequest[] requests = {LockRequest.localWrite("account"), LockRequest.write("rate")};
+
+        manager.lock(requests);
+
+        try {
+            assertTrue(manager.getLock("account").isWriteLockedByCurrentThread());
+            assertEquals(1, server.getLockTableSize());    // only the distributed lock is sent to the server
+
+            // other threads of the same client are still excluded
+            final AtomicBoolean acquired = new AtomicBoolean(true);
+
+            final Thread thread = new Thread(() -> acquired.set(manager.getLock("account").writeLock().tryLock()));
+            thread.start();
+            thread.join();
+
+            assertFalse(acquired.get());
+        } finally {
+            manager.unlock(requests);
+        }
+
+        assertFalse(manager.getLock("account").isWriteLocked());
+        assertEquals(1, server.getLockCount());
+        assertEquals(0, server.getLockTableSize());
+    }
+
+    @Test
+    public void batchLocksAreRemovedWhenReleased() {
+
+        final LockRequest[] requests = {LockRequest.write("transaction"), LockRequest.read("account")};
+
+        for (int i = 0; i < 10; i++) {
+            manager.lock(requests);
+
+            try {
+                assertEquals(2, manager.getLockTableSize());
+                assertEquals(2, server.getLockTableSize());
+            } finally {
+                manager.unlock(requests);
+            }
+        }
+
+        assertEquals(0, manager.getLockTableSize());
+        assertEquals(0, server.getLockTableSize());
+
+        // a lock handed out by reference is retained locally, but the server only tracks it while it is held
+        final ReadWriteLock lock = manager.getLock("account");
+
+        manager.lock(requests);
+        manager.unlock(requests);
+
+        assertEquals(1, manager.getLockTableSize());
+        assertEquals(0, server.getLockTableSize());
+
+        lock.writeLock().lock();
+        assertEquals(1, server.getLockTableSize());
+        lock.writeLock().unlock();
+        assertEquals(0, server.getLockTableSize());
+    }
+
     @Test
     public void multipleReadLocks() {
 
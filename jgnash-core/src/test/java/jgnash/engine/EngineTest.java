@@ -17,21 +17,31 @@
  */
 package jgnash.engine;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import jgnash.engine.budget.Budget;
 import jgnash.engine.budget.BudgetGoal;
 import jgnash.time.Period;
 import jgnash.engine.recurring.DailyReminder;
+import jgnash.engine.recurring.PendingReminder;
 import jgnash.engine.recurring.Reminder;
 import jgnash.util.FileUtils;
 
@@ -156,6 +166,164 @@ public abstract class EngineTest {
         assertEquals(0, e.getPendingReminders().size());
     }
 
+    @Test
+    public void testProcessPendingReminders() throws IOException {
+        final CurrencyNode node = e.getDefaultCurrency();
+
+        final Account bank = new Account(AccountType.BANK, node);
+        bank.setName("Bank");
+        assertTrue(e.addAccount(e.getRootAccount(), bank));
+
+        final Account expense = new Account(AccountType.EXPENSE, node);
+        expense.setName("Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), expense));
+
+        final Reminder daily = new DailyReminder();
+        daily.setDescription("Daily");
+        daily.setAccount(bank);
+        daily.setStartDate(LocalDate.now().minusDays(4));
+        daily.setTransaction(TransactionFactory.generateDoubleEntryTransaction(expense, bank, BigDecimal.ONE,
+                LocalDate.now(), "memo", "payee", ""));
+
+        final Reminder overdue = new DailyReminder();
+        overdue.setDescription("Overdue");
+        overdue.setStartDate(LocalDate.now().minusDays(2));
+
+        final Reminder future = new DailyReminder();
+        future.setDescription("Future");
+        future.setStartDate(LocalDate.now().plusDays(10));
+
+        assertTrue(e.addReminder(daily));
+        assertTrue(e.addReminder(overdue));
+        assertTrue(e.addReminder(future));
+
+        assertEquals(8, e.getPendingReminders().size());
+
+        // a removed reminder is no longer scheduled
+        assertTrue(e.removeReminder(overdue));
+
+        // the daily reminder has fallen behind by five days
+        final List<PendingReminder> pending = e.getPendingReminders();
+        assertEquals(5, pending.size());
+
+        pending.forEach(pendingReminder -> pendingReminder.setApproved(true));
+        e.processPendingReminders(pending);
+
+        assertEquals(5, bank.getTransactionCount());
+        assertEquals(5, expense.getTransactionCount());
+        assertEquals(LocalDate.now(), daily.getLastDate());
+        assertEquals(0, e.getPendingReminders().size());
+    }
+
+    @Test
+    public void testSetTransactionsReconciled() throws IOException {
+        final CurrencyNode node = e.getDefaultCurrency();
+
+        Account bank = new Account(AccountType.BANK, node);
+        bank.setName("Bank");
+        assertTrue(e.addAccount(e.getRootAccount(), bank));
+
+        final Account expense = new Account(AccountType.EXPENSE, node);
+        expense.setName("Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), expense));
+
+        final List<Transaction> transactions = new ArrayList<>();
+
+        for (int i = 1; i <= 3; i++) {
+            final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(bank, expense,
+                    BigDecimal.valueOf(i), LocalDate.now(), "memo", "payee", "");
+            assertTrue(e.addTransaction(transaction));
+            transactions.add(transaction);
+        }
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(bank.getReconciledBalance()));
+
+        final Map<Transaction, ReconciledState> states = new HashMap<>();
+        states.put(transactions.get(0), ReconciledState.RECONCILED);
+        states.put(transactions.get(1), ReconciledState.RECONCILED);
+        states.put(transactions.get(2), ReconciledState.CLEARED);
+
+        assertTrue(e.setTransactionsReconciled(bank, states));
+
+        // changed in place
+        assertEquals(3, bank.getTransactionCount());
+        assertTrue(bank.contains(transactions.get(0)));
+        assertEquals(ReconciledState.CLEARED, transactions.get(2).getReconciled(bank));
+        assertEquals(0, new BigDecimal(3).compareTo(bank.getReconciledBalance()));
+
+        e.setTransactionReconciled(transactions.get(0), bank, ReconciledState.NOT_RECONCILED);
+        assertEquals(0, new BigDecimal(2).compareTo(bank.getReconciledBalance()));
+
+        // close and reopen to force check for persistence
+        closeEngine();
+
+        e = EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+
+        bank = e.getAccountByUuid(bank.getUuid());
+
+        assertNotNull(bank);
+        assertEquals(0, new BigDecimal(2).compareTo(bank.getReconciledBalance()));
+    }
+
+    @Test
+    public void testReconcileIndex() {
+        final CurrencyNode node = e.getDefaultCurrency();
+        final LocalDate today = LocalDate.now();
+
+        final Account bank = new Account(AccountType.BANK, node);
+        bank.setName("Bank");
+        assertTrue(e.addAccount(e.getRootAccount(), bank));
+
+        final Account expense = new Account(AccountType.EXPENSE, node);
+        expense.setName("Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), expense));
+
+        final List<Transaction> transactions = new ArrayList<>();
+
+        for (int i = 1; i <= 4; i++) {
+            final Transaction transaction = TransactionFactory.generateDoubleEntryTransaction(bank, expense,
+                    BigDecimal.valueOf(i), today.minusDays(4 - i), "memo", "payee", "");
+            assertTrue(e.addTransaction(transaction));
+            transactions.add(transaction);
+        }
+
+        assertEquals(today.minusDays(3), bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, BigDecimal.ZERO.compareTo(bank.getOpeningBalanceForReconcile()));
+
+        // reconcile out of order
+        e.setTransactionReconciled(transactions.get(0), bank, ReconciledState.RECONCILED);
+        e.setTransactionReconciled(transactions.get(2), bank, ReconciledState.RECONCILED);
+
+        assertEquals(today.minusDays(2), bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, BigDecimal.ONE.compareTo(bank.getOpeningBalanceForReconcile()));
+        assertEquals(0, new BigDecimal(4).compareTo(bank.getReconciledBalance()));
+
+        e.setTransactionReconciled(transactions.get(1), bank, ReconciledState.RECONCILED);
+
+        assertEquals(today, bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, new BigDecimal(6).compareTo(bank.getOpeningBalanceForReconcile()));
+
+        // an older unreconciled transaction moves the reconcile start back
+        final Transaction older = TransactionFactory.generateDoubleEntryTransaction(bank, expense,
+                BigDecimal.TEN, today.minusDays(10), "memo", "payee", "");
+        assertTrue(e.addTransaction(older));
+
+        assertEquals(today.minusDays(10), bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, BigDecimal.ZERO.compareTo(bank.getOpeningBalanceForReconcile()));
+
+        assertTrue(e.removeTransaction(older));
+
+        assertEquals(today, bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, new BigDecimal(6).compareTo(bank.getOpeningBalanceForReconcile()));
+
+        // all reconciled, the last transaction date is used
+        e.setTransactionReconciled(transactions.get(3), bank, ReconciledState.RECONCILED);
+
+        assertEquals(today, bank.getFirstUnreconciledTransactionDate());
+        assertEquals(0, new BigDecimal(6).compareTo(bank.getOpeningBalanceForReconcile()));
+        assertEquals(0, BigDecimal.TEN.compareTo(bank.getReconciledBalance()));
+    }
+
     @Test
     public void testGetStoredObjectByUuid() throws IOException {
 
@@ -264,6 +432,116 @@ public abstract class EngineTest {
     }
 
 
+    @Test
+    public void testBulkSecurityHistory() throws IOException {
+        final int COUNT = 100;
+
+        final String SECURITY_SYMBOL = "BULK";
+
+        SecurityNode securityNode = new SecurityNode(e.getDefaultCurrency());
+        securityNode.setSymbol(SECURITY_SYMBOL);
+        securityNode.setScale((byte) 2);
+
+        assertTrue(e.addSecurity(securityNode));
+
+        final LocalDate today = LocalDate.now();
+
+        final List<SecurityHistoryNode> historyNodes = new ArrayList<>();
+
+        for (int i = 0; i < COUNT; i++) {
+            historyNodes.add(new SecurityHistoryNode(today.minusDays(i), BigDecimal.TEN, 100, BigDecimal.TEN,
+                    BigDecimal.TEN));
+        }
+
+        assertTrue(e.addSecurityHistory(securityNode, historyNodes));
+
+        // replace the history for the first two dates, only the last node for a duplicated date is kept
+        final List<SecurityHistoryNode> replacements = new ArrayList<>();
+
+        replacements.add(new SecurityHistoryNode(today, BigDecimal.TEN, 100, BigDecimal.TEN, BigDecimal.TEN));
+
+        for (int i = 0; i < 2; i++) {
+            replacements.add(new SecurityHistoryNode(today.minusDays(i), BigDecimal.ONE, 100, BigDecimal.ONE,
+                    BigDecimal.ONE));
+        }
+
+        assertTrue(e.addSecurityHistory(securityNode, replacements));
+
+        assertEquals(COUNT, securityNode.getHistoryNodes().size());
+        assertEquals(today.minusDays(COUNT - 1), securityNode.getHistoryNodes().get(0).getLocalDate());
+        assertEquals(today, securityNode.getHistoryNodes().get(COUNT - 1).getLocalDate());
+        assertEquals(0, BigDecimal.ONE.compareTo(securityNode.getMarketPrice(today, e.getDefaultCurrency())));
+
+        // close and reopen to force check for persistence
+        closeEngine();
+
+        e = EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+
+        securityNode = e.getSecurity(SECURITY_SYMBOL);
+
+        assertNotNull(securityNode);
+        assertEquals(COUNT, securityNode.getHistoryNodes().size());
+        assertEquals(0, BigDecimal.ONE.compareTo(securityNode.getMarketPrice(today, e.getDefaultCurrency())));
+    }
+
+    @Test
+    public void testConcurrentScopedChanges() throws Exception {
+        final int COUNT = 25;
+
+        final CurrencyNode node = e.getDefaultCurrency();
+
+        final Account expense = new Account(AccountType.EXPENSE, node);
+        expense.setName("Expense");
+        assertTrue(e.addAccount(e.getRootAccount(), expense));
+
+        final Account[] banks = new Account[2];
+
+        for (int i = 0; i < banks.length; i++) {
+            banks[i] = new Account(AccountType.BANK, node);
+            banks[i].setName("Bank " + i);
+            assertTrue(e.addAccount(e.getRootAccount(), banks[i]));
+        }
+
+        final SecurityNode securityNode = new SecurityNode(node);
+        securityNode.setSymbol("SCOPE");
+        securityNode.setScale((byte) 2);
+        assertTrue(e.addSecurity(securityNode));
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(3);
+
+        final List<Future<?>> futures = new ArrayList<>();
+
+        for (final Account bank : banks) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < COUNT; i++) {
+                    assertTrue(e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(expense, bank,
+                            BigDecimal.ONE, LocalDate.now(), "memo", "payee", "")));
+                }
+            }));
+        }
+
+        futures.add(executorService.submit(() -> {
+            for (int i = 0; i < COUNT; i++) {
+                assertTrue(e.addSecurityHistory(securityNode, new SecurityHistoryNode(LocalDate.now().minusDays(i),
+                        BigDecimal.TEN, 100, BigDecimal.TEN, BigDecimal.TEN)));
+            }
+        }));
+
+        for (final Future<?> future : futures) {
+            future.get();   // propagates assertion failures
+        }
+
+        executorService.shutdown();
+
+        for (final Account bank : banks) {
+            assertEquals(COUNT, bank.getTransactionCount());
+            assertEquals(0, new BigDecimal(-COUNT).compareTo(bank.getBalance()));
+        }
+
+        assertEquals(COUNT * banks.length, expense.getTransactionCount());
+        assertEquals(COUNT, securityNode.getHistoryNodes().size());
+    }
+
     @Ignore
     @Test
     public void testGetInvestmentAccountListSecurityNode() {
@@ -810,6 +1088,60 @@ public abstract class EngineTest {
         assertEquals(1, e.getTransactionsWithAttachments().size());
     }
 
+    @Test
+    public void testDataChangedWithoutMessage() throws IOException {
+        final Account account = new Account(AccountType.LIABILITY, e.getDefaultCurrency());
+        account.setName("Loan Account");
+        assertTrue(e.addAccount(e.getRootAccount(), account));
+
+        closeEngine();
+        e = EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD);
+
+        assertFalse(e.isDataChanged());
+
+        // the amortize object is stored without posting a message
+        assertTrue(e.setAmortizeObject(e.getAccountByUuid(account.getUuid()), new AmortizeObject()));
+        assertTrue(e.isDataChanged());
+    }
+
+    @Test
+    public void testCompressedXMLBackup() throws IOException {
+
+        // nothing has changed since the engine was booted
+        assertFalse(e.isDataChanged());
+
+        final Account account = new Account(AccountType.BANK, e.getDefaultCurrency());
+        account.setName("Backup Account");
+        assertTrue(e.addAccount(e.getRootAccount(), account));
+
+        assertTrue(e.isDataChanged());
+
+        EngineFactory.exportCompressedXML(testFile, e.getStoredObjects());
+
+        final List<Path> backups = EngineFactory.getCompressedXMLFiles(testFile);
+        assertEquals(1, backups.size());
+
+        try (final ZipInputStream in = new ZipInputStream(Files.newInputStream(backups.get(0)))) {
+            final ZipEntry entry = in.getNextEntry();
+            assertTrue(entry.getName().endsWith(".xml"));
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+
+            for (int length = in.read(buffer); length > 0; length = in.read(buffer)) {
+                out.write(buffer, 0, length);
+            }
+
+            final String xml = new String(out.toByteArray(), StandardCharsets.UTF_8);
+
+            assertTrue(xml.startsWith("<?xml"));
+            assertTrue(xml.contains("Backup Account"));
+            assertNull(in.getNextEntry());
+        } finally {
+            Files.delete(backups.get(0));
+        }
+    }
+
     @Test
     public void testGetUuid() {
         assertTrue(e.getUuid() != null);
@@ -544,4 +544,37 @@ public class InvestmentTransactionTest extends AbstractEngineTest {
 
         assertArrayEquals("Account balances are not as expected!", expected, actual);
     }
+
+    @Test
+    public void MarketValueAfterAddAndRemove() {
+        e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(usdBankAccount, equityAccount,
+                new BigDecimal("500.00"), LocalDate.of(2009, Month.DECEMBER, 25), "Equity transaction", "", ""));
+
+        SecurityHistoryNode history = new SecurityHistoryNode();
+        history.setDate(LocalDate.of(2009, Month.DECEMBER, 26));
+        history.setPrice(new BigDecimal("2.00"));
+
+        assertTrue(e.addSecurityHistory(securityNode1, history));
+
+        final InvestmentTransaction buy = generateBuyXTransaction(usdBankAccount, investAccount, securityNode1,
+                new BigDecimal("2.00"), new BigDecimal("100"), BigDecimal.ONE, LocalDate.of(2009, Month.DECEMBER, 26),
+                "Buy shares", new ArrayList<>());
+        assertTrue(e.addTransaction(buy));
+
+        // market value is calculated once so the positions are built before further changes
+        assertEquals(new BigDecimal("200.00"), investAccount.getMarketValue());
+
+        final InvestmentTransaction earlierBuy = generateBuyXTransaction(usdBankAccount, investAccount, securityNode1,
+                new BigDecimal("2.00"), new BigDecimal("25"), BigDecimal.ONE, LocalDate.of(2009, Month.DECEMBER, 20),
+                "Buy shares", new ArrayList<>());
+        assertTrue(e.addTransaction(earlierBuy));
+
+        assertEquals(new BigDecimal("250.00"), investAccount.getMarketValue());
+        assertEquals(new BigDecimal("50.00"), investAccount.getBalance(LocalDate.of(2009, Month.DECEMBER, 20),
+                LocalDate.of(2009, Month.DECEMBER, 25)));
+
+        assertTrue(e.removeTransaction(buy));
+
+        assertEquals(new BigDecimal("50.00"), investAccount.getMarketValue());
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.attachment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.stream.ChunkedWriteHandler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests file transfers between two transfer handlers, including progress and the resume of interrupted transfers.
+ *
+ * @author Craig Cavanaugh
+ */
+public class NettyTransferHandlerTest {
+
+    private static final String FILE_NAME = "attachment.bin";
+
+    private static final int FILE_LENGTH = NettyTransferHandler.TRANSFER_BUFFER_SIZE * 6 + 100;
+
+    private Path serverPath;
+
+    private Path clientPath;
+
+    private byte[] content;
+
+    private NettyTransferHandler clientHandler;
+
+    private EmbeddedChannel serverChannel;
+
+    private EmbeddedChannel clientChannel;
+
+    @Before
+    public void setUp() throws IOException {
+        serverPath = Files.createTempDirectory("jgnash-server");
+        clientPath = Files.createTempDirectory("jgnash-client");
+
+        content = new byte[FILE_LENGTH];
+        new Random(1).nextBytes(content);
+
+        Files.write(serverPath.resolve(FILE_NAME), content);
+
+        clientHandler = new NettyTransferHandler(clientPath, null);
+
+        serverChannel = new EmbeddedChannel(new ChunkedWriteHandler(), new NettyTransferHandler(serverPath, null));
+        clientChannel = new EmbeddedChannel(new ChunkedWriteHandler(), clientHandler);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        serverChannel.finishAndReleaseAll();
+        clientChannel.finishAndReleaseAll();
+
+        for (final Path directory : new Path[]{serverPath, clientPath}) {
+            try (final Stream<Path> stream = Files.list(directory)) {
+                for (final Path path : (Iterable<Path>) stream::iterator) {
+                    Files.delete(path);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public void transferReportsProgress() throws Exception {
+        final TransferFuture transfer = clientHandler.requestFile(clientChannel, Paths.get(FILE_NAME));
+
+        assertEquals(0, transfer.getProgress(), 0);
+
+        deliver(clientChannel, serverChannel, Integer.MAX_VALUE);
+
+        deliver(serverChannel, clientChannel, 3);    // file start and two chunks
+
+        assertEquals(FILE_LENGTH, transfer.getSize());
+        assertEquals(NettyTransferHandler.TRANSFER_BUFFER_SIZE * 2, transfer.getBytesTransferred());
+        assertTrue(transfer.getProgress() > 0 && transfer.getProgress() < 1);
+        assertTrue(Files.exists(getPartPath()));
+        assertFalse(transfer.isDone());
+
+        deliver(serverChannel, clientChannel, Integer.MAX_VALUE);
+
+        assertEquals(clientPath.resolve(FILE_NAME), transfer.get());
+        assertEquals(1, transfer.getProgress(), 0);
+        assertArrayEquals(content, Files.readAllBytes(transfer.get()));
+        assertFalse(Files.exists(getPartPath()));
+    }
+
+    @Test
+    public void partialFileIsResumed() throws Exception {
+        final int offset = NettyTransferHandler.TRANSFER_BUFFER_SIZE + 10;
+
+        Files.write(getPartPath(), Arrays.copyOf(content, offset));
+
+        final TransferFuture transfer = clientHandler.requestFile(clientChannel, Paths.get(FILE_NAME));
+
+        final String request = clientChannel.readOutbound();
+        assertTrue(request.startsWith(NettyTransferHandler.FILE_RESUME + offset + ':'));
+        serverChannel.writeInbound(strip(request));
+
+        deliver(serverChannel, clientChannel, 1);    // file start
+
+        assertEquals(offset, transfer.getBytesTransferred());
+
+        deliver(serverChannel, clientChannel, Integer.MAX_VALUE);
+
+        assertEquals(FILE_LENGTH, transfer.getBytesTransferred());
+        assertArrayEquals(content, Files.readAllBytes(transfer.get()));
+        assertFalse(Files.exists(getPartPath()));
+    }
+
+    @Test
+    public void abandonedTransferIsResumed() throws Exception {
+        final TransferFuture abandoned = clientHandler.requestFile(clientChannel, Paths.get(FILE_NAME));
+
+        deliver(clientChannel, serverChannel, Integer.MAX_VALUE);
+        deliver(serverChannel, clientChannel, 3);    // file start and two chunks
+
+        clientHandler.abandonTransfer(FILE_NAME, abandoned);
+
+        assertNull(abandoned.get());
+
+        final long partLength = Files.size(getPartPath());
+        assertEquals(NettyTransferHandler.TRANSFER_BUFFER_SIZE * 2, partLength);
+
+        final TransferFuture transfer = clientHandler.requestFile(clientChannel, Paths.get(FILE_NAME));
+
+        final String request = clientChannel.readOutbound();
+        assertTrue(request.startsWith(NettyTransferHandler.FILE_RESUME + partLength + ':'));
+
+        // the remainder of the abandoned response must not be written into the partial file
+        deliver(serverChannel, clientChannel, Integer.MAX_VALUE);
+
+        assertEquals(partLength, Files.size(getPartPath()));
+        assertFalse(transfer.isDone());
+
+        serverChannel.writeInbound(strip(request));
+        deliver(serverChannel, clientChannel, Integer.MAX_VALUE);
+
+        assertArrayEquals(content, Files.readAllBytes(transfer.get()));
+        assertFalse(Files.exists(getPartPath()));
+    }
+
+    private Path getPartPath() {
+        return clientPath.resolve(FILE_NAME + NettyTransferHandler.PART_EXTENSION);
+    }
+
+    private static String strip(final String message) {
+        return message.substring(0, message.length() - NettyTransferHandler.EOL_DELIMITER.length());
+    }
+
+    /**
+     * Delivers messages written by one side to the other side.
+     *
+     * @param from  channel to read written messages from
+     * @param to    channel to deliver the messages to
+     * @param count maximum number of messages to deliver
+     */
+    private static void deliver(final EmbeddedChannel from, final EmbeddedChannel to, final int count) {
+        from.runPendingTasks();
+
+        for (int i = 0; i < count; i++) {
+            final String message = from.readOutbound();
+
+            if (message == null) {
+                break;
+            }
+
+            to.writeInbound(strip(message));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.jpa;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.Transaction;
+import jgnash.engine.TransactionFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests client engines using optimistic locking.
+ *
+ * @author Craig Cavanaugh
+ */
+public class OptimisticLockingTest {
+
+    private static final int PORT = JpaNetworkServer.DEFAULT_PORT + 200;
+
+    private boolean optimistic;
+
+    private String testFile;
+
+    private Engine engine;
+
+    @Before
+    public void setUp() throws Exception {
+        optimistic = EngineFactory.useOptimisticLocking();
+        EngineFactory.setOptimisticLocking(true);
+
+        final Path temp = Files.createTempFile("jpa-optimistic", JpaHsqlDataStore.FILE_EXT);
+        Files.delete(temp);
+
+        testFile = temp.toString();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (final IOException e) {
+                e.printStackTrace();
+            }
+        }));
+
+        // Start an engine and close so we have a populated file
+        EngineFactory.bootLocalEngine(testFile, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.HSQL_DATABASE);
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+
+        final JpaNetworkServer networkServer = new JpaNetworkServer();
+
+        new Thread(() -> networkServer.startServer(testFile, PORT, EngineFactory.EMPTY_PASSWORD)).start();
+
+        Thread.sleep(4000);
+
+        engine = EngineFactory.bootClientEngine(EngineFactory.LOCALHOST, PORT, EngineFactory.EMPTY_PASSWORD,
+                EngineFactory.DEFAULT);
+
+        assertNotNull(engine);
+    }
+
+    @After
+    public void tearDown() {
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+        EngineFactory.setOptimisticLocking(optimistic);
+    }
+
+    @Test
+    public void conflictingTransactionIsRetried() {
+
+        // account changes still use the distributed lock
+        final Account account = new Account(AccountType.CASH, engine.getDefaultCurrency());
+        account.setName("optimistic");
+        assertTrue(engine.addAccount(engine.getRootAccount(), account));
+
+        final int version = account.getVersion();
+
+        // another client changes the account after it was loaded
+        final EntityManagerFactory factory = Persistence.createEntityManagerFactory(JpaConfiguration.UNIT_NAME,
+                JpaConfiguration.getClientProperties(DataStoreType.HSQL_DATABASE, testFile, EngineFactory.LOCALHOST,
+                        PORT, EngineFactory.EMPTY_PASSWORD));
+
+        final EntityManager em = factory.createEntityManager();
+
+        try {
+            em.getTransaction().begin();
+            em.find(Account.class, account.getUuid()).setNotes("changed by another client");
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+            factory.close();
+        }
+
+        // the first attempt is stale, the account is reloaded and the transaction is added on the retry
+        final Transaction transaction = TransactionFactory.generateSingleEntryTransaction(account, BigDecimal.TEN,
+                LocalDate.now(), "memo", "payee", "");
+
+        assertTrue(engine.addTransaction(transaction));
+
+        assertEquals("changed by another client", account.getNotes());
+        assertEquals(1, account.getTransactionCount());
+        assertEquals(0, BigDecimal.TEN.compareTo(account.getBalance()));
+        assertTrue(account.getVersion() > version + 1);
+
+        // the engine remains usable after the conflict
+        assertTrue(engine.removeTransaction(transaction));
+        assertEquals(0, account.getTransactionCount());
+    }
+}
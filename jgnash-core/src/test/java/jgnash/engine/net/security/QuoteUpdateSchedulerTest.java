@@ -0,0 +1,236 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.engine.net.security;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jgnash.engine.AbstractEngineTest;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.QuoteSource;
+import jgnash.engine.SecurityHistoryNode;
+import jgnash.engine.SecurityNode;
+import jgnash.net.security.QuoteUpdateScheduler;
+import jgnash.net.security.YahooEventParser;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * JUnit test for the security quote scheduler.  A local HTTP server stands in for the quote source.
+ *
+ * @author Craig Cavanaugh
+ */
+public class QuoteUpdateSchedulerTest extends AbstractEngineTest {
+
+    private static final long REQUEST_INTERVAL = 20;
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String RETRY = "RETRY";
+
+    private static final String DOWN = "DOWN";
+
+    /**
+     * Symbols the quote source always refuses, with the refusing status code.
+     */
+    private static final Map<String, Integer> STATUS_CODES = new HashMap<>();
+
+    static {
+        STATUS_CODES.put("UNAUTHORIZED", 401);
+        STATUS_CODES.put("THROTTLED", 429);
+        STATUS_CODES.put("FAILED", 500);
+        STATUS_CODES.put("UNAVAILABLE", 503);
+    }
+
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastRequest = new AtomicLong();
+
+    private HttpServer server;
+
+    @Override
+    protected Engine createEngine() throws IOException {
+        database = testFolder.newFile("quote-test.bxds").getAbsolutePath();
+        EngineFactory.deleteDatabase(database);
+
+        return EngineFactory.bootLocalEngine(database, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.BINARY_XSTREAM);
+    }
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/download", this::handleQuote);
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testScheduledUpdate() throws Exception {
+        final List<SecurityNode> nodes = new ArrayList<>();
+
+        for (final String symbol : new String[]{"AAA", "BBB", "CCC", "DDD", "EEE", RETRY}) {
+            nodes.add(createSecurity(symbol));
+        }
+
+        final QuoteUpdateScheduler scheduler = new QuoteUpdateScheduler(this::fetch, 3, REQUEST_INTERVAL,
+                MAX_ATTEMPTS, 10);
+
+        try {
+            final LocalDate today = LocalDate.now();
+            final long start = System.nanoTime();
+
+            final int updated = scheduler.updateSecurities(e, nodes, today.minusDays(1), today)
+                    .get(1, TimeUnit.MINUTES);
+
+            assertEquals(nodes.size(), updated);
+
+            for (final SecurityNode node : nodes) {
+                assertEquals(2, node.getHistoryNodes().size());
+                assertEquals(0, new BigDecimal("10.75").compareTo(node.getHistoryNodes().get(1).getPrice()));
+            }
+
+            // the first attempt for the retry symbol failed
+            assertEquals(2, requestCounts.get(RETRY).get());
+
+            // seven requests to the same source must be spaced by the request interval
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(lastRequest.get() - start);
+            assertTrue(elapsed >= 6 * REQUEST_INTERVAL);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedUpdate() throws Exception {
+        final List<SecurityNode> nodes = new ArrayList<>();
+
+        nodes.add(createSecurity("AAA"));
+        nodes.add(createSecurity(DOWN));
+
+        final QuoteUpdateScheduler scheduler = new QuoteUpdateScheduler(this::fetch, 2, 0, MAX_ATTEMPTS, 10);
+
+        try {
+            final LocalDate today = LocalDate.now();
+
+            assertEquals(1, scheduler.updateSecurities(e, nodes, today.minusDays(1), today)
+                    .get(1, TimeUnit.MINUTES).intValue());
+
+            assertEquals(MAX_ATTEMPTS, requestCounts.get(DOWN).get());
+            assertTrue(nodes.get(1).getHistoryNodes().isEmpty());
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testRefusedRequests() {
+        final LocalDate today = LocalDate.now();
+
+        for (final Map.Entry<String, Integer> entry : STATUS_CODES.entrySet()) {
+            try {
+                YahooEventParser.fetchHistoricalPrice(createSecurity(entry.getKey()), today.minusDays(1), today,
+                        getDownloadUrl());
+
+                fail("Status code " + entry.getValue() + " must be reported");
+            } catch (final IOException e) {
+                assertEquals(1, requestCounts.get(entry.getKey()).get());
+            }
+        }
+    }
+
+    private SecurityNode createSecurity(final String symbol) {
+        final SecurityNode node = new SecurityNode(e.getDefaultCurrency());
+        node.setSymbol(symbol);
+        node.setScale((byte) 2);
+        node.setQuoteSource(QuoteSource.YAHOO);
+
+        assertTrue(e.addSecurity(node));
+
+        return node;
+    }
+
+    private void handleQuote(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+        final String symbol = path.substring(path.lastIndexOf('/') + 1);
+        final int count = requestCounts.computeIfAbsent(symbol, k -> new AtomicInteger()).incrementAndGet();
+
+        if (STATUS_CODES.containsKey(symbol)) {
+            exchange.sendResponseHeaders(STATUS_CODES.get(symbol), -1);
+            exchange.close();
+            return;
+        }
+
+        if (DOWN.equals(symbol) || (RETRY.equals(symbol) && count == 1)) {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+            return;
+        }
+
+        final LocalDate today = LocalDate.now();
+
+        final byte[] response = ("Date,Open,High,Low,Close,Adj Close,Volume\n"
+                + today.minusDays(1) + ",10.25,10.75,10.00,10.50,10.50,1000\n"
+                + today + ",10.50,11.00,10.25,10.75,10.75,2000\n").getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(200, response.length);
+
+        try (final OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(response);
+        }
+    }
+
+    private List<SecurityHistoryNode> fetch(final SecurityNode node, final LocalDate startDate,
+                                            final LocalDate endDate) throws IOException {
+
+        lastRequest.accumulateAndGet(System.nanoTime(), Math::max);
+
+        return YahooEventParser.fetchHistoricalPrice(node, startDate, endDate, getDownloadUrl());
+    }
+
+    private String getDownloadUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/download/";
+    }
+}
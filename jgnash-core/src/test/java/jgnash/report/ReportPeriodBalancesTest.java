@@ -0,0 +1,126 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.report;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import jgnash.engine.Account;
+import jgnash.engine.AccountType;
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.DataStoreType;
+import jgnash.engine.Engine;
+import jgnash.engine.EngineFactory;
+import jgnash.engine.TransactionFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * JUnit test for {@code ReportPeriodBalances}.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ReportPeriodBalancesTest {
+
+    private String file;
+
+    private Engine e;
+
+    private Account bank;
+
+    private Account expense;
+
+    @Before
+    public void setUp() throws Exception {
+        file = Files.createTempFile("periods-", DataStoreType.XML.getDataStore().getFileExt()).toString();
+
+        EngineFactory.deleteDatabase(file);
+
+        e = EngineFactory.bootLocalEngine(file, EngineFactory.DEFAULT, EngineFactory.EMPTY_PASSWORD,
+                DataStoreType.XML);
+        e.setCreateBackups(false);
+
+        final CurrencyNode node = e.getDefaultCurrency();
+
+        bank = new Account(AccountType.BANK, node);
+        bank.setName("Bank");
+        e.addAccount(e.getRootAccount(), bank);
+
+        expense = new Account(AccountType.EXPENSE, node);
+        expense.setName("Expense");
+        e.addAccount(e.getRootAccount(), expense);
+
+        LocalDate date = LocalDate.of(2017, 12, 15);
+
+        for (int i = 1; i <= 30; i++) {
+            e.addTransaction(TransactionFactory.generateDoubleEntryTransaction(expense, bank, new BigDecimal(i),
+                    date, "memo", "payee", ""));
+            date = date.plusDays(11);
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        EngineFactory.closeEngine(EngineFactory.DEFAULT);
+        Files.deleteIfExists(Paths.get(file));
+    }
+
+    @Test
+    public void testPeriodBalances() {
+        final List<ReportPeriodUtils.Descriptor> descriptors = ReportPeriodUtils.getDescriptors(ReportPeriod.MONTHLY,
+                LocalDate.of(2018, 1, 1), LocalDate.of(2018, 10, 31));
+
+        final List<Account> accounts = Arrays.asList(bank, expense);
+
+        final BigDecimal[][] balances = ReportPeriodBalances.getPeriodBalances(accounts, descriptors,
+                e.getDefaultCurrency());
+
+        for (int i = 0; i < accounts.size(); i++) {
+            for (int j = 0; j < descriptors.size(); j++) {
+                final ReportPeriodUtils.Descriptor descriptor = descriptors.get(j);
+
+                assertEquals(0, accounts.get(i).getBalance(descriptor.getStartDate(), descriptor.getEndDate(),
+                        e.getDefaultCurrency()).compareTo(balances[i][j]));
+            }
+        }
+    }
+
+    @Test
+    public void testBalancesAt() {
+        final LocalDate[] dates = {LocalDate.of(2017, 11, 30), LocalDate.of(2018, 1, 31), LocalDate.of(2018, 2, 28),
+                LocalDate.of(2018, 6, 30), LocalDate.of(2019, 12, 31)};
+
+        final List<Account> accounts = Arrays.asList(bank, expense);
+
+        final BigDecimal[][] balances = ReportPeriodBalances.getBalancesAt(accounts, dates, null);
+
+        for (int i = 0; i < accounts.size(); i++) {
+            for (int j = 0; j < dates.length; j++) {
+                assertEquals(0, accounts.get(i).getBalance(dates[j]).compareTo(balances[i][j]));
+            }
+        }
+    }
+}
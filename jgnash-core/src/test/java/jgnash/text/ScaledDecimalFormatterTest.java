@@ -0,0 +1,88 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.text;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+import jgnash.engine.CurrencyNode;
+import jgnash.engine.DefaultCurrencies;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit test for {@code ScaledDecimalFormatter}.
+ *
+ * @author Craig Cavanaugh
+ */
+public class ScaledDecimalFormatterTest {
+
+    private static final String[] VALUES = {"0", "1", "-1", "0.005", "-0.004", "1234.5", "-1234.567",
+            "1234567.891", "999.995", "-1000000000", "123456789012345678.12", "12345678901234567890123.456"};
+
+    private static final Locale[] LOCALES = {Locale.US, Locale.GERMANY, Locale.FRANCE, Locale.JAPAN,
+            new Locale("de", "CH"), new Locale("ar", "EG"), new Locale("nl", "NL")};
+
+    @Test
+    public void testMatchesDecimalFormat() {
+        for (final Locale locale : LOCALES) {
+            for (int scale = 0; scale <= 4; scale += 2) {
+                final DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+                format.setMaximumFractionDigits(scale);
+                format.setMinimumFractionDigits(scale);
+
+                final ScaledDecimalFormatter formatter = ScaledDecimalFormatter.of(format);
+
+                for (final String value : VALUES) {
+                    assertEquals(locale + " " + value, format.format(new BigDecimal(value)),
+                            formatter.format(new BigDecimal(value)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCommodityFormat() {
+        final CurrencyNode node = DefaultCurrencies.buildNode(Locale.US);
+        node.setSuffix(" USD");
+
+        for (final String value : VALUES) {
+            final BigDecimal amount = new BigDecimal(value);
+
+            assertEquals(CommodityFormat.getFullNumberFormat(node).format(amount),
+                    CommodityFormat.getFullFormatter(node).format(amount));
+
+            assertEquals(CommodityFormat.getShortNumberFormat(node).format(amount),
+                    CommodityFormat.getShortFormatter(node).format(amount));
+        }
+    }
+
+    @Test
+    public void testAppend() {
+        final DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(Locale.US);
+        final StringBuilder buffer = new StringBuilder("Total: ");
+
+        ScaledDecimalFormatter.of(format).format(new BigDecimal("1234.5"), buffer);
+
+        assertEquals("Total: " + format.format(new BigDecimal("1234.5")), buffer.toString());
+    }
+}
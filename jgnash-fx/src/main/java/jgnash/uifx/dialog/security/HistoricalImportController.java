@@ -18,9 +18,7 @@
 package jgnash.uifx.dialog.security;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -50,7 +48,6 @@ import jgnash.engine.QuoteSource;
 import jgnash.engine.SecurityHistoryNode;
 import jgnash.engine.SecurityNode;
 import jgnash.net.security.UpdateFactory;
-import jgnash.time.DateUtils;
 import jgnash.uifx.control.CheckListView;
 import jgnash.uifx.control.DatePickerEx;
 import jgnash.uifx.util.InjectFXML;
@@ -148,8 +145,6 @@ public class HistoricalImportController {
     private void handleStartAction() {
         disableUI.set(true);
 
-        final DateTimeFormatter dateTimeFormatter = DateUtils.getShortDateFormatter();
-
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
 
@@ -175,8 +170,6 @@ public class HistoricalImportController {
                     final List<SecurityHistoryNode> historyNodes =
                             UpdateFactory.downloadHistory(securityNode, startDate, endDate);
 
-                    Collections.reverse(historyNodes);  // reverse the sort order
-
                     historyCount += historyNodes.size();
 
                     historyMap.put(securityNode, historyNodes);
@@ -187,15 +180,12 @@ public class HistoricalImportController {
 
                 for (final Map.Entry<SecurityNode, List<SecurityHistoryNode>> entry : historyMap.entrySet()) {
                     if (!requestCancel) {
-                        for (final SecurityHistoryNode historyNode : entry.getValue()) {
-                            if (!requestCancel) {
-                                engine.addSecurityHistory(entry.getKey(), historyNode);
-                                updateProgress(++processedHistory, historyCount);
-
-                                updateMessage(ResourceUtils.getString("Message.UpdatedPriceDate", entry.getKey().getSymbol(),
-                                        dateTimeFormatter.format(historyNode.getLocalDate())));
-                            }
-                        }
+                        engine.addSecurityHistory(entry.getKey(), entry.getValue());
+
+                        processedHistory += entry.getValue().size();
+                        updateProgress(processedHistory, historyCount);
+
+                        updateMessage(ResourceUtils.getString("Message.UpdatedPrice", entry.getKey().getSymbol()));
                     }
                 }
 
@@ -20,18 +20,20 @@ package jgnash.uifx.report;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.NoSuchElementException;
 import java.util.ResourceBundle;
 import java.util.function.Predicate;
 import java.util.prefs.Preferences;
-import java.util.stream.Collectors;
 
 import javafx.beans.value.ChangeListener;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
 import javafx.fxml.FXML;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.TextField;
@@ -196,9 +198,17 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         private final Account account;
 
-        private final ObservableList<Row<Transaction>> transactionRows = FXCollections.observableArrayList();
+        /**
+         * Copy of the account transactions taken when the report is created, rows are generated on the report thread.
+         */
+        private final List<Transaction> transactions;
 
-        private final FilteredList<Row<Transaction>> filteredList = new FilteredList<>(transactionRows);
+        private final Predicate<Row<Transaction>> predicate;
+
+        /**
+         * Rows for random access, only loaded if requested.
+         */
+        private List<Row<Transaction>> rows;
 
         private String[] columnNames = RegisterFactory.getColumnNames(AccountType.BANK);
 
@@ -213,14 +223,15 @@ public class AccountRegisterReportController extends DynamicJasperReport {
                            final boolean showTimestamp) {
             this.account = account;
             this.showSplits = showSplits;
+            this.transactions = account != null ? account.getSortedTransactionSnapshot() : Collections.emptyList();
 
             sumAmounts = (memoFilter != null && !memoFilter.isEmpty())
                     || (payeeFilter != null && !payeeFilter.isEmpty());
 
-            filteredList.setPredicate(new TransactionAfterDatePredicate(startDate)
+            predicate = new TransactionAfterDatePredicate(startDate)
                     .and(new TransactionBeforeDatePredicate(endDate))
                     .and(new MemoPredicate(memoFilter))
-                    .and(new PayeePredicate(payeeFilter)));
+                    .and(new PayeePredicate(payeeFilter));
 
             this.showTimestamp = showTimestamp;
 
@@ -260,20 +271,74 @@ public class AccountRegisterReportController extends DynamicJasperReport {
                 } else {
                     columnNames = RegisterFactory.getColumnNames(account.getAccountType());
                 }
+            }
+        }
+
+        /**
+         * Generates the rows from the account transactions as they are consumed.  The running balance is
+         * accumulated instead of being summed again for each row.
+         *
+         * @return row iterator
+         */
+        @Override
+        public Iterator<Row<Transaction>> rowIterator() {
+            if (account == null) {
+                return Collections.emptyIterator();
+            }
+
+            final Iterator<Transaction> iterator = transactions.iterator();
+
+            return new Iterator<Row<Transaction>>() {
+                private final Deque<Row<Transaction>> pending = new ArrayDeque<>();
+
+                private BigDecimal balance = BigDecimal.ZERO;
 
-                for (final Transaction transaction : account.getSortedTransactionList()) {
-                    if (showSplits && transaction.getTransactionType() == TransactionType.SPLITENTRY
-                            && transaction.getCommonAccount() == account) {
-                        transactionRows.add(new TransactionRow(transaction, -1));
-                        List<TransactionEntry> transactionEntries = transaction.getTransactionEntries();
-                        for (int i = 0; i < transactionEntries.size(); i++) {
-                            transactionRows.add(new TransactionRow(transaction, i));
+                @Override
+                public boolean hasNext() {
+                    while (pending.isEmpty() && iterator.hasNext()) {
+                        final Transaction transaction = iterator.next();
+
+                        balance = balance.add(transaction.getAmount(account));
+
+                        addRow(new TransactionRow(transaction, -1, balance));
+
+                        if (showSplits && transaction.getTransactionType() == TransactionType.SPLITENTRY
+                                && transaction.getCommonAccount() == account) {
+                            final List<TransactionEntry> transactionEntries = transaction.getTransactionEntries();
+
+                            for (int i = 0; i < transactionEntries.size(); i++) {
+                                addRow(new TransactionRow(transaction, i, null));
+                            }
                         }
-                    } else {
-                        transactionRows.add(new TransactionRow(transaction, -1));
                     }
+
+                    return !pending.isEmpty();
                 }
+
+                @Override
+                public Row<Transaction> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return pending.poll();
+                }
+
+                private void addRow(final Row<Transaction> row) {
+                    if (predicate.test(row)) {
+                        pending.add(row);
+                    }
+                }
+            };
+        }
+
+        private List<Row<Transaction>> getRows() {
+            if (rows == null) {
+                rows = new ArrayList<>();
+                rowIterator().forEachRemaining(rows::add);
             }
+
+            return rows;
         }
 
         @Override
@@ -309,7 +374,7 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         @Override
         public int getRowCount() {
-            return filteredList.size();
+            return getRows().size();
         }
 
         @Override
@@ -353,17 +418,20 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         @Override
         public Object getValueAt(final int rowIndex, final int columnIndex) {
-            return filteredList.get(rowIndex).getValueAt(columnIndex);
+            return getRows().get(rowIndex).getValueAt(columnIndex);
         }
 
         private class TransactionRow extends Row<Transaction> {
             private final BigDecimal amount;
             private final int signum;
             private final TransactionEntry transactionEntry;
+            private final BigDecimal balance;
 
-            TransactionRow(final Transaction transaction, final int entry) {
+            TransactionRow(final Transaction transaction, final int entry, final BigDecimal balance) {
                 super(transaction);
 
+                this.balance = balance;
+
                 if (entry >= 0) {
                     transactionEntry = transaction.getTransactionEntries().get(entry);
                     amount = transactionEntry.getAmount(account);
@@ -423,7 +491,7 @@ public class AccountRegisterReportController extends DynamicJasperReport {
                             }
                             return null;
                         case 9:
-                            return account.getBalanceAt(transaction);
+                            return balance;
                         default:
                             return null;
                     }
@@ -463,9 +531,17 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         private final Account account;
 
-        private final ObservableList<Row<Transaction>> transactionRows = FXCollections.observableArrayList();
+        /**
+         * Copy of the account transactions taken when the report is created, rows are generated on the report thread.
+         */
+        private final List<Transaction> transactions;
+
+        private final Predicate<Row<Transaction>> predicate;
 
-        private final FilteredList<Row<Transaction>> filteredList = new FilteredList<>(transactionRows);
+        /**
+         * Rows for random access, only loaded if requested.
+         */
+        private List<Row<Transaction>> rows;
 
         private String[] columnNames = RegisterFactory.getColumnNames(AccountType.INVEST);
 
@@ -478,10 +554,11 @@ public class AccountRegisterReportController extends DynamicJasperReport {
         InvestmentAccountReportModel(@Nullable final Account account, final LocalDate startDate,
                                      final LocalDate endDate, final String memoFilter, final boolean showTimestamp) {
             this.account = account;
+            this.transactions = account != null ? account.getSortedTransactionSnapshot() : Collections.emptyList();
 
-            filteredList.setPredicate(new TransactionAfterDatePredicate(startDate)
+            predicate = new TransactionAfterDatePredicate(startDate)
                     .and(new TransactionBeforeDatePredicate(endDate))
-                    .and(new MemoPredicate(memoFilter)));
+                    .and(new MemoPredicate(memoFilter));
 
             this.showTimestamp = showTimestamp;
 
@@ -516,10 +593,26 @@ public class AccountRegisterReportController extends DynamicJasperReport {
         private void loadAccount() {
             if (account != null) {
                 columnNames = RegisterFactory.getColumnNames(account.getAccountType());
+            }
+        }
+
+        @Override
+        public Iterator<Row<Transaction>> rowIterator() {
+            if (account == null) {
+                return Collections.emptyIterator();
+            }
+
+            return transactions.stream()
+                    .<Row<Transaction>>map(TransactionRow::new).filter(predicate).iterator();
+        }
 
-                transactionRows.addAll(account.getSortedTransactionList().stream()
-                        .map(TransactionRow::new).collect(Collectors.toList()));
+        private List<Row<Transaction>> getRows() {
+            if (rows == null) {
+                rows = new ArrayList<>();
+                rowIterator().forEachRemaining(rows::add);
             }
+
+            return rows;
         }
 
         @Override
@@ -543,7 +636,7 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         @Override
         public int getRowCount() {
-            return filteredList.size();
+            return getRows().size();
         }
 
         @Override
@@ -575,7 +668,7 @@ public class AccountRegisterReportController extends DynamicJasperReport {
 
         @Override
         public Object getValueAt(final int rowIndex, final int columnIndex) {
-            return filteredList.get(rowIndex).getValueAt(columnIndex);
+            return getRows().get(rowIndex).getValueAt(columnIndex);
         }
 
         private class TransactionRow extends Row<Transaction> {
@@ -44,6 +44,7 @@ import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
 import jgnash.report.ReportPeriod;
+import jgnash.report.ReportPeriodBalances;
 import jgnash.report.ReportPeriodUtils;
 import jgnash.resource.cursor.CustomCursor;
 import jgnash.text.CommodityFormat;
@@ -165,9 +166,13 @@ public class IncomeExpenseBarChartDialogController {
         profitSeries.setName(resources.getString("Word.NetIncome"));
         barChart.getData().add(profitSeries);
 
-        for (final ReportPeriodUtils.Descriptor descriptor : descriptors) {
-            final BigDecimal income = getSum(incomeAccounts, descriptor.getStartDate(), descriptor.getEndDate());
-            final BigDecimal expense = getSum(expenseAccounts, descriptor.getStartDate(), descriptor.getEndDate());
+        final BigDecimal[] incomeSums = getSums(incomeAccounts, descriptors);
+        final BigDecimal[] expenseSums = getSums(expenseAccounts, descriptors);
+
+        for (int i = 0; i < descriptors.size(); i++) {
+            final ReportPeriodUtils.Descriptor descriptor = descriptors.get(i);
+            final BigDecimal income = incomeSums[i];
+            final BigDecimal expense = expenseSums[i];
 
             incomeSeries.getData().add(new XYChart.Data<>(descriptor.getLabel(), income));
             expenseSeries.getData().add(new XYChart.Data<>(descriptor.getLabel(), expense));
@@ -214,14 +219,21 @@ public class IncomeExpenseBarChartDialogController {
         data.getNode().setOnMouseEntered(event -> data.getNode().setCursor(CustomCursor.getZoomInCursor()) );
     }
 
-    private BigDecimal getSum(final List<Account> accounts, final LocalDate statDate, final LocalDate endDate) {
-        BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal[] getSums(final List<Account> accounts, final List<ReportPeriodUtils.Descriptor> descriptors) {
+        final BigDecimal[][] balances = ReportPeriodBalances.getPeriodBalances(accounts, descriptors, defaultCurrency);
+        final BigDecimal[] sums = new BigDecimal[descriptors.size()];
+
+        for (int i = 0; i < sums.length; i++) {
+            BigDecimal sum = BigDecimal.ZERO;
+
+            for (final BigDecimal[] balance : balances) {
+                sum = sum.add(balance[i]);
+            }
 
-        for (final Account account : accounts) {
-            sum = sum.add(account.getBalance(statDate, endDate, defaultCurrency));
+            sums[i] = sum.negate();
         }
 
-        return sum.negate();
+        return sums;
     }
 
     @FXML
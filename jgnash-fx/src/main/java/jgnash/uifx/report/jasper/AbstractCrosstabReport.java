@@ -27,6 +27,7 @@ import jgnash.engine.Comparators;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.report.ReportPeriodBalances;
 import jgnash.time.DateUtils;
 import jgnash.ui.report.jasper.AbstractReportTableModel;
 import jgnash.ui.report.jasper.ColumnHeaderStyle;
@@ -39,6 +40,7 @@ import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -96,6 +98,11 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
 
     private final Map<Account, Double> percentileMap = new HashMap<>();
 
+    /**
+     * Account balances for each report period.
+     */
+    private final Map<Account, BigDecimal[]> balanceMap = new HashMap<>();
+
     /*
      * Report Data
      */
@@ -222,9 +229,24 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
         final String sortOrder = sortOrderComboBox.getValue();
         final boolean needPercentiles = SORT_ORDER_BALANCE_DESC_WITH_PERCENTILE.equals(sortOrder);
 
+        updateResolution();
+
+        final LocalDate[] periodStartDates = startDates.toArray(new LocalDate[0]);
+        final LocalDate[] periodEndDates = endDates.toArray(new LocalDate[0]);
+
+        balanceMap.clear();
+
         for (final AccountGroup group : getAccountGroups()) {
             List<Account> list = getAccountList(AccountType.getAccountTypes(group));
 
+            // one pass over each account's transactions for all periods
+            final BigDecimal[][] balances = ReportPeriodBalances.getPeriodBalances(list, periodStartDates,
+                    periodEndDates, baseCurrency);
+
+            for (int i = 0; i < list.size(); i++) {
+                balanceMap.put(list.get(i), balances[i]);
+            }
+
             boolean ascendingSortOrder = true;
             if (!list.isEmpty()) {
                 if (list.get(0).getAccountType() == AccountType.EXPENSE) {
@@ -239,18 +261,20 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
                     list.sort(Comparators.getAccountByPathName());
                 }
             } else if (SORT_ORDER_BALANCE_DESC.equals(sortOrder) || SORT_ORDER_BALANCE_DESC_WITH_PERCENTILE.equals(sortOrder)) {
-                list.sort(Comparators.getAccountByBalance(startDatePicker.getValue(),
-                        endDatePicker.getValue(), baseCurrency, ascendingSortOrder));
+                final Comparator<Account> comparator
+                        = Comparator.comparing(account -> ReportPeriodBalances.sum(balanceMap.get(account)));
+
+                list.sort(ascendingSortOrder ? comparator : comparator.reversed());
             }
 
             if (needPercentiles) {
                 BigDecimal groupTotal = BigDecimal.ZERO;
                 for (final Account a : list) {
-                    groupTotal = groupTotal.add(a.getBalance(startDatePicker.getValue(), endDatePicker.getValue(), baseCurrency));
+                    groupTotal = groupTotal.add(ReportPeriodBalances.sum(balanceMap.get(a)));
                 }
                 BigDecimal sumSoFar = BigDecimal.ZERO;
                 for (final Account a : list) {
-                    sumSoFar = sumSoFar.add(a.getBalance(startDatePicker.getValue(), endDatePicker.getValue(), baseCurrency));
+                    sumSoFar = sumSoFar.add(ReportPeriodBalances.sum(balanceMap.get(a)));
                     percentileMap.put(a, sumSoFar.doubleValue() / groupTotal.doubleValue());
                 }
             }
@@ -258,23 +282,12 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
             accounts.addAll(list);
         }
 
-        updateResolution();
-
         // remove any account that will report a zero balance for all periods
         if (hideZeroBalanceAccounts.isSelected()) {
             Iterator<Account> i = accounts.iterator();
             while (i.hasNext()) {
                 Account account = i.next();
-                boolean remove = true;
-
-                for (int j = 0; j < endDates.size(); j++) {
-                    if (account.getBalance(startDates.get(j), endDates.get(j)).compareTo(BigDecimal.ZERO) != 0) {
-                        remove = false;
-                        break;
-                    }
-                }
-
-                if (remove) {
+                if (ReportPeriodBalances.isZero(balanceMap.get(account))) {
                     i.remove();
                 }
             }
@@ -293,7 +306,7 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
         columnsList.add(ci);
 
         for (int i = 0; i < dateLabels.size(); ++i) {
-            ci = new DateRangeBalanceColumnInfo(accounts, startDates.get(i), endDates.get(i), baseCurrency);
+            ci = new DateRangeBalanceColumnInfo(accounts, i);
             ci.columnName = dateLabels.get(i);
             ci.headerStyle = ColumnHeaderStyle.RIGHT;
             ci.columnClass = BigDecimal.class;
@@ -303,7 +316,7 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
         }
 
         // cross-tab total column
-        ci = new CrossTabAmountColumnInfo(accounts, baseCurrency);
+        ci = new CrossTabAmountColumnInfo(accounts);
         ci.columnName = "";
         ci.headerStyle = ColumnHeaderStyle.RIGHT;
         ci.columnClass = BigDecimal.class;
@@ -467,21 +480,15 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
 
         private final List<Account> accountList;
 
-        private final CurrencyNode currency;
-
-        CrossTabAmountColumnInfo(List<Account> accountList, CurrencyNode currency) {
+        CrossTabAmountColumnInfo(List<Account> accountList) {
             this.accountList = accountList;
-            this.currency = currency;
         }
 
         @Override
         public Object getValue(int rowIndex) {
             final Account a = accountList.get(rowIndex);
 
-            final LocalDate startDate = startDates.get(0);
-            final LocalDate endDate = endDates.get(endDates.size() - 1);
-
-            return a.getBalance(startDate, endDate, currency).negate();
+            return ReportPeriodBalances.sum(balanceMap.get(a)).negate();
         }
     }
 
@@ -500,27 +507,21 @@ public abstract class AbstractCrosstabReport extends DynamicJasperReport {
         }
     }
 
-    private static class DateRangeBalanceColumnInfo extends ColumnInfo {
+    private class DateRangeBalanceColumnInfo extends ColumnInfo {
 
         private final List<Account> accountList;
 
-        private final LocalDate startDate;
-
-        private final LocalDate endDate;
-
-        private final CurrencyNode currency;
+        private final int period;
 
-        DateRangeBalanceColumnInfo(List<Account> accountList, LocalDate startDate, LocalDate endDate, CurrencyNode currency) {
+        DateRangeBalanceColumnInfo(List<Account> accountList, int period) {
             this.accountList = accountList;
-            this.startDate = startDate;
-            this.endDate = endDate;
-            this.currency = currency;
+            this.period = period;
         }
 
         @Override
         public Object getValue(int rowIndex) {
             Account a = accountList.get(rowIndex);
-            return a.getBalance(startDate, endDate, currency).negate();
+            return balanceMap.get(a)[period].negate();
         }
     }
 
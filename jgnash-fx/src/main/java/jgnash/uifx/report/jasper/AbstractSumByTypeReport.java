@@ -25,6 +25,8 @@ import jgnash.engine.AccountType;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.report.ParallelAccountCollector;
+import jgnash.report.ReportPeriodBalances;
 import jgnash.time.DateUtils;
 import jgnash.ui.report.Row;
 import jgnash.ui.report.jasper.AbstractReportTableModel;
@@ -38,13 +40,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.prefs.Preferences;
 import java.util.stream.Collectors;
 
@@ -128,44 +131,57 @@ public abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             accounts.addAll(getAccountList(AccountType.getAccountTypes(group)));
         }
 
+        final LocalDate[] periodDates = dates.toArray(new LocalDate[0]);
+
+        // account balances are calculated in parallel
+        final List<BigDecimal[]> balances = ParallelAccountCollector.map(accounts,
+                account -> getBalances(account, periodDates, baseCurrency), getCancelledSupplier());
+
+        final Map<Account, BigDecimal[]> balanceMap = new LinkedHashMap<>();
+
+        for (int i = 0; i < accounts.size(); i++) {
+            balanceMap.put(accounts.get(i), balances.get(i));
+        }
+
         // remove any account that will report a zero balance for all periods
-        if (hideZeroBalanceAccounts.isSelected()) {            
-            Iterator<Account> i = accounts.iterator();
-            
-            while (i.hasNext()) {
-                Account account = i.next();
-                boolean remove = true;
-
-                if (runningTotal) {                    
-                    for (LocalDate date : dates) {
-                        if (account.getBalance(date).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }
-                } else {
-                    for (int j = 0; j < dates.size() - 1; j++) {
-                        final LocalDate sDate = dates.get(j);
-                        final LocalDate eDate = dates.get(j+1).minusDays(1);
-                        
-                        if (account.getBalance(sDate, eDate).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }                    
-                }
-                if (remove) {
-                    i.remove();
-                }
-            }
+        if (hideZeroBalanceAccounts.isSelected()) {
+            balanceMap.values().removeIf(ReportPeriodBalances::isZero);
         }
 
         ReportModel model = new ReportModel(baseCurrency);
-        model.addAccounts(accounts);
+        model.addAccounts(balanceMap);
 
         return model;
     }
 
+    private BigDecimal[] getBalances(final Account account, final LocalDate[] periodDates,
+                                     final CurrencyNode baseCurrency) {
+        if (runningTotal) {
+            return ReportPeriodBalances.getBalancesAt(account, periodDates, baseCurrency);
+        }
+
+        if (periodDates.length < 2) {   // an empty date range has no periods
+            return new BigDecimal[0];
+        }
+
+        final LocalDate[] startDates = new LocalDate[periodDates.length - 1];
+        final LocalDate[] endDates = new LocalDate[periodDates.length - 1];
+
+        for (int i = 0; i < startDates.length; i++) {
+            startDates[i] = periodDates[i];
+            endDates[i] = periodDates[i + 1].minusDays(1);
+        }
+
+        final BigDecimal[] balances = ReportPeriodBalances.getPeriodBalances(account, startDates, endDates,
+                baseCurrency);
+
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = balances[i].negate();
+        }
+
+        return balances;
+    }
+
     private static List<Account> getAccountList(final Set<AccountType> types) {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
@@ -199,7 +215,7 @@ public abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             this.baseCurrency = currency;
         }
 
-        void addAccounts(final Collection<Account> accounts) {
+        void addAccounts(final Map<Account, BigDecimal[]> accounts) {
             accounts.forEach(this::addAccount);
         }
 
@@ -207,8 +223,8 @@ public abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             rowList.add(row);
         }
 
-        void addAccount(final Account account) {
-            rowList.add(new AccountRow(account));
+        void addAccount(final Account account, final BigDecimal[] balances) {
+            rowList.add(new AccountRow(account, balances));
         }
 
         @Override
@@ -289,8 +305,11 @@ public abstract class AbstractSumByTypeReport extends DynamicJasperReport {
 
         private class AccountRow extends Row<Account> {
 
-            AccountRow(final Account account) {
+            private final BigDecimal[] balances;
+
+            AccountRow(final Account account, final BigDecimal[] balances) {
                 super(account);
+                this.balances = balances;
             }
 
             @Override
@@ -301,14 +320,7 @@ public abstract class AbstractSumByTypeReport extends DynamicJasperReport {
                 } else if (columnIndex == getColumnCount() - 1) { // group column
                     return getValue().getAccountType().getAccountGroup().toString();
                 } else if (columnIndex > 0 && columnIndex <= dates.size()) {
-                    if (runningTotal) {
-                        return getValue().getBalance(dates.get(columnIndex - 1), getCurrency());
-                    } else {
-                        final LocalDate startDate = dates.get(columnIndex - 1);
-                        final LocalDate endDate = dates.get(columnIndex).minusDays(1);
-
-                        return getValue().getBalance(startDate, endDate, getCurrency()).negate();
-                    }
+                    return balances[columnIndex - 1];
                 }
                 return null;
             }
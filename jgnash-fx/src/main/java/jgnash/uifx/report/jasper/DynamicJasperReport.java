@@ -17,6 +17,9 @@
  */
 package jgnash.uifx.report.jasper;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
 import javafx.beans.property.SimpleObjectProperty;
 
 import jgnash.ui.report.jasper.BaseDynamicJasperReport;
@@ -31,10 +34,34 @@ public abstract class DynamicJasperReport extends BaseDynamicJasperReport{
 
     private final SimpleObjectProperty<Runnable> refreshCallBack = new SimpleObjectProperty<>();
 
+    /**
+     * Incremented each time report generation is cancelled.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
     protected SimpleObjectProperty<Runnable> refreshCallBackProperty() {
         return refreshCallBack;
     }
 
+    /**
+     * Cancels any report data collection that is in progress.
+     */
+    public void cancel() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Returns a {@code BooleanSupplier} for long running report data collection that will return {@code true} once
+     * {@link #cancel()} has been called.
+     *
+     * @return cancellation check for the current report generation
+     */
+    protected BooleanSupplier getCancelledSupplier() {
+        final long current = generation.get();
+
+        return () -> generation.get() != current;
+    }
+
     @Override
     protected void displayError(final String message) {
         StaticUIMethods.displayError(message);
@@ -26,12 +26,21 @@ import java.text.DecimalFormat;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.prefs.Preferences;
 
 import javafx.application.Platform;
@@ -59,6 +68,7 @@ import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
 import javafx.scene.control.ToggleButton;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -67,6 +77,8 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Screen;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
 
 import jgnash.uifx.StaticUIMethods;
 import jgnash.uifx.control.BusyPane;
@@ -115,6 +127,12 @@ public final class JasperViewerDialogController {
 
     private static final int UPDATE_PERIOD = 1500; // update period in milliseconds
 
+    private static final int LAYOUT_UPDATE_PERIOD = 250; // update period in milliseconds if only the layout changed
+
+    private static final int PAGE_CACHE_SIZE = 16; // maximum number of rendered pages kept
+
+    private static final int PAGE_LOOK_AHEAD = 2; // pages rendered ahead of the current page
+
     private final DoubleProperty zoomProperty = new SimpleDoubleProperty();
 
     private final DecimalFormat zoomDecimalFormat = new DecimalFormat("#.#");
@@ -207,6 +225,43 @@ public final class JasperViewerDialogController {
     private final ScheduledThreadPoolExecutor reportExecutor = new ScheduledThreadPoolExecutor(1,
             new DefaultDaemonThreadFactory(), new ThreadPoolExecutor.DiscardPolicy());
 
+    /**
+     * Incremented for each report request so a superseded request is skipped and its result discarded.
+     */
+    private final AtomicLong printRequest = new AtomicLong();
+
+    /**
+     * Set when the report data must be collected again by the next report run.
+     */
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    private final ExecutorService pageExecutor = Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory());
+
+    /**
+     * Rendered pages for the current report and zoom.  The least recently viewed pages are released first.  Only
+     * accessed from the JavaFX application thread.
+     */
+    private final Map<Integer, Image> pageCache = new LinkedHashMap<Integer, Image>(PAGE_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Integer, Image> eldest) {
+            if (size() > PAGE_CACHE_SIZE) {
+                releasePage(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Pages waiting to be rendered.  Only accessed from the JavaFX application thread.
+     */
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    /**
+     * Incremented when the rendered pages become invalid.  Only changed on the JavaFX application thread.
+     */
+    private volatile long renderGeneration;
+
     @FXML
     private void initialize() {
         busyPane = new BusyPane();
@@ -256,12 +311,12 @@ public final class JasperViewerDialogController {
 
         report.addListener((observable, oldValue, newValue) -> {
             if (newValue != null) {
-                jasperPrint.set(newValue.createJasperPrint(false));
-
                 fontSizeSpinner.valueFactoryProperty().get().setValue(newValue.getBaseFontSize());
 
                 newValue.refreshCallBackProperty().set(() ->
-                        createJasperPrint(newValue));
+                        createJasperPrint(newValue, true, UPDATE_PERIOD));
+
+                createJasperPrint(newValue, true, 0);
             } else {
                 jasperPrint.set(null);
             }
@@ -286,7 +341,25 @@ public final class JasperViewerDialogController {
         fontSizeSpinner.valueProperty().addListener((observable, oldValue, newValue) -> {
             report.get().setBaseFontSize(newValue);
 
-            Platform.runLater(() -> createJasperPrint(report.get()));
+            createJasperPrint(report.get(), false, LAYOUT_UPDATE_PERIOD);
+        });
+
+        pageIndex.addListener((observable, oldValue, newValue) -> renderPages());
+
+        // Stop rendering pages when the window closes.  The scene is normally attached to its stage before it is
+        // injected, otherwise wait for the window to be set
+        parent.addListener((observable, oldValue, scene) -> {
+            if (scene != null) {
+                if (scene.getWindow() != null) {
+                    stopRenderingOnHide(scene.getWindow());
+                } else {
+                    scene.windowProperty().addListener((observable1, oldValue1, window) -> {
+                        if (window != null) {
+                            stopRenderingOnHide(window);
+                        }
+                    });
+                }
+            }
         });
 
         pagePane.setSpacing(PAGE_BORDER);
@@ -342,29 +415,67 @@ public final class JasperViewerDialogController {
         setZoomRatio(1);
     }
 
-    private void createJasperPrint(final DynamicJasperReport dynamicJasperReport) {
+    private void stopRenderingOnHide(final Window window) {
+        window.addEventHandler(WindowEvent.WINDOW_HIDING, event -> pageExecutor.shutdownNow());
+    }
+
+    /**
+     * Generates the report in the background.  Requests that arrive quickly are coalesced and the result of a
+     * superseded request is discarded.
+     *
+     * @param dynamicJasperReport report to generate
+     * @param reloadData          {@code true} if the report data must be collected again, otherwise the data of the
+     *                            last run is laid out and filled again
+     * @param delay               delay in milliseconds before the report is generated
+     */
+    private void createJasperPrint(final DynamicJasperReport dynamicJasperReport, final boolean reloadData,
+                                   final long delay) {
+
+        final long request = printRequest.incrementAndGet();
+
+        if (reloadData) {
+            reloadRequested.set(true);
+
+            // stop collecting data for a report that is about to be replaced
+            dynamicJasperReport.cancel();
+        }
 
         // rate limit creation when print options are occurring quickly
         reportExecutor.schedule(() -> {
-            if (reportExecutor.getQueue().size() < 1) {   // ignore if we already have one waiting in the queue
-                final Task<Void> task = new Task<Void>() {
-                    @Override
-                    protected Void call() throws Exception {
-                        updateMessage(resources.getString("Message.CompilingReport"));
-                        updateProgress(-1, Long.MAX_VALUE);
-
-                        jasperPrint.set(dynamicJasperReport.createJasperPrint(false));
+            if (request != printRequest.get()) {   // superseded while waiting
+                return;
+            }
+
+            final boolean reload = reloadRequested.getAndSet(false);
+
+            final Task<JasperPrint> task = new Task<JasperPrint>() {
+                @Override
+                protected JasperPrint call() throws Exception {
+                    updateMessage(resources.getString("Message.CompilingReport"));
+                    updateProgress(-1, Long.MAX_VALUE);
+
+                    try {
+                        if (reload) {
+                            return dynamicJasperReport.createJasperPrint(false);
+                        }
+                        return dynamicJasperReport.refillJasperPrint(false);
+                    } catch (final CancellationException ignored) {
+                        reloadRequested.set(true);  // superseded by a newer request before the data was collected
                         return null;
                     }
-                };
+                }
+            };
 
-                Platform.runLater(() -> {
-                    busyPane.setTask(task);
-                    new Thread(task).start();
-                });
+            task.setOnSucceeded(event -> {
+                if (request == printRequest.get()) {
+                    jasperPrint.set(task.getValue());
+                }
+            });
 
-            }
-        }, UPDATE_PERIOD, TimeUnit.MILLISECONDS);
+            Platform.runLater(() -> busyPane.setTask(task));
+
+            task.run(); // run on the report thread so only one report is generated at a time
+        }, delay, TimeUnit.MILLISECONDS);
     }
 
     public <T extends DynamicJasperReport> T loadReportController(final String fxmlResource) {
@@ -424,25 +535,88 @@ public final class JasperViewerDialogController {
         }
     }
 
+    /**
+     * Creates a placeholder for each page.  Page images are rendered when the page is viewed.
+     */
     private void refresh() {
         final List<Node> children = pagePane.getChildren();
         children.clear();
 
+        renderGeneration++;
+        pageCache.clear();
+        pendingPages.clear();
+
         for (int i = 0; i < pageCount.get(); i++) {
-            try {
-                final BufferedImage bufferedImage =
-                        (BufferedImage) JasperPrintManager.printPageToImage(jasperPrint.get(), i, (float) zoom);
+            final PrintPageFormat pageFormat = jasperPrint.get().getPageFormat(i);
 
-                final ImageView imageView = new ImageView(SwingFXUtils.toFXImage(bufferedImage, null));
-                imageView.setEffect(dropShadow);
+            final ImageView imageView = new ImageView();
+            imageView.setFitWidth((int) (pageFormat.getPageWidth() * zoom));
+            imageView.setFitHeight((int) (pageFormat.getPageHeight() * zoom));
+            imageView.setEffect(dropShadow);
 
-                children.add(imageView);
-            } catch (final JRException ex) {
-                StaticUIMethods.displayException(ex);
-            }
+            children.add(imageView);
         }
 
         setPageIndex(0);
+        renderPages();
+    }
+
+    /**
+     * Displays the current page and the pages around it, rendering pages that are not cached in the background.
+     */
+    private void renderPages() {
+        final JasperPrint print = jasperPrint.get();
+        final List<Node> children = pagePane.getChildren();
+
+        final int first = Math.max(0, pageIndex.get() - 1);
+        final int last = Math.min(children.size() - 1, pageIndex.get() + PAGE_LOOK_AHEAD);
+
+        final long generation = renderGeneration;
+        final float pageZoom = (float) zoom;
+
+        for (int i = first; i <= last; i++) {
+            final Image image = pageCache.get(i);
+
+            if (image != null) {
+                ((ImageView) children.get(i)).setImage(image);
+            } else if (!pageExecutor.isShutdown() && pendingPages.add(i)) {
+                final int index = i;
+
+                pageExecutor.execute(() -> {
+                    if (generation != renderGeneration) {   // zoom or report changed while waiting
+                        return;
+                    }
+
+                    try {
+                        final BufferedImage bufferedImage =
+                                (BufferedImage) JasperPrintManager.printPageToImage(print, index, pageZoom);
+
+                        final Image fxImage = SwingFXUtils.toFXImage(bufferedImage, null);
+
+                        Platform.runLater(() -> {
+                            if (generation == renderGeneration) {
+                                pageCache.put(index, fxImage);
+                                ((ImageView) pagePane.getChildren().get(index)).setImage(fxImage);
+                            }
+                        });
+                    } catch (final JRException ex) {
+                        StaticUIMethods.displayException(ex);
+                    } finally {    // a page that failed to render may be requested again
+                        Platform.runLater(() -> {
+                            if (generation == renderGeneration) {
+                                pendingPages.remove(index);
+                            }
+                        });
+                    }
+                });
+            }
+        }
+    }
+
+    private void releasePage(final int index) {
+        if (index < pagePane.getChildren().size()) {
+            ((ImageView) pagePane.getChildren().get(index)).setImage(null);
+        }
     }
 
     private void updateStatus(final String status) {
@@ -581,9 +755,7 @@ public final class JasperViewerDialogController {
         if (format != oldFormat) {
             report.get().setPageFormat(format);
 
-            createJasperPrint(report.get());
-
-            Platform.runLater(this::refresh);
+            createJasperPrint(report.get(), false, LAYOUT_UPDATE_PERIOD);
         }
     }
 
@@ -368,6 +368,7 @@ public class AccountsViewController implements MessageListener {
                 break;
             case TRANSACTION_ADD:
             case TRANSACTION_REMOVE:
+            case TRANSACTION_RECONCILE:
                 JavaFXUtils.runLater(() -> treeTableView.refresh());
                 break;
             case FILE_CLOSING:
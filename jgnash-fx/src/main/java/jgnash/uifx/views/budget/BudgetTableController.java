@@ -418,6 +418,9 @@ public class BudgetTableController implements MessageListener {
                 budgetResultsModel = new BudgetResultsModel(budget.get(), yearSpinner.getValue(),
                         engine.getDefaultCurrency(), runningTotalsButton.isSelected());
 
+                // fill the model in parallel before the tables start requesting results one cell at a time
+                budgetResultsModel.precompute();
+
                 // model has changed, calculate the minimum column width for the summary columns
                 minSummaryColumnWidth.set(calculateMinSummaryWidthColumnWidth());
 
@@ -24,6 +24,7 @@ import java.time.LocalDate;
 import javafx.scene.control.TableCell;
 
 import jgnash.engine.Transaction;
+import jgnash.text.ScaledDecimalFormatter;
 import jgnash.uifx.skin.StyleClass;
 
 /**
@@ -40,7 +41,15 @@ abstract class AbstractTransactionTableCell extends TableCell<Transaction, BigDe
     }
 
     void applyFormat(final BigDecimal amount, final NumberFormat format) {
-        setText(format.format(amount));
+        applyText(amount, format.format(amount));
+    }
+
+    void applyFormat(final BigDecimal amount, final ScaledDecimalFormatter formatter) {
+        applyText(amount, formatter.format(amount));
+    }
+
+    private void applyText(final BigDecimal amount, final String text) {
+        setText(text);
 
         // Not empty and amount is not null, but tableRow can be null... JavaFx Bug?
         if (getTableRow() != null && getTableRow().getItem() != null) {
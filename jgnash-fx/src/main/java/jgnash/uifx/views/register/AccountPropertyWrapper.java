@@ -88,6 +88,7 @@ class AccountPropertyWrapper implements MessageListener {
             case ACCOUNT_MODIFY:
             case TRANSACTION_ADD:
             case TRANSACTION_REMOVE:
+            case TRANSACTION_RECONCILE:
                 if (event.getObject(MessageProperty.ACCOUNT).equals(account.get())) {
                     updateProperties();
                 }
@@ -50,7 +50,6 @@ import jgnash.uifx.StaticUIMethods;
 import jgnash.uifx.control.ImageDialog;
 import jgnash.uifx.util.JavaFXUtils;
 import jgnash.uifx.views.main.MainView;
-import jgnash.util.FileUtils;
 import jgnash.util.ResourceUtils;
 
 /**
@@ -146,9 +145,11 @@ public class AttachmentPane extends GridPane {
             final Path path = attachment.get().getFileName();
 
             if (moveAttachment) {
-                if (moveAttachment() && path != null) {
-                    transaction.setAttachment(path.toString());
-                } else if (path!= null) {
+                final String name = moveAttachment();
+
+                if (name != null) {
+                    transaction.setAttachment(name);
+                } else if (path != null) {
                     transaction.setAttachment(null);
 
                     final String message = ResourceUtils.getString("Message.Error.TransferAttachment", path.toString());
@@ -163,11 +164,11 @@ public class AttachmentPane extends GridPane {
         return transaction;
     }
 
-    private boolean moveAttachment() {
+    private String moveAttachment() {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
 
-        return engine.addAttachment(attachment.get(), false);
+        return engine.storeAttachment(attachment.get(), false);
     }
 
     private void showImageAction() {
@@ -229,19 +230,7 @@ public class AttachmentPane extends GridPane {
                         attachmentDirectory.toString());
 
                 if (!StaticUIMethods.showConfirmationDialog(resources.getString("Title.MoveFile"), message).getButtonData().isCancelButton()) {
-                    moveAttachment = true;
-
-                    final Path newPath = Paths.get(AttachmentUtils.getAttachmentDirectory(Paths.get(baseFile)) +
-                            FileUtils.separator + selectedFile.getName());
-
-                    if (Files.exists(newPath)) {
-                        message = ResourceUtils.getString("Message.Warn.SameFile", selectedFile.toString(),
-                                attachmentDirectory.toString());
-
-                        StaticUIMethods.displayWarning(message);
-                        moveAttachment = false;
-                        result = false;
-                    }
+                    moveAttachment = true;  // stored by content, so a file with the same name does not conflict
                 } else {
                     result = false;
                 }
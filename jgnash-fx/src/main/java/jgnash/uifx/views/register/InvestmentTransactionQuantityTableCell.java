@@ -18,11 +18,11 @@
 package jgnash.uifx.views.register;
 
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 
 import jgnash.engine.InvestmentTransaction;
 import jgnash.engine.Transaction;
 import jgnash.text.CommodityFormat;
+import jgnash.text.ScaledDecimalFormatter;
 
 /**
  * {@code TableCell} for rendering investment transaction quantities.
@@ -41,10 +41,10 @@ class InvestmentTransactionQuantityTableCell extends AbstractTransactionTableCel
 
             if (transaction instanceof InvestmentTransaction) {
 
-                final NumberFormat format
-                        = CommodityFormat.getShortNumberFormat(((InvestmentTransaction) transaction).getSecurityNode());
+                final ScaledDecimalFormatter formatter
+                        = CommodityFormat.getShortFormatter(((InvestmentTransaction) transaction).getSecurityNode());
 
-                applyFormat(amount, format);
+                applyFormat(amount, formatter);
             } else {
                 setText(null);
             }
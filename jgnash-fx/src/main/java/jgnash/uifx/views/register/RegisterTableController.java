@@ -22,12 +22,16 @@ import java.text.NumberFormat;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -80,6 +84,7 @@ import jgnash.uifx.util.JavaFXUtils;
 import jgnash.uifx.util.TableViewManager;
 import jgnash.uifx.views.AccountBalanceDisplayManager;
 import jgnash.uifx.views.recurring.RecurringEntryDialog;
+import jgnash.util.DefaultDaemonThreadFactory;
 import jgnash.util.ResourceUtils;
 import jgnash.util.function.MemoPredicate;
 import jgnash.util.function.PayeePredicate;
@@ -95,6 +100,11 @@ abstract class RegisterTableController {
 
     private final static String PREF_NODE_USER_ROOT = "/jgnash/uifx/views/register";
 
+    /**
+     * Evaluates register filters off the application thread.
+     */
+    private final static ExecutorService filterExecutor = Executors.newSingleThreadExecutor(new DefaultDaemonThreadFactory());
+
     /**
      * Active account for the pane.
      */
@@ -118,6 +128,16 @@ abstract class RegisterTableController {
      */
     final SortedList<Transaction> sortedList = new SortedList<>(filteredTransactionList);
 
+    /**
+     * Incremented for each filter change so stale filter results are discarded.
+     */
+    private volatile long filterGeneration;
+
+    /**
+     * Filter results of the current filter.  Only accessed from the application thread.
+     */
+    private Map<Transaction, Boolean> filterResults = new IdentityHashMap<>();
+
     final private MessageBusHandler messageBusHandler = new MessageBusHandler();
 
     final private AccountPropertyWrapper accountPropertyWrapper = new AccountPropertyWrapper();
@@ -260,7 +280,41 @@ abstract class RegisterTableController {
                     Options.regexForFiltersProperty().get()));
         }
 
-        filteredTransactionList.setPredicate(predicate);
+        final Predicate<Transaction> filter = predicate;
+        final long generation = ++filterGeneration;
+        final List<Transaction> transactions = new ArrayList<>(observableTransactions);
+
+        // evaluate the filter in the background and publish the results
+        filterExecutor.execute(() -> {
+            final Map<Transaction, Boolean> results = new IdentityHashMap<>(transactions.size());
+
+            for (final Transaction transaction : transactions) {
+                if (generation != filterGeneration) {
+                    return; // superseded by a newer filter
+                }
+                results.put(transaction, filter.test(transaction));
+            }
+
+            JavaFXUtils.runLater(() -> {
+                if (generation == filterGeneration) {
+                    filterResults = results;
+
+                    // transactions added since the snapshot or changed in place are tested directly
+                    filteredTransactionList.setPredicate(transaction -> {
+                        final Boolean result = filterResults.get(transaction);
+                        return result != null ? result : filter.test(transaction);
+                    });
+                }
+            });
+        });
+    }
+
+    /**
+     * Discards the filter results after reconciled states have been changed in place and applies the filter again.
+     */
+    private void handleReconciledStateChange() {
+        filterResults.clear();
+        handleFilterChange();
     }
 
     private void loadAccount() {
@@ -329,15 +383,16 @@ abstract class RegisterTableController {
     abstract protected void buildTable();
 
     private void loadTable() {
-        observableTransactions.clear();
-
         if (account.get() != null) {
-            observableTransactions.addAll(account.get().getSortedTransactionList());
+            observableTransactions.setAll(account.get().getSortedTransactionList());
+            handleFilterChange();   // filters are specific to the account
 
             Platform.runLater(() -> {   // table view many not be ready, push to end of the Platform thread
                 tableViewManager.restoreLayout();   // required for table view manager to work
                 tableView.scrollTo(observableTransactions.size());  // scroll to the end of the table
             });
+        } else {
+            observableTransactions.clear();
         }
     }
 
@@ -564,7 +619,14 @@ abstract class RegisterTableController {
 
                             /* push removal to the end of the application thread to ensure the table selection is
                                cleared first to prevent an IndexOfOutBoundsException */
-                            JavaFXUtils.runLater(() -> observableTransactions.remove(removedTransaction));
+                            JavaFXUtils.runLater(() -> {
+                                final int index = Collections.binarySearch(observableTransactions,
+                                        removedTransaction);
+
+                                if (index >= 0) {
+                                    observableTransactions.remove(index);
+                                }
+                            });
 
                             // this will force the running balance to recalculate
                             refreshTable();
@@ -575,8 +637,8 @@ abstract class RegisterTableController {
 
                             JavaFXUtils.runLater(() -> {
 
-                                final int index = Collections.binarySearch(observableTransactions, addedTransaction,
-                                        tableView.getComparator());
+                                // the master list is kept in the natural order of the account
+                                final int index = Collections.binarySearch(observableTransactions, addedTransaction);
 
                                 if (index < 0) {
                                     observableTransactions.add(-index - 1, addedTransaction);
@@ -589,6 +651,11 @@ abstract class RegisterTableController {
                                 refreshTable();
                             });
 
+                            break;
+                        case TRANSACTION_RECONCILE:
+                            // states are changed in place, the filter must be applied again to hide or show them
+                            JavaFXUtils.runLater(RegisterTableController.this::handleReconciledStateChange);
+                            refreshTable();
                             break;
                         default:
                     }
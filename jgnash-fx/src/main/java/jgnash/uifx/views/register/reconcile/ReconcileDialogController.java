@@ -23,6 +23,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -53,6 +54,7 @@ import jgnash.engine.RecTransaction;
 import jgnash.engine.ReconcileManager;
 import jgnash.engine.ReconciledState;
 import jgnash.engine.Transaction;
+import jgnash.engine.message.ChannelEvent;
 import jgnash.engine.message.Message;
 import jgnash.engine.message.MessageBus;
 import jgnash.engine.message.MessageChannel;
@@ -446,9 +448,39 @@ public class ReconcileDialogController implements MessageListener {
         }
     }
 
+    /**
+     * Updates the listed transactions after their reconciled states have been changed in place.  Transactions that
+     * have been reconciled are removed and transactions that are no longer reconciled are added.
+     */
+    private void reconciledStatesChanged() {
+        readWriteLock.writeLock().lock();
+
+        try {
+            transactions.removeIf(tran -> !reconcilable(tran.getTransaction()));
+
+            final Set<Transaction> listed = transactions.stream().map(RecTransaction::getTransaction)
+                    .collect(Collectors.toSet());
+
+            transactions.addAll(account.getSortedTransactionList().stream()
+                    .filter(transaction -> !listed.contains(transaction) && reconcilable(transaction))
+                    .map(transaction -> new RecTransaction(transaction, transaction.getReconciled(account)))
+                    .collect(Collectors.toList()));
+
+            FXCollections.sort(transactions);
+            updateCalculatedValues();
+        } finally {
+            readWriteLock.writeLock().unlock();
+        }
+    }
+
     @Override
     public void messagePosted(final Message message) {
         if (account != null && account.equals(message.getObject(MessageProperty.ACCOUNT))) {
+            if (message.getEvent() == ChannelEvent.TRANSACTION_RECONCILE) {
+                JavaFXUtils.runLater(this::reconciledStatesChanged);
+                return;
+            }
+
             final Transaction transaction = message.getObject(MessageProperty.TRANSACTION);
 
             if (transaction != null) {
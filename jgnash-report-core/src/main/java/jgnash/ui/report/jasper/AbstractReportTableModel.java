@@ -18,11 +18,14 @@
 package jgnash.ui.report.jasper;
 
 import java.math.BigDecimal;
-import java.text.NumberFormat;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.text.Format;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -31,6 +34,7 @@ import javax.swing.table.AbstractTableModel;
 import jgnash.engine.CurrencyNode;
 import jgnash.text.CommodityFormat;
 import jgnash.time.DateUtils;
+import jgnash.ui.report.Row;
 import jgnash.util.NotNull;
 
 /**
@@ -73,125 +77,145 @@ public abstract class AbstractReportTableModel extends AbstractTableModel {
     }
 
     /**
-     * Returns the longest value for the specified column
+     * Returns an iterator over the rows of the report in order.
+     * <p>
+     * The default implementation reads the rows through {@link #getValueAt(int, int)}.  Models that generate their
+     * rows from the account and period iteration should override this so rows are produced as the report is filled
+     * rather than held in memory.
      *
-     * @param columnIndex column to check
-     * @return String representing the longest value
+     * @return row iterator
      */
-    String getColumnPrototypeValueAt(final int columnIndex) {
+    public Iterator<? extends Row<?>> rowIterator() {
+        return new Iterator<Row<Integer>>() {
+            private int rowIndex;
 
+            @Override
+            public boolean hasNext() {
+                return rowIndex < getRowCount();
+            }
+
+            @Override
+            public Row<Integer> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return new Row<Integer>(rowIndex++) {
+                    @Override
+                    public Object getValueAt(final int columnIndex) {
+                        return AbstractReportTableModel.this.getValueAt(getValue(), columnIndex);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Returns the longest value for each column.  The rows are read in a single pass.
+     *
+     * @return Strings representing the longest value of each column
+     */
+    String[] getColumnPrototypeValues() {
+        final int columnCount = getColumnCount();
         final int groupColumn = getGroupColumn();
 
-        String longest = "";
+        final String[] longest = new String[columnCount];
+        Arrays.fill(longest, "");
+
+        final Format[] formats = new Format[columnCount];
+
+        // does the column need to be summed
+        final boolean[] sum = new boolean[columnCount];
+
+        final BigDecimal[] totals = new BigDecimal[columnCount];    // end totals
 
-        if (getColumnClass(columnIndex).isAssignableFrom(BigDecimal.class)) {
+        // mapping to sum groups
+        final List<Map<String, BigDecimal>> groupMaps = new ArrayList<>(columnCount);
 
-            // does the column need to be summed
-            boolean sum = getColumnStyle(columnIndex) == ColumnStyle.BALANCE_WITH_SUM ||
-                    getColumnStyle(columnIndex) == ColumnStyle.BALANCE_WITH_SUM_AND_GLOBAL
-                    || getColumnStyle(columnIndex) == ColumnStyle.AMOUNT_SUM;
+        for (int i = 0; i < columnCount; i++) {
+            final ColumnStyle columnStyle = getColumnStyle(i);
 
-            // mapping to sum groups
-            final HashMap<String, BigDecimal> groupMap = new HashMap<>();
+            groupMaps.add(new HashMap<>());
+            totals[i] = BigDecimal.ZERO;
 
-            // number format to use
-            NumberFormat nf;
+            if (getColumnClass(i).isAssignableFrom(BigDecimal.class)) {
+                sum[i] = columnStyle == ColumnStyle.BALANCE_WITH_SUM
+                        || columnStyle == ColumnStyle.BALANCE_WITH_SUM_AND_GLOBAL
+                        || columnStyle == ColumnStyle.AMOUNT_SUM;
 
-            switch (getColumnStyle(columnIndex)) {
-                case QUANTITY:
-                    nf = ReportFactory.getQuantityFormat();
-                    break;
-                case PERCENTAGE:
-                    nf = ReportFactory.getPercentageFormat();
-                    break;
-                default:
-                    nf = CommodityFormat.getFullNumberFormat(getCurrency());
-                    break;
+                switch (columnStyle) {
+                    case QUANTITY:
+                        formats[i] = ReportFactory.getQuantityFormat();
+                        break;
+                    case PERCENTAGE:
+                        formats[i] = ReportFactory.getPercentageFormat();
+                        break;
+                    default:
+                        formats[i] = CommodityFormat.getFullNumberFormat(getCurrency());
+                        break;
+                }
+            } else if (columnStyle == ColumnStyle.SHORT_DATE) {
+                formats[i] = DateUtils.getShortDateFormatter().toFormat();
+            } else if (columnStyle == ColumnStyle.TIMESTAMP) {
+                formats[i] = DateUtils.getShortDateTimeFormatter().toFormat();
             }
+        }
 
-            BigDecimal total = BigDecimal.ZERO; // end total
+        final Iterator<? extends Row<?>> iterator = rowIterator();
 
-            for (int i = 0; i < getRowCount(); i++) {
-                final BigDecimal value = (BigDecimal) getValueAt(i, columnIndex);
+        while (iterator.hasNext()) {
+            final Row<?> row = iterator.next();
 
-                if (value != null) {
+            for (int i = 0; i < columnCount; i++) {
+                final Object value = row.getValueAt(i);
 
-                    final String prototype = nf.format(value);
+                if (value == null) {
+                    continue;
+                }
 
-                    // look and individual values
-                    if (prototype.length() > longest.length()) {
-                        longest = prototype;
-                    }
+                if (value instanceof BigDecimal && formats[i] != null) {
+                    final BigDecimal amount = (BigDecimal) value;
 
-                    if (sum) {
-                        total = total.add(value); // global value
+                    checkLength(longest, i, formats[i].format(amount));
+
+                    if (sum[i]) {
+                        totals[i] = totals[i].add(amount); // global value
                     }
 
                     if (groupColumn >= 0) {
-                        final String group = (String) getValueAt(i, groupColumn);
-                        final BigDecimal o = groupMap.get(group);
-
-                        groupMap.put(group, o != null ? o.add(value) : value);
+                        groupMaps.get(i).merge((String) row.getValueAt(groupColumn), amount, BigDecimal::add);
                     }
-                }
-            }
-
-            if (sum) {
-                if (nf.format(total).length() > longest.length()) { // look at column total
-                    longest = nf.format(total);
-                }
-
-                for (final BigDecimal value : groupMap.values()) {
-                    if (nf.format(value).length() > longest.length()) { // look at group totals
-                        longest = nf.format(value);
+                } else if (value instanceof String) {
+                    if (getColumnStyle(i) == ColumnStyle.STRING) {
+                        checkLength(longest, i, (String) value);
+                    }
+                } else if (formats[i] != null) {
+                    try {
+                        checkLength(longest, i, formats[i].format(value));
+                    } catch (final IllegalArgumentException e) {
+                        Logger.getLogger(AbstractReportTableModel.class.getName()).log(Level.INFO,
+                                e.getLocalizedMessage(), e);
                     }
                 }
             }
+        }
 
-        } else if (getColumnStyle(columnIndex) == ColumnStyle.STRING) {
-            for (int i = 0; i < getRowCount(); i++) {
-                final String val = (String) getValueAt(i, columnIndex);
+        for (int i = 0; i < columnCount; i++) {
+            if (sum[i]) {
+                checkLength(longest, i, formats[i].format(totals[i]));    // look at column total
 
-                if (val != null && val.length() > longest.length()) {
-                    longest = val;
-                }
-            }
-        } else if (getColumnStyle(columnIndex) == ColumnStyle.SHORT_DATE) {
-            final DateTimeFormatter dateTimeFormatter = DateUtils.getShortDateFormatter();
-
-            for (int i = 0; i < getRowCount(); i++) {
-                try {
-                    final LocalDate date = (LocalDate) getValueAt(i, columnIndex);
-
-                    if (date != null) {
-                        final String val = dateTimeFormatter.format(date);
-                        if (val.length() > longest.length()) {
-                            longest = val;
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    Logger.getLogger(AbstractReportTableModel.class.getName()).log(Level.INFO, e.getLocalizedMessage(), e);
-                }
-            }
-        } else if (getColumnStyle(columnIndex) == ColumnStyle.TIMESTAMP) {
-            final DateTimeFormatter dateTimeFormatter = DateUtils.getShortDateTimeFormatter();
-
-            for (int i = 0; i < getRowCount(); i++) {
-                try {
-                    final LocalDateTime localDateTime = (LocalDateTime) getValueAt(i, columnIndex);
-
-                    if (localDateTime != null) {
-                        final String val = dateTimeFormatter.format(localDateTime);
-                        if (val.length() > longest.length()) {
-                            longest = val;
-                        }
-                    }
-                } catch (IllegalArgumentException e) {
-                    Logger.getLogger(AbstractReportTableModel.class.getName()).log(Level.INFO, e.getLocalizedMessage(), e);
+                for (final BigDecimal value : groupMaps.get(i).values()) {
+                    checkLength(longest, i, formats[i].format(value));   // look at group totals
                 }
             }
         }
 
         return longest;
     }
+
+    private static void checkLength(final String[] longest, final int columnIndex, final String value) {
+        if (value.length() > longest[columnIndex].length()) {
+            longest[columnIndex] = value;
+        }
+    }
 }
@@ -49,7 +49,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -61,8 +63,9 @@ import jgnash.util.ResourceUtils;
 
 import net.sf.jasperreports.engine.JRDataSource;
 import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRParameter;
 import net.sf.jasperreports.engine.JasperPrint;
-import net.sf.jasperreports.engine.data.JRTableModelDataSource;
+import net.sf.jasperreports.engine.fill.JRGzipVirtualizer;
 
 /**
  * Abstract report controller base class that may be extended to create a report
@@ -77,8 +80,18 @@ public abstract class BaseDynamicJasperReport {
 
     private final static String BASE_FONT_SIZE = "baseFontSize";
 
+    /**
+     * Number of filled pages held in memory before pages are virtualized.
+     */
+    private static final int VIRTUALIZER_MAX_PAGES = 32;
+
     protected static final Logger logger = Logger.getLogger(BaseDynamicJasperReport.class.getName());
 
+    /**
+     * Report data of the last run, kept so the report can be laid out again without collecting the data.
+     */
+    private volatile AbstractReportTableModel lastModel;
+
     protected abstract void displayError(final String message);
 
     final public void setPageFormat(final PageFormat pageFormat) {
@@ -141,6 +154,24 @@ public abstract class BaseDynamicJasperReport {
      */
     public abstract JasperPrint createJasperPrint(final boolean formatForCSV);
 
+    /**
+     * Creates a JasperPrint object from the report data of the last run.  This is used when only the layout of the
+     * report has changed, such as the font size or page format.  The report data is collected if the report has not
+     * been run.
+     *
+     * @param formatForCSV {@code true} if the report should be formatted for CSV export
+     * @return JasperPrint object
+     */
+    public final JasperPrint refillJasperPrint(final boolean formatForCSV) {
+        final AbstractReportTableModel model = lastModel;
+
+        if (model != null) {
+            return createJasperPrint(model, formatForCSV);
+        }
+
+        return createJasperPrint(formatForCSV);
+    }
+
     /**
      * Returns the name of the report
      *
@@ -307,6 +338,8 @@ public abstract class BaseDynamicJasperReport {
     protected final JasperPrint createJasperPrint(final AbstractReportTableModel model, final boolean formatForCSV) {
         logger.info(rb.getString("Message.ProcessingReportData"));
 
+        lastModel = model;
+
         DynamicReportBuilder drb = new DynamicReportBuilder();
 
         try {
@@ -324,6 +357,8 @@ public abstract class BaseDynamicJasperReport {
             drb.setDetailHeight(getBaseFontSize() * 2);
 
             logger.info("Creating column model for report");
+            final String[] prototypeValues = model.getColumnPrototypeValues();
+
             // create columns and add to the list
             for (int i = 0; i < model.getColumnCount(); i++) {
 
@@ -335,7 +370,7 @@ public abstract class BaseDynamicJasperReport {
                     Style columnTypeStyle = getStyle(model.getColumnStyle(i), formatForCSV);
                     Style columnHeaderStyle = getStyle(model.getColumnHeaderStyle(i), formatForCSV);
 
-                    int width = AWTFontUtilities.getStringWidth(model.getColumnPrototypeValueAt(i), getTypeFooterStyle());
+                    int width = AWTFontUtilities.getStringWidth(prototypeValues[i], getTypeFooterStyle());
                     int hWidth = AWTFontUtilities.getStringWidth(model.getColumnName(i), columnHeaderStyle);
 
                     if (hWidth > width) {
@@ -503,13 +538,20 @@ public abstract class BaseDynamicJasperReport {
         DynamicReport dr = drb.build();
 
         logger.info(rb.getString("Message.ReportCompileComplete"));
-        JRDataSource ds = new JRTableModelDataSource(model);
+        final JRDataSource ds = new ReportModelDataSource(model, COLUMN_PROPERTY);
+
+        // filled pages beyond the limit are kept compressed
+        final JRGzipVirtualizer virtualizer = new JRGzipVirtualizer(VIRTUALIZER_MAX_PAGES);
+
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put(JRParameter.REPORT_VIRTUALIZER, virtualizer);
 
         JasperPrint jp = null;
         try {
             logger.info(rb.getString("Message.ReportCreateView"));
 
-            jp = DynamicJasperHelper.generateJasperPrint(dr, new ClassicLayoutManager(), ds);
+            jp = DynamicJasperHelper.generateJasperPrint(dr, new ClassicLayoutManager(), ds, parameters);
+            virtualizer.setReadOnly(true);
         } catch (final JRException e) {
             logger.log(Level.WARNING, "Exception", e);
             logger.warning(rb.getString("Message.ReduceFont"));
@@ -0,0 +1,89 @@
+/*
+ * jGnash, a personal finance application
+ * Copyright (C) 2001-2018 Craig Cavanaugh
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package jgnash.ui.report.jasper;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import jgnash.ui.report.Row;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+import net.sf.jasperreports.engine.JRRewindableDataSource;
+
+/**
+ * Data source that pulls rows from a report model as the report is filled.
+ * <p>
+ * Rows are obtained from {@link AbstractReportTableModel#rowIterator()}, so a model that generates its rows from the
+ * account and period iteration is never held in memory as a complete table.
+ *
+ * @author Craig Cavanaugh
+ */
+class ReportModelDataSource implements JRRewindableDataSource {
+
+    private final AbstractReportTableModel model;
+
+    /**
+     * Column index for each field name.
+     */
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+
+    private Iterator<? extends Row<?>> iterator;
+
+    private Row<?> row;
+
+    ReportModelDataSource(final AbstractReportTableModel model, final String columnPrefix) {
+        this.model = model;
+
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            columnIndexes.put(columnPrefix + i, i);
+            columnIndexes.putIfAbsent(model.getColumnName(i), i);
+        }
+
+        iterator = model.rowIterator();
+    }
+
+    @Override
+    public boolean next() throws JRException {
+        if (iterator.hasNext()) {
+            row = iterator.next();
+            return true;
+        }
+
+        row = null;
+        return false;
+    }
+
+    @Override
+    public Object getFieldValue(final JRField field) throws JRException {
+        final Integer columnIndex = columnIndexes.get(field.getName());
+
+        if (columnIndex == null) {
+            throw new JRException("Unknown column name: " + field.getName());
+        }
+
+        return row.getValueAt(columnIndex);
+    }
+
+    @Override
+    public void moveFirst() throws JRException {
+        iterator = model.rowIterator();
+        row = null;
+    }
+}
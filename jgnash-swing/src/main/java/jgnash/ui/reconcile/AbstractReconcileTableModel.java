@@ -42,6 +42,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
@@ -213,6 +214,9 @@ abstract class AbstractReconcileTableModel extends AbstractTableModel implements
                                 }
                             }
                             break;
+                        case TRANSACTION_RECONCILE:
+                            reconciledStatesChanged();
+                            break;
                         default:
                             break;
                     }
@@ -224,6 +228,33 @@ abstract class AbstractReconcileTableModel extends AbstractTableModel implements
 
     }
 
+    /**
+     * Updates the listed transactions after their reconciled states have been changed in place.  Transactions that
+     * have been reconciled are removed and transactions that are no longer reconciled are added.
+     */
+    private void reconciledStatesChanged() {
+        rwl.writeLock().lock();
+
+        try {
+            list.removeIf(tran -> !reconcilable(tran.getTransaction()));
+
+            final Set<Transaction> listed = list.stream().map(RecTransaction::getTransaction)
+                    .collect(Collectors.toSet());
+
+            for (final Transaction transaction : account.getSortedTransactionList()) {
+                if (!listed.contains(transaction) && reconcilable(transaction)) {
+                    list.add(new RecTransaction(transaction, transaction.getReconciled(account)));
+                }
+            }
+
+            Collections.sort(list);
+        } finally {
+            rwl.writeLock().unlock();
+        }
+
+        fireTableDataChanged();
+    }
+
     public BigDecimal getReconciledTotal() {
         BigDecimal sum = BigDecimal.ZERO;
 
@@ -442,6 +442,7 @@ public abstract class AbstractRegisterPanel extends JPanel implements MessageLis
                         updateAccountInfo();
                         break;
                     case TRANSACTION_REMOVE:
+                    case TRANSACTION_RECONCILE:
                         updateAccountInfo();
                         break;
                     default:
@@ -49,7 +49,6 @@ import jgnash.ui.UIApplication;
 import jgnash.ui.components.ImageDialog;
 import jgnash.ui.components.YesNoDialog;
 import jgnash.ui.util.IconUtils;
-import jgnash.util.FileUtils;
 import jgnash.util.ResourceUtils;
 
 import com.jgoodies.forms.builder.DefaultFormBuilder;
@@ -143,8 +142,10 @@ class AttachmentPanel extends JPanel implements ActionListener {
             final Path path = attachment.getFileName();
 
             if (moveAttachment) {   // move the attachment first
-                if (moveAttachment()) {
-                    transaction.setAttachment(path.toString());
+                final String name = moveAttachment();
+
+                if (name != null) {
+                    transaction.setAttachment(name);
                 } else {
                     transaction.setAttachment(null);
 
@@ -162,11 +163,11 @@ class AttachmentPanel extends JPanel implements ActionListener {
         return transaction;
     }
 
-    private boolean moveAttachment() {
+    private String moveAttachment() {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
 
-        return engine.addAttachment(attachment, false);
+        return engine.storeAttachment(attachment, false);
     }
 
     private void attachmentAction() {
@@ -220,19 +221,7 @@ class AttachmentPanel extends JPanel implements ActionListener {
                     result = YesNoDialog.showYesNoDialog(UIApplication.getFrame(), new JLabel(message), rb.getString("Title.MoveFile"));
 
                     if (result) {
-                        moveAttachment = true;
-
-                        Path newPath = Paths.get(AttachmentUtils.getAttachmentDirectory(Paths.get(baseFile)) +
-                                FileUtils.separator + selectedFile.getName());
-
-                        if (newPath.toFile().exists()) {
-                            message = ResourceUtils.getString("Message.Warn.SameFile", selectedFile.toString(),
-                                    attachmentDirectory.toString());
-
-                            StaticUIMethods.displayWarning(message);
-                            moveAttachment = false;
-                            result = false;
-                        }
+                        moveAttachment = true;  // stored by content, so a file with the same name does not conflict
                     }
                 }
 
@@ -20,12 +20,14 @@ package jgnash.ui.register.table;
 import java.awt.EventQueue;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 import java.util.ResourceBundle;
 
 import javax.swing.table.AbstractTableModel;
 
 import jgnash.engine.Account;
+import jgnash.engine.AccountGroup;
 import jgnash.engine.Transaction;
 import jgnash.engine.message.ChannelEvent;
 import jgnash.engine.message.Message;
@@ -271,7 +273,19 @@ public abstract class AbstractRegisterTableModel extends AbstractTableModel impl
                         fireTableRowsInserted(index, index);
                         break;
                     case TRANSACTION_REMOVE:
-                        balanceCache.clear();
+                        // the transaction is gone, its insertion point is the row it occupied
+                        final int row = -Collections.binarySearch(account.getSortedTransactionList(),
+                                event.getObject(MessageProperty.TRANSACTION)) - 1;
+
+                        if (row >= 0) {
+                            balanceCache.clear(row);
+                            fireTableRowsDeleted(row, row);
+                        } else {
+                            balanceCache.clear();
+                            fireTableDataChanged();
+                        }
+                        break;
+                    case TRANSACTION_RECONCILE:
                         fireTableDataChanged();
                         break;
                     default:
@@ -304,16 +318,69 @@ public abstract class AbstractRegisterTableModel extends AbstractTableModel impl
      * @return balance at the given index
      */
     BigDecimal getBalanceAt(final int index) {
-
         BigDecimal balance = balanceCache.get(index);
 
-        if (balance != null) {
-            return AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), balance);
+        if (balance == null) {
+            balance = calculateBalanceAt(index);
         }
 
-        balance = account.getBalanceAt(index);
-
-        balanceCache.set(index, balance);
         return AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), balance);
     }
+
+    /**
+     * Calculates the running balance at a row from the nearest known balance.  The balance is carried forward from
+     * the closest cached row above, or backward from the closest cached row below or the account balance, and each
+     * row passed is cached.  Only the rows the table asks for, and the rows between them, are ever calculated.
+     *
+     * @param index index to calculate the balance at
+     * @return balance at the given index
+     */
+    private BigDecimal calculateBalanceAt(final int index) {
+        final int rowCount = getRowCount();
+
+        int previous = index - 1;
+
+        while (previous >= 0 && balanceCache.get(previous) == null) {
+            previous--;
+        }
+
+        // investment balances include the market value and cannot be unwound from the account balance
+        if (account.getAccountType().getAccountGroup() != AccountGroup.INVEST
+                && rowCount == account.getTransactionCount()) {
+
+            int next = index + 1;
+
+            while (next < rowCount && balanceCache.get(next) == null) {
+                next++;
+            }
+
+            if (next - index < index - previous) {
+                BigDecimal balance;
+
+                if (next < rowCount) {
+                    balance = balanceCache.get(next);
+                } else {
+                    next = rowCount - 1;
+                    balance = account.getBalance();
+                    balanceCache.set(next, balance);
+                }
+
+                for (int i = next; i > index; i--) {
+                    balance = balance.subtract(getTransactionAt(i).getAmount(account));
+                    balanceCache.set(i - 1, balance);
+                }
+
+                return balance;
+            }
+        }
+
+        BigDecimal balance = previous >= 0 ? balanceCache.get(previous) : BigDecimal.ZERO;
+
+        for (int i = previous + 1; i <= index; i++) {
+            balance = balance.add(getTransactionAt(i).getAmount(account));
+            balanceCache.set(i, balance);
+        }
+
+        return balance;
+    }
 }
@@ -18,6 +18,7 @@
 package jgnash.ui.register.table;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 
 /**
  * A list class to cache BigDecimals at specified indexes. BigDecimalCache operates under the assumption that it may
@@ -28,7 +29,7 @@ import java.math.BigDecimal;
  */
 final class BigDecimalCache {
 
-    private static final int CAPACITY_BUMP_SIZE = 5;
+    private static final int MINIMUM_CAPACITY = 16;
 
     private BigDecimal cache[] = new BigDecimal[0];
 
@@ -38,20 +39,15 @@ final class BigDecimalCache {
 
     /**
      * Increases the capacity of this <tt>BigDecimalCache</tt> instance, if necessary, to ensure that it can hold at
-     * least the number of BigDecimals specified by the minimum capacity argument.
+     * least the number of BigDecimals specified by the minimum capacity argument.  The capacity grows by half so
+     * the cost of growing the cache one row at a time remains linear.
      *
      * @param minCapacity the desired minimum capacity.
      */
     void ensureCapacity(final int minCapacity) {
         if (minCapacity > cache.length) {
-            int oldCapacity = cache.length;
-            BigDecimal oldCache[] = cache;
-            int newCapacity = oldCapacity + CAPACITY_BUMP_SIZE;
-            if (newCapacity < minCapacity) {
-                newCapacity = minCapacity;
-            }
-            cache = new BigDecimal[newCapacity];
-            System.arraycopy(oldCache, 0, cache, 0, oldCapacity);
+            final int newCapacity = Math.max(minCapacity, cache.length + (cache.length >> 1) + MINIMUM_CAPACITY);
+            cache = Arrays.copyOf(cache, newCapacity);
         }
     }
 
@@ -63,8 +59,7 @@ final class BigDecimalCache {
      *         Null wil be returned if a value has not been set for the index
      */
     public BigDecimal get(final int index) {
-        ensureCapacity(index + 1); // capacity is one more than index
-        return cache[index];
+        return index < cache.length ? cache[index] : null;
     }
 
     /**
@@ -82,7 +77,7 @@ final class BigDecimalCache {
      * Clear all of the BigDecimals in the cache.
      */
     public void clear() {
-        cache = new BigDecimal[cache.length];
+        Arrays.fill(cache, null);
     }
 
     /**
@@ -91,13 +86,8 @@ final class BigDecimalCache {
      * @param fromIndex index of first BigDecimal to be cleared.
      */
     public void clear(final int fromIndex) {
-        if (fromIndex >= 0 && fromIndex < cache.length - 1) {
-            int toIndex = cache.length;
-            for (int i = fromIndex; i < toIndex; i++) {
-                cache[i] = null;
-            }
-        } else {
-            ensureCapacity(fromIndex + 1);
+        if (fromIndex < cache.length) {
+            Arrays.fill(cache, Math.max(0, fromIndex), cache.length, null);
         }
     }
 }
@@ -29,7 +29,6 @@ import java.awt.Component;
 import java.awt.Font;
 import java.awt.event.MouseEvent;
 import java.math.BigDecimal;
-import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
@@ -40,6 +39,7 @@ import jgnash.engine.CurrencyNode;
 import jgnash.engine.InvestmentTransaction;
 import jgnash.engine.Transaction;
 import jgnash.text.CommodityFormat;
+import jgnash.text.ScaledDecimalFormatter;
 import jgnash.ui.components.FormattedJTable;
 import jgnash.ui.register.AccountBalanceDisplayManager;
 import jgnash.time.DateUtils;
@@ -53,9 +53,9 @@ import jgnash.util.NotNull;
  */
 public class RegisterTable extends FormattedJTable {
 
-    private NumberFormat fullFormat;
+    private ScaledDecimalFormatter fullFormat;
 
-    private NumberFormat shortFormat;
+    private ScaledDecimalFormatter shortFormat;
 
     private final DateTimeFormatter dateFormatter = DateUtils.getShortDateFormatter();
 
@@ -76,8 +76,8 @@ public class RegisterTable extends FormattedJTable {
         AccountTableModel model = (AccountTableModel) getModel();
         CommodityNode node = model.getAccount().getCurrencyNode();
 
-        fullFormat = CommodityFormat.getFullNumberFormat(node);
-        shortFormat = CommodityFormat.getShortNumberFormat(node);
+        fullFormat = CommodityFormat.getFullFormatter(node);
+        shortFormat = CommodityFormat.getShortFormatter(node);
 
         // disable tool tips to improve speed   
         ToolTipManager.sharedInstance().unregisterComponent(getTableHeader());
@@ -104,9 +104,9 @@ public class RegisterTable extends FormattedJTable {
             if (QuantityStyle.class.isAssignableFrom(getColumnClass(column)) && t instanceof InvestmentTransaction && c instanceof JLabel) {
                 ((JLabel) c).setHorizontalAlignment(SwingConstants.RIGHT);
 
-                if (value instanceof Number) {
-                    final NumberFormat numberFormat = CommodityFormat.getShortNumberFormat(((InvestmentTransaction) t).getSecurityNode());
-                    ((JLabel) c).setText(numberFormat.format(value));
+                if (value instanceof BigDecimal) {
+                    final ScaledDecimalFormatter formatter = CommodityFormat.getShortFormatter(((InvestmentTransaction) t).getSecurityNode());
+                    ((JLabel) c).setText(formatter.format((BigDecimal) value));
                 } else {
                     ((JLabel) c).setText("");
                 }
@@ -121,13 +121,13 @@ public class RegisterTable extends FormattedJTable {
 
             ((JLabel) c).setHorizontalAlignment(SwingConstants.RIGHT);
 
-            if (value instanceof Number) {
+            if (value instanceof BigDecimal) {
 
                 if (!isRowSelected(row) && ((BigDecimal) value).signum() < 0) {
                     c.setForeground(Color.RED);
                 }
 
-                ((JLabel) c).setText(fullFormat.format(value));
+                ((JLabel) c).setText(fullFormat.format((BigDecimal) value));
             } else {
                 ((JLabel) c).setText("");
             }
@@ -135,8 +135,8 @@ public class RegisterTable extends FormattedJTable {
 
             ((JLabel) c).setHorizontalAlignment(SwingConstants.RIGHT);
 
-            if (value instanceof Number) {
-                ((JLabel) c).setText(shortFormat.format(value));
+            if (value instanceof BigDecimal) {
+                ((JLabel) c).setText(shortFormat.format((BigDecimal) value));
             } else {
                 ((JLabel) c).setText("");
             }
@@ -167,7 +167,7 @@ public class RegisterTable extends FormattedJTable {
                 amount = amount.add(AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), account.getTransactionAt(row).getAmount(account)));
             }
 
-            return CommodityFormat.getFullNumberFormat(node).format(amount);
+            return CommodityFormat.getFullFormatter(node).format(amount);
         }
 
         return null;
@@ -270,6 +270,9 @@ public class RegisterTableWithSplitEntriesModel extends RegisterTableModel {
                         updateData();
                         fireTableDataChanged();
                         break;
+                    case TRANSACTION_RECONCILE:
+                        fireTableDataChanged();
+                        break;
                     default:
                         break;
                 }
@@ -139,6 +139,7 @@ public class SortedInvestmentTableModel extends InvestmentRegisterTableModel imp
                 switch (event.getEvent()) {
                     case TRANSACTION_ADD:
                     case TRANSACTION_REMOVE:
+                    case TRANSACTION_RECONCILE:
                         getTransactions();
                         break;
                     default: // ignore any other messages that don't matter
@@ -18,7 +18,6 @@
 package jgnash.ui.register.table;
 
 import java.awt.EventQueue;
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -30,7 +29,6 @@ import jgnash.engine.Comparators;
 import jgnash.engine.Transaction;
 import jgnash.engine.message.Message;
 import jgnash.engine.message.MessageProperty;
-import jgnash.ui.register.AccountBalanceDisplayManager;
 
 /**
  * Sortable table model
@@ -152,45 +150,6 @@ public class SortedTableModel extends RegisterTableModel implements SortableTabl
         }
     }
 
-    /**
-     * Get the account balance up to a specified index.
-     *
-     * @param index the balance of this account at the specified index.
-     * @return the balance of the account at the specified index.
-     */
-    @Override
-    public BigDecimal getBalanceAt(final int index) {
-        if (balanceCache.get(index) != null) {
-            return AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), balanceCache.get(index));
-        }
-
-        /* look to see if we have the balance for the previous transaction
-           * and use it */
-        if (index > 0 && balanceCache.get(index - 1) != null) {
-            BigDecimal bal = balanceCache.get(index - 1);
-            bal = bal.add(getTransactionAt(index).getAmount(account));
-            balanceCache.set(index, bal);
-            return bal;
-        }
-
-        /* Do not have a clue where to start. Do it the long way */
-        BigDecimal bal = BigDecimal.ZERO;
-        if (transactions != null) {
-
-            lock.lock();
-
-            try {
-                for (int i = 0; i <= index; i++) {
-                    bal = bal.add(getTransactionAt(i).getAmount(account));
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-        balanceCache.set(index, bal);
-        return AccountBalanceDisplayManager.convertToSelectedBalanceMode(account.getAccountType(), bal);
-    }
-
     /**
      * this override the update in AbstractRegisterTableModel to improve performance
      */
@@ -211,6 +170,9 @@ public class SortedTableModel extends RegisterTableModel implements SortableTabl
                 case TRANSACTION_REMOVE:
                     EventQueue.invokeLater(() -> removeTransaction(event.getObject(MessageProperty.TRANSACTION)));
                     return;
+                case TRANSACTION_RECONCILE:
+                    EventQueue.invokeLater(this::fireTableDataChanged);
+                    return;
                 default: // ignore any other messages that don't belong to us
                     break;
             }
@@ -27,6 +27,7 @@ import jgnash.engine.Comparators;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.report.ReportPeriodBalances;
 import jgnash.time.DateUtils;
 import jgnash.ui.components.DatePanel;
 import jgnash.ui.report.jasper.AbstractReportTableModel;
@@ -44,6 +45,7 @@ import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -97,6 +99,11 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
 
     private final Map<Account, Double> percentileMap = new HashMap<>();
 
+    /**
+     * Account balances for each report period.
+     */
+    private final Map<Account, BigDecimal[]> balanceMap = new HashMap<>();
+
     /**
      * Report Data **
      */
@@ -231,9 +238,24 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
         String sortOrder = sortOrderList.getSelectedItem().toString();
         boolean needPercentiles = SORT_ORDER_BALANCE_DESC_WITH_PERCENTILE.equals(sortOrder);
 
+        updateResolution();
+
+        final LocalDate[] periodStartDates = startDates.toArray(new LocalDate[0]);
+        final LocalDate[] periodEndDates = endDates.toArray(new LocalDate[0]);
+
+        balanceMap.clear();
+
         for (AccountGroup group : getAccountGroups()) {
             List<Account> list = getAccountList(AccountType.getAccountTypes(group));
 
+            // one pass over each account's transactions for all periods
+            final BigDecimal[][] balances = ReportPeriodBalances.getPeriodBalances(list, periodStartDates,
+                    periodEndDates, baseCurrency);
+
+            for (int i = 0; i < list.size(); i++) {
+                balanceMap.put(list.get(i), balances[i]);
+            }
+
             boolean ascendingSortOrder = true;
             if (!list.isEmpty()) {
                 if (list.get(0).getAccountType() == AccountType.EXPENSE) {
@@ -248,18 +270,20 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
                     list.sort(Comparators.getAccountByPathName());
                 }
             } else if (SORT_ORDER_BALANCE_DESC.equals(sortOrder) || SORT_ORDER_BALANCE_DESC_WITH_PERCENTILE.equals(sortOrder)) {
-                list.sort(Comparators.getAccountByBalance(startDateField.getLocalDate(),
-                        endDateField.getLocalDate(), baseCurrency, ascendingSortOrder));
+                final Comparator<Account> comparator
+                        = Comparator.comparing(account -> ReportPeriodBalances.sum(balanceMap.get(account)));
+
+                list.sort(ascendingSortOrder ? comparator : comparator.reversed());
             }
 
             if (needPercentiles) {
                 BigDecimal groupTotal = BigDecimal.ZERO;
                 for (Account a : list) {
-                    groupTotal = groupTotal.add(a.getBalance(startDateField.getLocalDate(), endDateField.getLocalDate(), baseCurrency));
+                    groupTotal = groupTotal.add(ReportPeriodBalances.sum(balanceMap.get(a)));
                 }
                 BigDecimal sumSoFar = BigDecimal.ZERO;
                 for (Account a : list) {
-                    sumSoFar = sumSoFar.add(a.getBalance(startDateField.getLocalDate(), endDateField.getLocalDate(), baseCurrency));
+                    sumSoFar = sumSoFar.add(ReportPeriodBalances.sum(balanceMap.get(a)));
                     percentileMap.put(a, sumSoFar.doubleValue() / groupTotal.doubleValue());
                 }
             }
@@ -267,23 +291,12 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
             accounts.addAll(list);
         }
 
-        updateResolution();
-
         // remove any account that will report a zero balance for all periods
         if (hideZeroBalanceAccounts.isSelected()) {
             Iterator<Account> i = accounts.iterator();
             while (i.hasNext()) {
                 Account account = i.next();
-                boolean remove = true;
-
-                for (int j = 0; j < endDates.size(); j++) {
-                    if (account.getBalance(startDates.get(j), endDates.get(j)).compareTo(BigDecimal.ZERO) != 0) {
-                        remove = false;
-                        break;
-                    }
-                }
-
-                if (remove) {
+                if (ReportPeriodBalances.isZero(balanceMap.get(account))) {
                     i.remove();
                 }
             }
@@ -302,7 +315,7 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
         columnsList.add(ci);
 
         for (int i = 0; i < dateLabels.size(); ++i) {
-            ci = new DateRangeBalanceColumnInfo(accounts, startDates.get(i), endDates.get(i), baseCurrency);
+            ci = new DateRangeBalanceColumnInfo(accounts, i);
             ci.columnName = dateLabels.get(i);
             ci.headerStyle = ColumnHeaderStyle.RIGHT;
             ci.columnClass = BigDecimal.class;
@@ -312,7 +325,7 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
         }
 
         // cross-tab total column
-        ci = new CrossTabAmountColumnInfo(accounts, baseCurrency);
+        ci = new CrossTabAmountColumnInfo(accounts);
         ci.columnName = "";
         ci.headerStyle = ColumnHeaderStyle.RIGHT;
         ci.columnClass = BigDecimal.class;
@@ -517,21 +530,15 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
 
         private final List<Account> accountList;
 
-        private final CurrencyNode currency;
-
-        CrossTabAmountColumnInfo(List<Account> accountList, CurrencyNode currency) {
+        CrossTabAmountColumnInfo(List<Account> accountList) {
             this.accountList = accountList;
-            this.currency = currency;
         }
 
         @Override
         public Object getValue(int rowIndex) {
             final Account a = accountList.get(rowIndex);
 
-            final LocalDate startDate = startDates.get(0);
-            final LocalDate endDate = endDates.get(endDates.size() - 1);
-
-            return a.getBalance(startDate, endDate, currency).negate();
+            return ReportPeriodBalances.sum(balanceMap.get(a)).negate();
         }
     }
 
@@ -550,27 +557,21 @@ abstract class AbstractCrosstabReport extends DynamicJasperReport {
         }
     }
 
-    private static class DateRangeBalanceColumnInfo extends ColumnInfo {
+    private class DateRangeBalanceColumnInfo extends ColumnInfo {
 
         private final List<Account> accountList;
 
-        private final LocalDate startDate;
-
-        private final LocalDate endDate;
-
-        private final CurrencyNode currency;
+        private final int period;
 
-        DateRangeBalanceColumnInfo(List<Account> accountList, LocalDate startDate, LocalDate endDate, CurrencyNode currency) {
+        DateRangeBalanceColumnInfo(List<Account> accountList, int period) {
             this.accountList = accountList;
-            this.startDate = startDate;
-            this.endDate = endDate;
-            this.currency = currency;
+            this.period = period;
         }
 
         @Override
         public Object getValue(int rowIndex) {
             Account a = accountList.get(rowIndex);
-            return a.getBalance(startDate, endDate, currency).negate();
+            return balanceMap.get(a)[period].negate();
         }
     }
 
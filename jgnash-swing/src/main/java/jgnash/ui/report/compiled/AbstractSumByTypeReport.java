@@ -26,6 +26,8 @@ import jgnash.engine.AccountType;
 import jgnash.engine.CurrencyNode;
 import jgnash.engine.Engine;
 import jgnash.engine.EngineFactory;
+import jgnash.report.ParallelAccountCollector;
+import jgnash.report.ReportPeriodBalances;
 import jgnash.time.DateUtils;
 import jgnash.ui.components.DatePanel;
 import jgnash.ui.report.jasper.AbstractReportTableModel;
@@ -42,10 +44,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
@@ -139,44 +141,57 @@ abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             accounts.addAll(getAccountList(AccountType.getAccountTypes(group)));
         }
 
+        final LocalDate[] periodDates = dates.toArray(new LocalDate[0]);
+
+        // account balances are calculated in parallel
+        final List<BigDecimal[]> balances = ParallelAccountCollector.map(accounts,
+                account -> getBalances(account, periodDates, baseCurrency), () -> false);
+
+        final Map<Account, BigDecimal[]> balanceMap = new LinkedHashMap<>();
+
+        for (int i = 0; i < accounts.size(); i++) {
+            balanceMap.put(accounts.get(i), balances.get(i));
+        }
+
         // remove any account that will report a zero balance for all periods
-        if (hideZeroBalanceAccounts.isSelected()) {            
-            Iterator<Account> i = accounts.iterator();
-            
-            while (i.hasNext()) {
-                Account account = i.next();
-                boolean remove = true;
-
-                if (runningTotal) {                    
-                    for (LocalDate date : dates) {
-                        if (account.getBalance(date).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }
-                } else {
-                    for (int j = 0; j < dates.size() - 1; j++) {
-                        final LocalDate sDate = dates.get(j);
-                        final LocalDate eDate = dates.get(j+1).minusDays(1);
-                        
-                        if (account.getBalance(sDate, eDate).compareTo(BigDecimal.ZERO) != 0) {
-                            remove = false;
-                            break;
-                        }
-                    }                    
-                }
-                if (remove) {
-                    i.remove();
-                }
-            }
+        if (hideZeroBalanceAccounts.isSelected()) {
+            balanceMap.values().removeIf(ReportPeriodBalances::isZero);
         }
 
         ReportModel model = new ReportModel(baseCurrency);
-        model.addAccounts(accounts);
+        model.addAccounts(balanceMap);
 
         return model;
     }
 
+    private BigDecimal[] getBalances(final Account account, final LocalDate[] periodDates,
+                                     final CurrencyNode baseCurrency) {
+        if (runningTotal) {
+            return ReportPeriodBalances.getBalancesAt(account, periodDates, baseCurrency);
+        }
+
+        if (periodDates.length < 2) {   // an empty date range has no periods
+            return new BigDecimal[0];
+        }
+
+        final LocalDate[] startDates = new LocalDate[periodDates.length - 1];
+        final LocalDate[] endDates = new LocalDate[periodDates.length - 1];
+
+        for (int i = 0; i < startDates.length; i++) {
+            startDates[i] = periodDates[i];
+            endDates[i] = periodDates[i + 1].minusDays(1);
+        }
+
+        final BigDecimal[] balances = ReportPeriodBalances.getPeriodBalances(account, startDates, endDates,
+                baseCurrency);
+
+        for (int i = 0; i < balances.length; i++) {
+            balances[i] = balances[i].negate();
+        }
+
+        return balances;
+    }
+
     private static List<Account> getAccountList(final Set<AccountType> types) {
         final Engine engine = EngineFactory.getEngine(EngineFactory.DEFAULT);
         Objects.requireNonNull(engine);
@@ -251,7 +266,7 @@ abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             this.baseCurrency = currency;
         }
 
-        void addAccounts(final Collection<Account> accounts) {
+        void addAccounts(final Map<Account, BigDecimal[]> accounts) {
             accounts.forEach(this::addAccount);
         }
 
@@ -259,8 +274,8 @@ abstract class AbstractSumByTypeReport extends DynamicJasperReport {
             rowList.add(row);
         }
 
-        void addAccount(final Account account) {
-            rowList.add(new AccountRow(account));
+        void addAccount(final Account account, final BigDecimal[] balances) {
+            rowList.add(new AccountRow(account, balances));
         }
 
         @Override
@@ -349,8 +364,11 @@ abstract class AbstractSumByTypeReport extends DynamicJasperReport {
 
             final Account account;
 
-            AccountRow(final Account account) {
+            private final BigDecimal[] balances;
+
+            AccountRow(final Account account, final BigDecimal[] balances) {
                 this.account = account;
+                this.balances = balances;
             }
 
             @Override
@@ -361,14 +379,7 @@ abstract class AbstractSumByTypeReport extends DynamicJasperReport {
                 } else if (columnIndex == getColumnCount() - 1) { // group column
                     return account.getAccountType().getAccountGroup().toString();
                 } else if (columnIndex > 0 && columnIndex <= dates.size()) {
-                    if (runningTotal) {
-                        return account.getBalance(dates.get(columnIndex - 1), getCurrency());
-                    } else {
-                        final LocalDate startDate = dates.get(columnIndex - 1);
-                        final LocalDate endDate = dates.get(columnIndex).minusDays(1);
-
-                        return account.getBalance(startDate, endDate, getCurrency()).negate();
-                    }
+                    return balances[columnIndex - 1];
                 }
                 return null;
             }
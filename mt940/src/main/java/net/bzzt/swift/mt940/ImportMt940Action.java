@@ -17,13 +17,9 @@
 package net.bzzt.swift.mt940;
 
 import net.bzzt.swift.mt940.exporter.Mt940Exporter;
-import net.bzzt.swift.mt940.parser.Mt940Parser;
 
 import java.awt.event.ActionEvent;
 import java.io.File;
-import java.io.LineNumberReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.ResourceBundle;
@@ -93,14 +89,7 @@ class ImportMt940Action extends AbstractEnabledAction {
 
         @Override
         protected ImportBank<ImportTransaction> doInBackground() throws Exception {
-            final Mt940Parser parser = new Mt940Parser();
-            
-            try (final LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(Paths.get(fileName),
-                    StandardCharsets.ISO_8859_1))) {
-
-                Mt940File parsedFile = parser.parse(reader);
-                return Mt940Exporter.convert(parsedFile);
-            }                                             
+            return Mt940Exporter.convert(Paths.get(fileName));
         }
 
         @Override
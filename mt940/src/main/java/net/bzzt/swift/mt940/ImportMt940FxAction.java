@@ -18,9 +18,6 @@
 package net.bzzt.swift.mt940;
 
 import java.io.File;
-import java.io.LineNumberReader;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.prefs.Preferences;
@@ -41,7 +38,6 @@ import jgnash.uifx.wizard.imports.ImportWizard;
 import jgnash.util.ResourceUtils;
 
 import net.bzzt.swift.mt940.exporter.Mt940Exporter;
-import net.bzzt.swift.mt940.parser.Mt940Parser;
 
 /**
  * Utility class to import a Mt940 file.
@@ -104,12 +100,7 @@ class ImportMt940FxAction {
 
         @Override
         protected ImportBank<ImportTransaction> call() throws Exception {
-            Mt940Parser parser = new Mt940Parser();
-
-            try (final LineNumberReader reader = new LineNumberReader(Files.newBufferedReader(file.toPath(), StandardCharsets.ISO_8859_1))) {
-                Mt940File parsedFile = parser.parse(reader);
-                return Mt940Exporter.convert(parsedFile);
-            }
+            return Mt940Exporter.convert(file.toPath());
         }
 
         private void onSuccess() {
@@ -16,7 +16,10 @@
  */
 package net.bzzt.swift.mt940.exporter;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -28,6 +31,7 @@ import net.bzzt.swift.mt940.Mt940Entry;
 import net.bzzt.swift.mt940.Mt940Entry.SollHabenKennung;
 import net.bzzt.swift.mt940.Mt940File;
 import net.bzzt.swift.mt940.Mt940Record;
+import net.bzzt.swift.mt940.parser.Mt940Parser;
 
 /**
  * The Mt940 Exporter converts a parsed Mt940File to jGnash-specific
@@ -48,6 +52,27 @@ public class Mt940Exporter {
         return importBank;
     }
 
+    /**
+     * Parse and convert a Mt940 file in a single pass. Entries are converted as they are parsed and an intermediate
+     * {@code Mt940File} is never built.
+     *
+     * @param path file to import
+     * @return ImportBank containing the converted transactions
+     * @throws IOException            An IO exception occurred
+     * @throws DateTimeParseException parse error occurred reading text
+     */
+    public static ImportBank<ImportTransaction> convert(final Path path) throws IOException, DateTimeParseException {
+        final List<ImportTransaction> transactions = new ArrayList<>();
+
+        new Mt940Parser().parse(path, entry -> transactions.add(convert(entry)));
+
+        final ImportBank<ImportTransaction> importBank = new ImportBank<>();
+
+        importBank.setTransactions(transactions);
+
+        return importBank;
+    }
+
     /**
      * Convert an entire Mt940File to Transactions
      *
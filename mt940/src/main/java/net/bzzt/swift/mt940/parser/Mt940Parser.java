@@ -19,11 +19,18 @@ package net.bzzt.swift.mt940.parser;
 import java.io.IOException;
 import java.io.LineNumberReader;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import net.bzzt.swift.mt940.Mt940Entry;
 import net.bzzt.swift.mt940.Mt940Entry.SollHabenKennung;
@@ -76,6 +83,41 @@ public class Mt940Parser {
         return mt940File;
     }
 
+    /**
+     * Parse the Mt940-file by walking a memory mapped view of it.
+     * <p>
+     * Entries are passed to the consumer as soon as they are complete, so a large multi-account statement is never
+     * held in memory as a {@code Mt940File}.  The file is assumed to be ISO-8859-1 encoded.
+     *
+     * @param path     file to parse
+     * @param consumer receives each {@code Mt940Entry} in file order
+     * @throws IOException            An IO exception occurred
+     * @throws DateTimeParseException parse error occurred reading text
+     */
+    public void parse(final Path path, final Consumer<Mt940Entry> consumer) throws IOException, DateTimeParseException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to be mapped: " + path);
+            }
+
+            parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), consumer);
+        }
+    }
+
+    /**
+     * Parse Mt940 records directly from a buffer without decoding it into lines first. Only the remaining bytes of the
+     * buffer are parsed and the buffer's position is not modified.
+     *
+     * @param buffer   ISO-8859-1 encoded Mt940 content
+     * @param consumer receives each {@code Mt940Entry} in file order
+     * @throws DateTimeParseException parse error occurred reading text
+     */
+    public void parse(final ByteBuffer buffer, final Consumer<Mt940Entry> consumer) throws DateTimeParseException {
+        new EntryScanner(buffer, consumer).scan();
+    }
+
     /**
      * An mt940-record first has a couple of 'header' lines that do not
      * start with a ':'.
@@ -249,4 +291,308 @@ public class Mt940Parser {
 
         return string.substring(6);
     }
+
+    /**
+     * Single pass scanner over a byte buffer.
+     * <p>
+     * Follows the same rules as {@link #parse(LineNumberReader)}: records are delimited by lines starting with '-',
+     * header lines before the first tag are ignored and lines that do not start with ':' continue the previous tag.
+     * A tag is examined in place when it fits on one line and is only copied into a reusable scratch buffer when it
+     * is continued.  Strings are only created for the account and multipurpose fields.
+     */
+    private static final class EntryScanner {
+
+        private static final int INITIAL_SCRATCH_SIZE = 256;
+
+        /**
+         * Amounts with more digits than this cannot be accumulated in a long.
+         */
+        private static final int MAX_LONG_DIGITS = 18;
+
+        private final ByteBuffer buffer;
+
+        private final Consumer<Mt940Entry> consumer;
+
+        private final StringBuilder stringBuilder = new StringBuilder();
+
+        private byte[] scratch = new byte[INITIAL_SCRATCH_SIZE];
+
+        private int scratchLength;
+
+        /**
+         * True if the pending tag has been continued and lives in the scratch buffer.
+         */
+        private boolean continued;
+
+        /**
+         * Bounds of the pending tag within the buffer, {@code lineStart} is -1 when no tag is pending.
+         */
+        private int lineStart = -1;
+
+        private int lineEnd;
+
+        /**
+         * True after the first tag of a record has been seen.
+         */
+        private boolean inMessage;
+
+        private String currentAccount;
+
+        private Mt940Entry currentEntry;
+
+        EntryScanner(final ByteBuffer buffer, final Consumer<Mt940Entry> consumer) {
+            this.buffer = buffer;
+            this.consumer = consumer;
+        }
+
+        void scan() {
+            final int limit = buffer.limit();
+
+            int position = buffer.position();
+
+            while (position < limit) {
+                int end = position;
+
+                while (end < limit && buffer.get(end) != '\n' && buffer.get(end) != '\r') {
+                    end++;
+                }
+
+                onLine(position, end);
+
+                // consume the line terminator: \n, \r or \r\n
+                if (end < limit && buffer.get(end) == '\r') {
+                    end++;
+                }
+
+                if (end < limit && buffer.get(end) == '\n') {
+                    end++;
+                }
+
+                position = end;
+            }
+
+            // A file might not end with a trailing '-' (e.g. from Rabobank):
+            endRecord();
+        }
+
+        private void onLine(final int from, final int to) {
+            if (from < to && buffer.get(from) == '-') {
+                endRecord();
+            } else if (from < to && buffer.get(from) == ':') {
+                if (inMessage) {
+                    processPendingLine();
+                }
+
+                inMessage = true;
+                lineStart = from;
+                lineEnd = to;
+                continued = false;
+            } else if (inMessage) {
+                appendToPendingLine(from, to);
+            }
+        }
+
+        private void endRecord() {
+            processPendingLine();
+
+            if (currentEntry != null) {
+                consumer.accept(currentEntry);
+            }
+
+            currentEntry = null;
+            currentAccount = null;
+            inMessage = false;
+        }
+
+        private void appendToPendingLine(final int from, final int to) {
+            if (!continued) {
+                scratchLength = 0;
+                copyToScratch(lineStart, lineEnd);
+                continued = true;
+            }
+
+            copyToScratch(from, to);
+        }
+
+        private void copyToScratch(final int from, final int to) {
+            final int length = to - from;
+
+            if (scratchLength + length > scratch.length) {
+                scratch = Arrays.copyOf(scratch, Math.max(scratch.length * 2, scratchLength + length));
+            }
+
+            final ByteBuffer source = buffer.duplicate();
+            source.limit(to);
+            source.position(from);
+            source.get(scratch, scratchLength, length);
+
+            scratchLength += length;
+        }
+
+        private void processPendingLine() {
+            if (lineStart < 0) {
+                return;
+            }
+
+            if (continued) {
+                processLine(ByteBuffer.wrap(scratch, 0, scratchLength), 0, scratchLength);
+            } else {
+                processLine(buffer, lineStart, lineEnd);
+            }
+
+            lineStart = -1;
+            continued = false;
+        }
+
+        private void processLine(final ByteBuffer source, final int from, final int to) {
+            if (startsWith(source, from, to, PREFIX_KONTOBEZEICHNUNG)) {
+                currentAccount = decode(source, from + PREFIX_KONTOBEZEICHNUNG.length(), to);
+            } else if (startsWith(source, from, to, PREFIX_ENTRY_START)) {
+                if (currentEntry != null) {
+                    consumer.accept(currentEntry);
+                }
+
+                currentEntry = new Mt940Entry();
+                currentEntry.setKontobezeichnung(currentAccount);
+
+                int position = parseDatumJJMMTT(currentEntry, source, from + PREFIX_ENTRY_START.length(), to);
+
+                // for now don't handle the buchungsdatum. It is optional.
+                if (position < to && isDigit(source.get(position))) {
+                    position += 4;
+                }
+
+                position = parseSollHabenKennung(currentEntry, source, position, to);
+                parseBetrag(currentEntry, source, position, to);
+            } else if (startsWith(source, from, to, PREFIX_MERHZWECKFELD) && currentEntry != null) {
+                currentEntry.addToMehrzweckfeld(decode(source, from + PREFIX_MERHZWECKFELD.length(), to));
+            }
+        }
+
+        private int parseDatumJJMMTT(final Mt940Entry entry, final ByteBuffer source, final int from, final int to) {
+            if (to - from < 6) {
+                throw new DateTimeParseException("Text could not be parsed", decode(source, from, to), 0);
+            }
+
+            try {
+                entry.setValutaDatum(LocalDate.of(2000 + digits(source, from), digits(source, from + 2),
+                        digits(source, from + 4)));
+            } catch (final DateTimeException e) {
+                throw new DateTimeParseException(e.getMessage(), decode(source, from, from + 6), 0, e);
+            }
+
+            return from + 6;
+        }
+
+        private int parseSollHabenKennung(final Mt940Entry entry, final ByteBuffer source, final int from,
+                                          final int to) {
+            final byte kennung = from < to ? source.get(from) : 0;
+
+            if (kennung == 'D') {
+                entry.setSollHabenKennung(SollHabenKennung.DEBIT);
+            } else if (kennung == 'C') {
+                entry.setSollHabenKennung(SollHabenKennung.CREDIT);
+            } else {
+                throw new UnsupportedOperationException("soll-haben-kennung " + decode(source, from, to)
+                        + " not yet supported");
+            }
+
+            return from + 1;
+        }
+
+        private void parseBetrag(final Mt940Entry entry, final ByteBuffer source, final int from, final int to) {
+            int end = indexOf(source, from, to, 'N');
+
+            if (end < 0) {
+                end = indexOf(source, from, to, 'F');
+            }
+
+            if (end < 0) {
+                throw new NumberFormatException("Amount is not terminated: " + decode(source, from, to));
+            }
+
+            long unscaled = 0;
+            int scale = -1;
+            int digitCount = 0;
+
+            for (int i = from; i < end; i++) {
+                final byte b = source.get(i);
+
+                if (isDigit(b)) {
+                    unscaled = unscaled * 10 + (b - '0');
+                    digitCount++;
+
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else if ((b == ',' || b == '.') && scale < 0) {
+                    scale = 0;
+                } else {
+                    throw new NumberFormatException("Invalid amount: " + decode(source, from, end));
+                }
+            }
+
+            if (digitCount == 0) {
+                throw new NumberFormatException("Invalid amount: " + decode(source, from, end));
+            }
+
+            if (digitCount > MAX_LONG_DIGITS) {
+                entry.setBetrag(new BigDecimal(decode(source, from, end).replace(',', '.')));
+            } else {
+                entry.setBetrag(BigDecimal.valueOf(unscaled, Math.max(scale, 0)));
+            }
+        }
+
+        /**
+         * Decodes ISO-8859-1 bytes, which map directly to chars.
+         */
+        private String decode(final ByteBuffer source, final int from, final int to) {
+            stringBuilder.setLength(0);
+
+            for (int i = from; i < to; i++) {
+                stringBuilder.append((char) (source.get(i) & 0xFF));
+            }
+
+            return stringBuilder.toString();
+        }
+
+        private static int digits(final ByteBuffer source, final int index) {
+            final byte tens = source.get(index);
+            final byte ones = source.get(index + 1);
+
+            if (!isDigit(tens) || !isDigit(ones)) {
+                throw new DateTimeException("Invalid date digits");
+            }
+
+            return (tens - '0') * 10 + (ones - '0');
+        }
+
+        private static boolean isDigit(final byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        private static int indexOf(final ByteBuffer source, final int from, final int to, final char c) {
+            for (int i = from; i < to; i++) {
+                if (source.get(i) == c) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        private static boolean startsWith(final ByteBuffer source, final int from, final int to, final String prefix) {
+            if (to - from < prefix.length()) {
+                return false;
+            }
+
+            for (int i = 0; i < prefix.length(); i++) {
+                if (source.get(from + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
 }
@@ -27,6 +27,9 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -142,4 +145,52 @@ public class Mt940Test {
             assertEquals(nTransactions, bank.getTransactions().size());            
         }        
     }
+
+    /**
+     * Test that the memory mapped parser produces the same entries as the line based parser
+     *
+     * @throws Exception thrown if an exception occurs while reading the file
+     */
+    @Test
+    public void testMt940MappedParser() throws Exception {
+        Mt940Parser parser = new Mt940Parser();
+
+        InputStream inputStream = this.getClass().getResourceAsStream("/bank1.STA");
+        LineNumberReader reader = new LineNumberReader(new InputStreamReader(inputStream, StandardCharsets.ISO_8859_1));
+        List<Mt940Entry> expected = parser.parse(reader).getEntries();
+
+        Path path = Paths.get(this.getClass().getResource("/bank1.STA").toURI());
+        List<Mt940Entry> entries = new ArrayList<>();
+        parser.parse(path, entries::add);
+
+        assertEquals(expected.size(), entries.size());
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getValutaDatum(), entries.get(i).getValutaDatum());
+            assertEquals(expected.get(i).getSollHabenKennung(), entries.get(i).getSollHabenKennung());
+            assertEquals(expected.get(i).getBetrag(), entries.get(i).getBetrag());
+            assertEquals(expected.get(i).getMehrzweckfeld(), entries.get(i).getMehrzweckfeld());
+            assertEquals(expected.get(i).getKontobezeichnung(), entries.get(i).getKontobezeichnung());
+        }
+
+        ImportBank<ImportTransaction> bank = Mt940Exporter.convert(path);
+        assertEquals(expected.size(), bank.getTransactions().size());
+    }
+
+    /**
+     * Test that the memory mapped parser handles multiple accounts within one record
+     *
+     * @throws Exception thrown if an exception occurs while reading the file
+     */
+    @Test
+    public void testMt940MappedParserMulticash() throws Exception {
+        Mt940Parser parser = new Mt940Parser();
+
+        List<Mt940Entry> entries = new ArrayList<>();
+        parser.parse(Paths.get(this.getClass().getResource("/multiaccounts.sta").toURI()), entries::add);
+
+        assertEquals(2, entries.size());
+        assertEquals("531848396", entries.get(0).getKontobezeichnung());
+        assertEquals("3xxxxxx.013EUR", entries.get(1).getKontobezeichnung().trim());
+    }
 }